@@ -17,6 +17,30 @@ public interface DbContext {
    */
   DbConnection getConnection();
 
+  /**
+   * Retrieve connection to be used for read-only statements. Context might route such connections
+   * to read-only replica of Provys database; replica might lag behind primary database, thus
+   * read-only connection should not be used to read data modified in current transaction. Default
+   * implementation returns the same connection as {@link #getConnection()}.
+   *
+   * @return connection to provys database, suitable for read-only statements
+   */
+  default DbConnection getReadOnlyConnection() {
+    return getConnection();
+  }
+
+  /**
+   * Indicates if statements of this context's connections can bind collection of values as single
+   * array parameter (see {@link DbPreparedStatement#setNullableCollection}). When they cannot, Sql
+   * builder passes values of collection bind variable as lists of ordinary bind variables instead.
+   * Default implementation returns false, as support of arrays differs between JDBC drivers.
+   *
+   * @return true if connections of this context support collection binds
+   */
+  default boolean supportsCollectionBinds() {
+    return false;
+  }
+
   /**
    * Oracle user used to access Provys database.
    *
@@ -8,6 +8,7 @@ import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.Collection;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
@@ -325,4 +326,21 @@ public interface DbPreparedStatement extends PreparedStatement, DbStatement {
    * @param <T>            is (Java) type of value to be bound
    */
   <T> void setNullableValue(int parameterIndex, @Nullable T value, Class<T> type);
+
+  /**
+   * Set collection of values to bind value of (database) collection type, used to pass large sets
+   * of values to IN conditions. Elements are converted using default conversion of supplied type
+   * to Sql; null collection is bound as empty collection. Default implementation does not support
+   * collection binds.
+   *
+   * @param parameterIndex is index of bind value in statement
+   * @param values         are values to be bound
+   * @param type           is type of elements of supplied collection
+   * @param <T>            is (Java) type of elements to be bound
+   */
+  default <T> void setNullableCollection(int parameterIndex,
+      @Nullable Collection<? extends T> values, Class<T> type) {
+    throw new UnsupportedOperationException(
+        "Collection bind variables are not supported by " + getClass());
+  }
 }
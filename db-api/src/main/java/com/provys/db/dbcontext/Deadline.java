@@ -0,0 +1,166 @@
+package com.provys.db.dbcontext;
+
+import com.google.errorprone.annotations.Immutable;
+import java.time.Duration;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Point in time by which database work has to be finished. Deadline is propagated to database
+ * layer via scope bound to current thread (see {@link #enter()}); connections are not borrowed
+ * from pool after deadline passed, statements created in scope get query timeout equal to
+ * remaining time and select statements are cancelled when deadline passes during fetch.
+ *
+ * <p>Typical usage is deadline derived from timeout of incoming request:
+ * <pre>{@code
+ * try (var scope = Deadline.after(Duration.ofSeconds(10)).enter()) {
+ *   rows = builder.fetch();
+ * }
+ * }</pre>
+ */
+@Immutable
+public final class Deadline {
+
+  private static final ThreadLocal<@Nullable Deadline> CURRENT = new ThreadLocal<>();
+
+  /**
+   * Deadline given period from now.
+   *
+   * @param timeout is time budget
+   * @return deadline after given timeout
+   */
+  public static Deadline after(Duration timeout) {
+    return new Deadline(System.nanoTime() + timeout.toNanos());
+  }
+
+  /**
+   * Deadline, active in current thread.
+   *
+   * @return deadline of innermost scope entered in current thread, null if there is no such
+   *     scope
+   */
+  public static @Nullable Deadline current() {
+    return CURRENT.get();
+  }
+
+  /**
+   * Verify that deadline active in current thread (if any) has not passed.
+   *
+   * @param action is description of action being started, used in exception message
+   * @throws DeadlineExceededException if deadline of current thread has already passed
+   */
+  public static void checkCurrent(String action) {
+    var deadline = current();
+    if (deadline != null) {
+      deadline.check(action);
+    }
+  }
+
+  /**
+   * Scope of deadline in current thread. Closing scope restores deadline that was active before
+   * scope has been entered.
+   */
+  public static final class Scope implements AutoCloseable {
+
+    private final @Nullable Deadline previous;
+
+    private Scope(@Nullable Deadline previous) {
+      this.previous = previous;
+    }
+
+    @Override
+    public void close() {
+      if (previous == null) {
+        CURRENT.remove();
+      } else {
+        CURRENT.set(previous);
+      }
+    }
+
+    @Override
+    public String toString() {
+      return "Scope{"
+          + "previous=" + previous
+          + '}';
+    }
+  }
+
+  private final long nanoTime;
+
+  private Deadline(long nanoTime) {
+    this.nanoTime = nanoTime;
+  }
+
+  /**
+   * Make this deadline active in current thread. If deadline that is already active is earlier,
+   * it is kept, thus nested scope can only shorten time budget.
+   *
+   * @return scope that should be closed when work bound by this deadline is finished
+   */
+  public Scope enter() {
+    var previous = CURRENT.get();
+    CURRENT.set(earlier(previous));
+    return new Scope(previous);
+  }
+
+  /**
+   * Earlier of this and supplied deadline.
+   *
+   * @param other is deadline to compare with, null means no deadline
+   * @return earlier of two deadlines
+   */
+  public Deadline earlier(@Nullable Deadline other) {
+    if ((other == null) || (nanoTime - other.nanoTime <= 0)) {
+      return this;
+    }
+    return other;
+  }
+
+  /**
+   * Time remaining till deadline.
+   *
+   * @return remaining time, zero if deadline has already passed
+   */
+  public Duration getRemaining() {
+    var remaining = nanoTime - System.nanoTime();
+    return (remaining > 0) ? Duration.ofNanos(remaining) : Duration.ZERO;
+  }
+
+  /**
+   * Time remaining till deadline in whole seconds, rounded up; suitable as JDBC query timeout.
+   *
+   * @return remaining time in seconds, at least 1 (as 0 means no timeout in JDBC)
+   */
+  public int getRemainingSeconds() {
+    var remaining = getRemaining();
+    var seconds = remaining.getSeconds() + ((remaining.getNano() > 0) ? 1 : 0);
+    return (int) Math.max(1, Math.min(seconds, Integer.MAX_VALUE));
+  }
+
+  /**
+   * Indicates if deadline has already passed.
+   *
+   * @return true if deadline has passed
+   */
+  public boolean isExpired() {
+    return nanoTime - System.nanoTime() <= 0;
+  }
+
+  /**
+   * Verify that deadline has not passed.
+   *
+   * @param action is description of action being started, used in exception message
+   * @throws DeadlineExceededException if deadline has already passed
+   */
+  public void check(String action) {
+    if (isExpired()) {
+      throw new DeadlineExceededException("Deadline exceeded before " + action);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "Deadline{"
+        + "remaining=" + getRemaining()
+        + '}';
+  }
+}
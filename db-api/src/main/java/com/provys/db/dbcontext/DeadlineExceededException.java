@@ -0,0 +1,37 @@
+package com.provys.db.dbcontext;
+
+import com.provys.common.exception.ProvysException;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Thrown when database work is not finished before {@link Deadline} it is bound to.
+ */
+public final class DeadlineExceededException extends ProvysException {
+
+  private static final String NAME_NM = "JAVA_DEADLINE_EXCEEDED";
+
+  /**
+   * Constructs a new deadline exceeded exception with the specified detail message and cause.
+   *
+   * @param message the detail message
+   * @param cause   the cause, typically exception thrown by JDBC driver when statement has been
+   *                cancelled; null if there is no such exception
+   */
+  public DeadlineExceededException(String message, @Nullable Throwable cause) {
+    super(message, null, cause);
+  }
+
+  /**
+   * Constructs a new deadline exceeded exception with the specified detail message.
+   *
+   * @param message the detail message
+   */
+  public DeadlineExceededException(String message) {
+    this(message, null);
+  }
+
+  @Override
+  public String getNameNm() {
+    return NAME_NM;
+  }
+}
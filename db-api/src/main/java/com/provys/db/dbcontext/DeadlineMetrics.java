@@ -0,0 +1,86 @@
+package com.provys.db.dbcontext;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of database work interrupted because its {@link Deadline} passed. Counters are global
+ * for whole application and are intended to be exported to monitoring.
+ */
+public final class DeadlineMetrics {
+
+  private static final DeadlineMetrics INSTANCE = new DeadlineMetrics();
+
+  /**
+   * Global instance of deadline metrics.
+   *
+   * @return global instance
+   */
+  public static DeadlineMetrics getInstance() {
+    return INSTANCE;
+  }
+
+  private final LongAdder borrowTimeouts = new LongAdder();
+  private final LongAdder executeTimeouts = new LongAdder();
+  private final LongAdder cancelledStatements = new LongAdder();
+
+  private DeadlineMetrics() {
+  }
+
+  /**
+   * Record connection that has not been borrowed (or has been returned to pool right after
+   * borrow) because deadline passed.
+   */
+  public void recordBorrowTimeout() {
+    borrowTimeouts.increment();
+  }
+
+  /**
+   * Record statement that has not been executed because deadline passed before execution.
+   */
+  public void recordExecuteTimeout() {
+    executeTimeouts.increment();
+  }
+
+  /**
+   * Record statement cancelled because deadline passed during its execution or fetch.
+   */
+  public void recordCancelledStatement() {
+    cancelledStatements.increment();
+  }
+
+  /**
+   * Number of connection borrows refused because of passed deadline.
+   *
+   * @return number of connection borrow timeouts
+   */
+  public long getBorrowTimeouts() {
+    return borrowTimeouts.sum();
+  }
+
+  /**
+   * Number of statements not executed because of passed deadline.
+   *
+   * @return number of execute timeouts
+   */
+  public long getExecuteTimeouts() {
+    return executeTimeouts.sum();
+  }
+
+  /**
+   * Number of statements cancelled because of passed deadline.
+   *
+   * @return number of cancelled statements
+   */
+  public long getCancelledStatements() {
+    return cancelledStatements.sum();
+  }
+
+  @Override
+  public String toString() {
+    return "DeadlineMetrics{"
+        + "borrowTimeouts=" + borrowTimeouts
+        + ", executeTimeouts=" + executeTimeouts
+        + ", cancelledStatements=" + cancelledStatements
+        + '}';
+  }
+}
@@ -0,0 +1,216 @@
+package com.provys.db.export;
+
+import com.provys.common.exception.InternalException;
+import com.provys.db.dbcontext.DbResultSet;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.OffsetDateTime;
+
+/**
+ * Writer of single column of exported result set. Writer is resolved once per column, based on
+ * column metadata or on type explicitly requested for column, and then used for all rows.
+ */
+@FunctionalInterface
+interface ColumnWriter {
+
+  /**
+   * Maximal precision of number with zero scale that is guaranteed to fit in int.
+   */
+  int MAX_INT_PRECISION = 9;
+
+  private static ColumnWriter forInteger() {
+    return (resultSet, columnIndex, sink) -> {
+      var value = resultSet.getNullableInteger(columnIndex);
+      if (value == null) {
+        sink.writeNull();
+      } else {
+        sink.writeNumber(value.intValue());
+      }
+    };
+  }
+
+  private static ColumnWriter forDouble() {
+    return (resultSet, columnIndex, sink) -> {
+      var value = resultSet.getNullableDouble(columnIndex);
+      if (value == null) {
+        sink.writeNull();
+      } else {
+        sink.writeNumber(value.doubleValue());
+      }
+    };
+  }
+
+  private static ColumnWriter forBigDecimal() {
+    return (resultSet, columnIndex, sink) -> {
+      var value = resultSet.getNullableBigDecimal(columnIndex);
+      if (value == null) {
+        sink.writeNull();
+      } else {
+        sink.writeNumber(value);
+      }
+    };
+  }
+
+  /**
+   * Writer for native boolean (BIT / BOOLEAN) columns. Provys flags ('Y' / 'N') are character
+   * columns and are only exported as booleans when Boolean type is requested for column.
+   */
+  private static ColumnWriter forBoolean() {
+    return (resultSet, columnIndex, sink) -> {
+      try {
+        var value = resultSet.getBoolean(columnIndex);
+        if (resultSet.wasNull()) {
+          sink.writeNull();
+        } else {
+          sink.writeBoolean(value);
+        }
+      } catch (SQLException e) {
+        throw new InternalException("Error reading boolean column " + columnIndex, e);
+      }
+    };
+  }
+
+  private static ColumnWriter forString() {
+    return (resultSet, columnIndex, sink) -> {
+      var value = resultSet.getNullableString(columnIndex);
+      if (value == null) {
+        sink.writeNull();
+      } else {
+        sink.writeString(value);
+      }
+    };
+  }
+
+  private static ColumnWriter forDateTime() {
+    return (resultSet, columnIndex, sink) -> {
+      try {
+        var value = resultSet.getTimestamp(columnIndex);
+        if (value == null) {
+          sink.writeNull();
+        } else {
+          sink.writeString(value.toLocalDateTime().toString());
+        }
+      } catch (SQLException e) {
+        throw new InternalException("Error reading date column " + columnIndex, e);
+      }
+    };
+  }
+
+  private static ColumnWriter forOffsetDateTime() {
+    return (resultSet, columnIndex, sink) -> {
+      try {
+        var value = resultSet.getObject(columnIndex, OffsetDateTime.class);
+        if (value == null) {
+          sink.writeNull();
+        } else {
+          sink.writeString(value.toString());
+        }
+      } catch (SQLException e) {
+        throw new InternalException("Error reading timestamp column " + columnIndex, e);
+      }
+    };
+  }
+
+  private static ColumnWriter forBinary() {
+    return (resultSet, columnIndex, sink) -> {
+      try {
+        var value = resultSet.getBytes(columnIndex);
+        if (value == null) {
+          sink.writeNull();
+        } else {
+          sink.writeBinary(value);
+        }
+      } catch (SQLException e) {
+        throw new InternalException("Error reading binary column " + columnIndex, e);
+      }
+    };
+  }
+
+  /**
+   * Writer for column of given type, read via type adapters of result set. Numbers and booleans
+   * are written as such, other values are written using their string representation.
+   *
+   * @param type is type column is read as
+   * @return writer reading column as given type
+   */
+  static ColumnWriter forType(Class<?> type) {
+    return (resultSet, columnIndex, sink) -> {
+      var value = resultSet.getNullableValue(columnIndex, type);
+      if (value == null) {
+        sink.writeNull();
+      } else if (value instanceof Integer) {
+        sink.writeNumber(((Integer) value).intValue());
+      } else if (value instanceof BigDecimal) {
+        sink.writeNumber((BigDecimal) value);
+      } else if (value instanceof Double) {
+        sink.writeNumber(((Double) value).doubleValue());
+      } else if (value instanceof Boolean) {
+        sink.writeBoolean((Boolean) value);
+      } else {
+        sink.writeString(value.toString());
+      }
+    };
+  }
+
+  /**
+   * Writer for column, based on its metadata.
+   *
+   * @param metaData    is metadata of exported result set
+   * @param columnIndex is index of column (starting with 1)
+   * @return writer, appropriate for given column
+   */
+  static ColumnWriter forColumn(ResultSetMetaData metaData, int columnIndex) {
+    try {
+      switch (metaData.getColumnType(columnIndex)) {
+        case Types.TINYINT:
+        case Types.SMALLINT:
+        case Types.INTEGER:
+          return forInteger();
+        case Types.NUMERIC:
+        case Types.DECIMAL:
+          var precision = metaData.getPrecision(columnIndex);
+          if ((metaData.getScale(columnIndex) == 0) && (precision > 0)
+              && (precision <= MAX_INT_PRECISION)) {
+            return forInteger();
+          }
+          return forBigDecimal();
+        case Types.BIGINT:
+          return forBigDecimal();
+        case Types.REAL:
+        case Types.FLOAT:
+        case Types.DOUBLE:
+          return forDouble();
+        case Types.BIT:
+        case Types.BOOLEAN:
+          return forBoolean();
+        case Types.DATE:
+        case Types.TIMESTAMP:
+          return forDateTime();
+        case Types.TIMESTAMP_WITH_TIMEZONE:
+          return forOffsetDateTime();
+        case Types.BINARY:
+        case Types.VARBINARY:
+        case Types.LONGVARBINARY:
+        case Types.BLOB:
+          return forBinary();
+        default:
+          return forString();
+      }
+    } catch (SQLException e) {
+      throw new InternalException("Error reading metadata of column " + columnIndex, e);
+    }
+  }
+
+  /**
+   * Read value of column in current row of result set and write it to sink.
+   *
+   * @param resultSet   is result set, positioned on exported row
+   * @param columnIndex is index of column (starting with 1)
+   * @param sink        is target value is written to
+   * @throws IOException when write to underlying output fails
+   */
+  void write(DbResultSet resultSet, int columnIndex, ValueSink sink) throws IOException;
+}
@@ -0,0 +1,109 @@
+package com.provys.db.export;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.util.Base64;
+
+/**
+ * Value sink, writing values as fields of CSV record (RFC 4180). Values containing separator,
+ * quotes or line breaks are enclosed in quotes, null is written as empty field and binary values
+ * are Base64 encoded.
+ */
+final class CsvValueSink implements ValueSink {
+
+  private static final String LINE_SEPARATOR = "\r\n";
+
+  private final Writer writer;
+  private final char separator;
+  private boolean firstField = true;
+
+  CsvValueSink(Writer writer, char separator) {
+    this.writer = writer;
+    this.separator = separator;
+  }
+
+  private void startField() throws IOException {
+    if (firstField) {
+      firstField = false;
+    } else {
+      writer.write(separator);
+    }
+  }
+
+  /**
+   * Finish current record.
+   *
+   * @throws IOException when write to underlying output fails
+   */
+  void endRecord() throws IOException {
+    writer.write(LINE_SEPARATOR);
+    firstField = true;
+  }
+
+  private boolean needsQuotes(String value) {
+    for (int i = 0; i < value.length(); i++) {
+      var character = value.charAt(i);
+      if ((character == separator) || (character == '"') || (character == '\n')
+          || (character == '\r')) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public void writeNull() throws IOException {
+    startField();
+  }
+
+  @Override
+  public void writeString(String value) throws IOException {
+    startField();
+    if (needsQuotes(value)) {
+      writer.write('"');
+      writer.write(value.replace("\"", "\"\""));
+      writer.write('"');
+    } else {
+      writer.write(value);
+    }
+  }
+
+  @Override
+  public void writeNumber(int value) throws IOException {
+    startField();
+    writer.write(Integer.toString(value));
+  }
+
+  @Override
+  public void writeNumber(double value) throws IOException {
+    startField();
+    writer.write(Double.toString(value));
+  }
+
+  @Override
+  public void writeNumber(BigDecimal value) throws IOException {
+    startField();
+    writer.write(value.toPlainString());
+  }
+
+  @Override
+  public void writeBoolean(boolean value) throws IOException {
+    startField();
+    writer.write(Boolean.toString(value));
+  }
+
+  @Override
+  public void writeBinary(byte[] value) throws IOException {
+    startField();
+    writer.write(Base64.getEncoder().encodeToString(value));
+  }
+
+  @Override
+  public String toString() {
+    return "CsvValueSink{"
+        + "separator=" + separator
+        + ", firstField=" + firstField
+        + '}';
+  }
+}
@@ -0,0 +1,59 @@
+package com.provys.db.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import java.io.IOException;
+import java.math.BigDecimal;
+
+/**
+ * Value sink, writing values to Jackson json generator.
+ */
+final class JsonValueSink implements ValueSink {
+
+  private final JsonGenerator generator;
+
+  JsonValueSink(JsonGenerator generator) {
+    this.generator = generator;
+  }
+
+  @Override
+  public void writeNull() throws IOException {
+    generator.writeNull();
+  }
+
+  @Override
+  public void writeString(String value) throws IOException {
+    generator.writeString(value);
+  }
+
+  @Override
+  public void writeNumber(int value) throws IOException {
+    generator.writeNumber(value);
+  }
+
+  @Override
+  public void writeNumber(double value) throws IOException {
+    generator.writeNumber(value);
+  }
+
+  @Override
+  public void writeNumber(BigDecimal value) throws IOException {
+    generator.writeNumber(value);
+  }
+
+  @Override
+  public void writeBoolean(boolean value) throws IOException {
+    generator.writeBoolean(value);
+  }
+
+  @Override
+  public void writeBinary(byte[] value) throws IOException {
+    generator.writeBinary(value);
+  }
+
+  @Override
+  public String toString() {
+    return "JsonValueSink{"
+        + "generator=" + generator
+        + '}';
+  }
+}
@@ -0,0 +1,261 @@
+package com.provys.db.export;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.provys.common.exception.InternalException;
+import com.provys.db.dbcontext.DbResultSet;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Exports rows of result set directly to Json or CSV output. Rows are written as they are fetched,
+ * without mapping them to objects or collecting them in memory, thus memory needed for export does
+ * not depend on number of exported rows and first bytes are written as soon as first rows are
+ * fetched. Writers for individual columns are resolved once from result set metadata; type of
+ * column can also be specified explicitly, in that case values are read via type adapters of
+ * result set. Exporter only reads result set; it is responsibility of caller to close it, as well
+ * as supplied output.
+ */
+public final class ResultSetExporter {
+
+  /**
+   * Number of rows after which output is flushed.
+   */
+  static final int FLUSH_ROWS = 1000;
+
+  /**
+   * Default separator of CSV fields.
+   */
+  public static final char DEFAULT_SEPARATOR = ',';
+
+  /**
+   * Factory of Json generators; closing generator neither closes target stream nor completes
+   * unfinished array, thus export that failed half way does not produce valid looking Json.
+   */
+  private static final JsonFactory JSON_FACTORY = JsonFactory.builder()
+      .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+      .disable(StreamWriteFeature.AUTO_CLOSE_CONTENT)
+      .build();
+
+  private final Map<String, Class<?>> columnTypes;
+  private final boolean lowerCaseNames;
+  private final char separator;
+
+  /**
+   * Create exporter with explicitly specified types of some columns.
+   *
+   * @param columnTypes    are types of columns, identified by name (case insensitive); columns
+   *                       not present in map are exported based on their metadata
+   * @param lowerCaseNames defines if column names should be converted to lower case in output
+   * @param separator      is separator of CSV fields
+   */
+  public ResultSetExporter(Map<String, Class<?>> columnTypes, boolean lowerCaseNames,
+      char separator) {
+    var types = new HashMap<String, Class<?>>(columnTypes.size());
+    for (var entry : columnTypes.entrySet()) {
+      types.put(entry.getKey().toUpperCase(Locale.ENGLISH), entry.getValue());
+    }
+    this.columnTypes = Map.copyOf(types);
+    this.lowerCaseNames = lowerCaseNames;
+    this.separator = separator;
+  }
+
+  /**
+   * Create exporter, exporting all columns based on their metadata and using names of columns as
+   * reported by result set.
+   */
+  public ResultSetExporter() {
+    this(Map.of(), false, DEFAULT_SEPARATOR);
+  }
+
+  /**
+   * Value of field columnTypes.
+   *
+   * @return value of field columnTypes
+   */
+  public Map<String, Class<?>> getColumnTypes() {
+    return columnTypes;
+  }
+
+  /**
+   * Value of field lowerCaseNames.
+   *
+   * @return value of field lowerCaseNames
+   */
+  public boolean isLowerCaseNames() {
+    return lowerCaseNames;
+  }
+
+  /**
+   * Value of field separator.
+   *
+   * @return value of field separator
+   */
+  public char getSeparator() {
+    return separator;
+  }
+
+  /**
+   * Columns of result set with their resolved writers.
+   */
+  private static final class Columns {
+
+    private final List<String> names;
+    private final List<ColumnWriter> writers;
+
+    Columns(List<String> names, List<ColumnWriter> writers) {
+      this.names = names;
+      this.writers = writers;
+    }
+
+    @Override
+    public String toString() {
+      return "Columns{"
+          + "names=" + names
+          + '}';
+    }
+  }
+
+  private Columns getColumns(DbResultSet resultSet) {
+    try {
+      var metaData = resultSet.getMetaData();
+      var columnCount = metaData.getColumnCount();
+      var names = new ArrayList<String>(columnCount);
+      var writers = new ArrayList<ColumnWriter>(columnCount);
+      for (int i = 1; i <= columnCount; i++) {
+        var name = metaData.getColumnLabel(i);
+        var type = columnTypes.get(name.toUpperCase(Locale.ENGLISH));
+        names.add(lowerCaseNames ? name.toLowerCase(Locale.ENGLISH) : name);
+        writers.add((type == null) ? ColumnWriter.forColumn(metaData, i)
+            : ColumnWriter.forType(type));
+      }
+      return new Columns(names, writers);
+    } catch (SQLException e) {
+      throw new InternalException("Error reading metadata of exported result set", e);
+    }
+  }
+
+  private static boolean next(DbResultSet resultSet) {
+    try {
+      return resultSet.next();
+    } catch (SQLException e) {
+      throw new InternalException("Error fetching exported row", e);
+    }
+  }
+
+  /**
+   * Write rows of result set as Json array of objects, using column names as field names.
+   * Generator is flushed, but not closed.
+   *
+   * @param resultSet is result set to be exported; it should not have been read yet
+   * @param generator is generator rows are written to
+   * @return number of exported rows
+   */
+  public long writeJson(DbResultSet resultSet, JsonGenerator generator) {
+    var columns = getColumns(resultSet);
+    var sink = new JsonValueSink(generator);
+    long rows = 0;
+    try {
+      generator.writeStartArray();
+      while (next(resultSet)) {
+        generator.writeStartObject();
+        for (int i = 0; i < columns.names.size(); i++) {
+          generator.writeFieldName(columns.names.get(i));
+          columns.writers.get(i).write(resultSet, i + 1, sink);
+        }
+        generator.writeEndObject();
+        if (++rows % FLUSH_ROWS == 0) {
+          generator.flush();
+        }
+      }
+      generator.writeEndArray();
+      generator.flush();
+    } catch (IOException e) {
+      throw new InternalException("Error writing exported rows to Json", e);
+    }
+    return rows;
+  }
+
+  /**
+   * Write rows of result set as Json array of objects to output stream, encoded in UTF-8. Stream
+   * is flushed, but not closed. If export fails, array written to stream is left unterminated.
+   *
+   * @param resultSet    is result set to be exported; it should not have been read yet
+   * @param outputStream is stream rows are written to
+   * @return number of exported rows
+   */
+  public long writeJson(DbResultSet resultSet, OutputStream outputStream) {
+    try (var generator = JSON_FACTORY.createGenerator(outputStream, JsonEncoding.UTF8)) {
+      return writeJson(resultSet, generator);
+    } catch (IOException e) {
+      throw new InternalException("Error writing exported rows to Json", e);
+    }
+  }
+
+  /**
+   * Write rows of result set in CSV format, with header containing column names. Writer is
+   * flushed, but not closed.
+   *
+   * @param resultSet is result set to be exported; it should not have been read yet
+   * @param writer    is writer rows are written to
+   * @return number of exported rows
+   */
+  public long writeCsv(DbResultSet resultSet, Writer writer) {
+    var columns = getColumns(resultSet);
+    var sink = new CsvValueSink(writer, separator);
+    long rows = 0;
+    try {
+      for (var name : columns.names) {
+        sink.writeString(name);
+      }
+      sink.endRecord();
+      while (next(resultSet)) {
+        for (int i = 0; i < columns.writers.size(); i++) {
+          columns.writers.get(i).write(resultSet, i + 1, sink);
+        }
+        sink.endRecord();
+        if (++rows % FLUSH_ROWS == 0) {
+          writer.flush();
+        }
+      }
+      writer.flush();
+    } catch (IOException e) {
+      throw new InternalException("Error writing exported rows to CSV", e);
+    }
+    return rows;
+  }
+
+  /**
+   * Write rows of result set in CSV format to output stream, encoded in UTF-8. Stream is flushed,
+   * but not closed.
+   *
+   * @param resultSet    is result set to be exported; it should not have been read yet
+   * @param outputStream is stream rows are written to
+   * @return number of exported rows
+   */
+  public long writeCsv(DbResultSet resultSet, OutputStream outputStream) {
+    return writeCsv(resultSet, new BufferedWriter(
+        new OutputStreamWriter(outputStream, StandardCharsets.UTF_8)));
+  }
+
+  @Override
+  public String toString() {
+    return "ResultSetExporter{"
+        + "columnTypes=" + columnTypes
+        + ", lowerCaseNames=" + lowerCaseNames
+        + ", separator=" + separator
+        + '}';
+  }
+}
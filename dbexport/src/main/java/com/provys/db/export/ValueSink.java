@@ -0,0 +1,66 @@
+package com.provys.db.export;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+/**
+ * Target of exported values. Implemented by individual export formats; column writers read value
+ * from result set and pass it to sink using method corresponding to its type.
+ */
+interface ValueSink {
+
+  /**
+   * Write null value.
+   *
+   * @throws IOException when write to underlying output fails
+   */
+  void writeNull() throws IOException;
+
+  /**
+   * Write string value.
+   *
+   * @param value is value to be written
+   * @throws IOException when write to underlying output fails
+   */
+  void writeString(String value) throws IOException;
+
+  /**
+   * Write integer value.
+   *
+   * @param value is value to be written
+   * @throws IOException when write to underlying output fails
+   */
+  void writeNumber(int value) throws IOException;
+
+  /**
+   * Write floating point value.
+   *
+   * @param value is value to be written
+   * @throws IOException when write to underlying output fails
+   */
+  void writeNumber(double value) throws IOException;
+
+  /**
+   * Write decimal value.
+   *
+   * @param value is value to be written
+   * @throws IOException when write to underlying output fails
+   */
+  void writeNumber(BigDecimal value) throws IOException;
+
+  /**
+   * Write boolean value.
+   *
+   * @param value is value to be written
+   * @throws IOException when write to underlying output fails
+   */
+  void writeBoolean(boolean value) throws IOException;
+
+  /**
+   * Write binary value.
+   *
+   * @param value is value to be written
+   * @throws IOException when write to underlying output fails
+   */
+  void writeBinary(byte[] value) throws IOException;
+}
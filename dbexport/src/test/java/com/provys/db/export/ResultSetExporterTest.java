@@ -0,0 +1,109 @@
+package com.provys.db.export;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.provys.db.dbcontext.DbResultSet;
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class ResultSetExporterTest {
+
+  private static DbResultSet getResultSet() throws SQLException {
+    var metaData = mock(ResultSetMetaData.class);
+    when(metaData.getColumnCount()).thenReturn(3);
+    when(metaData.getColumnLabel(1)).thenReturn("PROG_ID");
+    when(metaData.getColumnType(1)).thenReturn(Types.NUMERIC);
+    when(metaData.getPrecision(1)).thenReturn(0);
+    when(metaData.getScale(1)).thenReturn(-127);
+    when(metaData.getColumnLabel(2)).thenReturn("NAME");
+    when(metaData.getColumnType(2)).thenReturn(Types.VARCHAR);
+    when(metaData.getColumnLabel(3)).thenReturn("EPISODE");
+    when(metaData.getColumnType(3)).thenReturn(Types.NUMERIC);
+    when(metaData.getPrecision(3)).thenReturn(5);
+    when(metaData.getScale(3)).thenReturn(0);
+    var resultSet = mock(DbResultSet.class);
+    when(resultSet.getMetaData()).thenReturn(metaData);
+    when(resultSet.next()).thenReturn(true, true, false);
+    when(resultSet.getNullableBigDecimal(1)).thenReturn(new BigDecimal("1234"),
+        new BigDecimal("5678"));
+    when(resultSet.getNullableString(2)).thenReturn("Prog, \"first\"", null);
+    when(resultSet.getNullableInteger(3)).thenReturn(1, 2);
+    return resultSet;
+  }
+
+  @Test
+  void writeJsonTest() throws SQLException {
+    var output = new ByteArrayOutputStream();
+    assertThat(new ResultSetExporter(Map.of(), true, ResultSetExporter.DEFAULT_SEPARATOR)
+        .writeJson(getResultSet(), output))
+        .isEqualTo(2);
+    assertThat(output.toString(StandardCharsets.UTF_8)).isEqualTo(
+        "[{\"prog_id\":1234,\"name\":\"Prog, \\\"first\\\"\",\"episode\":1},"
+            + "{\"prog_id\":5678,\"name\":null,\"episode\":2}]");
+  }
+
+  @Test
+  void writeJsonFailureTest() throws SQLException {
+    var resultSet = getResultSet();
+    when(resultSet.next()).thenReturn(true).thenThrow(new SQLException("Fetch failed"));
+    var output = new ByteArrayOutputStream();
+    var exporter = new ResultSetExporter(Map.of(), true, ResultSetExporter.DEFAULT_SEPARATOR);
+    assertThatThrownBy(() -> exporter.writeJson(resultSet, output))
+        .hasRootCauseInstanceOf(SQLException.class);
+    // failed export must not be terminated as valid Json array
+    assertThat(output.toString(StandardCharsets.UTF_8))
+        .isEqualTo("[{\"prog_id\":1234,\"name\":\"Prog, \\\"first\\\"\",\"episode\":1}");
+  }
+
+  @Test
+  void writeCsvTest() throws SQLException {
+    var writer = new StringWriter();
+    assertThat(new ResultSetExporter().writeCsv(getResultSet(), writer))
+        .isEqualTo(2);
+    assertThat(writer.toString()).isEqualTo("PROG_ID,NAME,EPISODE\r\n"
+        + "1234,\"Prog, \"\"first\"\"\",1\r\n"
+        + "5678,,2\r\n");
+  }
+
+  @Test
+  void booleanColumnTest() throws SQLException {
+    var metaData = mock(ResultSetMetaData.class);
+    when(metaData.getColumnCount()).thenReturn(2);
+    when(metaData.getColumnLabel(1)).thenReturn("VALID");
+    when(metaData.getColumnType(1)).thenReturn(Types.BOOLEAN);
+    when(metaData.getColumnLabel(2)).thenReturn("FLAG");
+    when(metaData.getColumnType(2)).thenReturn(Types.CHAR);
+    var resultSet = mock(DbResultSet.class);
+    when(resultSet.getMetaData()).thenReturn(metaData);
+    when(resultSet.next()).thenReturn(true, true, false);
+    when(resultSet.getBoolean(1)).thenReturn(true, false);
+    when(resultSet.wasNull()).thenReturn(false, true);
+    when(resultSet.getNullableValue(2, Boolean.class)).thenReturn(true, false);
+    var output = new ByteArrayOutputStream();
+    new ResultSetExporter(Map.of("flag", Boolean.class), true,
+        ResultSetExporter.DEFAULT_SEPARATOR).writeJson(resultSet, output);
+    assertThat(output.toString(StandardCharsets.UTF_8)).isEqualTo(
+        "[{\"valid\":true,\"flag\":true},{\"valid\":null,\"flag\":false}]");
+    verify(resultSet, never()).getNullableBoolean(1);
+  }
+
+  @Test
+  void columnTypeTest() throws SQLException {
+    var resultSet = getResultSet();
+    when(resultSet.getNullableValue(2, String.class)).thenReturn("first", "second");
+    var writer = new StringWriter();
+    new ResultSetExporter(Map.of("name", String.class), false, ';')
+        .writeCsv(resultSet, writer);
+    assertThat(writer.toString()).isEqualTo("PROG_ID;NAME;EPISODE\r\n"
+        + "1234;first;1\r\n"
+        + "5678;second;2\r\n");
+  }
+}
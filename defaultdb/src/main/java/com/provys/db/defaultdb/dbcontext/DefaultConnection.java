@@ -12,6 +12,7 @@ import java.sql.Clob;
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.NClob;
+import java.sql.PreparedStatement;
 import java.sql.SQLClientInfoException;
 import java.sql.SQLException;
 import java.sql.SQLWarning;
@@ -44,6 +45,15 @@ public class DefaultConnection implements DbConnection {
     this.sqlTypeHandler = sqlTypeHandler;
   }
 
+  /**
+   * Type handler used by statements created on this connection.
+   *
+   * @return value of field sqlTypeHandler
+   */
+  protected SqlTypeHandler getSqlTypeHandler() {
+    return sqlTypeHandler;
+  }
+
   @Override
   public String nativeSQL(String sql) throws SQLException {
     return connection.nativeSQL(sql);
@@ -168,10 +178,23 @@ public class DefaultConnection implements DbConnection {
     return new SqlException("Failed to parse prepared statement:\n" + sql, e);
   }
 
+  /**
+   * Wrap prepared statement retrieved from underlying connection. Subclasses can override this
+   * method to supply database specific prepared statement.
+   *
+   * @param sql               is Sql text of statement
+   * @param preparedStatement is prepared statement from underlying connection
+   * @return prepared statement to be returned to user
+   */
+  protected DbPreparedStatement createPreparedStatement(String sql,
+      PreparedStatement preparedStatement) {
+    return new DefaultPreparedStatement<>(sql, preparedStatement, sqlTypeHandler);
+  }
+
   @Override
   public DbPreparedStatement prepareStatement(String sql) {
     try {
-      return new DefaultPreparedStatement<>(sql, connection.prepareStatement(sql), sqlTypeHandler);
+      return createPreparedStatement(sql, connection.prepareStatement(sql));
     } catch (SQLException e) {
       throw getParsePreparedException(sql, e);
     }
@@ -181,8 +204,8 @@ public class DefaultConnection implements DbConnection {
   public DbPreparedStatement prepareStatement(String sql, int resultSetType,
       int resultSetConcurrency) {
     try {
-      return new DefaultPreparedStatement<>(sql,
-          connection.prepareStatement(sql, resultSetType, resultSetConcurrency), sqlTypeHandler);
+      return createPreparedStatement(sql,
+          connection.prepareStatement(sql, resultSetType, resultSetConcurrency));
     } catch (SQLException e) {
       throw getParsePreparedException(sql, e);
     }
@@ -192,9 +215,8 @@ public class DefaultConnection implements DbConnection {
   public DbPreparedStatement prepareStatement(String sql, int resultSetType,
       int resultSetConcurrency, int resultSetHoldability) {
     try {
-      return new DefaultPreparedStatement<>(sql, connection
-          .prepareStatement(sql, resultSetType, resultSetConcurrency, resultSetHoldability),
-          sqlTypeHandler);
+      return createPreparedStatement(sql, connection
+          .prepareStatement(sql, resultSetType, resultSetConcurrency, resultSetHoldability));
     } catch (SQLException e) {
       throw getParsePreparedException(sql, e);
     }
@@ -203,8 +225,7 @@ public class DefaultConnection implements DbConnection {
   @Override
   public DbPreparedStatement prepareStatement(String sql, int autoGeneratedKeys) {
     try {
-      return new DefaultPreparedStatement<>(sql,
-          connection.prepareStatement(sql, autoGeneratedKeys), sqlTypeHandler);
+      return createPreparedStatement(sql, connection.prepareStatement(sql, autoGeneratedKeys));
     } catch (SQLException e) {
       throw getParsePreparedException(sql, e);
     }
@@ -213,8 +234,7 @@ public class DefaultConnection implements DbConnection {
   @Override
   public DbPreparedStatement prepareStatement(String sql, int[] columnIndexes) {
     try {
-      return new DefaultPreparedStatement<>(sql, connection.prepareStatement(sql, columnIndexes),
-          sqlTypeHandler);
+      return createPreparedStatement(sql, connection.prepareStatement(sql, columnIndexes));
     } catch (SQLException e) {
       throw getParsePreparedException(sql, e);
     }
@@ -223,8 +243,7 @@ public class DefaultConnection implements DbConnection {
   @Override
   public DbPreparedStatement prepareStatement(String sql, String[] columnNames) {
     try {
-      return new DefaultPreparedStatement<>(sql, connection.prepareStatement(sql, columnNames),
-          sqlTypeHandler);
+      return createPreparedStatement(sql, connection.prepareStatement(sql, columnNames));
     } catch (SQLException e) {
       throw getParsePreparedException(sql, e);
     }
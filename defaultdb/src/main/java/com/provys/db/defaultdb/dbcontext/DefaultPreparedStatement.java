@@ -18,6 +18,7 @@ import java.sql.Array;
 import java.sql.Blob;
 import java.sql.Clob;
 import java.sql.Date;
+import java.sql.JDBCType;
 import java.sql.NClob;
 import java.sql.ParameterMetaData;
 import java.sql.PreparedStatement;
@@ -31,6 +32,7 @@ import java.sql.Time;
 import java.sql.Timestamp;
 import java.sql.Types;
 import java.util.Calendar;
+import java.util.Collection;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
@@ -685,6 +687,56 @@ public class DefaultPreparedStatement<T extends PreparedStatement> extends Defau
     getSqlTypeHandler().bindValue(this, parameterIndex, value, type);
   }
 
+  /**
+   * Convert value to object that can be used as element of Sql array. Provys specific types are
+   * converted the same way as when they are bound as single value.
+   *
+   * @param value is value to be converted
+   * @return object to be placed in Sql array
+   */
+  protected Object getArrayElement(Object value) {
+    if (value instanceof DtUid) {
+      return new BigDecimal(((DtUid) value).getValue(), 0);
+    }
+    if (value instanceof DtDate) {
+      return Date.valueOf(((DtDate) value).getLocalDate());
+    }
+    if (value instanceof DtDateTime) {
+      return Timestamp.valueOf(((DtDateTime) value).getLocalDateTime());
+    }
+    return value;
+  }
+
+  /**
+   * Create Sql array, holding supplied elements. Default implementation uses
+   * {@link java.sql.Connection#createArrayOf(String, Object[])} with name of Sql type elements are
+   * mapped to; databases that do not support anonymous arrays should override this method. Sql
+   * builder only uses collection binds when database context reports their support, otherwise it
+   * passes values as lists of ordinary bind variables.
+   *
+   * @param type     is java type of elements
+   * @param elements are elements of array, already converted by {@link #getArrayElement(Object)}
+   * @return Sql array holding supplied elements
+   * @throws SQLException when array creation fails
+   */
+  protected Array createArray(Class<?> type, Object[] elements) throws SQLException {
+    return getConnection().createArrayOf(
+        JDBCType.valueOf(getSqlTypeHandler().getSqlType(type)).getName(), elements);
+  }
+
+  @Override
+  public <V> void setNullableCollection(int parameterIndex,
+      @Nullable Collection<? extends V> values, Class<V> type) {
+    var elements = (values == null) ? new Object[0]
+        : values.stream().map(this::getArrayElement).toArray();
+    try {
+      setArray(parameterIndex, createArray(type, elements));
+    } catch (SQLException e) {
+      throw new SqlException("Sql exception setting collection bind on index " + parameterIndex
+          + ", type " + type.getSimpleName() + " to " + elements.length + " values", e);
+    }
+  }
+
   @Override
   public String toString() {
     return "DefaultPreparedStatement{"
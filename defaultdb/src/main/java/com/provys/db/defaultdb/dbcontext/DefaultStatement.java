@@ -2,6 +2,8 @@ package com.provys.db.defaultdb.dbcontext;
 
 import com.provys.db.dbcontext.DbResultSet;
 import com.provys.db.dbcontext.DbStatement;
+import com.provys.db.dbcontext.Deadline;
+import com.provys.db.dbcontext.SqlException;
 import com.provys.db.dbcontext.SqlTypeHandler;
 import java.sql.Connection;
 import java.sql.SQLException;
@@ -22,6 +24,24 @@ class DefaultStatement<T extends Statement> implements DbStatement {
   DefaultStatement(T statement, SqlTypeHandler sqlTypeHandler) {
     this.statement = statement;
     this.sqlTypeHandler = sqlTypeHandler;
+    applyDeadline(statement);
+  }
+
+  /**
+   * Statement created in scope of deadline is limited by query timeout equal to time remaining till
+   * deadline.
+   *
+   * @param statement is statement timeout should be set on
+   */
+  private static void applyDeadline(Statement statement) {
+    var deadline = Deadline.current();
+    if (deadline != null) {
+      try {
+        statement.setQueryTimeout(deadline.getRemainingSeconds());
+      } catch (SQLException e) {
+        throw new SqlException("Failed to set query timeout of statement", e);
+      }
+    }
   }
 
   /**
@@ -16,6 +16,58 @@ import java.sql.SQLException;
  */
 public final class AdminDbContext extends ProvysDbContext {
 
+  /**
+   * Creator for Provys admin database context with read-only statements routed to replicas and
+   * handed out connections tracked by leak detector.
+   *
+   * @param provysDataSource  is DataSource used to access Provys Oracle database
+   * @param readReplicaRouter is router used to retrieve connections for read-only statements
+   * @param leakDetector      is detector tracking hold times of handed out connections
+   * @param sqlTypeHandler    is sql type handler to be used with this data source
+   */
+  public AdminDbContext(ProvysConnectionPoolDataSource provysDataSource,
+      ReadReplicaRouter readReplicaRouter, ConnectionLeakDetector leakDetector,
+      SqlTypeHandler sqlTypeHandler) {
+    super(provysDataSource, readReplicaRouter, leakDetector, sqlTypeHandler);
+  }
+
+  /**
+   * Creator for Provys admin database context with read-only statements routed to replicas and
+   * handed out connections tracked by leak detector; uses default type map.
+   *
+   * @param provysDataSource  is DataSource used to access Provys Oracle database
+   * @param readReplicaRouter is router used to retrieve connections for read-only statements
+   * @param leakDetector      is detector tracking hold times of handed out connections
+   */
+  public AdminDbContext(ProvysConnectionPoolDataSource provysDataSource,
+      ReadReplicaRouter readReplicaRouter, ConnectionLeakDetector leakDetector) {
+    this(provysDataSource, readReplicaRouter, leakDetector, SqlTypeMap.getDefault());
+  }
+
+  /**
+   * Creator for Provys admin database context with read-only statements routed to replicas.
+   *
+   * @param provysDataSource  is DataSource used to access Provys Oracle database
+   * @param readReplicaRouter is router used to retrieve connections for read-only statements
+   * @param sqlTypeHandler    is sql type handler to be used with this data source
+   */
+  public AdminDbContext(ProvysConnectionPoolDataSource provysDataSource,
+      ReadReplicaRouter readReplicaRouter, SqlTypeHandler sqlTypeHandler) {
+    super(provysDataSource, readReplicaRouter, sqlTypeHandler);
+  }
+
+  /**
+   * Creator for Provys admin database context with read-only statements routed to replicas; uses
+   * default type map.
+   *
+   * @param provysDataSource  is DataSource used to access Provys Oracle database
+   * @param readReplicaRouter is router used to retrieve connections for read-only statements
+   */
+  public AdminDbContext(ProvysConnectionPoolDataSource provysDataSource,
+      ReadReplicaRouter readReplicaRouter) {
+    this(provysDataSource, readReplicaRouter, SqlTypeMap.getDefault());
+  }
+
   /**
    * Creator for Provys admin database context.
    *
@@ -46,6 +98,12 @@ public final class AdminDbContext extends ProvysDbContext {
     return getProvysDataSource().getConnection();
   }
 
+  @Override
+  protected Connection getReadOnlyConnectionInt() throws SQLException {
+    var connection = getReadReplicaRouter().getConnection();
+    return (connection == null) ? getConnectionInt() : connection;
+  }
+
   @Override
   public String toString() {
     return "AdminDbContext{" + super.toString() + '}';
@@ -0,0 +1,327 @@
+package com.provys.db.provysdb;
+
+import com.provys.db.dbcontext.DbConnection;
+import com.provys.db.dbcontext.SqlTypeHandler;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Tracks connections handed out by {@link ProvysDbContext} until they are returned to pool. Hold
+ * time of each connection is recorded in histogram of its call site. Connection held longer than
+ * leak threshold is reported as possible leak (e.g. stream of select statement that has not been
+ * closed) and connection held longer than reclaim limit is forcibly aborted (its statements are
+ * cancelled and transaction rolled back) and pool replaces it, thus its user fails on next attempt
+ * to use it instead of starving the pool. When neither leak reporting nor reclaiming is enabled,
+ * connections are not tracked at all and no hold times are recorded.
+ *
+ * <p>Capture of allocation site (stack trace of code retrieving connection) is optional, as it is
+ * relatively expensive; without it, all hold times are recorded under single call site and leak
+ * reports do not identify code that retrieved connection. Held connections are checked (at most
+ * once per second) before new connection is borrowed from pool - pool exhausted by leaked
+ * connections would otherwise block borrowing thread before check - and by daemon task, scheduled
+ * while any connection is held, or when {@link #checkLeaks()} is called.
+ */
+public final class ConnectionLeakDetector {
+
+  private static final Logger LOG = LogManager.getLogger(ConnectionLeakDetector.class);
+
+  /**
+   * Call site used when allocation site is not captured.
+   */
+  static final String UNKNOWN_SITE = "unknown";
+
+  private static final long CHECK_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+  /**
+   * Frames of these packages are skipped when looking for call site in allocation stack trace.
+   */
+  private static final String[] SKIPPED_PACKAGES = {"com.provys.db.", "java.", "jdk.", "sun."};
+
+  /**
+   * Executor running scheduled checks and used to abort reclaimed connections. Single daemon
+   * thread is shared by all detectors.
+   */
+  private static final ScheduledThreadPoolExecutor EXECUTOR = createExecutor();
+
+  private static ScheduledThreadPoolExecutor createExecutor() {
+    var executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+      var thread = new Thread(runnable, "provysdb-connection-leak-detector");
+      thread.setDaemon(true);
+      return thread;
+    });
+    executor.setRemoveOnCancelPolicy(true);
+    return executor;
+  }
+
+  /**
+   * Detector that neither reports nor reclaims leaked connections; it does not track connections.
+   *
+   * @return detector without leak detection
+   */
+  public static ConnectionLeakDetector withoutLeakDetection() {
+    return new ConnectionLeakDetector(Duration.ZERO, false, Duration.ZERO);
+  }
+
+  private final long leakThresholdNanos;
+  private final boolean captureAllocationSite;
+  private final long reclaimAfterNanos;
+  private final LongSupplier clock;
+  private final ScheduledExecutorService executor;
+  private final Set<TrackedConnection> heldConnections = ConcurrentHashMap.newKeySet();
+  private final Map<String, HoldTimeHistogram> holdTimes = new ConcurrentHashMap<>();
+  private final AtomicLong nextCheck;
+  private final AtomicBoolean checkScheduled = new AtomicBoolean(false);
+  private final LongAdder reportedLeaks = new LongAdder();
+  private final LongAdder reclaimedConnections = new LongAdder();
+
+  /**
+   * Create connection leak detector.
+   *
+   * @param leakThreshold         is time after which held connection is reported as possible
+   *                              leak, zero disables reporting
+   * @param captureAllocationSite defines if stack trace of code retrieving connection should be
+   *                              captured
+   * @param reclaimAfter          is time after which held connection is forcibly aborted and
+   *                              replaced in pool, zero disables reclaiming
+   */
+  public ConnectionLeakDetector(Duration leakThreshold, boolean captureAllocationSite,
+      Duration reclaimAfter) {
+    this(leakThreshold, captureAllocationSite, reclaimAfter, System::nanoTime, EXECUTOR);
+  }
+
+  ConnectionLeakDetector(Duration leakThreshold, boolean captureAllocationSite,
+      Duration reclaimAfter, LongSupplier clock, ScheduledExecutorService executor) {
+    if (leakThreshold.isNegative()) {
+      throw new IllegalArgumentException("Leak threshold cannot be negative: " + leakThreshold);
+    }
+    if (reclaimAfter.isNegative()) {
+      throw new IllegalArgumentException("Reclaim limit cannot be negative: " + reclaimAfter);
+    }
+    this.leakThresholdNanos = leakThreshold.toNanos();
+    this.captureAllocationSite = captureAllocationSite;
+    this.reclaimAfterNanos = reclaimAfter.toNanos();
+    this.clock = clock;
+    this.executor = executor;
+    this.nextCheck = new AtomicLong(clock.getAsLong());
+  }
+
+  private static String getCallSite(Throwable allocationSite) {
+    for (var element : allocationSite.getStackTrace()) {
+      var skip = false;
+      for (var skippedPackage : SKIPPED_PACKAGES) {
+        if (element.getClassName().startsWith(skippedPackage)) {
+          skip = true;
+          break;
+        }
+      }
+      if (!skip) {
+        return element.getClassName() + '.' + element.getMethodName() + ':'
+            + element.getLineNumber();
+      }
+    }
+    return UNKNOWN_SITE;
+  }
+
+  /**
+   * Wrap connection retrieved from pool to tracked connection.
+   *
+   * @param connection     is connection retrieved from pool
+   * @param sqlTypeHandler is type handler to be used by connection
+   * @return tracked connection, releasing tracking when closed; untracked connection if leak
+   *     detection is disabled
+   */
+  public DbConnection track(Connection connection, SqlTypeHandler sqlTypeHandler) {
+    if (!isEnabled()) {
+      return new ProvysConnection(connection, sqlTypeHandler);
+    }
+    var now = clock.getAsLong();
+    Throwable allocationSite = null;
+    var callSite = UNKNOWN_SITE;
+    if (captureAllocationSite) {
+      allocationSite = new Throwable("Connection allocation site");
+      callSite = getCallSite(allocationSite);
+    }
+    var result = new TrackedConnection(connection, sqlTypeHandler, this, now, allocationSite,
+        callSite);
+    heldConnections.add(result);
+    scheduleCheck();
+    return result;
+  }
+
+  private void record(TrackedConnection connection, long holdNanos) {
+    holdTimes.computeIfAbsent(connection.getCallSite(), callSite -> new HoldTimeHistogram())
+        .record(holdNanos);
+  }
+
+  /**
+   * Called by tracked connection when it is closed by its user.
+   *
+   * @param connection is connection being returned to pool
+   */
+  void release(TrackedConnection connection) {
+    if (!heldConnections.remove(connection)) {
+      return;
+    }
+    var holdNanos = clock.getAsLong() - connection.getAcquiredAt();
+    record(connection, holdNanos);
+    if (connection.isReported()) {
+      LOG.info("Connection reported as possible leak returned to pool after {} (call site {})",
+          Duration.ofNanos(holdNanos), connection.getCallSite());
+    }
+  }
+
+  private boolean isEnabled() {
+    return (leakThresholdNanos > 0) || (reclaimAfterNanos > 0);
+  }
+
+  /**
+   * Check held connections, unless they have been checked less than second ago. Should be called
+   * before connection is borrowed from pool, as borrowing blocks when pool is exhausted.
+   */
+  void checkLeaksIfDue() {
+    if (!isEnabled()) {
+      return;
+    }
+    var now = clock.getAsLong();
+    var next = nextCheck.get();
+    if ((now - next >= 0) && nextCheck.compareAndSet(next, now + CHECK_INTERVAL_NANOS)) {
+      checkLeaks(now);
+    }
+  }
+
+  /**
+   * Schedule check of held connections, unless one is already pending. Scheduled check
+   * reschedules itself while any connection is held, thus idle detector does not occupy executor.
+   */
+  private void scheduleCheck() {
+    if (isEnabled() && checkScheduled.compareAndSet(false, true)) {
+      executor.schedule(this::runScheduledCheck, CHECK_INTERVAL_NANOS, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  private void runScheduledCheck() {
+    try {
+      checkLeaksIfDue();
+    } catch (RuntimeException e) {
+      LOG.warn("Scheduled check of held connections failed", e);
+    } finally {
+      checkScheduled.set(false);
+      if (!heldConnections.isEmpty()) {
+        scheduleCheck();
+      }
+    }
+  }
+
+  /**
+   * Report and reclaim connections held for too long. Invoked automatically before connections are
+   * retrieved and periodically while any connection is held.
+   */
+  public void checkLeaks() {
+    checkLeaks(clock.getAsLong());
+  }
+
+  private void checkLeaks(long now) {
+    for (var connection : heldConnections) {
+      var holdNanos = now - connection.getAcquiredAt();
+      if ((reclaimAfterNanos > 0) && (holdNanos >= reclaimAfterNanos)) {
+        reclaim(connection, holdNanos);
+      } else if ((leakThresholdNanos > 0) && (holdNanos >= leakThresholdNanos)
+          && !connection.isReported()) {
+        connection.setReported();
+        reportedLeaks.increment();
+        LOG.warn("Connection held for {} by {}, possible connection leak",
+            Duration.ofNanos(holdNanos), connection.getCallSite(), connection.getAllocationSite());
+      }
+    }
+  }
+
+  private void reclaim(TrackedConnection connection, long holdNanos) {
+    try {
+      if (!connection.reclaim(executor)) {
+        // connection has been closed by its user in the meantime
+        return;
+      }
+    } catch (SQLException e) {
+      LOG.warn("Failed to reclaim connection held by {}", connection.getCallSite(), e);
+    }
+    if (heldConnections.remove(connection)) {
+      record(connection, holdNanos);
+      reclaimedConnections.increment();
+      LOG.warn("Connection held for {} by {} forcibly aborted",
+          Duration.ofNanos(holdNanos), connection.getCallSite(), connection.getAllocationSite());
+    }
+  }
+
+  /**
+   * Number of connections currently handed out.
+   *
+   * @return number of held connections
+   */
+  public int getHeldConnections() {
+    return heldConnections.size();
+  }
+
+  /**
+   * Number of connections reported as possible leak.
+   *
+   * @return number of reported leaks
+   */
+  public long getReportedLeaks() {
+    return reportedLeaks.sum();
+  }
+
+  /**
+   * Number of connections forcibly aborted.
+   *
+   * @return number of reclaimed connections
+   */
+  public long getReclaimedConnections() {
+    return reclaimedConnections.sum();
+  }
+
+  /**
+   * Histograms of hold times of returned connections by call site.
+   *
+   * @return hold time histograms by call site
+   */
+  public Map<String, HoldTimeHistogram> getHoldTimes() {
+    return Map.copyOf(holdTimes);
+  }
+
+  /**
+   * Hold time histogram of given call site.
+   *
+   * @param callSite is call site, in form class.method:line
+   * @return histogram of hold times of connections retrieved at given call site, null if no
+   *     connection retrieved at given site has been returned yet
+   */
+  public @Nullable HoldTimeHistogram getHoldTimes(String callSite) {
+    return holdTimes.get(callSite);
+  }
+
+  @Override
+  public String toString() {
+    return "ConnectionLeakDetector{"
+        + "leakThresholdNanos=" + leakThresholdNanos
+        + ", captureAllocationSite=" + captureAllocationSite
+        + ", reclaimAfterNanos=" + reclaimAfterNanos
+        + ", heldConnections=" + heldConnections.size()
+        + ", reportedLeaks=" + reportedLeaks
+        + ", reclaimedConnections=" + reclaimedConnections
+        + '}';
+  }
+}
@@ -0,0 +1,46 @@
+package com.provys.db.provysdb;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Evaluates lag of Oracle Active Data Guard standby database from apply lag, reported in
+ * v$dataguard_stats. Apply lag is not reported on primary database, thus probe does not accept
+ * primary database configured as replica.
+ */
+final class DataGuardLagProbe implements ReplicaLagProbe {
+
+  private static final String LAG_SQL = "SELECT\n"
+      + "    EXTRACT(DAY FROM lag) * 86400000 + EXTRACT(HOUR FROM lag) * 3600000\n"
+      + "        + EXTRACT(MINUTE FROM lag) * 60000 + EXTRACT(SECOND FROM lag) * 1000\n"
+      + "FROM (\n"
+      + "    SELECT\n"
+      + "        TO_DSINTERVAL(value) lag\n"
+      + "    FROM\n"
+      + "        v$dataguard_stats\n"
+      + "    WHERE\n"
+      + "        name = 'apply lag'\n"
+      + ")";
+
+  @Override
+  public Optional<Duration> getLag(Connection connection) throws SQLException {
+    try (var statement = connection.prepareStatement(LAG_SQL);
+        var resultSet = statement.executeQuery()) {
+      if (!resultSet.next()) {
+        return Optional.empty();
+      }
+      var lagMillis = resultSet.getLong(1);
+      if (resultSet.wasNull()) {
+        return Optional.empty();
+      }
+      return Optional.of(Duration.ofMillis(lagMillis));
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "DataGuardLagProbe{}";
+  }
+}
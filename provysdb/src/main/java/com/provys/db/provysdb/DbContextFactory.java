@@ -2,6 +2,8 @@ package com.provys.db.provysdb;
 
 import com.google.errorprone.annotations.Immutable;
 import com.provys.auth.api.UserContext;
+import java.time.Duration;
+import java.util.ArrayList;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -18,14 +20,37 @@ public class DbContextFactory {
   }
 
   @Bean
-  AdminDbContext adminDbContext(ProvysConnectionPoolDataSource provysDataSource) {
-    return new AdminDbContext(provysDataSource);
+  ReadReplicaRouter readReplicaRouter(ProvysDbConfiguration dbConfiguration) {
+    var replicas = new ArrayList<ProvysConnectionPoolDataSource>(
+        dbConfiguration.getReadOnlyUrls().size());
+    for (int i = 0; i < dbConfiguration.getReadOnlyUrls().size(); i++) {
+      replicas.add(ProvysConnectionPoolDataSourceImpl.ofReplica(dbConfiguration, i));
+    }
+    return new ReadReplicaRouter(replicas,
+        Duration.ofSeconds(dbConfiguration.getReadOnlyMaxLag()),
+        Duration.ofSeconds(dbConfiguration.getReadOnlyCheckInterval()),
+        ReplicaLagProbe.DATA_GUARD);
+  }
+
+  @Bean
+  ConnectionLeakDetector connectionLeakDetector(ProvysDbConfiguration dbConfiguration) {
+    return new ConnectionLeakDetector(Duration.ofSeconds(dbConfiguration.getLeakThreshold()),
+        dbConfiguration.isLeakCaptureSite(),
+        Duration.ofSeconds(dbConfiguration.getLeakReclaimAfter()));
+  }
+
+  @Bean
+  AdminDbContext adminDbContext(ProvysConnectionPoolDataSource provysDataSource,
+      ReadReplicaRouter readReplicaRouter, ConnectionLeakDetector connectionLeakDetector) {
+    return new AdminDbContext(provysDataSource, readReplicaRouter, connectionLeakDetector);
   }
 
   @Bean
   UserDbContext userDbContext(ProvysConnectionPoolDataSource provysDataSource,
+      ReadReplicaRouter readReplicaRouter, ConnectionLeakDetector connectionLeakDetector,
       UserContext userContext) {
-    return new UserDbContext(provysDataSource, userContext);
+    return new UserDbContext(provysDataSource, readReplicaRouter, connectionLeakDetector,
+        userContext);
   }
 
   @Override
@@ -0,0 +1,106 @@
+package com.provys.db.provysdb;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram of times connections were held by their users before being returned to pool. Buckets
+ * have fixed upper bounds; last bucket contains hold times longer than last bound.
+ */
+public final class HoldTimeHistogram {
+
+  private static final List<Duration> BOUNDS = List.of(Duration.ofMillis(10),
+      Duration.ofMillis(100), Duration.ofSeconds(1), Duration.ofSeconds(10), Duration.ofMinutes(1));
+  private static final long[] BOUND_NANOS = BOUNDS.stream().mapToLong(Duration::toNanos).toArray();
+
+  /**
+   * Upper bounds of buckets of histogram (inclusive).
+   *
+   * @return upper bounds of buckets, except last bucket that is not bounded
+   */
+  public static List<Duration> getBounds() {
+    return BOUNDS;
+  }
+
+  private final LongAdder[] counts;
+  private final LongAdder totalNanos = new LongAdder();
+  private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+  HoldTimeHistogram() {
+    counts = new LongAdder[BOUND_NANOS.length + 1];
+    for (int i = 0; i < counts.length; i++) {
+      counts[i] = new LongAdder();
+    }
+  }
+
+  /**
+   * Record hold time of connection.
+   *
+   * @param holdNanos is time connection has been held in nanoseconds
+   */
+  void record(long holdNanos) {
+    int bucket = 0;
+    while ((bucket < BOUND_NANOS.length) && (holdNanos > BOUND_NANOS[bucket])) {
+      bucket++;
+    }
+    counts[bucket].increment();
+    totalNanos.add(holdNanos);
+    maxNanos.accumulate(holdNanos);
+  }
+
+  /**
+   * Number of hold times in individual buckets.
+   *
+   * @return counts of hold times in buckets, one more than number of bounds
+   */
+  public long[] getCounts() {
+    var result = new long[counts.length];
+    for (int i = 0; i < counts.length; i++) {
+      result[i] = counts[i].sum();
+    }
+    return result;
+  }
+
+  /**
+   * Number of recorded hold times.
+   *
+   * @return number of recorded hold times
+   */
+  public long getCount() {
+    long result = 0;
+    for (var count : counts) {
+      result += count.sum();
+    }
+    return result;
+  }
+
+  /**
+   * Sum of recorded hold times.
+   *
+   * @return sum of recorded hold times
+   */
+  public Duration getTotalTime() {
+    return Duration.ofNanos(totalNanos.sum());
+  }
+
+  /**
+   * Longest recorded hold time.
+   *
+   * @return longest recorded hold time
+   */
+  public Duration getMaxTime() {
+    return Duration.ofNanos(maxNanos.get());
+  }
+
+  @Override
+  public String toString() {
+    return "HoldTimeHistogram{"
+        + "counts=" + Arrays.toString(getCounts())
+        + ", totalTime=" + getTotalTime()
+        + ", maxTime=" + getMaxTime()
+        + '}';
+  }
+}
@@ -0,0 +1,24 @@
+package com.provys.db.provysdb;
+
+import com.provys.db.dbcontext.DbPreparedStatement;
+import com.provys.db.dbcontext.SqlTypeHandler;
+import com.provys.db.defaultdb.dbcontext.DefaultConnection;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+
+/**
+ * Connection handed out by {@link ProvysDbContext}. Its prepared statements bind collections as
+ * Oracle collection types (see {@link ProvysPreparedStatement}).
+ */
+class ProvysConnection extends DefaultConnection {
+
+  ProvysConnection(Connection connection, SqlTypeHandler sqlTypeHandler) {
+    super(connection, sqlTypeHandler);
+  }
+
+  @Override
+  protected DbPreparedStatement createPreparedStatement(String sql,
+      PreparedStatement preparedStatement) {
+    return new ProvysPreparedStatement(sql, preparedStatement, getSqlTypeHandler());
+  }
+}
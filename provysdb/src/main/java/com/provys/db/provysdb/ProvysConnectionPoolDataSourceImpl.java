@@ -2,6 +2,9 @@ package com.provys.db.provysdb;
 
 import com.provys.auth.api.UserData;
 import com.provys.common.datatype.DtUid;
+import com.provys.db.dbcontext.Deadline;
+import com.provys.db.dbcontext.DeadlineExceededException;
+import com.provys.db.dbcontext.DeadlineMetrics;
 import com.provys.db.dbcontext.SqlException;
 import java.io.PrintWriter;
 import java.sql.Connection;
@@ -34,6 +37,10 @@ public class ProvysConnectionPoolDataSourceImpl implements ProvysConnectionPoolD
 
   private static final Logger LOG = LogManager.getLogger(ProvysConnectionPoolDataSourceImpl.class);
   private static final String POOL_NAME = "ProvysDB";
+  /**
+   * Prefix of names of pools, connected to read-only replicas; followed by index of replica.
+   */
+  private static final String REPLICA_POOL_NAME = "ProvysDB-RO";
 
   private final PoolDataSource oraclePool;
   /**
@@ -78,12 +85,32 @@ public class ProvysConnectionPoolDataSourceImpl implements ProvysConnectionPoolD
    *                        pool
    */
   public ProvysConnectionPoolDataSourceImpl(ProvysDbConfiguration dbConfiguration) {
+    this(dbConfiguration, dbConfiguration.getUrl(), POOL_NAME);
+  }
+
+  /**
+   * Create data source connected to read-only replica of Provys database. Pool uses user,
+   * password and other settings from supplied configuration and url of replica with given index.
+   *
+   * @param dbConfiguration is class containing information, needed for configuration of database
+   *                        pool
+   * @param replica         is index of replica in list of read-only urls in configuration
+   * @return data source connected to read-only replica
+   */
+  public static ProvysConnectionPoolDataSourceImpl ofReplica(ProvysDbConfiguration dbConfiguration,
+      int replica) {
+    return new ProvysConnectionPoolDataSourceImpl(dbConfiguration,
+        dbConfiguration.getReadOnlyUrls().get(replica), REPLICA_POOL_NAME + (replica + 1));
+  }
+
+  private ProvysConnectionPoolDataSourceImpl(ProvysDbConfiguration dbConfiguration, String url,
+      String poolName) {
     try {
       var mgr = UniversalConnectionPoolManagerImpl.getUniversalConnectionPoolManager();
       for (String name : mgr.getConnectionPoolNames()) {
-        if (name.equals(POOL_NAME)) {
-          LOG.warn("Connection pool with name {} found; destroying it", POOL_NAME);
-          mgr.destroyConnectionPool(POOL_NAME);
+        if (name.equals(poolName)) {
+          LOG.warn("Connection pool with name {} found; destroying it", poolName);
+          mgr.destroyConnectionPool(poolName);
         }
       }
     } catch (UniversalConnectionPoolException e) {
@@ -98,9 +125,9 @@ public class ProvysConnectionPoolDataSourceImpl implements ProvysConnectionPoolD
       oraclePool.setUser(user);
       String pwd = dbConfiguration.getPwd();
       oraclePool.setPassword(pwd);
-      db = dbConfiguration.getUrl();
+      db = url;
       oraclePool.setURL("jdbc:oracle:thin:@" + db);
-      oraclePool.setConnectionPoolName(POOL_NAME);
+      oraclePool.setConnectionPoolName(poolName);
       int minPoolSize = dbConfiguration.getMinPoolSize();
       oraclePool.setMinPoolSize(minPoolSize);
       oraclePool.setInitialPoolSize(minPoolSize);
@@ -110,6 +137,7 @@ public class ProvysConnectionPoolDataSourceImpl implements ProvysConnectionPoolD
       oraclePool.setHighCostConnectionReuseThreshold(dbConfiguration.getConnectionReuseThreshold());
       oraclePool.setValidateConnectionOnBorrow(dbConfiguration.isValidateOnBorrow());
       oraclePool.setSecondsToTrustIdleConnection(dbConfiguration.getValidateSkipUntil());
+      oraclePool.setConnectionWaitTimeout(dbConfiguration.getConnectionWaitTimeout());
       // Register connection labeling callback
       oraclePool.registerConnectionLabelingCallback(new ProvysConnectionLabelingCallback());
       LOG.info("Connection pool created (user {}, db {}, minsize {}, maxsize {}", user, db,
@@ -123,9 +151,36 @@ public class ProvysConnectionPoolDataSourceImpl implements ProvysConnectionPoolD
     checkConnection(oraclePool).ifPresent(value -> this.provysUserId = value);
   }
 
+  /**
+   * Verify that deadline active in current thread has not passed before or during borrow of
+   * connection. UCP does not support wait timeout for individual borrow, thus wait is limited by
+   * pool-wide connection wait timeout and connection borrowed after deadline passed is returned to
+   * pool immediately.
+   *
+   * @param deadline   is deadline active in current thread
+   * @param connection is borrowed connection, null when verifying deadline before borrow
+   * @throws SQLException when returning connection to pool fails
+   */
+  private static void checkDeadline(@Nullable Deadline deadline, @Nullable Connection connection)
+      throws SQLException {
+    if ((deadline == null) || !deadline.isExpired()) {
+      return;
+    }
+    DeadlineMetrics.getInstance().recordBorrowTimeout();
+    if (connection != null) {
+      connection.close();
+    }
+    throw new DeadlineExceededException("Deadline exceeded "
+        + ((connection == null) ? "before" : "during") + " borrow of connection from pool");
+  }
+
   @Override
   public Connection getConnection() throws SQLException {
-    return oraclePool.getConnection();
+    var deadline = Deadline.current();
+    checkDeadline(deadline, null);
+    var connection = oraclePool.getConnection();
+    checkDeadline(deadline, connection);
+    return connection;
   }
 
   @Override
@@ -144,7 +199,11 @@ public class ProvysConnectionPoolDataSourceImpl implements ProvysConnectionPoolD
     var reqLabels = new Properties();
     reqLabels.setProperty(ProvysConnectionLabelingCallback.PROPERTY_TOKEN,
         userData.getDbToken().getValue());
-    return oraclePool.getConnection(reqLabels);
+    var deadline = Deadline.current();
+    checkDeadline(deadline, null);
+    var connection = oraclePool.getConnection(reqLabels);
+    checkDeadline(deadline, connection);
+    return connection;
   }
 
   @Override
@@ -2,6 +2,7 @@ package com.provys.db.provysdb;
 
 import com.google.errorprone.annotations.Immutable;
 import java.io.Serializable;
+import java.util.List;
 
 /**
  * Interface represents configuration needed for datasource initiation. Used internally when
@@ -70,4 +71,78 @@ public interface ProvysDbConfiguration extends Serializable {
    * @return how long after last use can be connection validation skipped
    */
   int getValidateSkipUntil();
+
+  /**
+   * Maximal time in seconds borrow of connection waits for connection to become available when
+   * pool is exhausted (ConnectionWaitTimeout pool parameter). Borrow is also refused when deadline
+   * of current thread has passed. Defaults to 3 seconds.
+   *
+   * @return value of field connectionWaitTimeout
+   */
+  default int getConnectionWaitTimeout() {
+    return 3;
+  }
+
+  /**
+   * Urls of read-only replicas of Provys database (e.g. Active Data Guard standby). Read-only
+   * statements are routed to these replicas; replica pools use the same user, password and pool
+   * settings as primary pool. Empty list disables routing. Defaults to empty list.
+   *
+   * @return value of field readOnlyUrls
+   */
+  default List<String> getReadOnlyUrls() {
+    return List.of();
+  }
+
+  /**
+   * Maximal lag of read-only replica behind primary database in seconds. Replica lagging more is
+   * not used until its lag drops under this limit. Defaults to 30 seconds.
+   *
+   * @return value of field readOnlyMaxLag
+   */
+  default int getReadOnlyMaxLag() {
+    return 30;
+  }
+
+  /**
+   * Interval in seconds in which lag of read-only replica is verified and in which replica that
+   * failed or lagged is retried. Defaults to 10 seconds.
+   *
+   * @return value of field readOnlyCheckInterval
+   */
+  default int getReadOnlyCheckInterval() {
+    return 10;
+  }
+
+  /**
+   * Time in seconds after which connection handed out by database context and not returned to
+   * pool is reported as possible leak. Zero disables leak reporting. Defaults to zero.
+   *
+   * @return value of field leakThreshold
+   */
+  default int getLeakThreshold() {
+    return 0;
+  }
+
+  /**
+   * Defines if stack trace of code retrieving connection should be captured. It identifies code
+   * responsible for leaked connection and splits statistics of connection hold times by call site,
+   * but it makes retrieval of connection more expensive. Defaults to false.
+   *
+   * @return value of field leakCaptureSite
+   */
+  default boolean isLeakCaptureSite() {
+    return false;
+  }
+
+  /**
+   * Time in seconds after which connection handed out by database context and not returned to
+   * pool is forcibly aborted (pool replaces it). Zero disables reclaiming of leaked connections.
+   * Defaults to zero.
+   *
+   * @return value of field leakReclaimAfter
+   */
+  default int getLeakReclaimAfter() {
+    return 0;
+  }
 }
@@ -1,6 +1,7 @@
 package com.provys.db.provysdb;
 
 import com.google.errorprone.annotations.Immutable;
+import java.util.List;
 import java.util.Objects;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -33,12 +34,34 @@ public class ProvysDbConfigurationSpring implements ProvysDbConfiguration {
 
   private final int validateSkipUntil;
 
+  private final int connectionWaitTimeout;
+
+  @SuppressWarnings("Immutable") // list product of copyOf, String is immutable
+  private final List<String> readOnlyUrls;
+
+  private final int readOnlyMaxLag;
+
+  private final int readOnlyCheckInterval;
+
+  private final int leakThreshold;
+
+  private final boolean leakCaptureSite;
+
+  private final int leakReclaimAfter;
+
   @ConstructorBinding
   ProvysDbConfigurationSpring(String url, String user, String pwd,
       @DefaultValue("1") int minPoolSize, @DefaultValue("10") int maxPoolSize,
       @DefaultValue("-1") int connectionReuseThreshold,
       @DefaultValue("true") boolean validateOnBorrow,
-      @DefaultValue("0") int validateSkipUntil) {
+      @DefaultValue("0") int validateSkipUntil,
+      @DefaultValue("3") int connectionWaitTimeout,
+      @DefaultValue List<String> readOnlyUrls,
+      @DefaultValue("30") int readOnlyMaxLag,
+      @DefaultValue("10") int readOnlyCheckInterval,
+      @DefaultValue("0") int leakThreshold,
+      @DefaultValue("false") boolean leakCaptureSite,
+      @DefaultValue("0") int leakReclaimAfter) {
     if (Objects.requireNonNull(url, "Property provysdb.url not specified").isBlank()) {
       throw new IllegalArgumentException("Property provysdb.url cannot be blank");
     }
@@ -69,6 +92,39 @@ public class ProvysDbConfigurationSpring implements ProvysDbConfiguration {
           "Invalid value of property provysdb.validateskipuntil " + validateSkipUntil);
     }
     this.validateSkipUntil = validateSkipUntil;
+    if (connectionWaitTimeout < 0) {
+      throw new IllegalArgumentException(
+          "Invalid value of property provysdb.connectionwaittimeout " + connectionWaitTimeout);
+    }
+    this.connectionWaitTimeout = connectionWaitTimeout;
+    for (var readOnlyUrl : readOnlyUrls) {
+      if (readOnlyUrl.isBlank()) {
+        throw new IllegalArgumentException(
+            "Property provysdb.readonlyurls cannot contain blank url");
+      }
+    }
+    this.readOnlyUrls = List.copyOf(readOnlyUrls);
+    if (readOnlyMaxLag < 0) {
+      throw new IllegalArgumentException(
+          "Invalid value of property provysdb.readonlymaxlag " + readOnlyMaxLag);
+    }
+    this.readOnlyMaxLag = readOnlyMaxLag;
+    if (readOnlyCheckInterval <= 0) {
+      throw new IllegalArgumentException(
+          "Invalid value of property provysdb.readonlycheckinterval " + readOnlyCheckInterval);
+    }
+    this.readOnlyCheckInterval = readOnlyCheckInterval;
+    if (leakThreshold < 0) {
+      throw new IllegalArgumentException(
+          "Invalid value of property provysdb.leakthreshold " + leakThreshold);
+    }
+    this.leakThreshold = leakThreshold;
+    this.leakCaptureSite = leakCaptureSite;
+    if (leakReclaimAfter < 0) {
+      throw new IllegalArgumentException(
+          "Invalid value of property provysdb.leakreclaimafter " + leakReclaimAfter);
+    }
+    this.leakReclaimAfter = leakReclaimAfter;
   }
 
   @Override
@@ -111,6 +167,41 @@ public class ProvysDbConfigurationSpring implements ProvysDbConfiguration {
     return validateSkipUntil;
   }
 
+  @Override
+  public int getConnectionWaitTimeout() {
+    return connectionWaitTimeout;
+  }
+
+  @Override
+  public List<String> getReadOnlyUrls() {
+    return readOnlyUrls;
+  }
+
+  @Override
+  public int getReadOnlyMaxLag() {
+    return readOnlyMaxLag;
+  }
+
+  @Override
+  public int getReadOnlyCheckInterval() {
+    return readOnlyCheckInterval;
+  }
+
+  @Override
+  public int getLeakThreshold() {
+    return leakThreshold;
+  }
+
+  @Override
+  public boolean isLeakCaptureSite() {
+    return leakCaptureSite;
+  }
+
+  @Override
+  public int getLeakReclaimAfter() {
+    return leakReclaimAfter;
+  }
+
   @Override
   public boolean equals(@Nullable Object o) {
     if (this == o) {
@@ -125,9 +216,16 @@ public class ProvysDbConfigurationSpring implements ProvysDbConfiguration {
         && connectionReuseThreshold == that.connectionReuseThreshold
         && validateOnBorrow == that.validateOnBorrow
         && validateSkipUntil == that.validateSkipUntil
+        && connectionWaitTimeout == that.connectionWaitTimeout
+        && readOnlyMaxLag == that.readOnlyMaxLag
+        && readOnlyCheckInterval == that.readOnlyCheckInterval
+        && leakThreshold == that.leakThreshold
+        && leakCaptureSite == that.leakCaptureSite
+        && leakReclaimAfter == that.leakReclaimAfter
         && url.equals(that.url)
         && user.equals(that.user)
-        && pwd.equals(that.pwd);
+        && pwd.equals(that.pwd)
+        && readOnlyUrls.equals(that.readOnlyUrls);
   }
 
   @Override
@@ -140,6 +238,13 @@ public class ProvysDbConfigurationSpring implements ProvysDbConfiguration {
     result = 31 * result + connectionReuseThreshold;
     result = 31 * result + (validateOnBorrow ? 1 : 0);
     result = 31 * result + validateSkipUntil;
+    result = 31 * result + connectionWaitTimeout;
+    result = 31 * result + readOnlyUrls.hashCode();
+    result = 31 * result + readOnlyMaxLag;
+    result = 31 * result + readOnlyCheckInterval;
+    result = 31 * result + leakThreshold;
+    result = 31 * result + (leakCaptureSite ? 1 : 0);
+    result = 31 * result + leakReclaimAfter;
     return result;
   }
 
@@ -154,6 +259,13 @@ public class ProvysDbConfigurationSpring implements ProvysDbConfiguration {
         + ", connectionReuseThreshold=" + connectionReuseThreshold
         + ", validateOnBorrow=" + validateOnBorrow
         + ", validateSkipUntil=" + validateSkipUntil
+        + ", connectionWaitTimeout=" + connectionWaitTimeout
+        + ", readOnlyUrls=" + readOnlyUrls
+        + ", readOnlyMaxLag=" + readOnlyMaxLag
+        + ", readOnlyCheckInterval=" + readOnlyCheckInterval
+        + ", leakThreshold=" + leakThreshold
+        + ", leakCaptureSite=" + leakCaptureSite
+        + ", leakReclaimAfter=" + leakReclaimAfter
         + '}';
   }
 }
@@ -4,24 +4,40 @@ import com.provys.db.dbcontext.DbConnection;
 import com.provys.db.dbcontext.DbContext;
 import com.provys.db.dbcontext.SqlException;
 import com.provys.db.dbcontext.SqlTypeHandler;
-import com.provys.db.defaultdb.dbcontext.DefaultConnection;
 import java.sql.Connection;
 import java.sql.SQLException;
 
 /**
- * Common ancestor for admin and user database context. Holds connection pool and type handler.
+ * Common ancestor for admin and user database context. Holds connection pool, router to read-only
+ * replicas, detector of leaked connections and type handler.
  */
 public abstract class ProvysDbContext implements DbContext {
 
   private final ProvysConnectionPoolDataSource provysDataSource;
+  private final ReadReplicaRouter readReplicaRouter;
+  private final ConnectionLeakDetector leakDetector;
   private final SqlTypeHandler sqlTypeHandler;
 
-  public ProvysDbContext(
-      ProvysConnectionPoolDataSource provysDataSource, SqlTypeHandler sqlTypeHandler) {
+  public ProvysDbContext(ProvysConnectionPoolDataSource provysDataSource,
+      ReadReplicaRouter readReplicaRouter, ConnectionLeakDetector leakDetector,
+      SqlTypeHandler sqlTypeHandler) {
     this.provysDataSource = provysDataSource;
+    this.readReplicaRouter = readReplicaRouter;
+    this.leakDetector = leakDetector;
     this.sqlTypeHandler = sqlTypeHandler;
   }
 
+  public ProvysDbContext(ProvysConnectionPoolDataSource provysDataSource,
+      ReadReplicaRouter readReplicaRouter, SqlTypeHandler sqlTypeHandler) {
+    this(provysDataSource, readReplicaRouter, ConnectionLeakDetector.withoutLeakDetection(),
+        sqlTypeHandler);
+  }
+
+  public ProvysDbContext(
+      ProvysConnectionPoolDataSource provysDataSource, SqlTypeHandler sqlTypeHandler) {
+    this(provysDataSource, ReadReplicaRouter.noReplicas(), sqlTypeHandler);
+  }
+
   /**
    * Gives access to connection pool.
    *
@@ -31,6 +47,24 @@ public abstract class ProvysDbContext implements DbContext {
     return provysDataSource;
   }
 
+  /**
+   * Gives access to router to read-only replicas.
+   *
+   * @return value of field readReplicaRouter
+   */
+  protected ReadReplicaRouter getReadReplicaRouter() {
+    return readReplicaRouter;
+  }
+
+  /**
+   * Gives access to detector, tracking connections handed out by this context.
+   *
+   * @return value of field leakDetector
+   */
+  protected ConnectionLeakDetector getLeakDetector() {
+    return leakDetector;
+  }
+
   @Override
   public String getUrl() {
     return provysDataSource.getUrl();
@@ -43,7 +77,7 @@ public abstract class ProvysDbContext implements DbContext {
 
   /**
    * Get connection from underlying data source. Retrieved connection is only used internally,
-   * it is wrapped in DbConnection in public getConnection method.
+   * it is wrapped in (tracked) DbConnection in public getConnection method.
    *
    * @return connection to be used internally
    * @throws SQLException when connection retrieval from pool thrown this exception
@@ -53,21 +87,58 @@ public abstract class ProvysDbContext implements DbContext {
   @Override
   public DbConnection getConnection() {
     try {
-      return new DefaultConnection(getConnectionInt(), getSqlTypeHandler());
+      // leaks are checked before borrow, as borrowing blocks when leaks exhausted the pool
+      leakDetector.checkLeaksIfDue();
+      return leakDetector.track(getConnectionInt(), getSqlTypeHandler());
     } catch (SQLException e) {
       throw new SqlException("Failed to initialize connection", e);
     }
   }
 
+  /**
+   * Get connection for read-only statements from underlying data source. Default implementation
+   * uses the same connection as {@link #getConnectionInt()}; subclasses retrieve connection from
+   * read-only replica when one is available.
+   *
+   * @return connection to be used internally for read-only statements
+   * @throws SQLException when connection retrieval from pool thrown this exception
+   */
+  protected Connection getReadOnlyConnectionInt() throws SQLException {
+    return getConnectionInt();
+  }
+
+  @Override
+  public DbConnection getReadOnlyConnection() {
+    try {
+      leakDetector.checkLeaksIfDue();
+      return leakDetector.track(getReadOnlyConnectionInt(), getSqlTypeHandler());
+    } catch (SQLException e) {
+      throw new SqlException("Failed to initialize read-only connection", e);
+    }
+  }
+
   @Override
   public SqlTypeHandler getSqlTypeHandler() {
     return sqlTypeHandler;
   }
 
+  /**
+   * Provys connections bind collections as Oracle built-in collection types, thus collection binds
+   * are supported.
+   *
+   * @return true
+   */
+  @Override
+  public boolean supportsCollectionBinds() {
+    return true;
+  }
+
   @Override
   public String toString() {
     return "ProvysDbContext{"
         + "provysDataSource=" + provysDataSource
+        + ", readReplicaRouter=" + readReplicaRouter
+        + ", leakDetector=" + leakDetector
         + ", sqlTypeHandler=" + sqlTypeHandler
         + '}';
   }
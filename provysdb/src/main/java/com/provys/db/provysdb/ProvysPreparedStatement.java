@@ -0,0 +1,87 @@
+package com.provys.db.provysdb;
+
+import com.provys.db.dbcontext.SqlTypeHandler;
+import com.provys.db.defaultdb.dbcontext.DefaultPreparedStatement;
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Types;
+import java.util.function.Consumer;
+import oracle.jdbc.OracleConnection;
+
+/**
+ * Prepared statement used on Provys (Oracle) connections. Oracle does not support anonymous
+ * arrays, thus collection binds are passed as instances of built-in collection types
+ * SYS.ODCINUMBERLIST, SYS.ODCIVARCHAR2LIST and SYS.ODCIDATELIST, that can be used in
+ * {@code TABLE(?)} expression without need to create any type in database schema.
+ */
+final class ProvysPreparedStatement extends DefaultPreparedStatement<PreparedStatement> {
+
+  private final Consumer<? super ProvysPreparedStatement> onClose;
+
+  ProvysPreparedStatement(String sql, PreparedStatement preparedStatement,
+      SqlTypeHandler sqlTypeHandler, Consumer<? super ProvysPreparedStatement> onClose) {
+    super(sql, preparedStatement, sqlTypeHandler);
+    this.onClose = onClose;
+  }
+
+  ProvysPreparedStatement(String sql, PreparedStatement preparedStatement,
+      SqlTypeHandler sqlTypeHandler) {
+    this(sql, preparedStatement, sqlTypeHandler, statement -> {
+    });
+  }
+
+  /**
+   * Name of Oracle collection type used to pass collection of values of given Sql type.
+   *
+   * @param sqlType is Sql type of collection elements
+   * @return name of Oracle collection type
+   * @throws SQLFeatureNotSupportedException if there is no collection type for given Sql type
+   */
+  static String getCollectionTypeName(int sqlType) throws SQLFeatureNotSupportedException {
+    switch (sqlType) {
+      case Types.NUMERIC:
+      case Types.DECIMAL:
+      case Types.INTEGER:
+      case Types.BIGINT:
+      case Types.SMALLINT:
+      case Types.TINYINT:
+      case Types.DOUBLE:
+      case Types.FLOAT:
+      case Types.REAL:
+        return "SYS.ODCINUMBERLIST";
+      case Types.CHAR:
+      case Types.VARCHAR:
+      case Types.NCHAR:
+      case Types.NVARCHAR:
+        return "SYS.ODCIVARCHAR2LIST";
+      case Types.DATE:
+      case Types.TIMESTAMP:
+        return "SYS.ODCIDATELIST";
+      default:
+        throw new SQLFeatureNotSupportedException(
+            "Collection bind not supported for Sql type " + sqlType);
+    }
+  }
+
+  @Override
+  protected Array createArray(Class<?> type, Object[] elements) throws SQLException {
+    return getConnection().unwrap(OracleConnection.class).createOracleArray(
+        getCollectionTypeName(getSqlTypeHandler().getSqlType(type)), elements);
+  }
+
+  @Override
+  public void close() throws SQLException {
+    try {
+      super.close();
+    } finally {
+      onClose.accept(this);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "ProvysPreparedStatement{" + super.toString() + '}';
+  }
+}
@@ -0,0 +1,223 @@
+package com.provys.db.provysdb;
+
+import com.provys.auth.api.UserData;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Routes connections for read-only statements to read-only replicas of Provys database (e.g.
+ * Active Data Guard standby). Replicas are used in round-robin fashion. Lag of each replica is
+ * verified on connection retrieved from it when check interval passes; replica lagging more than
+ * allowed, replica whose lag is not known and replica that fails to provide connection are not
+ * used until next check. When no replica is available, router returns null and caller falls back
+ * to primary database.
+ */
+public final class ReadReplicaRouter {
+
+  private static final Logger LOG = LogManager.getLogger(ReadReplicaRouter.class);
+
+  /**
+   * Router without replicas; all connections are retrieved from primary database.
+   *
+   * @return router without replicas
+   */
+  public static ReadReplicaRouter noReplicas() {
+    return new ReadReplicaRouter(List.of(), Duration.ZERO, Duration.ofSeconds(1),
+        ReplicaLagProbe.DATA_GUARD);
+  }
+
+  /**
+   * Way connection is retrieved from replica data source.
+   */
+  @FunctionalInterface
+  private interface ConnectionSource {
+
+    Connection get(ProvysConnectionPoolDataSource dataSource) throws SQLException;
+  }
+
+  /**
+   * Replica data source together with its state. State is not synchronized; in worst case,
+   * replica is probed by several threads at once when its check interval passes.
+   */
+  private static final class Replica {
+
+    private final ProvysConnectionPoolDataSource dataSource;
+    private volatile boolean available = true;
+    private volatile long nextCheck;
+
+    Replica(ProvysConnectionPoolDataSource dataSource, long nextCheck) {
+      this.dataSource = dataSource;
+      this.nextCheck = nextCheck;
+    }
+
+    @Override
+    public String toString() {
+      return "Replica{"
+          + "url=" + dataSource.getUrl()
+          + ", available=" + available
+          + '}';
+    }
+  }
+
+  private final List<Replica> replicas;
+  private final Duration maxLag;
+  private final long checkIntervalNanos;
+  private final ReplicaLagProbe lagProbe;
+  private final LongSupplier clock;
+  private final AtomicInteger nextReplica = new AtomicInteger();
+
+  /**
+   * Create router over supplied replicas.
+   *
+   * @param replicas      are data sources connected to read-only replicas
+   * @param maxLag        is maximal lag of replica behind primary database, replica lagging more
+   *                      is not used
+   * @param checkInterval is interval in which lag of replica is verified and in which replica that
+   *                      failed or lagged is retried
+   * @param lagProbe      is strategy used to evaluate lag of replica
+   */
+  public ReadReplicaRouter(List<? extends ProvysConnectionPoolDataSource> replicas,
+      Duration maxLag, Duration checkInterval, ReplicaLagProbe lagProbe) {
+    this(replicas, maxLag, checkInterval, lagProbe, System::nanoTime);
+  }
+
+  ReadReplicaRouter(List<? extends ProvysConnectionPoolDataSource> replicas, Duration maxLag,
+      Duration checkInterval, ReplicaLagProbe lagProbe, LongSupplier clock) {
+    if (maxLag.isNegative()) {
+      throw new IllegalArgumentException("Maximal lag of replica cannot be negative: " + maxLag);
+    }
+    if (checkInterval.isNegative() || checkInterval.isZero()) {
+      throw new IllegalArgumentException("Replica check interval must be positive: "
+          + checkInterval);
+    }
+    var now = clock.getAsLong();
+    this.replicas = new ArrayList<>(replicas.size());
+    for (var replica : replicas) {
+      this.replicas.add(new Replica(replica, now));
+    }
+    this.maxLag = maxLag;
+    this.checkIntervalNanos = checkInterval.toNanos();
+    this.lagProbe = lagProbe;
+    this.clock = clock;
+  }
+
+  /**
+   * Number of replicas connections are routed to.
+   *
+   * @return number of replicas
+   */
+  public int getReplicaCount() {
+    return replicas.size();
+  }
+
+  /**
+   * Retrieve generic connection from one of available replicas.
+   *
+   * @return connection to replica, null if no replica is available
+   */
+  public @Nullable Connection getConnection() {
+    return route(ProvysConnectionPoolDataSource::getConnection);
+  }
+
+  /**
+   * Retrieve connection for given user from one of available replicas. Replica pools use the
+   * same connection labeling as primary pool, thus connections already initialized for user are
+   * reused.
+   *
+   * @param userData is Provys session context to be used to initiate connection
+   * @return connection to replica with proper Provys user context, null if no replica is available
+   */
+  public @Nullable Connection getConnectionForUser(UserData userData) {
+    return route(dataSource -> dataSource.getConnectionForUser(userData));
+  }
+
+  private @Nullable Connection route(ConnectionSource source) {
+    var count = replicas.size();
+    if (count == 0) {
+      return null;
+    }
+    var start = Math.floorMod(nextReplica.getAndIncrement(), count);
+    for (int i = 0; i < count; i++) {
+      var connection = getConnection(replicas.get((start + i) % count), source);
+      if (connection != null) {
+        return connection;
+      }
+    }
+    LOG.debug("No read-only replica available, connection is retrieved from primary database");
+    return null;
+  }
+
+  private @Nullable Connection getConnection(Replica replica, ConnectionSource source) {
+    var now = clock.getAsLong();
+    var check = now - replica.nextCheck >= 0;
+    if (!check && !replica.available) {
+      return null;
+    }
+    Connection connection;
+    try {
+      connection = source.get(replica.dataSource);
+    } catch (SQLException e) {
+      setUnavailable(replica, now, "failed to provide connection - " + e.getMessage());
+      return null;
+    }
+    if (check) {
+      try {
+        var lag = lagProbe.getLag(connection);
+        if (lag.isEmpty()) {
+          setUnavailable(replica, now, "lag is not known");
+          close(connection);
+          return null;
+        }
+        if (lag.get().compareTo(maxLag) > 0) {
+          setUnavailable(replica, now, "lag " + lag.get() + " exceeds " + maxLag);
+          close(connection);
+          return null;
+        }
+      } catch (SQLException e) {
+        setUnavailable(replica, now, "failed to evaluate lag - " + e.getMessage());
+        close(connection);
+        return null;
+      }
+      if (!replica.available) {
+        LOG.info("Read-only replica {} is available again", replica.dataSource.getUrl());
+      }
+      replica.available = true;
+      replica.nextCheck = now + checkIntervalNanos;
+    }
+    return connection;
+  }
+
+  private void setUnavailable(Replica replica, long now, String reason) {
+    if (replica.available) {
+      LOG.warn("Read-only replica {} is not used: {}", replica.dataSource.getUrl(), reason);
+    }
+    replica.available = false;
+    replica.nextCheck = now + checkIntervalNanos;
+  }
+
+  private static void close(Connection connection) {
+    try {
+      connection.close();
+    } catch (SQLException e) {
+      LOG.warn("Failed to return connection to replica pool", e);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "ReadReplicaRouter{"
+        + "replicas=" + replicas
+        + ", maxLag=" + maxLag
+        + ", checkIntervalNanos=" + checkIntervalNanos
+        + ", lagProbe=" + lagProbe
+        + '}';
+  }
+}
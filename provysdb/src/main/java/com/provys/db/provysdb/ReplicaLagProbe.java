@@ -0,0 +1,28 @@
+package com.provys.db.provysdb;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Strategy used by {@link ReadReplicaRouter} to find out how far read-only replica lags behind
+ * primary database.
+ */
+@FunctionalInterface
+public interface ReplicaLagProbe {
+
+  /**
+   * Probe evaluating apply lag of Oracle Active Data Guard standby database.
+   */
+  ReplicaLagProbe DATA_GUARD = new DataGuardLagProbe();
+
+  /**
+   * Retrieve current lag of replica, supplied connection is connected to.
+   *
+   * @param connection is connection to replica; it is not closed by probe
+   * @return lag of replica behind primary database, empty if lag is not known
+   * @throws SQLException when evaluation of lag fails
+   */
+  Optional<Duration> getLag(Connection connection) throws SQLException;
+}
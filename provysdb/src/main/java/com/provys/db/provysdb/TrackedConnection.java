@@ -0,0 +1,158 @@
+package com.provys.db.provysdb;
+
+import com.provys.db.dbcontext.DbPreparedStatement;
+import com.provys.db.dbcontext.SqlTypeHandler;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Connection handed out by {@link ProvysDbContext} when leak detection is enabled, tracked by
+ * {@link ConnectionLeakDetector}. Connection is either returned to pool by its user (via close) or
+ * forcibly aborted by detector; whichever comes first, the other is ignored. Aborted connection is
+ * discarded by pool, thus it is never handed out to other user while its original holder might
+ * still use it.
+ */
+final class TrackedConnection extends ProvysConnection {
+
+  private final ConnectionLeakDetector detector;
+  private final long acquiredAt;
+  private final @Nullable Throwable allocationSite;
+  private final String callSite;
+  private final AtomicBoolean released = new AtomicBoolean(false);
+  private final Set<ProvysPreparedStatement> openStatements = ConcurrentHashMap.newKeySet();
+  private volatile boolean reported = false;
+
+  TrackedConnection(Connection connection, SqlTypeHandler sqlTypeHandler,
+      ConnectionLeakDetector detector, long acquiredAt, @Nullable Throwable allocationSite,
+      String callSite) {
+    super(connection, sqlTypeHandler);
+    this.detector = detector;
+    this.acquiredAt = acquiredAt;
+    this.allocationSite = allocationSite;
+    this.callSite = callSite;
+  }
+
+  /**
+   * Time connection has been handed out, in units of detector's clock.
+   *
+   * @return value of field acquiredAt
+   */
+  long getAcquiredAt() {
+    return acquiredAt;
+  }
+
+  /**
+   * Stack trace of code that retrieved connection.
+   *
+   * @return value of field allocationSite, null if allocation site has not been captured
+   */
+  @Nullable Throwable getAllocationSite() {
+    return allocationSite;
+  }
+
+  /**
+   * Method that retrieved connection, used as key of hold time statistics.
+   *
+   * @return value of field callSite
+   */
+  String getCallSite() {
+    return callSite;
+  }
+
+  /**
+   * Indicates if connection has already been reported as possible leak.
+   *
+   * @return value of field reported
+   */
+  boolean isReported() {
+    return reported;
+  }
+
+  /**
+   * Mark connection as reported as possible leak.
+   */
+  void setReported() {
+    this.reported = true;
+  }
+
+  /**
+   * Terminate connection on behalf of detector. Detector runs in other thread than holder of
+   * connection, thus connection is not closed; statements still open are cancelled, transaction is
+   * rolled back and connection is aborted. Holder fails on its next attempt to use connection.
+   *
+   * @param executor is executor, used by driver to release aborted connection
+   * @return true if connection has been aborted, false if it has already been closed by its user
+   * @throws SQLException when cancel, rollback or abort failed; all steps are attempted anyway
+   */
+  boolean reclaim(Executor executor) throws SQLException {
+    if (!released.compareAndSet(false, true)) {
+      return false;
+    }
+    SQLException exception = null;
+    for (var statement : openStatements) {
+      try {
+        statement.cancel();
+      } catch (SQLException e) {
+        exception = addFailure(exception, e);
+      }
+    }
+    try {
+      if (!getAutoCommit()) {
+        rollback();
+      }
+    } catch (SQLException e) {
+      exception = addFailure(exception, e);
+    }
+    try {
+      abort(executor);
+    } catch (SQLException e) {
+      exception = addFailure(exception, e);
+    }
+    if (exception != null) {
+      throw exception;
+    }
+    return true;
+  }
+
+  private static SQLException addFailure(@Nullable SQLException exception, SQLException failure) {
+    if (exception == null) {
+      return failure;
+    }
+    exception.addSuppressed(failure);
+    return exception;
+  }
+
+  @Override
+  protected DbPreparedStatement createPreparedStatement(String sql,
+      PreparedStatement preparedStatement) {
+    var result = new ProvysPreparedStatement(sql, preparedStatement, getSqlTypeHandler(),
+        openStatements::remove);
+    openStatements.add(result);
+    return result;
+  }
+
+  @Override
+  public void close() throws SQLException {
+    if (released.compareAndSet(false, true)) {
+      detector.release(this);
+      super.close();
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "TrackedConnection{"
+        + "acquiredAt=" + acquiredAt
+        + ", callSite='" + callSite + '\''
+        + ", released=" + released
+        + ", reported=" + reported
+        + ", openStatements=" + openStatements.size()
+        + ", " + super.toString() + '}';
+  }
+}
@@ -15,6 +15,71 @@ public final class UserDbContext extends ProvysDbContext {
 
   private final UserContext userContext;
 
+  /**
+   * Create user database context based on supplied provys data source, router to read-only
+   * replicas, leak detector, type map and user context provider.
+   *
+   * @param provysDataSource  is data source that can supply connections to Provys database based
+   *                          on provided user data
+   * @param readReplicaRouter is router used to retrieve connections for read-only statements
+   * @param leakDetector      is detector tracking hold times of handed out connections
+   * @param sqlTypeHandler    is type handler to be used for new connection
+   * @param userContext       is provider of user context for logged in user
+   */
+  public UserDbContext(ProvysConnectionPoolDataSource provysDataSource,
+      ReadReplicaRouter readReplicaRouter, ConnectionLeakDetector leakDetector,
+      SqlTypeHandler sqlTypeHandler, UserContext userContext) {
+    super(provysDataSource, readReplicaRouter, leakDetector, sqlTypeHandler);
+    this.userContext = userContext;
+  }
+
+  /**
+   * Create user database context based on supplied provys data source, router to read-only
+   * replicas, leak detector and user context provider. Uses default type map.
+   *
+   * @param provysDataSource  is data source that can supply connections to Provys database based
+   *                          on provided user data
+   * @param readReplicaRouter is router used to retrieve connections for read-only statements
+   * @param leakDetector      is detector tracking hold times of handed out connections
+   * @param userContext       is provider of user context for logged in user
+   */
+  public UserDbContext(ProvysConnectionPoolDataSource provysDataSource,
+      ReadReplicaRouter readReplicaRouter, ConnectionLeakDetector leakDetector,
+      UserContext userContext) {
+    this(provysDataSource, readReplicaRouter, leakDetector, SqlTypeMap.getDefault(), userContext);
+  }
+
+  /**
+   * Create user database context based on supplied provys data source, router to read-only
+   * replicas, type map and user context provider.
+   *
+   * @param provysDataSource  is data source that can supply connections to Provys database based
+   *                          on provided user data
+   * @param readReplicaRouter is router used to retrieve connections for read-only statements
+   * @param sqlTypeHandler    is type handler to be used for new connection
+   * @param userContext       is provider of user context for logged in user
+   */
+  public UserDbContext(ProvysConnectionPoolDataSource provysDataSource,
+      ReadReplicaRouter readReplicaRouter, SqlTypeHandler sqlTypeHandler,
+      UserContext userContext) {
+    super(provysDataSource, readReplicaRouter, sqlTypeHandler);
+    this.userContext = userContext;
+  }
+
+  /**
+   * Create user database context based on supplied provys data source, router to read-only
+   * replicas and user context provider. Uses default type map.
+   *
+   * @param provysDataSource  is data source that can supply connections to Provys database based
+   *                          on provided user data
+   * @param readReplicaRouter is router used to retrieve connections for read-only statements
+   * @param userContext       is provider of user context for logged in user
+   */
+  public UserDbContext(ProvysConnectionPoolDataSource provysDataSource,
+      ReadReplicaRouter readReplicaRouter, UserContext userContext) {
+    this(provysDataSource, readReplicaRouter, SqlTypeMap.getDefault(), userContext);
+  }
+
   /**
    * Create user database context based on supplied provys data source, type map and user context
    * provider.
@@ -47,6 +112,12 @@ public final class UserDbContext extends ProvysDbContext {
     return getProvysDataSource().getConnectionForUser(userContext.getCurrentUser());
   }
 
+  @Override
+  protected Connection getReadOnlyConnectionInt() throws SQLException {
+    var connection = getReadReplicaRouter().getConnectionForUser(userContext.getCurrentUser());
+    return (connection == null) ? getConnectionInt() : connection;
+  }
+
   @Override
   public DtUid getProvysUserId() {
     return userContext.getCurrentUserId();
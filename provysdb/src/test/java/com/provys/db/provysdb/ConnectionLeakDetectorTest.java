@@ -0,0 +1,206 @@
+package com.provys.db.provysdb;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.provys.db.dbcontext.SqlException;
+import com.provys.db.defaultdb.types.SqlTypeMap;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class ConnectionLeakDetectorTest {
+
+  private static final Duration LEAK_THRESHOLD = Duration.ofSeconds(10);
+  private static final Duration RECLAIM_AFTER = Duration.ofMinutes(1);
+
+  @Test
+  void holdTimeTest() throws SQLException {
+    var clock = new AtomicLong(0);
+    var detector = new ConnectionLeakDetector(LEAK_THRESHOLD, false, Duration.ZERO, clock::get,
+        mock(ScheduledExecutorService.class));
+    var connection = mock(Connection.class);
+    var dbConnection = detector.track(connection, SqlTypeMap.getDefault());
+    assertThat(detector.getHeldConnections()).isEqualTo(1);
+    clock.set(Duration.ofMillis(50).toNanos());
+    dbConnection.close();
+    assertThat(detector.getHeldConnections()).isZero();
+    var holdTimes = detector.getHoldTimes(ConnectionLeakDetector.UNKNOWN_SITE);
+    assertThat(holdTimes).isNotNull();
+    assertThat(holdTimes.getCounts()).containsExactly(0, 1, 0, 0, 0, 0);
+    assertThat(holdTimes.getMaxTime()).isEqualTo(Duration.ofMillis(50));
+    // second close is ignored
+    dbConnection.close();
+    verify(connection).close();
+    assertThat(holdTimes.getCount()).isEqualTo(1);
+  }
+
+  @Test
+  void leakReportTest() throws SQLException {
+    var clock = new AtomicLong(0);
+    var detector = new ConnectionLeakDetector(LEAK_THRESHOLD, false, Duration.ZERO, clock::get,
+        mock(ScheduledExecutorService.class));
+    var dbConnection = detector.track(mock(Connection.class), SqlTypeMap.getDefault());
+    clock.set(LEAK_THRESHOLD.minusNanos(1).toNanos());
+    detector.checkLeaks();
+    assertThat(detector.getReportedLeaks()).isZero();
+    clock.set(LEAK_THRESHOLD.toNanos());
+    detector.checkLeaks();
+    detector.checkLeaks();
+    assertThat(detector.getReportedLeaks()).isEqualTo(1);
+    assertThat(detector.getHeldConnections()).isEqualTo(1);
+    dbConnection.close();
+    assertThat(detector.getHeldConnections()).isZero();
+  }
+
+  @Test
+  void scheduledCheckTest() throws SQLException {
+    var clock = new AtomicLong(0);
+    var executor = mock(ScheduledExecutorService.class);
+    var detector = new ConnectionLeakDetector(LEAK_THRESHOLD, false, Duration.ZERO, clock::get,
+        executor);
+    var dbConnection = detector.track(mock(Connection.class), SqlTypeMap.getDefault());
+    detector.track(mock(Connection.class), SqlTypeMap.getDefault()).close();
+    // single check is pending, regardless of number of held connections
+    var task = ArgumentCaptor.forClass(Runnable.class);
+    verify(executor).schedule(task.capture(), anyLong(), eq(TimeUnit.NANOSECONDS));
+    clock.set(LEAK_THRESHOLD.toNanos());
+    task.getValue().run();
+    assertThat(detector.getReportedLeaks()).isEqualTo(1);
+    // check is rescheduled while any connection is held
+    verify(executor, times(2)).schedule(any(Runnable.class), anyLong(),
+        eq(TimeUnit.NANOSECONDS));
+    dbConnection.close();
+    task.getValue().run();
+    verify(executor, times(2)).schedule(any(Runnable.class), anyLong(),
+        eq(TimeUnit.NANOSECONDS));
+  }
+
+  @Test
+  void reclaimTest() throws SQLException {
+    var clock = new AtomicLong(0);
+    var executor = mock(ScheduledExecutorService.class);
+    var detector = new ConnectionLeakDetector(LEAK_THRESHOLD, false, RECLAIM_AFTER, clock::get,
+        executor);
+    var dataSource = mock(ProvysConnectionPoolDataSource.class);
+    var leaked = mock(Connection.class);
+    when(dataSource.getConnection()).thenReturn(leaked, mock(Connection.class));
+    var dbContext = new AdminDbContext(dataSource, ReadReplicaRouter.noReplicas(), detector);
+    var leakedDbConnection = dbContext.getConnection();
+    clock.set(RECLAIM_AFTER.toNanos());
+    // held connections are checked before next connection is borrowed, as borrowing would block
+    // if leaked connections exhausted the pool
+    dbContext.getConnection();
+    var inOrder = inOrder(leaked, dataSource);
+    inOrder.verify(leaked).rollback();
+    inOrder.verify(leaked).abort(executor);
+    inOrder.verify(dataSource).getConnection();
+    assertThat(detector.getReclaimedConnections()).isEqualTo(1);
+    assertThat(detector.getHeldConnections()).isEqualTo(1);
+    leakedDbConnection.close();
+    // aborted connection is discarded by pool, it is never closed and returned to pool
+    verify(leaked, never()).close();
+  }
+
+  @Test
+  void useAfterReclaimTest() throws SQLException {
+    var clock = new AtomicLong(0);
+    var executor = mock(ScheduledExecutorService.class);
+    var detector = new ConnectionLeakDetector(Duration.ZERO, false, RECLAIM_AFTER, clock::get,
+        executor);
+    var connection = mock(Connection.class);
+    var running = mock(PreparedStatement.class);
+    var closed = mock(PreparedStatement.class);
+    // driver fails any use of aborted connection
+    var aborted = new AtomicBoolean(false);
+    doAnswer(invocation -> {
+      aborted.set(true);
+      return null;
+    }).when(connection).abort(executor);
+    when(connection.prepareStatement(anyString())).thenAnswer(invocation -> {
+      if (aborted.get()) {
+        throw new SQLException("Closed connection");
+      }
+      return "SELECT 1 FROM dual".equals(invocation.getArgument(0)) ? running : closed;
+    });
+    var dbConnection = detector.track(connection, SqlTypeMap.getDefault());
+    var statement = dbConnection.prepareStatement("SELECT 1 FROM dual");
+    dbConnection.prepareStatement("SELECT 2 FROM dual").close();
+    clock.set(RECLAIM_AFTER.toNanos());
+    detector.checkLeaks();
+    verify(running).cancel();
+    verify(closed, never()).cancel();
+    verify(connection).rollback();
+    verify(connection).abort(executor);
+    // holder is not aware of reclaim and keeps using connection - it fails instead of sharing
+    // connection with its next user
+    assertThatThrownBy(() -> dbConnection.prepareStatement("SELECT 3 FROM dual"))
+        .isInstanceOf(SqlException.class)
+        .hasCauseInstanceOf(SQLException.class);
+    statement.close();
+    dbConnection.close();
+    verify(connection, never()).close();
+    assertThat(detector.getReclaimedConnections()).isEqualTo(1);
+    assertThat(detector.getHeldConnections()).isZero();
+    var holdTimes = detector.getHoldTimes(ConnectionLeakDetector.UNKNOWN_SITE);
+    assertThat(holdTimes).isNotNull();
+    assertThat(holdTimes.getCount()).isEqualTo(1);
+  }
+
+  @Test
+  void captureSiteTest() throws SQLException {
+    var detector = new ConnectionLeakDetector(LEAK_THRESHOLD, true, Duration.ZERO,
+        System::nanoTime, mock(ScheduledExecutorService.class));
+    detector.track(mock(Connection.class), SqlTypeMap.getDefault()).close();
+    assertThat(detector.getHoldTimes()).hasSize(1)
+        .doesNotContainKey(ConnectionLeakDetector.UNKNOWN_SITE);
+  }
+
+  @Test
+  void contextTest() throws SQLException {
+    var dataSource = mock(ProvysConnectionPoolDataSource.class);
+    var connection = mock(Connection.class);
+    when(dataSource.getConnection()).thenReturn(connection);
+    var detector = new ConnectionLeakDetector(LEAK_THRESHOLD, false, Duration.ZERO,
+        System::nanoTime, mock(ScheduledExecutorService.class));
+    var dbContext = new AdminDbContext(dataSource, ReadReplicaRouter.noReplicas(), detector);
+    try (var dbConnection = dbContext.getConnection()) {
+      assertThat(detector.getHeldConnections()).isEqualTo(1);
+    }
+    verify(connection).close();
+    assertThat(detector.getHeldConnections()).isZero();
+  }
+
+  @Test
+  void disabledTest() throws SQLException {
+    var executor = mock(ScheduledExecutorService.class);
+    var detector = new ConnectionLeakDetector(Duration.ZERO, true, Duration.ZERO,
+        System::nanoTime, executor);
+    var connection = mock(Connection.class);
+    when(connection.prepareStatement("SELECT 1 FROM dual")).thenReturn(
+        mock(PreparedStatement.class));
+    try (var dbConnection = detector.track(connection, SqlTypeMap.getDefault())) {
+      assertThat(dbConnection).isNotInstanceOf(TrackedConnection.class);
+      assertThat(detector.getHeldConnections()).isZero();
+      // untracked connection still binds collections as Oracle collection types
+      assertThat(dbConnection.prepareStatement("SELECT 1 FROM dual"))
+          .isInstanceOf(ProvysPreparedStatement.class);
+    }
+    verify(connection).close();
+    assertThat(detector.getHoldTimes()).isEmpty();
+    verifyNoInteractions(executor);
+  }
+
+  @Test
+  void invalidThresholdTest() {
+    assertThatThrownBy(() -> new ConnectionLeakDetector(Duration.ofSeconds(-1), false,
+        Duration.ZERO)).isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -40,4 +40,29 @@ class ProvysDbConfigurationImplTest {
   void getMaxPoolSizeTest() {
     assertThat(dbConfiguration.getMaxPoolSize()).isEqualTo(20);
   }
-}
\ No newline at end of file
+
+  @Test
+  void getConnectionWaitTimeoutTest() {
+    assertThat(dbConfiguration.getConnectionWaitTimeout()).isEqualTo(3);
+  }
+
+  @Test
+  void getReadOnlyUrlsTest() {
+    assertThat(dbConfiguration.getReadOnlyUrls()).isEmpty();
+  }
+
+  @Test
+  void getReadOnlyMaxLagTest() {
+    assertThat(dbConfiguration.getReadOnlyMaxLag()).isEqualTo(30);
+  }
+
+  @Test
+  void getLeakThresholdTest() {
+    assertThat(dbConfiguration.getLeakThreshold()).isZero();
+  }
+
+  @Test
+  void getLeakReclaimAfterTest() {
+    assertThat(dbConfiguration.getLeakReclaimAfter()).isZero();
+  }
+}
@@ -0,0 +1,48 @@
+package com.provys.db.provysdb;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.provys.common.datatype.DtUid;
+import com.provys.db.defaultdb.types.SqlTypeMap;
+import java.math.BigDecimal;
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Types;
+import java.util.List;
+import oracle.jdbc.OracleConnection;
+import org.junit.jupiter.api.Test;
+
+class ProvysPreparedStatementTest {
+
+  @Test
+  void setNullableCollectionTest() throws SQLException {
+    var connection = mock(OracleConnection.class);
+    when(connection.unwrap(OracleConnection.class)).thenReturn(connection);
+    var array = mock(Array.class);
+    when(connection.createOracleArray(any(), any())).thenReturn(array);
+    var preparedStatement = mock(PreparedStatement.class);
+    when(preparedStatement.getConnection()).thenReturn(connection);
+    var statement = new ProvysPreparedStatement("SELECT 1 FROM dual", preparedStatement,
+        SqlTypeMap.getDefault());
+    statement.setNullableCollection(1, List.of(DtUid.valueOf("12"), DtUid.valueOf("13")),
+        DtUid.class);
+    verify(connection).createOracleArray("SYS.ODCINUMBERLIST",
+        new Object[]{new BigDecimal("12"), new BigDecimal("13")});
+    verify(preparedStatement).setArray(1, array);
+  }
+
+  @Test
+  void getCollectionTypeNameTest() throws SQLException {
+    assertThat(ProvysPreparedStatement.getCollectionTypeName(Types.NUMERIC))
+        .isEqualTo("SYS.ODCINUMBERLIST");
+    assertThat(ProvysPreparedStatement.getCollectionTypeName(Types.VARCHAR))
+        .isEqualTo("SYS.ODCIVARCHAR2LIST");
+    assertThat(ProvysPreparedStatement.getCollectionTypeName(Types.DATE))
+        .isEqualTo("SYS.ODCIDATELIST");
+    assertThatThrownBy(() -> ProvysPreparedStatement.getCollectionTypeName(Types.BLOB))
+        .isInstanceOf(SQLFeatureNotSupportedException.class);
+  }
+}
@@ -0,0 +1,143 @@
+package com.provys.db.provysdb;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.provys.auth.api.UserData;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+
+class ReadReplicaRouterTest {
+
+  private static final Duration MAX_LAG = Duration.ofSeconds(30);
+  private static final Duration CHECK_INTERVAL = Duration.ofSeconds(10);
+
+  @Test
+  void noReplicasTest() {
+    var router = ReadReplicaRouter.noReplicas();
+    assertThat(router.getReplicaCount()).isZero();
+    assertThat(router.getConnection()).isNull();
+  }
+
+  @Test
+  void roundRobinTest() throws SQLException {
+    var replica1 = mock(ProvysConnectionPoolDataSource.class);
+    var connection1 = mock(Connection.class);
+    when(replica1.getConnection()).thenReturn(connection1);
+    var replica2 = mock(ProvysConnectionPoolDataSource.class);
+    var connection2 = mock(Connection.class);
+    when(replica2.getConnection()).thenReturn(connection2);
+    var router = new ReadReplicaRouter(List.of(replica1, replica2), MAX_LAG, CHECK_INTERVAL,
+        connection -> Optional.of(Duration.ZERO), () -> 0L);
+    assertThat(router.getConnection()).isSameAs(connection1);
+    assertThat(router.getConnection()).isSameAs(connection2);
+    assertThat(router.getConnection()).isSameAs(connection1);
+  }
+
+  @Test
+  void getConnectionForUserTest() throws SQLException {
+    var replica = mock(ProvysConnectionPoolDataSource.class);
+    var userData = mock(UserData.class);
+    var connection = mock(Connection.class);
+    when(replica.getConnectionForUser(userData)).thenReturn(connection);
+    var probe = mock(ReplicaLagProbe.class);
+    when(probe.getLag(connection)).thenReturn(Optional.of(Duration.ofSeconds(1)));
+    var router = new ReadReplicaRouter(List.of(replica), MAX_LAG, CHECK_INTERVAL, probe, () -> 0L);
+    assertThat(router.getConnectionForUser(userData)).isSameAs(connection);
+    verify(replica, never()).getConnection();
+  }
+
+  @Test
+  void lagFallbackTest() throws SQLException {
+    var replica = mock(ProvysConnectionPoolDataSource.class);
+    var connection = mock(Connection.class);
+    when(replica.getConnection()).thenReturn(connection);
+    var lag = new AtomicReference<>(Duration.ofMinutes(5));
+    var clock = new AtomicLong(0);
+    var router = new ReadReplicaRouter(List.of(replica), MAX_LAG, CHECK_INTERVAL,
+        probeConnection -> Optional.of(lag.get()), clock::get);
+    assertThat(router.getConnection()).isNull();
+    verify(connection).close();
+    lag.set(Duration.ofSeconds(1));
+    clock.set(CHECK_INTERVAL.toNanos() - 1);
+    assertThat(router.getConnection()).isNull();
+    verify(replica, times(1)).getConnection();
+    clock.set(CHECK_INTERVAL.toNanos());
+    assertThat(router.getConnection()).isSameAs(connection);
+  }
+
+  @Test
+  void unknownLagTest() throws SQLException {
+    var replica = mock(ProvysConnectionPoolDataSource.class);
+    var connection = mock(Connection.class);
+    when(replica.getConnection()).thenReturn(connection);
+    var router = new ReadReplicaRouter(List.of(replica), MAX_LAG, CHECK_INTERVAL,
+        probeConnection -> Optional.empty(), () -> 0L);
+    assertThat(router.getConnection()).isNull();
+    verify(connection).close();
+  }
+
+  @Test
+  void ejectTest() throws SQLException {
+    var replica1 = mock(ProvysConnectionPoolDataSource.class);
+    when(replica1.getConnection()).thenThrow(new SQLException("Connection refused"));
+    var replica2 = mock(ProvysConnectionPoolDataSource.class);
+    var connection2 = mock(Connection.class);
+    when(replica2.getConnection()).thenReturn(connection2);
+    var clock = new AtomicLong(0);
+    var router = new ReadReplicaRouter(List.of(replica1, replica2), MAX_LAG, CHECK_INTERVAL,
+        connection -> Optional.of(Duration.ZERO), clock::get);
+    assertThat(router.getConnection()).isSameAs(connection2);
+    assertThat(router.getConnection()).isSameAs(connection2);
+    assertThat(router.getConnection()).isSameAs(connection2);
+    verify(replica1, times(1)).getConnection();
+    clock.set(CHECK_INTERVAL.toNanos());
+    assertThat(router.getConnection()).isSameAs(connection2);
+    verify(replica1, times(2)).getConnection();
+  }
+
+  @Test
+  void probeFailureTest() throws SQLException {
+    var replica = mock(ProvysConnectionPoolDataSource.class);
+    var connection = mock(Connection.class);
+    when(replica.getConnection()).thenReturn(connection);
+    var router = new ReadReplicaRouter(List.of(replica), MAX_LAG, CHECK_INTERVAL,
+        probeConnection -> {
+          throw new SQLException("Table or view does not exist");
+        }, () -> 0L);
+    assertThat(router.getConnection()).isNull();
+    verify(connection).close();
+  }
+
+  @Test
+  void adminContextFallbackTest() throws SQLException {
+    var primary = mock(ProvysConnectionPoolDataSource.class);
+    var primaryConnection = mock(Connection.class);
+    when(primary.getConnection()).thenReturn(primaryConnection);
+    var replica = mock(ProvysConnectionPoolDataSource.class);
+    when(replica.getConnection()).thenThrow(new SQLException("Connection refused"));
+    var router = new ReadReplicaRouter(List.of(replica), MAX_LAG, CHECK_INTERVAL,
+        connection -> Optional.of(Duration.ZERO), () -> 0L);
+    var context = new AdminDbContext(primary, router);
+    context.getReadOnlyConnection().close();
+    verify(replica).getConnection();
+    verify(primary).getConnection();
+    verify(primaryConnection).close();
+  }
+
+  @Test
+  void invalidArgumentsTest() {
+    assertThatThrownBy(() -> new ReadReplicaRouter(List.of(), Duration.ofSeconds(-1),
+        CHECK_INTERVAL, ReplicaLagProbe.DATA_GUARD))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new ReadReplicaRouter(List.of(), MAX_LAG, Duration.ZERO,
+        ReplicaLagProbe.DATA_GUARD))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -8,6 +8,7 @@ import com.fasterxml.jackson.annotation.JsonRootName;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.fasterxml.jackson.annotation.JsonTypeInfo.Id;
 import com.google.errorprone.annotations.Immutable;
+import com.google.errorprone.annotations.concurrent.LazyInit;
 import com.provys.db.query.names.BindMap;
 import com.provys.db.query.names.BindVariable;
 import com.provys.db.query.names.SimpleName;
@@ -34,6 +35,9 @@ final class ColumnExpression<T> implements SelectColumn<T> {
   private final Expression<T> expression;
   @JsonProperty("ALIAS")
   private final @Nullable SimpleName alias;
+  // evaluated on first use
+  @LazyInit
+  private transient int hash;
 
   ColumnExpression(Expression<T> expression, @Nullable SimpleName alias,
       @Nullable BindMap bindMap) {
@@ -101,8 +105,12 @@ final class ColumnExpression<T> implements SelectColumn<T> {
 
   @Override
   public int hashCode() {
-    int result = expression.hashCode();
-    result = 31 * result + (alias != null ? alias.hashCode() : 0);
+    int result = hash;
+    if (result == 0) {
+      result = expression.hashCode();
+      result = 31 * result + (alias != null ? alias.hashCode() : 0);
+      hash = result;
+    }
     return result;
   }
 
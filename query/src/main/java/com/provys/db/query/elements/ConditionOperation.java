@@ -10,6 +10,7 @@ import com.fasterxml.jackson.annotation.JsonTypeInfo.Id;
 import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlElementWrapper;
 import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlProperty;
 import com.google.errorprone.annotations.Immutable;
+import com.google.errorprone.annotations.concurrent.LazyInit;
 import com.provys.db.query.functions.ConditionalOperator;
 import com.provys.db.query.names.BindMap;
 import com.provys.db.query.names.BindVariable;
@@ -40,6 +41,9 @@ final class ConditionOperation implements Condition {
   @JacksonXmlElementWrapper(localName = "ARGUMENTS")
   @SuppressWarnings("Immutable") // list product of copyOf, Expression is immutable
   private final List<Expression<?>> arguments;
+  // evaluated on first use
+  @LazyInit
+  private transient int hash;
 
   /**
    * Create function that will evaluate to supplied type, based on supplied function and using
@@ -115,8 +119,12 @@ final class ConditionOperation implements Condition {
 
   @Override
   public int hashCode() {
-    int result = operator.hashCode();
-    result = 31 * result + arguments.hashCode();
+    int result = hash;
+    if (result == 0) {
+      result = operator.hashCode();
+      result = 31 * result + arguments.hashCode();
+      hash = result;
+    }
     return result;
   }
 
@@ -1,6 +1,7 @@
 package com.provys.db.query.elements;
 
 import com.google.errorprone.annotations.Immutable;
+import com.google.errorprone.annotations.concurrent.LazyInit;
 import com.provys.common.exception.InternalException;
 import com.provys.db.query.names.BindMap;
 import com.provys.db.query.names.BindVariable;
@@ -22,6 +23,9 @@ final class DefaultFromClause implements FromClause {
   // created as unmodifiable list, containing immutable FromElement
   @SuppressWarnings("Immutable")
   private final List<FromElement> fromElements;
+  // evaluated on first use
+  @LazyInit
+  private transient int hash;
 
   /**
    * Create from clause, based on supplied elements.
@@ -120,7 +124,12 @@ final class DefaultFromClause implements FromClause {
 
   @Override
   public int hashCode() {
-    return fromElements.hashCode();
+    int result = hash;
+    if (result == 0) {
+      result = fromElements.hashCode();
+      hash = result;
+    }
+    return result;
   }
 
   @Override
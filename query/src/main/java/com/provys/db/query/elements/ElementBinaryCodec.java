@@ -0,0 +1,1153 @@
+package com.provys.db.query.elements;
+
+import com.provys.common.datatype.DtDate;
+import com.provys.common.datatype.DtUid;
+import com.provys.common.exception.InternalException;
+import com.provys.common.types.TypeMap;
+import com.provys.common.types.TypeMapImpl;
+import com.provys.db.query.functions.BuiltInFunction;
+import com.provys.db.query.functions.ConditionalOperator;
+import com.provys.db.query.functions.OptimizerHintType;
+import com.provys.db.query.names.BindName;
+import com.provys.db.query.names.BindVariable;
+import com.provys.db.query.names.NamePath;
+import com.provys.db.query.names.SegmentedName;
+import com.provys.db.query.names.SimpleName;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Compact binary representation of select statements and bind variables. Intended for shipping
+ * query trees between services and for storing them in caches, where Jackson JSON / XML
+ * representation is needlessly verbose and slow.
+ *
+ * <p>Names (identifiers, bind names and type names) are written to dictionary on their first
+ * occurrence and subsequently referenced by index, element kinds, functions and operators are
+ * encoded as variable length integers and literal / bind values use typed encoding for common
+ * types, falling back to Java serialization for other serializable values. Note that functions and
+ * operators are encoded using their ordinal, thus data should only be exchanged between nodes
+ * using the same version of library.
+ *
+ * <p>Decoding validates tags, indices, sizes, values, element kinds and nesting depth and reports
+ * malformed data as {@link InternalException}. Java serialization fallback is restricted by filter that only accepts
+ * declared type of value (or its subclasses), primitive arrays, boxed primitives, strings and
+ * classes from {@code java.math}, {@code java.time} and Provys data type packages.
+ */
+public final class ElementBinaryCodec {
+
+  private static final ElementBinaryCodec DEFAULT = new ElementBinaryCodec(
+      TypeMapImpl.getDefault());
+
+  /**
+   * Codec using default type map.
+   *
+   * @return codec using default type map
+   */
+  public static ElementBinaryCodec getDefault() {
+    return DEFAULT;
+  }
+
+  private static final byte FORMAT_VERSION = 3;
+
+  // tags of select statements
+  private static final int SELECT = 1;
+  private static final int SELECT_T1 = 2;
+  private static final int SELECT_T2 = 3;
+  // tags of from contexts
+  private static final int CONTEXT_NONE = 0;
+  private static final int CONTEXT_UNKNOWN = 1;
+  private static final int CONTEXT_REGULAR = 2;
+  private static final int CONTEXT_SELECT = 3;
+  // tags of from elements
+  private static final int FROM_TABLE = 1;
+  private static final int FROM_SELECT = 2;
+  private static final int FROM_DUAL = 3;
+  // tags of expressions; 0 is used for null condition
+  private static final int EXPRESSION_NONE = 0;
+  private static final int EXPRESSION_LITERAL = 1;
+  private static final int EXPRESSION_BIND = 2;
+  private static final int EXPRESSION_BIND_TYPED = 3;
+  private static final int EXPRESSION_COLUMN = 4;
+  private static final int EXPRESSION_COLUMN_OUTER = 5;
+  private static final int EXPRESSION_FUNCTION = 6;
+  private static final int EXPRESSION_CONDITION = 7;
+  // tags of values
+  private static final int VALUE_NULL = 0;
+  private static final int VALUE_STRING = 1;
+  private static final int VALUE_INTEGER = 2;
+  private static final int VALUE_LONG = 3;
+  private static final int VALUE_TRUE = 4;
+  private static final int VALUE_FALSE = 5;
+  private static final int VALUE_BIG_DECIMAL = 6;
+  private static final int VALUE_BIG_INTEGER = 7;
+  private static final int VALUE_DOUBLE = 8;
+  private static final int VALUE_BYTE = 9;
+  private static final int VALUE_SHORT = 10;
+  private static final int VALUE_DT_DATE = 11;
+  private static final int VALUE_DT_UID = 12;
+  private static final int VALUE_SERIALIZED = 13;
+  private static final int VALUE_COLLECTION = 14;
+
+  private static final BuiltInFunction[] FUNCTIONS = BuiltInFunction.values();
+  private static final ConditionalOperator[] OPERATORS = ConditionalOperator.values();
+  private static final OptimizerHintType[] HINT_TYPES = OptimizerHintType.values();
+
+  /**
+   * Maximal nesting of expressions, selects and from contexts accepted when decoding; guards
+   * against stack overflow on crafted data.
+   */
+  private static final int MAX_NESTING_DEPTH = 256;
+
+  // limits and allow-list of Java serialization fallback
+  private static final int MAX_SERIALIZED_DEPTH = 16;
+  private static final int MAX_SERIALIZED_REFERENCES = 1000;
+  private static final Set<Class<?>> SERIALIZED_CLASSES = Set.of(String.class, Boolean.class,
+      Character.class, Byte.class, Short.class, Integer.class, Long.class, Float.class,
+      Double.class, Number.class, Enum.class);
+  private static final List<String> SERIALIZED_PACKAGES = List.of("java.math.", "java.time.",
+      "com.provys.common.datatype.");
+
+  private final TypeMap typeMap;
+
+  /**
+   * Create codec, using supplied type map to translate types to names.
+   *
+   * @param typeMap is type map used for translation of types
+   */
+  public ElementBinaryCodec(TypeMap typeMap) {
+    this.typeMap = typeMap;
+  }
+
+  /**
+   * Encode select statement to binary form.
+   *
+   * @param select is select statement to be encoded
+   * @return binary representation of select statement
+   */
+  public byte[] encode(SelectT<?> select) {
+    var writer = new Writer();
+    writer.writeSelect(select);
+    return writer.toByteArray();
+  }
+
+  /**
+   * Decode select statement from its binary form.
+   *
+   * @param data is binary representation of select statement
+   * @return decoded select statement
+   */
+  public SelectT<?> decode(byte[] data) {
+    var reader = new Reader(data);
+    var result = reader.readSelect();
+    reader.verifyEnd();
+    return result;
+  }
+
+  /**
+   * Decode select statement from its binary form and verify that it is untyped select.
+   *
+   * @param data is binary representation of select statement
+   * @return decoded select statement
+   */
+  public Select decodeSelect(byte[] data) {
+    var result = decode(data);
+    if (result instanceof Select) {
+      return (Select) result;
+    }
+    throw new InternalException("Binary data do not contain untyped select, found " + result);
+  }
+
+  /**
+   * Decode select statement from its binary form and verify that it is select with single column.
+   *
+   * @param data is binary representation of select statement
+   * @return decoded select statement
+   */
+  public SelectT1<?> decodeSelectT1(byte[] data) {
+    var result = decode(data);
+    if (result instanceof SelectT1) {
+      return (SelectT1<?>) result;
+    }
+    throw new InternalException("Binary data do not contain single column select, found "
+        + result);
+  }
+
+  /**
+   * Decode select statement from its binary form and verify that it is select with two columns.
+   *
+   * @param data is binary representation of select statement
+   * @return decoded select statement
+   */
+  public SelectT2<?, ?> decodeSelectT2(byte[] data) {
+    var result = decode(data);
+    if (result instanceof SelectT2) {
+      return (SelectT2<?, ?>) result;
+    }
+    throw new InternalException("Binary data do not contain two column select, found " + result);
+  }
+
+  /**
+   * Encode collection of bind variables to binary form.
+   *
+   * @param bindVariables are bind variables to be encoded
+   * @return binary representation of bind variables
+   */
+  public byte[] encodeBinds(Collection<BindVariable> bindVariables) {
+    var writer = new Writer();
+    writer.writeVarInt(bindVariables.size());
+    for (var bindVariable : bindVariables) {
+      writer.writeBindVariable(bindVariable);
+    }
+    return writer.toByteArray();
+  }
+
+  /**
+   * Decode list of bind variables from their binary form.
+   *
+   * @param data is binary representation of bind variables
+   * @return list of decoded bind variables
+   */
+  public List<BindVariable> decodeBinds(byte[] data) {
+    var reader = new Reader(data);
+    var size = reader.readSize();
+    var result = new ArrayList<BindVariable>(size);
+    for (int i = 0; i < size; i++) {
+      result.add(reader.readBindVariable());
+    }
+    reader.verifyEnd();
+    return result;
+  }
+
+  /**
+   * Encode single bind variable to binary form.
+   *
+   * @param bindVariable is bind variable to be encoded
+   * @return binary representation of bind variable
+   */
+  public byte[] encodeBind(BindVariable bindVariable) {
+    var writer = new Writer();
+    writer.writeBindVariable(bindVariable);
+    return writer.toByteArray();
+  }
+
+  /**
+   * Decode bind variable from its binary form.
+   *
+   * @param data is binary representation of bind variable
+   * @return decoded bind variable
+   */
+  public BindVariable decodeBind(byte[] data) {
+    var reader = new Reader(data);
+    var result = reader.readBindVariable();
+    reader.verifyEnd();
+    return result;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> Literal<T> createLiteral(Class<T> type, @Nullable Object value) {
+    return new Literal<>(type, (T) value);
+  }
+
+  @SuppressWarnings({"unchecked", "Immutable"})
+  private static BindVariable createBindVariable(BindName name, Class<?> type,
+      @Nullable Object value) {
+    return new BindVariable(name, (Class<Serializable>) type, (Serializable) value);
+  }
+
+  @SuppressWarnings({"unchecked", "Immutable"})
+  private static BindVariable createCollectionBindVariable(BindName name, Class<?> type,
+      List<Object> values) {
+    return BindVariable.ofCollection(name, (Class<Serializable>) type,
+        (List<Serializable>) (List<?>) values);
+  }
+
+  /**
+   * Verify if class might be deserialized as (part of) value of given declared type. Declared type
+   * only extends allow-list when it is concrete enough - Object and interfaces (e.g. Serializable)
+   * would allow any class.
+   */
+  private static boolean isSerializedClassAllowed(Class<?> serialClass, Class<?> declaredType) {
+    var type = serialClass;
+    while (type.isArray()) {
+      type = type.getComponentType();
+    }
+    if (type.isPrimitive() || SERIALIZED_CLASSES.contains(type)) {
+      return true;
+    }
+    if ((declaredType != Object.class) && !declaredType.isInterface()
+        && declaredType.isAssignableFrom(type)) {
+      return true;
+    }
+    var name = type.getName();
+    for (var allowedPackage : SERIALIZED_PACKAGES) {
+      if (name.startsWith(allowedPackage)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static ObjectInputFilter getSerializedFilter(Class<?> declaredType) {
+    return filterInfo -> {
+      if ((filterInfo.depth() > MAX_SERIALIZED_DEPTH)
+          || (filterInfo.references() > MAX_SERIALIZED_REFERENCES)) {
+        return ObjectInputFilter.Status.REJECTED;
+      }
+      var serialClass = filterInfo.serialClass();
+      if (serialClass == null) {
+        return ObjectInputFilter.Status.UNDECIDED;
+      }
+      return isSerializedClassAllowed(serialClass, declaredType)
+          ? ObjectInputFilter.Status.ALLOWED : ObjectInputFilter.Status.REJECTED;
+    };
+  }
+
+  /**
+   * Writer holds buffer and name dictionary for single encode operation.
+   */
+  private final class Writer {
+
+    private byte[] buffer = new byte[256];
+    private int count;
+    private final Map<String, Integer> dictionary = new HashMap<>(32);
+
+    Writer() {
+      writeByte(FORMAT_VERSION);
+    }
+
+    byte[] toByteArray() {
+      return Arrays.copyOf(buffer, count);
+    }
+
+    private void ensureCapacity(int additional) {
+      if (count + additional > buffer.length) {
+        buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, count + additional));
+      }
+    }
+
+    void writeByte(int value) {
+      ensureCapacity(1);
+      buffer[count++] = (byte) value;
+    }
+
+    void writeBytes(byte[] bytes) {
+      writeVarInt(bytes.length);
+      ensureCapacity(bytes.length);
+      System.arraycopy(bytes, 0, buffer, count, bytes.length);
+      count += bytes.length;
+    }
+
+    void writeVarInt(int value) {
+      writeVarLong(value & 0xFFFFFFFFL);
+    }
+
+    void writeVarLong(long value) {
+      ensureCapacity(10);
+      var remaining = value;
+      while ((remaining & ~0x7FL) != 0) {
+        buffer[count++] = (byte) ((remaining & 0x7F) | 0x80);
+        remaining >>>= 7;
+      }
+      buffer[count++] = (byte) remaining;
+    }
+
+    void writeSignedVarLong(long value) {
+      writeVarLong((value << 1) ^ (value >> 63));
+    }
+
+    void writeString(String value) {
+      writeBytes(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Write string using dictionary. 0 represents null, existing strings are represented by their
+     * index + 1 and new string is written as next index followed by its text.
+     */
+    void writeName(@Nullable String name) {
+      if (name == null) {
+        writeVarInt(0);
+        return;
+      }
+      var index = dictionary.get(name);
+      if (index != null) {
+        writeVarInt(index + 1);
+        return;
+      }
+      index = dictionary.size();
+      dictionary.put(name, index);
+      writeVarInt(index + 1);
+      writeString(name);
+    }
+
+    void writeType(Class<?> type) {
+      writeName(typeMap.getName(type));
+    }
+
+    void writeSimpleName(@Nullable SimpleName name) {
+      writeName((name == null) ? null : name.getText());
+    }
+
+    void writeNamePath(@Nullable NamePath namePath) {
+      if (namePath == null) {
+        writeVarInt(0);
+        return;
+      }
+      var segments = namePath.getSegments();
+      writeVarInt(1 + ((segments.size() << 1) | ((namePath instanceof SimpleName) ? 0 : 1)));
+      for (var segment : segments) {
+        writeSimpleName(segment);
+      }
+    }
+
+    void writeValue(@Nullable Object value) {
+      if (value == null) {
+        writeVarInt(VALUE_NULL);
+      } else if (value instanceof String) {
+        writeVarInt(VALUE_STRING);
+        writeString((String) value);
+      } else if (value instanceof Integer) {
+        writeVarInt(VALUE_INTEGER);
+        writeSignedVarLong((Integer) value);
+      } else if (value instanceof Long) {
+        writeVarInt(VALUE_LONG);
+        writeSignedVarLong((Long) value);
+      } else if (value instanceof Boolean) {
+        writeVarInt(((Boolean) value) ? VALUE_TRUE : VALUE_FALSE);
+      } else if (value instanceof BigDecimal) {
+        writeVarInt(VALUE_BIG_DECIMAL);
+        writeSignedVarLong(((BigDecimal) value).scale());
+        writeBytes(((BigDecimal) value).unscaledValue().toByteArray());
+      } else if (value instanceof BigInteger) {
+        writeVarInt(VALUE_BIG_INTEGER);
+        writeBytes(((BigInteger) value).toByteArray());
+      } else if (value instanceof Double) {
+        writeVarInt(VALUE_DOUBLE);
+        writeVarLong(Long.reverseBytes(Double.doubleToLongBits((Double) value)));
+      } else if (value instanceof Byte) {
+        writeVarInt(VALUE_BYTE);
+        writeSignedVarLong((Byte) value);
+      } else if (value instanceof Short) {
+        writeVarInt(VALUE_SHORT);
+        writeSignedVarLong((Short) value);
+      } else if (value instanceof DtDate) {
+        writeVarInt(VALUE_DT_DATE);
+        writeString(((DtDate) value).toIso());
+      } else if (value instanceof DtUid) {
+        writeVarInt(VALUE_DT_UID);
+        writeString(((DtUid) value).getValue().toString());
+      } else {
+        writeVarInt(VALUE_SERIALIZED);
+        writeSerialized(value);
+      }
+    }
+
+    private void writeSerialized(Object value) {
+      var byteStream = new ByteArrayOutputStream();
+      try (var objectStream = new ObjectOutputStream(byteStream)) {
+        objectStream.writeObject(value);
+      } catch (IOException e) {
+        throw new InternalException("Failed to serialize value " + value, e);
+      }
+      writeBytes(byteStream.toByteArray());
+    }
+
+    void writeBindVariable(BindVariable bindVariable) {
+      writeName(bindVariable.getName().getName());
+      writeType(bindVariable.getType());
+      if (bindVariable.isCollection()) {
+        var values = (List<?>) Objects.requireNonNull(bindVariable.getValue());
+        writeVarInt(VALUE_COLLECTION);
+        writeVarInt(values.size());
+        for (var value : values) {
+          writeValue(value);
+        }
+      } else {
+        writeValue(bindVariable.getValue());
+      }
+    }
+
+    void writeExpressions(List<? extends Expression<?>> expressions) {
+      writeVarInt(expressions.size());
+      for (var expression : expressions) {
+        writeExpression(expression);
+      }
+    }
+
+    void writeColumn(ExpressionColumn<?> column) {
+      writeType(column.getType());
+      writeNamePath(column.getTable());
+      writeSimpleName(column.getColumn());
+    }
+
+    void writeExpression(@Nullable Expression<?> expression) {
+      if (expression == null) {
+        writeVarInt(EXPRESSION_NONE);
+      } else if (expression instanceof Literal) {
+        writeVarInt(EXPRESSION_LITERAL);
+        writeType(expression.getType());
+        writeValue(((Literal<?>) expression).getValue());
+      } else if (expression instanceof ExpressionBind) {
+        var bindVariable = ((ExpressionBind<?>) expression).getBindVariable();
+        if (expression.getType().equals(bindVariable.getType())) {
+          writeVarInt(EXPRESSION_BIND);
+        } else {
+          writeVarInt(EXPRESSION_BIND_TYPED);
+          writeType(expression.getType());
+        }
+        writeBindVariable(bindVariable);
+      } else if (expression instanceof ExpressionColumn) {
+        writeVarInt(EXPRESSION_COLUMN);
+        writeColumn((ExpressionColumn<?>) expression);
+      } else if (expression instanceof ExpressionColumnOuter) {
+        writeVarInt(EXPRESSION_COLUMN_OUTER);
+        writeColumn(((ExpressionColumnOuter<?>) expression).getColumn());
+      } else if (expression instanceof ExpressionFunction) {
+        var function = (ExpressionFunction<?>) expression;
+        writeVarInt(EXPRESSION_FUNCTION);
+        writeType(function.getType());
+        writeVarInt(function.getFunction().ordinal());
+        writeExpressions(function.getArguments());
+      } else if (expression instanceof ConditionOperation) {
+        var condition = (ConditionOperation) expression;
+        writeVarInt(EXPRESSION_CONDITION);
+        writeVarInt(condition.getOperator().ordinal());
+        writeExpressions(condition.getArguments());
+      } else {
+        throw new InternalException("Expression " + expression
+            + " not supported by binary codec");
+      }
+    }
+
+    void writeSelectColumn(SelectColumn<?> column) {
+      if (!(column instanceof ColumnExpression)) {
+        throw new InternalException("Select column " + column + " not supported by binary codec");
+      }
+      writeExpression(((ColumnExpression<?>) column).getExpression());
+      writeSimpleName(((ColumnExpression<?>) column).getAlias());
+    }
+
+    void writeFromElement(FromElement fromElement) {
+      if (fromElement instanceof FromTable) {
+        writeVarInt(FROM_TABLE);
+        writeNamePath(((FromTable) fromElement).getTableName());
+        writeNamePath(fromElement.getAlias());
+      } else if (fromElement instanceof FromSelect) {
+        writeVarInt(FROM_SELECT);
+        writeSelect(((FromSelect) fromElement).getSelect());
+        writeNamePath(fromElement.getAlias());
+      } else if (fromElement instanceof FromDual) {
+        writeVarInt(FROM_DUAL);
+        writeNamePath(((FromDual) fromElement).getSpecifiedAlias());
+      } else {
+        throw new InternalException("From element " + fromElement
+            + " not supported by binary codec");
+      }
+    }
+
+    void writeFromClause(FromClause fromClause) {
+      if (!(fromClause instanceof DefaultFromClause)) {
+        throw new InternalException("From clause " + fromClause
+            + " not supported by binary codec");
+      }
+      var elements = ((DefaultFromClause) fromClause).getElements();
+      writeVarInt(elements.size());
+      for (var element : elements) {
+        writeFromElement(element);
+      }
+    }
+
+    void writeFromContext(@Nullable FromContext fromContext) {
+      if (fromContext == null) {
+        writeVarInt(CONTEXT_NONE);
+      } else if (fromContext instanceof UnknownFromContext) {
+        writeVarInt(CONTEXT_UNKNOWN);
+      } else if (fromContext instanceof SelectT) {
+        writeVarInt(CONTEXT_SELECT);
+        writeSelect((SelectT<?>) fromContext);
+      } else if (fromContext instanceof RegularFromContext) {
+        writeVarInt(CONTEXT_REGULAR);
+        writeFromClause(((RegularFromContext) fromContext).getFromClause());
+        writeFromContext(((RegularFromContext) fromContext).getParentContext());
+      } else {
+        throw new InternalException("From context " + fromContext
+            + " not supported by binary codec");
+      }
+    }
+
+    void writeSelect(SelectT<?> select) {
+      if (select instanceof SelectT1Impl) {
+        writeVarInt(SELECT_T1);
+        writeSelectColumn(((SelectT1Impl<?>) select).getColumn1());
+      } else if (select instanceof SelectT2Impl) {
+        writeVarInt(SELECT_T2);
+        writeSelectColumn(((SelectT2Impl<?, ?>) select).getColumn1());
+        writeSelectColumn(((SelectT2Impl<?, ?>) select).getColumn2());
+      } else if (select instanceof SelectImpl) {
+        var selectClause = ((SelectImpl) select).getSelectClause();
+        if (!(selectClause instanceof SelectClauseColumns)) {
+          throw new InternalException("Select clause " + selectClause
+              + " not supported by binary codec");
+        }
+        writeVarInt(SELECT);
+        var columns = ((SelectClauseColumns) selectClause).getColumns();
+        writeVarInt(columns.size());
+        for (var column : columns) {
+          writeSelectColumn(column);
+        }
+      } else {
+        throw new InternalException("Select " + select + " not supported by binary codec");
+      }
+      var selectImpl = (SelectTImpl) select;
+      writeFromClause(selectImpl.getFromClause());
+      writeExpression(selectImpl.getWhereClause());
+      writeOrderBy(selectImpl.getOrderBy());
+      // fetch first is written shifted by one, zero means no limit
+      var fetchFirst = selectImpl.getFetchFirst();
+      writeVarLong((fetchFirst == null) ? 0 : (fetchFirst + 1L));
+      writeHints(selectImpl.getHints());
+      writeFromContext(selectImpl.getParentContext());
+    }
+
+    void writeOrderBy(List<OrderByItem> orderBy) {
+      writeVarInt(orderBy.size());
+      for (var item : orderBy) {
+        writeExpression(item.getExpression());
+        writeByte(item.isDescending() ? 1 : 0);
+      }
+    }
+
+    void writeHints(List<OptimizerHint> hints) {
+      writeVarInt(hints.size());
+      for (var hint : hints) {
+        writeVarInt(hint.getType().ordinal());
+        var arguments = hint.getArguments();
+        writeVarInt(arguments.size());
+        for (var argument : arguments) {
+          writeName(argument);
+        }
+      }
+    }
+  }
+
+  /**
+   * Reader holds position and name dictionary for single decode operation.
+   */
+  private final class Reader {
+
+    private final byte[] data;
+    private int position;
+    private final List<String> dictionary = new ArrayList<>(32);
+    private int depth = 0;
+
+    Reader(byte[] data) {
+      this.data = data;
+      var version = readByte();
+      if (version != FORMAT_VERSION) {
+        throw new InternalException("Unsupported binary element format version " + version);
+      }
+    }
+
+    private void enter() {
+      if (++depth > MAX_NESTING_DEPTH) {
+        throw new InternalException("Nesting of binary element data exceeds "
+            + MAX_NESTING_DEPTH + " levels");
+      }
+    }
+
+    private void leave() {
+      depth--;
+    }
+
+    void verifyEnd() {
+      if (position != data.length) {
+        throw new InternalException("Unexpected data after end of binary element ("
+            + (data.length - position) + " bytes)");
+      }
+    }
+
+    byte readByte() {
+      if (position >= data.length) {
+        throw new InternalException("Unexpected end of binary element data");
+      }
+      return data[position++];
+    }
+
+    byte[] readBytes() {
+      var length = readVarInt();
+      if (length > data.length - position) {
+        throw new InternalException("Unexpected end of binary element data");
+      }
+      var result = Arrays.copyOfRange(data, position, position + length);
+      position += length;
+      return result;
+    }
+
+    long readVarLong() {
+      long result = 0;
+      for (int shift = 0; shift < 64; shift += 7) {
+        var value = readByte();
+        result |= (long) (value & 0x7F) << shift;
+        if ((value & 0x80) == 0) {
+          return result;
+        }
+      }
+      throw new InternalException("Malformed variable length integer in binary element data");
+    }
+
+    int readVarInt() {
+      var value = readVarLong();
+      if ((value < 0) || (value > Integer.MAX_VALUE)) {
+        throw new InternalException("Variable length integer " + Long.toUnsignedString(value)
+            + " out of range in binary element data");
+      }
+      return (int) value;
+    }
+
+    /**
+     * Read number of elements that follow. Every element occupies at least one byte, thus size
+     * cannot exceed number of remaining bytes; this prevents allocation of huge collections based
+     * on corrupt data.
+     */
+    int readSize() {
+      var size = readVarInt();
+      if (size > data.length - position) {
+        throw new InternalException("Invalid size " + size + " in binary element data ("
+            + (data.length - position) + " bytes remaining)");
+      }
+      return size;
+    }
+
+    /**
+     * Read index to array of given length (e.g. ordinal of enum).
+     */
+    int readIndex(int length, String kind) {
+      var index = readVarInt();
+      if (index >= length) {
+        throw new InternalException("Invalid " + kind + " index " + index
+            + " in binary element data");
+      }
+      return index;
+    }
+
+    long readSignedVarLong() {
+      var value = readVarLong();
+      return (value >>> 1) ^ -(value & 1);
+    }
+
+    String readString() {
+      var length = readVarInt();
+      if (length > data.length - position) {
+        throw new InternalException("Unexpected end of binary element data");
+      }
+      var result = new String(data, position, length, StandardCharsets.UTF_8);
+      position += length;
+      return result;
+    }
+
+    @Nullable String readName() {
+      var index = readVarInt() - 1;
+      if (index < 0) {
+        return null;
+      }
+      if (index < dictionary.size()) {
+        return dictionary.get(index);
+      }
+      if (index != dictionary.size()) {
+        throw new InternalException("Invalid name index " + index + " in binary element data");
+      }
+      var name = readString();
+      dictionary.add(name);
+      return name;
+    }
+
+    String readNonNullName() {
+      var name = readName();
+      if (name == null) {
+        throw new InternalException("Unexpected null name in binary element data");
+      }
+      return name;
+    }
+
+    Class<?> readType() {
+      return typeMap.getType(readNonNullName());
+    }
+
+    @Nullable SimpleName readSimpleName() {
+      var name = readName();
+      return (name == null) ? null : SimpleName.valueOf(name);
+    }
+
+    SimpleName readNonNullSimpleName() {
+      return SimpleName.valueOf(readNonNullName());
+    }
+
+    @Nullable NamePath readNamePath() {
+      var header = readVarInt();
+      if (header == 0) {
+        return null;
+      }
+      var size = (header - 1) >>> 1;
+      if (size > data.length - position) {
+        throw new InternalException("Invalid name path size " + size + " in binary element data");
+      }
+      var segmented = ((header - 1) & 1) != 0;
+      if (!segmented && (size == 1)) {
+        return readNonNullSimpleName();
+      }
+      var segments = new ArrayList<SimpleName>(size);
+      for (int i = 0; i < size; i++) {
+        segments.add(readNonNullSimpleName());
+      }
+      return SegmentedName.ofSegments(segments);
+    }
+
+    @Nullable SimpleName readAlias() {
+      var alias = readNamePath();
+      if ((alias == null) || (alias instanceof SimpleName)) {
+        return (SimpleName) alias;
+      }
+      throw new InternalException("Alias expected in binary element data, found " + alias);
+    }
+
+    @Nullable Object readValue(Class<?> type) {
+      return readValue(type, readVarInt());
+    }
+
+    private @Nullable Object readValue(Class<?> type, int tag) {
+      switch (tag) {
+        case VALUE_NULL:
+          return null;
+        case VALUE_STRING:
+          return readString();
+        case VALUE_INTEGER:
+          return (int) readSignedVarLong();
+        case VALUE_LONG:
+          return readSignedVarLong();
+        case VALUE_TRUE:
+          return Boolean.TRUE;
+        case VALUE_FALSE:
+          return Boolean.FALSE;
+        case VALUE_BIG_DECIMAL:
+          var scale = (int) readSignedVarLong();
+          return new BigDecimal(new BigInteger(readBytes()), scale);
+        case VALUE_BIG_INTEGER:
+          return new BigInteger(readBytes());
+        case VALUE_DOUBLE:
+          return Double.longBitsToDouble(Long.reverseBytes(readVarLong()));
+        case VALUE_BYTE:
+          return (byte) readSignedVarLong();
+        case VALUE_SHORT:
+          return (short) readSignedVarLong();
+        case VALUE_DT_DATE:
+          var date = readString();
+          try {
+            return DtDate.parseIso(date);
+          } catch (RuntimeException e) {
+            throw new InternalException("Invalid date " + date + " in binary element data", e);
+          }
+        case VALUE_DT_UID:
+          var uid = readString();
+          try {
+            return DtUid.valueOf(uid);
+          } catch (RuntimeException e) {
+            throw new InternalException("Invalid uid " + uid + " in binary element data", e);
+          }
+        case VALUE_SERIALIZED:
+          return readSerialized(type);
+        default:
+          throw new InternalException("Invalid value tag " + tag + " in binary element data");
+      }
+    }
+
+    private Object readSerialized(Class<?> type) {
+      try (var objectStream = new ObjectInputStream(new ByteArrayInputStream(readBytes()))) {
+        objectStream.setObjectInputFilter(getSerializedFilter(type));
+        return objectStream.readObject();
+      } catch (IOException | ClassNotFoundException e) {
+        throw new InternalException("Failed to deserialize value from binary element data", e);
+      }
+    }
+
+    BindVariable readBindVariable() {
+      var name = BindName.valueOf(readNonNullName());
+      var type = readType();
+      var tag = readVarInt();
+      if (tag == VALUE_COLLECTION) {
+        // each value takes at least one byte, thus size is verified against remaining data
+        var size = readSize();
+        var values = new ArrayList<Object>(size);
+        for (int i = 0; i < size; i++) {
+          var value = readValue(type);
+          if (value == null) {
+            throw new InternalException("Null value in collection bind variable " + name
+                + " in binary element data");
+          }
+          values.add(value);
+        }
+        return createCollectionBindVariable(name, type, values);
+      }
+      return createBindVariable(name, type, readValue(type, tag));
+    }
+
+    List<Expression<?>> readExpressions() {
+      var size = readSize();
+      var result = new ArrayList<Expression<?>>(size);
+      for (int i = 0; i < size; i++) {
+        result.add(readNonNullExpression());
+      }
+      return result;
+    }
+
+    ExpressionColumn<?> readColumn() {
+      var type = readType();
+      var table = readNamePath();
+      return new ExpressionColumn<>(type, table, readNonNullSimpleName());
+    }
+
+    @Nullable Expression<?> readExpression() {
+      enter();
+      try {
+        return readExpressionInt();
+      } finally {
+        leave();
+      }
+    }
+
+    private @Nullable Expression<?> readExpressionInt() {
+      var tag = readVarInt();
+      switch (tag) {
+        case EXPRESSION_NONE:
+          return null;
+        case EXPRESSION_LITERAL:
+          var literalType = readType();
+          return createLiteral(literalType, readValue(literalType));
+        case EXPRESSION_BIND:
+          return ExpressionBind.ofBindVariable(readBindVariable());
+        case EXPRESSION_BIND_TYPED:
+          var bindType = readType();
+          return new ExpressionBind<>(bindType, readBindVariable());
+        case EXPRESSION_COLUMN:
+          return readColumn();
+        case EXPRESSION_COLUMN_OUTER:
+          return new ExpressionColumnOuter<>(readColumn());
+        case EXPRESSION_FUNCTION:
+          var functionType = readType();
+          var function = FUNCTIONS[readIndex(FUNCTIONS.length, "function")];
+          return new ExpressionFunction<>(functionType, function, readExpressions());
+        case EXPRESSION_CONDITION:
+          var operator = OPERATORS[readIndex(OPERATORS.length, "operator")];
+          return new ConditionOperation(operator, readExpressions());
+        default:
+          throw new InternalException("Invalid expression tag " + tag
+              + " in binary element data");
+      }
+    }
+
+    Expression<?> readNonNullExpression() {
+      var expression = readExpression();
+      if (expression == null) {
+        throw new InternalException("Unexpected null expression in binary element data");
+      }
+      return expression;
+    }
+
+    @Nullable Condition readCondition() {
+      var expression = readExpression();
+      if ((expression == null) || (expression instanceof Condition)) {
+        return (Condition) expression;
+      }
+      throw new InternalException("Condition expected in binary element data, found "
+          + expression);
+    }
+
+    SelectColumn<?> readSelectColumn() {
+      var expression = readNonNullExpression();
+      return new ColumnExpression<>(expression, readSimpleName());
+    }
+
+    FromElement readFromElement() {
+      var tag = readVarInt();
+      switch (tag) {
+        case FROM_TABLE:
+          var tableName = readNamePath();
+          if (tableName == null) {
+            throw new InternalException("Unexpected null table name in binary element data");
+          }
+          return new FromTable(tableName, readAlias());
+        case FROM_SELECT:
+          var select = readSelect();
+          return new FromSelect(select, readAlias());
+        case FROM_DUAL:
+          return new FromDual(readAlias());
+        default:
+          throw new InternalException("Invalid from element tag " + tag
+              + " in binary element data");
+      }
+    }
+
+    FromClause readFromClause() {
+      var size = readSize();
+      var elements = new ArrayList<FromElement>(size);
+      for (int i = 0; i < size; i++) {
+        elements.add(readFromElement());
+      }
+      return new DefaultFromClause(elements);
+    }
+
+    @Nullable FromContext readFromContext() {
+      enter();
+      try {
+        return readFromContextInt();
+      } finally {
+        leave();
+      }
+    }
+
+    private @Nullable FromContext readFromContextInt() {
+      var tag = readVarInt();
+      switch (tag) {
+        case CONTEXT_NONE:
+          return null;
+        case CONTEXT_UNKNOWN:
+          return UnknownFromContext.getInstance();
+        case CONTEXT_SELECT:
+          var select = readSelect();
+          if (!(select instanceof FromContext)) {
+            throw new InternalException("From context expected in binary element data, found "
+                + select);
+          }
+          return (FromContext) select;
+        case CONTEXT_REGULAR:
+          var fromClause = readFromClause();
+          return new RegularFromContext(fromClause, readFromContext());
+        default:
+          throw new InternalException("Invalid from context tag " + tag
+              + " in binary element data");
+      }
+    }
+
+    List<OrderByItem> readOrderBy() {
+      var size = readSize();
+      var result = new ArrayList<OrderByItem>(size);
+      for (int i = 0; i < size; i++) {
+        var expression = readNonNullExpression();
+        result.add(new OrderByItem(expression, readByte() != 0));
+      }
+      return result;
+    }
+
+    @Nullable Integer readFetchFirst() {
+      var value = readVarLong();
+      if ((value < 0) || (value > Integer.MAX_VALUE + 1L)) {
+        throw new InternalException("Invalid fetch first " + Long.toUnsignedString(value)
+            + " in binary element data");
+      }
+      return (value == 0) ? null : (int) (value - 1);
+    }
+
+    List<OptimizerHint> readHints() {
+      var size = readSize();
+      var result = new ArrayList<OptimizerHint>(size);
+      for (int i = 0; i < size; i++) {
+        var typeIndex = readIndex(HINT_TYPES.length, "hint type");
+        var argumentCount = readSize();
+        var arguments = new ArrayList<String>(argumentCount);
+        for (int j = 0; j < argumentCount; j++) {
+          arguments.add(readNonNullName());
+        }
+        result.add(new OptimizerHint(HINT_TYPES[typeIndex], arguments));
+      }
+      return result;
+    }
+
+    SelectT<?> readSelect() {
+      enter();
+      try {
+        return readSelectInt();
+      } finally {
+        leave();
+      }
+    }
+
+    private SelectT<?> readSelectInt() {
+      var tag = readVarInt();
+      switch (tag) {
+        case SELECT:
+          var size = readSize();
+          var columns = new ArrayList<SelectColumn<?>>(size);
+          for (int i = 0; i < size; i++) {
+            columns.add(readSelectColumn());
+          }
+          var fromClause = readFromClause();
+          var whereClause = readCondition();
+          var orderBy = readOrderBy();
+          var fetchFirst = readFetchFirst();
+          var hints = readHints();
+          return new SelectImpl(new SelectClauseColumns(columns), fromClause, whereClause,
+              orderBy, fetchFirst, hints, readFromContext());
+        case SELECT_T1:
+          var column = readSelectColumn();
+          var fromClause1 = readFromClause();
+          var whereClause1 = readCondition();
+          var orderBy1 = readOrderBy();
+          var fetchFirst1 = readFetchFirst();
+          var hints1 = readHints();
+          return new SelectT1Impl<>(column, fromClause1, whereClause1, orderBy1, fetchFirst1,
+              hints1, readFromContext());
+        case SELECT_T2:
+          var column1 = readSelectColumn();
+          var column2 = readSelectColumn();
+          var fromClause2 = readFromClause();
+          var whereClause2 = readCondition();
+          var orderBy2 = readOrderBy();
+          var fetchFirst2 = readFetchFirst();
+          var hints2 = readHints();
+          return new SelectT2Impl<>(column1, column2, fromClause2, whereClause2, orderBy2,
+              fetchFirst2, hints2, readFromContext());
+        default:
+          throw new InternalException("Invalid select tag " + tag + " in binary element data");
+      }
+    }
+  }
+
+  @Override
+  public boolean equals(@Nullable Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    ElementBinaryCodec that = (ElementBinaryCodec) o;
+    return typeMap.equals(that.typeMap);
+  }
+
+  @Override
+  public int hashCode() {
+    return typeMap.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return "ElementBinaryCodec{"
+        + "typeMap=" + typeMap
+        + '}';
+  }
+}
@@ -4,24 +4,41 @@ import com.google.errorprone.annotations.Immutable;
 import com.google.errorprone.annotations.ImmutableTypeParameter;
 import com.provys.db.query.functions.BuiltInFunction;
 import com.provys.db.query.functions.ConditionalOperator;
+import com.provys.db.query.functions.OptimizerHintType;
 import com.provys.db.query.names.BindMap;
 import com.provys.db.query.names.BindName;
 import com.provys.db.query.names.BindVariable;
 import com.provys.db.query.names.NamePath;
 import com.provys.db.query.names.SimpleName;
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
  * Allows creation of all types of query elements. Created elements are serializable and can be
  * serialized / deserialized to / from Xml using Jackson.
+ *
+ * <p>Hash-consing variant of factory (see {@link #getHashConsingInstance()}) returns existing
+ * instance when structurally equal element is still reachable. Long-lived query templates built
+ * using this factory share identical subtrees and equality checks on shared subtrees short-circuit
+ * on identity.
  */
 @Immutable
 public final class ElementFactory {
 
-  private static final ElementFactory INSTANCE = new ElementFactory();
+  private static final ElementFactory INSTANCE = new ElementFactory(null);
+  private static final ElementFactory HASH_CONSING_INSTANCE = new ElementFactory(
+      new WeakElementCache());
+
+  /**
+   * Sizes lists of bind variables in IN conditions are padded to. Lists longer than the last
+   * bucket are passed as single collection bind variable.
+   */
+  private static final int[] IN_LIST_BUCKETS = {10, 50, 100, 500};
 
   /**
    * Get singleton instance of query factory.
@@ -32,7 +49,35 @@ public final class ElementFactory {
     return INSTANCE;
   }
 
-  private ElementFactory() {
+  /**
+   * Get singleton instance of query factory that deduplicates structurally equal elements. Elements
+   * are held in weak canonicalization table shared by all users of this instance, thus they are
+   * released once no longer used.
+   *
+   * @return singleton instance of hash-consing query factory
+   */
+  public static ElementFactory getHashConsingInstance() {
+    return HASH_CONSING_INSTANCE;
+  }
+
+  @SuppressWarnings("Immutable") // cache only affects identity of produced elements
+  private final @Nullable WeakElementCache cache;
+
+  private ElementFactory(@Nullable WeakElementCache cache) {
+    this.cache = cache;
+  }
+
+  /**
+   * Indicates if this factory deduplicates structurally equal elements.
+   *
+   * @return true if this factory returns canonical instances of elements
+   */
+  public boolean isHashConsing() {
+    return cache != null;
+  }
+
+  private <E> E canonical(E element) {
+    return (cache == null) ? element : cache.intern(element);
   }
 
   /**
@@ -44,7 +89,7 @@ public final class ElementFactory {
    * @return expression based on bind variable
    */
   public <T> Expression<T> bind(Class<T> type, BindVariable bindVariable) {
-    return new ExpressionBind<>(type, bindVariable);
+    return canonical(new ExpressionBind<>(type, bindVariable));
   }
 
   /**
@@ -58,7 +103,7 @@ public final class ElementFactory {
    */
   public <@ImmutableTypeParameter T extends Serializable> Expression<T> bind(Class<T> type,
       BindName name, @Nullable T value) {
-    return new ExpressionBind<>(type, new BindVariable(name, type, value));
+    return canonical(new ExpressionBind<>(type, new BindVariable(name, type, value)));
   }
 
   /**
@@ -85,7 +130,7 @@ public final class ElementFactory {
    */
   public <@ImmutableTypeParameter T extends Serializable> Expression<T> bind(Class<T> type,
       String name, @Nullable T value) {
-    return new ExpressionBind<>(type, new BindVariable(name, type, value));
+    return canonical(new ExpressionBind<>(type, new BindVariable(name, type, value)));
   }
 
   /**
@@ -108,7 +153,7 @@ public final class ElementFactory {
    * @return expression based on bind variable
    */
   public Expression<Object> bind(BindName name) {
-    return new ExpressionBind<>(Object.class, new BindVariable(name));
+    return canonical(new ExpressionBind<>(Object.class, new BindVariable(name)));
   }
 
   /**
@@ -118,7 +163,7 @@ public final class ElementFactory {
    * @return expression based on bind variable
    */
   public Expression<Object> bind(String name) {
-    return new ExpressionBind<>(Object.class, new BindVariable(name));
+    return canonical(new ExpressionBind<>(Object.class, new BindVariable(name)));
   }
 
   /**
@@ -135,7 +180,7 @@ public final class ElementFactory {
    */
   public <T> ExpressionColumn<T> column(Class<T> type, @Nullable NamePath table, SimpleName column,
       @Nullable FromContext fromContext) {
-    return new ExpressionColumn<>(type, table, column, fromContext);
+    return canonical(new ExpressionColumn<>(type, table, column, fromContext));
   }
 
   /**
@@ -162,7 +207,7 @@ public final class ElementFactory {
    * @return expression, representing single column / property from source, usable in outer join
    */
   public <T> Expression<T> columnOuter(ExpressionColumn<T> column) {
-    return new ExpressionColumnOuter<>(column);
+    return canonical(new ExpressionColumnOuter<>(column));
   }
 
   /**
@@ -209,7 +254,7 @@ public final class ElementFactory {
    */
   public <T> Expression<T> function(Class<T> type, BuiltInFunction function,
       Collection<? extends Expression<?>> arguments) {
-    return new ExpressionFunction<>(type, function, arguments);
+    return canonical(new ExpressionFunction<>(type, function, arguments));
   }
 
   /**
@@ -222,7 +267,7 @@ public final class ElementFactory {
    */
   public <@ImmutableTypeParameter T extends Serializable> Expression<T> literal(Class<T> type,
       @Nullable T value) {
-    return new Literal<>(type, value);
+    return canonical(new Literal<>(type, value));
   }
 
   /**
@@ -234,7 +279,72 @@ public final class ElementFactory {
    * @return new literal, representing supplied value
    */
   public <@ImmutableTypeParameter T extends Serializable> Expression<T> literal(@NonNull T value) {
-    return new Literal<>(value);
+    return canonical(new Literal<>(value));
+  }
+
+  /**
+   * Create item of order by clause.
+   *
+   * @param expression is expression query is sorted by
+   * @param descending indicates if sorting is in descending order
+   * @return order by item based on supplied expression and direction
+   */
+  public OrderByItem orderBy(Expression<?> expression, boolean descending) {
+    return canonical(new OrderByItem(expression, descending));
+  }
+
+  /**
+   * Create item of order by clause with ascending sort order.
+   *
+   * @param expression is expression query is sorted by
+   * @return order by item based on supplied expression
+   */
+  public OrderByItem orderBy(Expression<?> expression) {
+    return orderBy(expression, false);
+  }
+
+  /**
+   * Create optimizer hint.
+   *
+   * @param type      is type of hint
+   * @param arguments are arguments of hint; validity of arguments is verified against hint type
+   * @return optimizer hint of given type with supplied arguments
+   */
+  public OptimizerHint hint(OptimizerHintType type, List<String> arguments) {
+    return canonical(new OptimizerHint(type, arguments));
+  }
+
+  /**
+   * Create optimizer hint.
+   *
+   * @param type      is type of hint
+   * @param arguments are arguments of hint; validity of arguments is verified against hint type
+   * @return optimizer hint of given type with supplied arguments
+   */
+  public OptimizerHint hint(OptimizerHintType type, String... arguments) {
+    return hint(type, List.of(arguments));
+  }
+
+  /**
+   * Create new select query based on supplied select, from, where and order by clauses, limited to
+   * given number of rows and with optimizer hints, that can refer to outside context and remap bind
+   * variables on creation.
+   *
+   * @param selectClause  is select (projection) part of query
+   * @param fromClause    is from (sources) part of query
+   * @param whereClause   is where (conditions) part of query
+   * @param orderBy       is order by part of query, empty if query is not ordered
+   * @param fetchFirst    is maximal number of rows returned by query, null if not limited
+   * @param hints         are optimizer hints attached to query
+   * @param parentContext is parent context, that can define additional sources, available in query
+   * @param bindMap       is bind map, used to remap bind variables on creation
+   * @return created select query
+   */
+  public Select select(SelectClause selectClause, FromClause fromClause,
+      @Nullable Condition whereClause, List<OrderByItem> orderBy, @Nullable Integer fetchFirst,
+      List<OptimizerHint> hints, @Nullable FromContext parentContext, @Nullable BindMap bindMap) {
+    return canonical(new SelectImpl(selectClause, fromClause, whereClause, orderBy, fetchFirst,
+        hints, parentContext, bindMap));
   }
 
   /**
@@ -251,7 +361,8 @@ public final class ElementFactory {
   public Select select(SelectClause selectClause, FromClause fromClause,
       @Nullable Condition whereClause, @Nullable FromContext parentContext,
       @Nullable BindMap bindMap) {
-    return new SelectImpl(selectClause, fromClause, whereClause, parentContext, bindMap);
+    return select(selectClause, fromClause, whereClause, List.of(), null, List.of(), parentContext,
+        bindMap);
   }
 
   /**
@@ -282,6 +393,26 @@ public final class ElementFactory {
     return select(selectClause, fromClause, whereClause, null, null);
   }
 
+  /**
+   * Create new top level select query based on supplied list of columns, from, where and order by
+   * clauses, limited to given number of rows and with optimizer hints.
+   *
+   * @param columns     is list of columns for select clause
+   * @param fromClause  is from (sources) part of query
+   * @param whereClause is where (conditions) part of query
+   * @param orderBy     is order by part of query, empty if query is not ordered
+   * @param fetchFirst  is maximal number of rows returned by query, null if not limited
+   * @param hints       are optimizer hints attached to query
+   * @param bindMap     is bind map, used to remap bind variables on creation
+   * @return created select query
+   */
+  public Select select(Collection<? extends SelectColumn<?>> columns, FromClause fromClause,
+      @Nullable Condition whereClause, List<OrderByItem> orderBy, @Nullable Integer fetchFirst,
+      List<OptimizerHint> hints, @Nullable BindMap bindMap) {
+    return select(selectColumns(columns), fromClause, whereClause, orderBy, fetchFirst, hints,
+        null, bindMap);
+  }
+
   /**
    * Create new top level select query based on supplied list of columns, from and where clauses.
    *
@@ -309,6 +440,28 @@ public final class ElementFactory {
     return select(columns, fromClause, whereClause, null);
   }
 
+  /**
+   * Create select query based on supplied column, from, where and order by clauses, limited to
+   * given number of rows and with optimizer hints.
+   *
+   * @param column1       is the first and only column of query
+   * @param fromClause    is from (sources) part of query
+   * @param whereClause   is where (conditions) part of query
+   * @param orderBy       is order by part of query, empty if query is not ordered
+   * @param fetchFirst    is maximal number of rows returned by query, null if not limited
+   * @param hints         are optimizer hints attached to query
+   * @param parentContext is parent context, that can define additional sources, available in query
+   * @param bindMap       is bind map, used to remap bind variables on creation
+   * @param <T1>          is type of the first column
+   * @return new single column select query
+   */
+  public <T1> SelectT1<T1> select(SelectColumn<T1> column1, FromClause fromClause,
+      @Nullable Condition whereClause, List<OrderByItem> orderBy, @Nullable Integer fetchFirst,
+      List<OptimizerHint> hints, @Nullable FromContext parentContext, @Nullable BindMap bindMap) {
+    return canonical(new SelectT1Impl<>(column1, fromClause, whereClause, orderBy, fetchFirst,
+        hints, parentContext, bindMap));
+  }
+
   /**
    * Create select query based on supplied column, from and where clauses.
    *
@@ -323,7 +476,8 @@ public final class ElementFactory {
   public <T1> SelectT1<T1> select(SelectColumn<T1> column1, FromClause fromClause,
       @Nullable Condition whereClause, @Nullable FromContext parentContext,
       @Nullable BindMap bindMap) {
-    return new SelectT1Impl<>(column1, fromClause, whereClause, parentContext, bindMap);
+    return select(column1, fromClause, whereClause, List.of(), null, List.of(), parentContext,
+        bindMap);
   }
 
   /**
@@ -340,6 +494,31 @@ public final class ElementFactory {
     return select(column1, fromClause, whereClause, null, null);
   }
 
+  /**
+   * Create select query based on supplied columns, from, where and order by clauses, limited to
+   * given number of rows and with optimizer hints.
+   *
+   * @param column1       is the first column of query
+   * @param column2       is the second column of query
+   * @param fromClause    is from (sources) part of query
+   * @param whereClause   is where (conditions) part of query
+   * @param orderBy       is order by part of query, empty if query is not ordered
+   * @param fetchFirst    is maximal number of rows returned by query, null if not limited
+   * @param hints         are optimizer hints attached to query
+   * @param parentContext is parent context, that can define additional sources, available in query
+   * @param bindMap       is bind map, used to remap bind variables on creation
+   * @param <T1>          is type of the first column
+   * @param <T2>          is type of the second column
+   * @return new two column select query
+   */
+  public <T1, T2> SelectT2<T1, T2> select(SelectColumn<T1> column1, SelectColumn<T2> column2,
+      FromClause fromClause, @Nullable Condition whereClause, List<OrderByItem> orderBy,
+      @Nullable Integer fetchFirst, List<OptimizerHint> hints, @Nullable FromContext parentContext,
+      @Nullable BindMap bindMap) {
+    return canonical(new SelectT2Impl<>(column1, column2, fromClause, whereClause, orderBy,
+        fetchFirst, hints, parentContext, bindMap));
+  }
+
   /**
    * Consume select query based on supplied columns, from and where clauses.
    *
@@ -356,7 +535,8 @@ public final class ElementFactory {
   public <T1, T2> SelectT2<T1, T2> select(SelectColumn<T1> column1, SelectColumn<T2> column2,
       FromClause fromClause, @Nullable Condition whereClause, @Nullable FromContext parentContext,
       @Nullable BindMap bindMap) {
-    return new SelectT2Impl<>(column1, column2, fromClause, whereClause, parentContext, bindMap);
+    return select(column1, column2, fromClause, whereClause, List.of(), null, List.of(),
+        parentContext, bindMap);
   }
 
   /**
@@ -384,7 +564,7 @@ public final class ElementFactory {
    */
   public SelectClause selectColumns(Collection<? extends SelectColumn<?>> columns,
       @Nullable BindMap bindMap) {
-    return new SelectClauseColumns(columns, bindMap);
+    return canonical(new SelectClauseColumns(columns, bindMap));
   }
 
   /**
@@ -409,7 +589,7 @@ public final class ElementFactory {
    */
   public <T> SelectColumn<T> selectColumn(Expression<T> expression, @Nullable SimpleName alias,
       @Nullable BindMap bindMap) {
-    return new ColumnExpression<>(expression, alias, bindMap);
+    return canonical(new ColumnExpression<>(expression, alias, bindMap));
   }
 
   /**
@@ -434,7 +614,7 @@ public final class ElementFactory {
    */
   public FromClause from(Collection<? extends FromElement> fromElements,
       @Nullable BindMap bindMap) {
-    return new DefaultFromClause(fromElements, bindMap);
+    return canonical(new DefaultFromClause(fromElements, bindMap));
   }
 
   /**
@@ -455,7 +635,7 @@ public final class ElementFactory {
    * @return new from element
    */
   public FromElement fromTable(NamePath tableName, @Nullable SimpleName alias) {
-    return new FromTable(tableName, alias);
+    return canonical(new FromTable(tableName, alias));
   }
 
   /**
@@ -468,7 +648,7 @@ public final class ElementFactory {
    */
   public FromElement fromSelect(SelectT<?> select, @Nullable SimpleName alias,
       @Nullable BindMap bindMap) {
-    return new FromSelect(select, alias, bindMap);
+    return canonical(new FromSelect(select, alias, bindMap));
   }
 
   /**
@@ -479,7 +659,7 @@ public final class ElementFactory {
    * @return new from element, based on select statement
    */
   public FromElement fromSelect(SelectT<?> select, @Nullable SimpleName alias) {
-    return new FromSelect(select, alias, null);
+    return canonical(new FromSelect(select, alias, null));
   }
 
   /**
@@ -490,7 +670,7 @@ public final class ElementFactory {
    * @return new from element, based on dual pseudo-table
    */
   public FromElement fromDual(@Nullable SimpleName alias) {
-    return new FromDual(alias);
+    return canonical(new FromDual(alias));
   }
 
   /**
@@ -502,7 +682,80 @@ public final class ElementFactory {
    */
   public Condition condition(ConditionalOperator operator,
       Collection<? extends Expression<?>> arguments) {
-    return new ConditionOperation(operator, arguments);
+    return canonical(new ConditionOperation(operator, arguments));
+  }
+
+  /**
+   * Build condition testing if expression is equal to any of supplied expressions.
+   *
+   * @param expression is expression being tested
+   * @param values     are expressions expression is compared with; at least one is required
+   * @param <T>        is type of compared expressions
+   * @return condition, evaluated as true if expression is equal to one of values
+   */
+  public <T> Condition in(Expression<T> expression,
+      Collection<? extends Expression<T>> values) {
+    var arguments = new ArrayList<Expression<?>>(values.size() + 1);
+    arguments.add(expression);
+    arguments.addAll(values);
+    return condition(ConditionalOperator.COND_IN_NONNULL, arguments);
+  }
+
+  /**
+   * Number of bind variables used in IN condition for given number of values.
+   *
+   * @param count is number of (distinct) values
+   * @return number of bind variables value list is padded to, or 0 if values should be passed as
+   *     collection bind variable
+   */
+  static int getInListBucket(int count) {
+    for (var bucket : IN_LIST_BUCKETS) {
+      if (count <= bucket) {
+        return bucket;
+      }
+    }
+    return 0;
+  }
+
+  /**
+   * Build condition testing if expression is equal to any of supplied values. Values are passed
+   * as bind variables prefix1, prefix2...; their count is padded (by repeating the last value) to
+   * one of fixed bucket sizes (10, 50, 100, 500), thus Sql text of statement does not change with
+   * every change of number of values and statement can be reused. Sets of more than 500 values
+   * are passed as single collection bind variable named prefix, rendered by Sql builder as
+   * sub-select from collection (or, if database does not support array parameters, as IN lists of
+   * 500 bind variables connected by OR). Duplicate and null values are removed; empty collection
+   * produces condition that is never true.
+   *
+   * @param expression is expression being tested
+   * @param bindPrefix is prefix of names of bind variables holding values; it must be unique in
+   *                   statement
+   * @param values     are values expression is compared with
+   * @param <T>        is type of compared expression and values
+   * @return condition, evaluated as true if expression is equal to one of values
+   */
+  public <@ImmutableTypeParameter T extends Serializable> Condition in(Expression<T> expression,
+      String bindPrefix, Collection<? extends @Nullable T> values) {
+    var distinctValues = new ArrayList<T>(values.size());
+    var seen = new HashSet<T>(values.size());
+    for (var value : values) {
+      if ((value != null) && seen.add(value)) {
+        distinctValues.add(value);
+      }
+    }
+    var type = expression.getType();
+    var bucket = getInListBucket(distinctValues.size());
+    if (bucket == 0) {
+      return in(expression, List.of(bind(type,
+          BindVariable.ofCollection(BindName.valueOf(bindPrefix), type, distinctValues))));
+    }
+    var binds = new ArrayList<Expression<T>>(bucket);
+    for (int i = 0; i < bucket; i++) {
+      @Nullable T value = distinctValues.isEmpty() ? null
+          : distinctValues.get(Math.min(i, distinctValues.size() - 1));
+      binds.add(bind(type, bindPrefix + (i + 1), value));
+    }
+    return in(expression, binds);
   }
 
   @Override
@@ -510,16 +763,22 @@ public final class ElementFactory {
     if (this == o) {
       return true;
     }
-    return o != null && getClass() == o.getClass();
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    ElementFactory that = (ElementFactory) o;
+    return isHashConsing() == that.isHashConsing();
   }
 
   @Override
   public int hashCode() {
-    return 0;
+    return isHashConsing() ? 1 : 0;
   }
 
   @Override
   public String toString() {
-    return "ElementFactory{}";
+    return "ElementFactory{"
+        + "hashConsing=" + isHashConsing()
+        + '}';
   }
 }
\ No newline at end of file
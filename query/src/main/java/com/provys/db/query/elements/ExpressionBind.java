@@ -115,12 +115,15 @@ final class ExpressionBind<T> implements Expression<T> {
       return false;
     }
     ExpressionBind<?> that = (ExpressionBind<?>) o;
-    return bindVariable.equals(that.bindVariable);
+    return (type == that.type)
+        && bindVariable.equals(that.bindVariable);
   }
 
   @Override
   public int hashCode() {
-    return bindVariable.hashCode();
+    int result = type.hashCode();
+    result = 31 * result + bindVariable.hashCode();
+    return result;
   }
 
   @Override
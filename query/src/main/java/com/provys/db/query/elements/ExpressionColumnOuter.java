@@ -38,6 +38,15 @@ final class ExpressionColumnOuter<T> implements Expression<T> {
     this.column = column;
   }
 
+  /**
+   * Value of field column.
+   *
+   * @return value of field column
+   */
+  ExpressionColumn<T> getColumn() {
+    return column;
+  }
+
   @Override
   public Class<T> getType() {
     return column.getType();
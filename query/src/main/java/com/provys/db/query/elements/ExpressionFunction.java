@@ -10,6 +10,7 @@ import com.fasterxml.jackson.annotation.JsonTypeInfo.Id;
 import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlElementWrapper;
 import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlProperty;
 import com.google.errorprone.annotations.Immutable;
+import com.google.errorprone.annotations.concurrent.LazyInit;
 import com.provys.db.query.functions.BuiltInFunction;
 import com.provys.db.query.names.BindMap;
 import com.provys.db.query.names.BindVariable;
@@ -48,6 +49,9 @@ final class ExpressionFunction<T> implements Expression<T> {
   @JacksonXmlElementWrapper(localName = "ARGUMENTS")
   @SuppressWarnings("Immutable") // list product of copyOf, Expression is immutable
   private final List<Expression<?>> arguments;
+  // evaluated on first use
+  @LazyInit
+  private transient int hash;
 
   /**
    * Create function expression based on function and arguments; type is inferred from function and
@@ -130,13 +134,6 @@ final class ExpressionFunction<T> implements Expression<T> {
     consumer.function(type, function, arguments);
   }
 
-  /**
-   * Type is intentionally not included in comparison, as regardless of declared type, expression
-   * evaluates to the same result and thus type is not part of expression signature.
-   *
-   * @param o is other object to be compared
-   * @return true if both expressions are equivalent, false otherwise
-   */
   @Override
   public boolean equals(@Nullable Object o) {
     if (this == o) {
@@ -146,14 +143,20 @@ final class ExpressionFunction<T> implements Expression<T> {
       return false;
     }
     ExpressionFunction<?> that = (ExpressionFunction<?>) o;
-    return function == that.function
+    return (type == that.type)
+        && function == that.function
         && arguments.equals(that.arguments);
   }
 
   @Override
   public int hashCode() {
-    int result = function.hashCode();
-    result = 31 * result + arguments.hashCode();
+    int result = hash;
+    if (result == 0) {
+      result = type.hashCode();
+      result = 31 * result + function.hashCode();
+      result = 31 * result + arguments.hashCode();
+      hash = result;
+    }
     return result;
   }
 
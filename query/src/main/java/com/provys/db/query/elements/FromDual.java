@@ -49,6 +49,15 @@ final class FromDual implements FromElement {
     return (alias == null) ? DUAL : alias;
   }
 
+  /**
+   * Alias as specified when from element was created, without default applied.
+   *
+   * @return alias as specified during creation, null if default alias is used
+   */
+  @Nullable SimpleName getSpecifiedAlias() {
+    return alias;
+  }
+
   @Override
   public void validateColumn(SimpleName column, Class<?> type) {
     // no columns are possible...
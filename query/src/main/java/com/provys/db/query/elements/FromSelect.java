@@ -8,6 +8,7 @@ import com.fasterxml.jackson.annotation.JsonRootName;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.fasterxml.jackson.annotation.JsonTypeInfo.Id;
 import com.google.errorprone.annotations.Immutable;
+import com.google.errorprone.annotations.concurrent.LazyInit;
 import com.provys.db.query.names.BindMap;
 import com.provys.db.query.names.BindVariable;
 import com.provys.db.query.names.NamePath;
@@ -35,6 +36,9 @@ final class FromSelect implements FromElement {
   private final SelectT<?> select;
   @JsonProperty("ALIAS")
   private final @Nullable SimpleName alias;
+  // evaluated on first use
+  @LazyInit
+  private transient int hash;
 
   FromSelect(SelectT<?> select, @Nullable SimpleName alias, @Nullable BindMap bindMap) {
     this.select = (bindMap == null) ? select : select.mapBinds(bindMap);
@@ -47,6 +51,15 @@ final class FromSelect implements FromElement {
     this(select, alias, null);
   }
 
+  /**
+   * Value of field select.
+   *
+   * @return value of field select
+   */
+  SelectT<?> getSelect() {
+    return select;
+  }
+
   @Override
   public @Nullable NamePath getAlias() {
     return alias;
@@ -91,8 +104,12 @@ final class FromSelect implements FromElement {
 
   @Override
   public int hashCode() {
-    int result = select.hashCode();
-    result = 31 * result + (alias != null ? alias.hashCode() : 0);
+    int result = hash;
+    if (result == 0) {
+      result = select.hashCode();
+      result = 31 * result + (alias != null ? alias.hashCode() : 0);
+      hash = result;
+    }
     return result;
   }
 
@@ -0,0 +1,94 @@
+package com.provys.db.query.elements;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonRootName;
+import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlElementWrapper;
+import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlProperty;
+import com.google.errorprone.annotations.Immutable;
+import com.provys.db.query.functions.OptimizerHintType;
+import java.util.List;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Optimizer hint attached to select statement. Hint has no influence on result of statement, it
+ * only affects execution plan.
+ */
+@JsonAutoDetect(
+    fieldVisibility = Visibility.NONE,
+    setterVisibility = Visibility.NONE,
+    getterVisibility = Visibility.NONE,
+    isGetterVisibility = Visibility.NONE,
+    creatorVisibility = Visibility.NONE
+)
+@JsonRootName("HINT")
+@Immutable
+public final class OptimizerHint {
+
+  @JsonProperty("TYPE")
+  private final OptimizerHintType type;
+  @JsonProperty("ARGUMENTS")
+  @JacksonXmlProperty(localName = "ARGUMENT")
+  @JacksonXmlElementWrapper(localName = "ARGUMENTS")
+  @JsonInclude(Include.NON_EMPTY)
+  @SuppressWarnings("Immutable") // list product of copyOf, String is immutable
+  private final List<String> arguments;
+
+  @JsonCreator
+  OptimizerHint(@JsonProperty("TYPE") OptimizerHintType type,
+      @JsonProperty("ARGUMENTS") @Nullable List<String> arguments) {
+    this.type = type;
+    this.arguments = (arguments == null) ? List.of() : List.copyOf(arguments);
+    type.validateArguments(this.arguments);
+  }
+
+  /**
+   * Value of field type.
+   *
+   * @return value of field type
+   */
+  public OptimizerHintType getType() {
+    return type;
+  }
+
+  /**
+   * Value of field arguments.
+   *
+   * @return value of field arguments
+   */
+  public List<String> getArguments() {
+    return arguments;
+  }
+
+  @Override
+  public boolean equals(@Nullable Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    OptimizerHint that = (OptimizerHint) o;
+    return (type == that.type)
+        && arguments.equals(that.arguments);
+  }
+
+  @Override
+  public int hashCode() {
+    int result = type.hashCode();
+    result = 31 * result + arguments.hashCode();
+    return result;
+  }
+
+  @Override
+  public String toString() {
+    return "OptimizerHint{"
+        + "type=" + type
+        + ", arguments=" + arguments
+        + '}';
+  }
+}
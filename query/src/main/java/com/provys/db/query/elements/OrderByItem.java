@@ -0,0 +1,109 @@
+package com.provys.db.query.elements;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonRootName;
+import com.google.errorprone.annotations.Immutable;
+import com.google.errorprone.annotations.concurrent.LazyInit;
+import com.provys.db.query.names.BindMap;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Single item of order by clause of select statement - expression and direction of sorting.
+ */
+@JsonAutoDetect(
+    fieldVisibility = Visibility.NONE,
+    setterVisibility = Visibility.NONE,
+    getterVisibility = Visibility.NONE,
+    isGetterVisibility = Visibility.NONE,
+    creatorVisibility = Visibility.NONE
+)
+@JsonRootName("ORDERBYITEM")
+@Immutable
+public final class OrderByItem {
+
+  @JsonProperty("EXPRESSION")
+  private final Expression<?> expression;
+  @JsonProperty("DESC")
+  @JsonInclude(Include.NON_DEFAULT)
+  private final boolean descending;
+  // evaluated on first use
+  @LazyInit
+  private transient int hash;
+
+  @JsonCreator
+  OrderByItem(@JsonProperty("EXPRESSION") Expression<?> expression,
+      @JsonProperty("DESC") boolean descending) {
+    this.expression = expression;
+    this.descending = descending;
+  }
+
+  /**
+   * Value of field expression.
+   *
+   * @return value of field expression
+   */
+  public Expression<?> getExpression() {
+    return expression;
+  }
+
+  /**
+   * Value of field descending.
+   *
+   * @return value of field descending
+   */
+  public boolean isDescending() {
+    return descending;
+  }
+
+  /**
+   * Remap bind variables in expression using supplied bind map.
+   *
+   * @param bindMap is map used to remap bind variables
+   * @return order by item with bind variables remapped
+   */
+  OrderByItem mapBinds(BindMap bindMap) {
+    var newExpression = expression.mapBinds(bindMap);
+    //noinspection ObjectEquality - if expression doesn't do deduplication, neither will we
+    if (newExpression == expression) {
+      return this;
+    }
+    return new OrderByItem(newExpression, descending);
+  }
+
+  @Override
+  public boolean equals(@Nullable Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    OrderByItem that = (OrderByItem) o;
+    return (descending == that.descending)
+        && expression.equals(that.expression);
+  }
+
+  @Override
+  public int hashCode() {
+    int result = hash;
+    if (result == 0) {
+      result = expression.hashCode();
+      result = 31 * result + (descending ? 1 : 0);
+      hash = result;
+    }
+    return result;
+  }
+
+  @Override
+  public String toString() {
+    return "OrderByItem{"
+        + "expression=" + expression
+        + ", descending=" + descending
+        + '}';
+  }
+}
@@ -8,6 +8,7 @@ import com.fasterxml.jackson.annotation.JsonTypeInfo.Id;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import com.google.errorprone.annotations.Immutable;
+import com.google.errorprone.annotations.concurrent.LazyInit;
 import com.provys.common.exception.InternalException;
 import com.provys.db.query.names.BindMap;
 import com.provys.db.query.names.BindVariable;
@@ -37,6 +38,9 @@ final class SelectClauseColumns implements SelectClause {
   // list product of copyOf or toUnmodifiable collector, SelectColumn immutable
   @SuppressWarnings("Immutable")
   private final List<SelectColumn<?>> columns;
+  // evaluated on first use
+  @LazyInit
+  private transient int hash;
 
   /**
    * Create select clause, based on supplied columns.
@@ -129,7 +133,12 @@ final class SelectClauseColumns implements SelectClause {
 
   @Override
   public int hashCode() {
-    return columns.hashCode();
+    int result = hash;
+    if (result == 0) {
+      result = columns.hashCode();
+      hash = result;
+    }
+    return result;
   }
 
   @Override
@@ -9,6 +9,20 @@ import org.checkerframework.checker.nullness.qual.Nullable;
  */
 public interface SelectConsumer {
 
+  /**
+   * Consume select query based on supplied select, from, where and order by clauses, row limit
+   * and optimizer hints.
+   *
+   * @param selectClause is select (projection) part of query
+   * @param fromClause   is from (sources) part of query
+   * @param whereClause  is where (conditions) part of query
+   * @param orderBy      is order by part of query; empty if query is not ordered
+   * @param fetchFirst   is maximal number of rows returned by query, null if not limited
+   * @param hints        are optimizer hints attached to query
+   */
+  void select(SelectClause selectClause, FromClause fromClause, @Nullable Condition whereClause,
+      List<OrderByItem> orderBy, @Nullable Integer fetchFirst, List<OptimizerHint> hints);
+
   /**
    * Consume select query based on supplied select, from and where clauses.
    *
@@ -16,17 +30,54 @@ public interface SelectConsumer {
    * @param fromClause   is from (sources) part of query
    * @param whereClause  is where (conditions) part of query
    */
-  void select(SelectClause selectClause, FromClause fromClause, @Nullable Condition whereClause);
+  default void select(SelectClause selectClause, FromClause fromClause,
+      @Nullable Condition whereClause) {
+    select(selectClause, fromClause, whereClause, List.of(), null, List.of());
+  }
 
   /**
-   * Consume select query based on supplied columns, from and where clauses.
+   * Consume select query based on supplied columns, from, where and order by clauses, row limit
+   * and optimizer hints.
    *
    * @param columns     is collection of columns
    * @param fromClause  is from (sources) part of query
    * @param whereClause is where (conditions) part of query
+   * @param orderBy     is order by part of query; empty if query is not ordered
+   * @param fetchFirst  is maximal number of rows returned by query, null if not limited
+   * @param hints       are optimizer hints attached to query
    */
   void select(Collection<? extends SelectColumn<?>> columns, FromClause fromClause,
-      @Nullable Condition whereClause);
+      @Nullable Condition whereClause, List<OrderByItem> orderBy, @Nullable Integer fetchFirst,
+      List<OptimizerHint> hints);
+
+  /**
+   * Consume select query based on supplied columns, from and where clauses.
+   *
+   * @param columns     is collection of columns
+   * @param fromClause  is from (sources) part of query
+   * @param whereClause is where (conditions) part of query
+   */
+  default void select(Collection<? extends SelectColumn<?>> columns, FromClause fromClause,
+      @Nullable Condition whereClause) {
+    select(columns, fromClause, whereClause, List.of(), null, List.of());
+  }
+
+  /**
+   * Consume select query based on supplied column, from, where and order by clauses, row limit
+   * and optimizer hints.
+   *
+   * @param column1     is the first and only column of query
+   * @param fromClause  is from (sources) part of query
+   * @param whereClause is where (conditions) part of query
+   * @param orderBy     is order by part of query; empty if query is not ordered
+   * @param fetchFirst  is maximal number of rows returned by query, null if not limited
+   * @param hints       are optimizer hints attached to query
+   */
+  default void select(SelectColumn<?> column1, FromClause fromClause,
+      @Nullable Condition whereClause, List<OrderByItem> orderBy, @Nullable Integer fetchFirst,
+      List<OptimizerHint> hints) {
+    select(List.of(column1), fromClause, whereClause, orderBy, fetchFirst, hints);
+  }
 
   /**
    * Consume select query based on supplied column, from and where clauses.
@@ -37,7 +88,25 @@ public interface SelectConsumer {
    */
   default void select(SelectColumn<?> column1, FromClause fromClause,
       @Nullable Condition whereClause) {
-    select(List.of(column1), fromClause, whereClause);
+    select(column1, fromClause, whereClause, List.of(), null, List.of());
+  }
+
+  /**
+   * Consume select query based on supplied columns, from, where and order by clauses, row limit
+   * and optimizer hints.
+   *
+   * @param column1     is the first column of query
+   * @param column2     is the second column of query
+   * @param fromClause  is from (sources) part of query
+   * @param whereClause is where (conditions) part of query
+   * @param orderBy     is order by part of query; empty if query is not ordered
+   * @param fetchFirst  is maximal number of rows returned by query, null if not limited
+   * @param hints       are optimizer hints attached to query
+   */
+  default void select(SelectColumn<?> column1, SelectColumn<?> column2, FromClause fromClause,
+      @Nullable Condition whereClause, List<OrderByItem> orderBy, @Nullable Integer fetchFirst,
+      List<OptimizerHint> hints) {
+    select(List.of(column1, column2), fromClause, whereClause, orderBy, fetchFirst, hints);
   }
 
   /**
@@ -50,6 +119,6 @@ public interface SelectConsumer {
    */
   default void select(SelectColumn<?> column1, SelectColumn<?> column2, FromClause fromClause,
       @Nullable Condition whereClause) {
-    select(List.of(column1, column2), fromClause, whereClause);
+    select(column1, column2, fromClause, whereClause, List.of(), null, List.of());
   }
 }
@@ -10,9 +10,11 @@ import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.fasterxml.jackson.annotation.JsonTypeInfo.Id;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.google.errorprone.annotations.Immutable;
+import com.google.errorprone.annotations.concurrent.LazyInit;
 import com.provys.db.query.names.BindMap;
 import com.provys.db.query.names.BindVariable;
 import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
@@ -27,27 +29,47 @@ import org.checkerframework.checker.nullness.qual.Nullable;
     creatorVisibility = Visibility.NONE
 )
 @JsonRootName("SELECT")
-@JsonPropertyOrder({"SELECT", "FROM", "WHERE", "PARENTCONTEXT"})
+@JsonPropertyOrder({"SELECT", "FROM", "WHERE", "ORDERBY", "FETCHFIRST", "HINTS",
+    "PARENTCONTEXT"})
 @JsonTypeInfo(use = Id.NONE) // Needed to prevent inheritance from Select
 @Immutable
 final class SelectImpl extends SelectTImpl implements Select {
 
   @JsonProperty("SELECT")
   private final SelectClause selectClause;
+  // evaluated on first use
+  @LazyInit
+  private transient int hash;
 
   SelectImpl(SelectClause selectClause, FromClause fromClause, @Nullable Condition whereClause,
-      @Nullable FromContext parentContext, @Nullable BindMap bindMap) {
-    super(fromClause, whereClause, parentContext, bindMap);
+      @Nullable List<OrderByItem> orderBy, @Nullable Integer fetchFirst,
+      @Nullable List<OptimizerHint> hints, @Nullable FromContext parentContext,
+      @Nullable BindMap bindMap) {
+    super(fromClause, whereClause, orderBy, fetchFirst, hints, parentContext, bindMap);
     this.selectClause = (bindMap == null) ? selectClause : selectClause.mapBinds(bindMap);
   }
 
+  SelectImpl(SelectClause selectClause, FromClause fromClause, @Nullable Condition whereClause,
+      @Nullable FromContext parentContext, @Nullable BindMap bindMap) {
+    this(selectClause, fromClause, whereClause, null, null, null, parentContext, bindMap);
+  }
+
   @JsonCreator
   SelectImpl(@JsonProperty("SELECT") SelectClause selectClause,
       @JsonProperty("FROM") @JsonDeserialize(using = FromClauseDeserializer.class) FromClause
           fromClause,
       @JsonProperty("WHERE") @Nullable Condition whereClause,
+      @JsonProperty("ORDERBY") @Nullable List<OrderByItem> orderBy,
+      @JsonProperty("FETCHFIRST") @Nullable Integer fetchFirst,
+      @JsonProperty("HINTS") @Nullable List<OptimizerHint> hints,
       @JsonProperty("PARENTCONTEXT") @Nullable FromContext parentContext) {
-    this(selectClause, Objects.requireNonNull(fromClause), whereClause, parentContext, null);
+    this(selectClause, Objects.requireNonNull(fromClause), whereClause, orderBy, fetchFirst, hints,
+        parentContext, null);
+  }
+
+  SelectImpl(SelectClause selectClause, FromClause fromClause, @Nullable Condition whereClause,
+      @Nullable FromContext parentContext) {
+    this(selectClause, fromClause, whereClause, null, null, null, parentContext, null);
   }
 
   @Override
@@ -57,23 +79,24 @@ final class SelectImpl extends SelectTImpl implements Select {
 
   @Override
   public Collection<BindVariable> getBinds() {
-    return new BindVariableCollector()
+    return addOrderByBinds(new BindVariableCollector()
         .add(selectClause)
         .add(getFromClause())
-        .add(getWhereClause())
+        .add(getWhereClause()))
         .getBindsByName()
         .values();
   }
 
   @Override
   public Select mapBinds(BindMap bindMap) {
-    return new SelectImpl(selectClause, getFromClause(), getWhereClause(), getParentContext(),
-        bindMap);
+    return new SelectImpl(selectClause, getFromClause(), getWhereClause(), getOrderBy(),
+        getFetchFirst(), getHints(), getParentContext(), bindMap);
   }
 
   @Override
   public void apply(SelectConsumer consumer) {
-    consumer.select(selectClause, getFromClause(), getWhereClause());
+    consumer.select(selectClause, getFromClause(), getWhereClause(), getOrderBy(),
+        getFetchFirst(), getHints());
   }
 
   @Override
@@ -93,8 +116,12 @@ final class SelectImpl extends SelectTImpl implements Select {
 
   @Override
   public int hashCode() {
-    int result = super.hashCode();
-    result = 31 * result + selectClause.hashCode();
+    int result = hash;
+    if (result == 0) {
+      result = super.hashCode();
+      result = 31 * result + selectClause.hashCode();
+      hash = result;
+    }
     return result;
   }
 
@@ -1,6 +1,7 @@
 package com.provys.db.query.elements;
 
 import com.google.errorprone.annotations.Immutable;
+import java.util.List;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
@@ -32,6 +33,28 @@ public interface SelectT<T extends SelectT<T>> extends Element<T> {
    */
   @Nullable Condition getWhereClause();
 
+  /**
+   * Retrieve order by clause of this statement.
+   *
+   * @return items of order by clause of this statement, empty list if statement is not ordered
+   */
+  List<OrderByItem> getOrderBy();
+
+  /**
+   * Retrieve limit on number of rows returned by this statement.
+   *
+   * @return maximal number of rows returned by this statement, null if number of rows is not
+   *     limited
+   */
+  @Nullable Integer getFetchFirst();
+
+  /**
+   * Retrieve optimizer hints attached to this statement.
+   *
+   * @return optimizer hints of this statement, empty list if statement has no hints
+   */
+  List<OptimizerHint> getHints();
+
   /**
    * Apply this element on supplied consumer; allows to use SelectConsumer instead of QueryConsumer.
    *
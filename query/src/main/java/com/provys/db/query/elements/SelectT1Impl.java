@@ -7,6 +7,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.fasterxml.jackson.annotation.JsonRootName;
 import com.google.errorprone.annotations.Immutable;
+import com.google.errorprone.annotations.concurrent.LazyInit;
 import com.provys.db.query.names.BindMap;
 import com.provys.db.query.names.BindVariable;
 import java.util.Collection;
@@ -26,28 +27,51 @@ import org.checkerframework.checker.nullness.qual.Nullable;
     creatorVisibility = Visibility.NONE
 )
 @JsonRootName("SELECT1")
-@JsonPropertyOrder({"COLUMN", "FROM", "WHERE", "PARENTCONTEXT"})
+@JsonPropertyOrder({"COLUMN", "FROM", "WHERE", "ORDERBY", "FETCHFIRST", "HINTS",
+    "PARENTCONTEXT"})
 @Immutable
 final class SelectT1Impl<T1> extends SelectTImpl implements SelectT1<T1> {
 
   @JsonProperty("COLUMN")
   private final SelectColumn<T1> column1;
+  // evaluated on first use
+  @LazyInit
+  private transient int hash;
 
   SelectT1Impl(SelectColumn<T1> column1,
       FromClause fromClause,
       @Nullable Condition whereClause,
+      @Nullable List<OrderByItem> orderBy,
+      @Nullable Integer fetchFirst,
+      @Nullable List<OptimizerHint> hints,
       @Nullable FromContext parentContext,
       @Nullable BindMap bindMap) {
-    super(fromClause, whereClause, parentContext, bindMap);
+    super(fromClause, whereClause, orderBy, fetchFirst, hints, parentContext, bindMap);
     this.column1 = (bindMap == null) ? column1 : column1.mapBinds(bindMap);
   }
 
+  SelectT1Impl(SelectColumn<T1> column1,
+      FromClause fromClause,
+      @Nullable Condition whereClause,
+      @Nullable FromContext parentContext,
+      @Nullable BindMap bindMap) {
+    this(column1, fromClause, whereClause, null, null, null, parentContext, bindMap);
+  }
+
   @JsonCreator
   SelectT1Impl(@JsonProperty("COLUMN") SelectColumn<T1> column1,
       @JsonProperty("FROM") FromClause fromClause,
       @JsonProperty("WHERE") @Nullable Condition whereClause,
+      @JsonProperty("ORDERBY") @Nullable List<OrderByItem> orderBy,
+      @JsonProperty("FETCHFIRST") @Nullable Integer fetchFirst,
+      @JsonProperty("HINTS") @Nullable List<OptimizerHint> hints,
       @JsonProperty("PARENTCONTEXT") @Nullable FromContext parentContext) {
-    this(column1, fromClause, whereClause, parentContext, null);
+    this(column1, fromClause, whereClause, orderBy, fetchFirst, hints, parentContext, null);
+  }
+
+  SelectT1Impl(SelectColumn<T1> column1, FromClause fromClause, @Nullable Condition whereClause,
+      @Nullable FromContext parentContext) {
+    this(column1, fromClause, whereClause, null, null, null, parentContext, null);
   }
 
   @Override
@@ -67,23 +91,24 @@ final class SelectT1Impl<T1> extends SelectTImpl implements SelectT1<T1> {
 
   @Override
   public Collection<BindVariable> getBinds() {
-    return new BindVariableCollector()
+    return addOrderByBinds(new BindVariableCollector()
         .add(column1)
         .add(getFromClause())
-        .add(getWhereClause())
+        .add(getWhereClause()))
         .getBindsByName()
         .values();
   }
 
   @Override
   public SelectT1<T1> mapBinds(BindMap bindMap) {
-    return new SelectT1Impl<>(column1, getFromClause(), getWhereClause(), getParentContext(),
-        bindMap);
+    return new SelectT1Impl<>(column1, getFromClause(), getWhereClause(), getOrderBy(),
+        getFetchFirst(), getHints(), getParentContext(), bindMap);
   }
 
   @Override
   public void apply(SelectConsumer consumer) {
-    consumer.select(column1, getFromClause(), getWhereClause());
+    consumer.select(column1, getFromClause(), getWhereClause(), getOrderBy(), getFetchFirst(),
+        getHints());
   }
 
   @Override
@@ -103,8 +128,12 @@ final class SelectT1Impl<T1> extends SelectTImpl implements SelectT1<T1> {
 
   @Override
   public int hashCode() {
-    int result = super.hashCode();
-    result = 31 * result + column1.hashCode();
+    int result = hash;
+    if (result == 0) {
+      result = super.hashCode();
+      result = 31 * result + column1.hashCode();
+      hash = result;
+    }
     return result;
   }
 
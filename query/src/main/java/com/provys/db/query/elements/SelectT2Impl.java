@@ -7,6 +7,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.fasterxml.jackson.annotation.JsonRootName;
 import com.google.errorprone.annotations.Immutable;
+import com.google.errorprone.annotations.concurrent.LazyInit;
 import com.provys.db.query.names.BindMap;
 import com.provys.db.query.names.BindVariable;
 import java.util.Collection;
@@ -27,7 +28,8 @@ import org.checkerframework.checker.nullness.qual.Nullable;
     creatorVisibility = Visibility.NONE
 )
 @JsonRootName("SELECT2")
-@JsonPropertyOrder({"COLUMN1", "COLUMN2", "FROM", "WHERE", "PARENTCONTEXT"})
+@JsonPropertyOrder({"COLUMN1", "COLUMN2", "FROM", "WHERE", "ORDERBY", "FETCHFIRST",
+    "HINTS", "PARENTCONTEXT"})
 @Immutable
 final class SelectT2Impl<T1, T2> extends SelectTImpl implements SelectT2<T1, T2> {
 
@@ -35,25 +37,49 @@ final class SelectT2Impl<T1, T2> extends SelectTImpl implements SelectT2<T1, T2>
   private final SelectColumn<T1> column1;
   @JsonProperty("COLUMN2")
   private final SelectColumn<T2> column2;
+  // evaluated on first use
+  @LazyInit
+  private transient int hash;
 
   SelectT2Impl(SelectColumn<T1> column1,
       SelectColumn<T2> column2,
       FromClause fromClause,
       @Nullable Condition whereClause,
+      @Nullable List<OrderByItem> orderBy,
+      @Nullable Integer fetchFirst,
+      @Nullable List<OptimizerHint> hints,
       @Nullable FromContext parentContext,
       @Nullable BindMap bindMap) {
-    super(fromClause, whereClause, parentContext, bindMap);
+    super(fromClause, whereClause, orderBy, fetchFirst, hints, parentContext, bindMap);
     this.column1 = (bindMap == null) ? column1 : column1.mapBinds(bindMap);
     this.column2 = (bindMap == null) ? column2 : column2.mapBinds(bindMap);
   }
 
+  SelectT2Impl(SelectColumn<T1> column1,
+      SelectColumn<T2> column2,
+      FromClause fromClause,
+      @Nullable Condition whereClause,
+      @Nullable FromContext parentContext,
+      @Nullable BindMap bindMap) {
+    this(column1, column2, fromClause, whereClause, null, null, null, parentContext, bindMap);
+  }
+
   @JsonCreator
   SelectT2Impl(@JsonProperty("COLUMN1") SelectColumn<T1> column1,
       @JsonProperty("COLUMN2") SelectColumn<T2> column2,
       @JsonProperty("FROM") FromClause fromClause,
       @JsonProperty("WHERE") @Nullable Condition whereClause,
+      @JsonProperty("ORDERBY") @Nullable List<OrderByItem> orderBy,
+      @JsonProperty("FETCHFIRST") @Nullable Integer fetchFirst,
+      @JsonProperty("HINTS") @Nullable List<OptimizerHint> hints,
       @JsonProperty("PARENTCONTEXT") @Nullable FromContext parentContext) {
-    this(column1, column2, fromClause, whereClause, parentContext, null);
+    this(column1, column2, fromClause, whereClause, orderBy, fetchFirst, hints, parentContext,
+        null);
+  }
+
+  SelectT2Impl(SelectColumn<T1> column1, SelectColumn<T2> column2, FromClause fromClause,
+      @Nullable Condition whereClause, @Nullable FromContext parentContext) {
+    this(column1, column2, fromClause, whereClause, null, null, null, parentContext, null);
   }
 
   @Override
@@ -83,11 +109,11 @@ final class SelectT2Impl<T1, T2> extends SelectTImpl implements SelectT2<T1, T2>
 
   @Override
   public Collection<BindVariable> getBinds() {
-    return new BindVariableCollector()
+    return addOrderByBinds(new BindVariableCollector()
         .add(column1)
         .add(column2)
         .add(getFromClause())
-        .add(getWhereClause())
+        .add(getWhereClause()))
         .getBindsByName()
         .values();
   }
@@ -95,12 +121,13 @@ final class SelectT2Impl<T1, T2> extends SelectTImpl implements SelectT2<T1, T2>
   @Override
   public SelectT2<T1, T2> mapBinds(BindMap bindMap) {
     return new SelectT2Impl<>(column1, column2, getFromClause(),
-        getWhereClause(), getParentContext(), bindMap);
+        getWhereClause(), getOrderBy(), getFetchFirst(), getHints(), getParentContext(), bindMap);
   }
 
   @Override
   public void apply(SelectConsumer consumer) {
-    consumer.select(column1, column2, getFromClause(), getWhereClause());
+    consumer.select(column1, column2, getFromClause(), getWhereClause(), getOrderBy(),
+        getFetchFirst(), getHints());
   }
 
   @Override
@@ -121,9 +148,13 @@ final class SelectT2Impl<T1, T2> extends SelectTImpl implements SelectT2<T1, T2>
 
   @Override
   public int hashCode() {
-    int result = super.hashCode();
-    result = 31 * result + column1.hashCode();
-    result = 31 * result + column2.hashCode();
+    int result = hash;
+    if (result == 0) {
+      result = super.hashCode();
+      result = 31 * result + column1.hashCode();
+      result = 31 * result + column2.hashCode();
+      hash = result;
+    }
     return result;
   }
 
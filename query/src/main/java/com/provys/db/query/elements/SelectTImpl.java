@@ -1,7 +1,14 @@
 package com.provys.db.query.elements;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlElementWrapper;
+import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlProperty;
+import com.provys.common.exception.InternalException;
 import com.provys.db.query.names.BindMap;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
@@ -10,21 +17,79 @@ abstract class SelectTImpl extends RegularFromContext {
 
   @JsonProperty("WHERE")
   private final @Nullable Condition whereClause;
+  @JsonProperty("ORDERBY")
+  @JacksonXmlProperty(localName = "ITEM")
+  @JacksonXmlElementWrapper(localName = "ORDERBY")
+  @JsonInclude(Include.NON_EMPTY)
+  @SuppressWarnings("Immutable") // list product of copyOf, OrderByItem is immutable
+  private final List<OrderByItem> orderBy;
+  @JsonProperty("FETCHFIRST")
+  @JsonInclude(Include.NON_NULL)
+  private final @Nullable Integer fetchFirst;
+  @JsonProperty("HINTS")
+  @JacksonXmlProperty(localName = "HINT")
+  @JacksonXmlElementWrapper(localName = "HINTS")
+  @JsonInclude(Include.NON_EMPTY)
+  @SuppressWarnings("Immutable") // list product of copyOf, OptimizerHint is immutable
+  private final List<OptimizerHint> hints;
 
   SelectTImpl(FromClause fromClause, @Nullable Condition whereClause,
-      @Nullable FromContext parentContext, @Nullable BindMap bindMap) {
+      @Nullable List<OrderByItem> orderBy, @Nullable Integer fetchFirst,
+      @Nullable List<OptimizerHint> hints, @Nullable FromContext parentContext,
+      @Nullable BindMap bindMap) {
     super(fromClause, parentContext, bindMap);
     if (whereClause == null) {
       this.whereClause = null;
     } else {
       this.whereClause = (bindMap == null) ? whereClause : whereClause.mapBinds(bindMap);
     }
+    if (orderBy == null) {
+      this.orderBy = List.of();
+    } else if (bindMap == null) {
+      this.orderBy = List.copyOf(orderBy);
+    } else {
+      var mappedOrderBy = new ArrayList<OrderByItem>(orderBy.size());
+      for (var item : orderBy) {
+        mappedOrderBy.add(item.mapBinds(bindMap));
+      }
+      this.orderBy = List.copyOf(mappedOrderBy);
+    }
+    if ((fetchFirst != null) && (fetchFirst <= 0)) {
+      throw new InternalException("Number of fetched rows must be positive, not " + fetchFirst);
+    }
+    this.fetchFirst = fetchFirst;
+    this.hints = (hints == null) ? List.of() : List.copyOf(hints);
   }
 
   public @Nullable Condition getWhereClause() {
     return whereClause;
   }
 
+  public List<OrderByItem> getOrderBy() {
+    return orderBy;
+  }
+
+  public @Nullable Integer getFetchFirst() {
+    return fetchFirst;
+  }
+
+  public List<OptimizerHint> getHints() {
+    return hints;
+  }
+
+  /**
+   * Add expressions from order by clause to bind variable collector.
+   *
+   * @param collector is collector bind variables should be added to
+   * @return supplied collector
+   */
+  BindVariableCollector addOrderByBinds(BindVariableCollector collector) {
+    for (var item : orderBy) {
+      collector.add(item.getExpression());
+    }
+    return collector;
+  }
+
   @Override
   public boolean equals(@Nullable Object o) {
     if (this == o) {
@@ -37,13 +102,19 @@ abstract class SelectTImpl extends RegularFromContext {
       return false;
     }
     SelectTImpl selectT = (SelectTImpl) o;
-    return Objects.equals(whereClause, selectT.whereClause);
+    return Objects.equals(whereClause, selectT.whereClause)
+        && orderBy.equals(selectT.orderBy)
+        && Objects.equals(fetchFirst, selectT.fetchFirst)
+        && hints.equals(selectT.hints);
   }
 
   @Override
   public int hashCode() {
     int result = super.hashCode();
     result = 31 * result + (whereClause != null ? whereClause.hashCode() : 0);
+    result = 31 * result + orderBy.hashCode();
+    result = 31 * result + (fetchFirst != null ? fetchFirst.hashCode() : 0);
+    result = 31 * result + hints.hashCode();
     return result;
   }
 
@@ -51,6 +122,9 @@ abstract class SelectTImpl extends RegularFromContext {
   public String toString() {
     return "SelectTImpl{"
         + "whereClause=" + whereClause
+        + ", orderBy=" + orderBy
+        + ", fetchFirst=" + fetchFirst
+        + ", hints=" + hints
         + ", " + super.toString() + '}';
   }
 }
@@ -0,0 +1,109 @@
+package com.provys.db.query.elements;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Weak canonicalization table for query elements. Keeps single instance for each structurally
+ * equal element for as long as this instance is reachable from outside of the table. Elements are
+ * immutable, thus sharing them between unrelated queries is safe.
+ *
+ * <p>Table is backed by concurrent map, thus interning does not serialize threads building
+ * queries. Hash of element is evaluated once per intern call and kept in weak key; equality is
+ * usually cheap as arguments of interned element are canonical instances themselves.
+ */
+final class WeakElementCache {
+
+  /**
+   * Weak reference to element, used both as key and as value of table. Remembers hash of element,
+   * so that it can be removed from table when element is collected.
+   */
+  private static final class WeakKey extends WeakReference<Object> {
+
+    private final int hash;
+
+    WeakKey(Object referent, int hash, ReferenceQueue<Object> queue) {
+      super(referent, queue);
+      this.hash = hash;
+    }
+
+    @Override
+    public boolean equals(@Nullable Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof WeakKey)) {
+        return false;
+      }
+      WeakKey that = (WeakKey) o;
+      if (hash != that.hash) {
+        return false;
+      }
+      var referent = get();
+      // cleared key is only equal to itself
+      return (referent != null) && referent.equals(that.get());
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+  }
+
+  private final ConcurrentHashMap<WeakKey, WeakKey> table = new ConcurrentHashMap<>(256);
+  private final ReferenceQueue<Object> queue = new ReferenceQueue<>();
+
+  private void expunge() {
+    Reference<?> reference;
+    while ((reference = queue.poll()) != null) {
+      table.remove(reference, reference);
+    }
+  }
+
+  /**
+   * Return canonical instance, structurally equal to supplied element. If no such instance is
+   * registered yet, supplied element is registered and returned.
+   *
+   * @param element is element to be canonicalized
+   * @param <E>     is type of element
+   * @return canonical instance equal to supplied element
+   */
+  @SuppressWarnings("unchecked") // equal elements are of the same class and type parameters
+  <E> E intern(E element) {
+    expunge();
+    var key = new WeakKey(element, element.hashCode(), queue);
+    while (true) {
+      var existingKey = table.putIfAbsent(key, key);
+      if (existingKey == null) {
+        return element;
+      }
+      var existing = existingKey.get();
+      if (existing != null) {
+        return (E) existing;
+      }
+      // existing element has been collected in the meantime, replace its entry
+      table.remove(existingKey, existingKey);
+    }
+  }
+
+  /**
+   * Number of elements currently held in table. Elements no longer reachable might be still
+   * included until they are expunged by garbage collector.
+   *
+   * @return number of elements in canonicalization table
+   */
+  int size() {
+    expunge();
+    return table.size();
+  }
+
+  @Override
+  public String toString() {
+    return "WeakElementCache{"
+        + "size=" + size()
+        + '}';
+  }
+}
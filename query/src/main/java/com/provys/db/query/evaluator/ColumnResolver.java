@@ -0,0 +1,28 @@
+package com.provys.db.query.evaluator;
+
+import com.provys.db.query.names.NamePath;
+import com.provys.db.query.names.SimpleName;
+import java.util.function.Function;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Resolves column reference to function that reads value of given column from row. Resolution is
+ * performed once, when expression is compiled, thus resolver can do relatively expensive lookups
+ * (e.g. find index of column) and return cheap accessor.
+ *
+ * @param <R> is type of row values are read from
+ */
+@FunctionalInterface
+public interface ColumnResolver<R> {
+
+  /**
+   * Get accessor that will retrieve value of given column from row.
+   *
+   * @param type   is type column expression should yield
+   * @param table  is alias identifying source
+   * @param column is name of column, evaluated in context of source
+   * @return function that reads value of column from supplied row
+   */
+  Function<? super R, ?> getAccessor(Class<?> type, @Nullable NamePath table,
+      SimpleName column);
+}
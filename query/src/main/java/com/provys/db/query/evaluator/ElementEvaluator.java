@@ -0,0 +1,80 @@
+package com.provys.db.query.evaluator;
+
+import com.provys.db.query.elements.Condition;
+import com.provys.db.query.elements.Expression;
+import com.provys.db.query.names.BindName;
+import java.util.Collections;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Allows evaluation of conditions and expressions on rows held in memory, without round-trip to
+ * database. Element tree is compiled once to chain of Java functions; column references are
+ * resolved to accessors and bind variables are replaced by their values during compilation.
+ * Evaluation follows Oracle semantics - comparison with null yields unknown result, empty string is
+ * treated as null and condition only passes filter when it evaluates to true.
+ *
+ * @param <R> is type of rows expressions are evaluated on
+ */
+public final class ElementEvaluator<R> {
+
+  private final ColumnResolver<R> columnResolver;
+  private final Map<BindName, ?> bindValues;
+
+  /**
+   * Create evaluator using supplied column resolver and bind values.
+   *
+   * @param columnResolver is resolver used to translate column references to row accessors
+   * @param bindValues     are values of bind variables; bind variables not present in map use
+   *                       their default value
+   */
+  public ElementEvaluator(ColumnResolver<R> columnResolver, Map<BindName, ?> bindValues) {
+    this.columnResolver = columnResolver;
+    this.bindValues = Collections.unmodifiableMap(bindValues);
+  }
+
+  /**
+   * Create evaluator using supplied column resolver. Bind variables will be evaluated using their
+   * default values.
+   *
+   * @param columnResolver is resolver used to translate column references to row accessors
+   */
+  public ElementEvaluator(ColumnResolver<R> columnResolver) {
+    this(columnResolver, Collections.emptyMap());
+  }
+
+  /**
+   * Compile expression to function, that evaluates expression on supplied row. Conditions yield
+   * Boolean values, null represents unknown result.
+   *
+   * @param expression is expression to be compiled
+   * @return function evaluating expression on row
+   */
+  public Function<R, @Nullable Object> compileExpression(Expression<?> expression) {
+    var compiler = new ExpressionCompiler<>(columnResolver, bindValues);
+    expression.apply(compiler);
+    return compiler.getResult();
+  }
+
+  /**
+   * Compile condition to predicate. Predicate accepts rows for which condition evaluates to true;
+   * rows where result of condition is false or unknown are rejected.
+   *
+   * @param condition is condition to be compiled
+   * @return predicate, evaluating condition on row
+   */
+  public Predicate<R> compileCondition(Condition condition) {
+    var function = compileExpression(condition);
+    return row -> Boolean.TRUE.equals(function.apply(row));
+  }
+
+  @Override
+  public String toString() {
+    return "ElementEvaluator{"
+        + "columnResolver=" + columnResolver
+        + ", bindValues=" + bindValues
+        + '}';
+  }
+}
@@ -0,0 +1,319 @@
+package com.provys.db.query.evaluator;
+
+import com.provys.common.datatype.DtDateTime;
+import com.provys.common.exception.InternalException;
+import com.provys.db.query.elements.Expression;
+import com.provys.db.query.elements.ExpressionConsumer;
+import com.provys.db.query.functions.BuiltInFunction;
+import com.provys.db.query.functions.ConditionalOperator;
+import com.provys.db.query.names.BindName;
+import com.provys.db.query.names.BindVariable;
+import com.provys.db.query.names.NamePath;
+import com.provys.db.query.names.SimpleName;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Expression consumer, that translates consumed expression to function, evaluating given
+ * expression on row. Conditions are translated to functions returning Boolean value, null
+ * represents unknown result. Single compiler instance is used for single expression; arguments are
+ * compiled using new instances.
+ *
+ * @param <R> is type of row expressions are evaluated on
+ */
+final class ExpressionCompiler<R> implements ExpressionConsumer {
+
+  private final ColumnResolver<R> columnResolver;
+  private final Map<BindName, ?> bindValues;
+  private @MonotonicNonNull Function<R, @Nullable Object> result;
+
+  ExpressionCompiler(ColumnResolver<R> columnResolver, Map<BindName, ?> bindValues) {
+    this.columnResolver = columnResolver;
+    this.bindValues = bindValues;
+  }
+
+  /**
+   * Compiled expression.
+   *
+   * @return function representing compiled expression
+   */
+  Function<R, @Nullable Object> getResult() {
+    if (result == null) {
+      throw new InternalException("No expression has been compiled by expression compiler");
+    }
+    return result;
+  }
+
+  private void setResult(Function<R, @Nullable Object> newResult) {
+    if (result != null) {
+      throw new InternalException("Expression compiler can only be used for single expression");
+    }
+    result = newResult;
+  }
+
+  private Function<R, @Nullable Object> compile(Expression<?> expression) {
+    var compiler = new ExpressionCompiler<>(columnResolver, bindValues);
+    expression.apply(compiler);
+    return compiler.getResult();
+  }
+
+  private List<Function<R, @Nullable Object>> compile(
+      Collection<? extends Expression<?>> arguments) {
+    return arguments.stream()
+        .map(this::compile)
+        .collect(Collectors.toUnmodifiableList());
+  }
+
+  private static @Nullable Boolean asBoolean(@Nullable Object value) {
+    if ((value == null) || (value instanceof Boolean)) {
+      return (Boolean) value;
+    }
+    throw new InternalException("Condition expected, value " + value + " found");
+  }
+
+  @Override
+  public void bind(Class<?> type, BindVariable bindVariable) {
+    // value is resolved once, during compilation
+    Object value = bindValues.containsKey(bindVariable.getName())
+        ? bindValues.get(bindVariable.getName()) : bindVariable.getValue();
+    setResult(row -> value);
+  }
+
+  @Override
+  public void column(Class<?> type, @Nullable NamePath table, SimpleName column) {
+    Function<? super R, ?> accessor = columnResolver.getAccessor(type, table, column);
+    setResult(row -> accessor.apply(row));
+  }
+
+  @Override
+  public void columnOuter(Class<?> type, @Nullable NamePath table, SimpleName column) {
+    // outer join marker has no meaning when evaluating row
+    column(type, table, column);
+  }
+
+  private static Function<Object, @Nullable Object> chr() {
+    return argument -> OracleSemantics.isNull(argument) ? null
+        : String.valueOf((char) ((Number) argument).intValue());
+  }
+
+  private void concat(List<Function<R, @Nullable Object>> arguments) {
+    setResult(row -> {
+      var builder = new StringBuilder();
+      for (var argument : arguments) {
+        var value = argument.apply(row);
+        if (!OracleSemantics.isNull(value)) {
+          builder.append(value);
+        }
+      }
+      return (builder.length() == 0) ? null : builder.toString();
+    });
+  }
+
+  private void nvl(List<Function<R, @Nullable Object>> arguments) {
+    setResult(row -> {
+      Object value = null;
+      for (var argument : arguments) {
+        value = argument.apply(row);
+        if (!OracleSemantics.isNull(value)) {
+          return value;
+        }
+      }
+      return value;
+    });
+  }
+
+  @Override
+  public void function(Class<?> type, BuiltInFunction function,
+      Collection<? extends Expression<?>> arguments) {
+    var compiledArguments = compile(arguments);
+    switch (function) {
+      case STRING_CHR:
+        var argument = compiledArguments.get(0);
+        var chr = chr();
+        setResult(row -> chr.apply(argument.apply(row)));
+        break;
+      case STRING_CONCAT:
+        concat(compiledArguments);
+        break;
+      case DATE_SYSDATE:
+        setResult(row -> DtDateTime.ofLocalDateTime(
+            LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS)));
+        break;
+      case ANY_NVL:
+        nvl(compiledArguments);
+        break;
+      default:
+        throw new InternalException("Function " + function + " not supported in evaluator");
+    }
+  }
+
+  @Override
+  public <T> void literal(Class<T> type, @Nullable T value) {
+    setResult(row -> value);
+  }
+
+  private void compare(List<Function<R, @Nullable Object>> arguments,
+      BiFunction<@Nullable Object, @Nullable Object, @Nullable Boolean> operation) {
+    var argument1 = arguments.get(0);
+    var argument2 = arguments.get(1);
+    setResult(row -> operation.apply(argument1.apply(row), argument2.apply(row)));
+  }
+
+  /**
+   * Comparison that is true also when second argument is null - corresponds to interval with
+   * unlimited end.
+   */
+  private void compareNullUnlimited(List<Function<R, @Nullable Object>> arguments,
+      BiFunction<@Nullable Object, @Nullable Object, @Nullable Boolean> operation) {
+    var argument1 = arguments.get(0);
+    var argument2 = arguments.get(1);
+    setResult(row -> {
+      var value2 = argument2.apply(row);
+      return OracleSemantics.or(operation.apply(argument1.apply(row), value2),
+          OracleSemantics.isNull(value2));
+    });
+  }
+
+  private void and(List<Function<R, @Nullable Object>> arguments) {
+    setResult(row -> {
+      Boolean value = Boolean.TRUE;
+      for (var argument : arguments) {
+        value = OracleSemantics.and(value, asBoolean(argument.apply(row)));
+        if (Boolean.FALSE.equals(value)) {
+          break;
+        }
+      }
+      return value;
+    });
+  }
+
+  private void or(List<Function<R, @Nullable Object>> arguments) {
+    setResult(row -> {
+      Boolean value = Boolean.FALSE;
+      for (var argument : arguments) {
+        value = OracleSemantics.or(value, asBoolean(argument.apply(row)));
+        if (Boolean.TRUE.equals(value)) {
+          break;
+        }
+      }
+      return value;
+    });
+  }
+
+  private static @Nullable Boolean eqNullable(@Nullable Object value1, @Nullable Object value2) {
+    // ({0}={1}) OR (({0} IS NULL) AND ({1} IS NULL))
+    return OracleSemantics.or(OracleSemantics.eq(value1, value2),
+        OracleSemantics.isNull(value1) && OracleSemantics.isNull(value2));
+  }
+
+  private static @Nullable Boolean notEqNullable(@Nullable Object value1,
+      @Nullable Object value2) {
+    // ({0}!={1}) OR (({0} IS NULL) AND ({1} IS NOT NULL)) OR (({0} IS NOT NULL) AND ({1} IS NULL))
+    return OracleSemantics.or(OracleSemantics.not(OracleSemantics.eq(value1, value2)),
+        OracleSemantics.isNull(value1) != OracleSemantics.isNull(value2));
+  }
+
+  private void in(List<Function<R, @Nullable Object>> arguments) {
+    var argument1 = arguments.get(0);
+    var values = arguments.subList(1, arguments.size());
+    setResult(row -> {
+      var value1 = argument1.apply(row);
+      Boolean value = Boolean.FALSE;
+      for (var argument : values) {
+        var argumentValue = argument.apply(row);
+        if (argumentValue instanceof Collection) {
+          // collection bind variable holds whole list of values
+          for (var element : (Collection<?>) argumentValue) {
+            value = OracleSemantics.or(value, OracleSemantics.eq(value1, element));
+            if (Boolean.TRUE.equals(value)) {
+              return value;
+            }
+          }
+        } else {
+          value = OracleSemantics.or(value, OracleSemantics.eq(value1, argumentValue));
+        }
+        if (Boolean.TRUE.equals(value)) {
+          break;
+        }
+      }
+      return value;
+    });
+  }
+
+  @Override
+  public void condition(ConditionalOperator operator,
+      Collection<? extends Expression<?>> arguments) {
+    var compiledArguments = compile(arguments);
+    switch (operator) {
+      case COND_OR:
+        or(compiledArguments);
+        break;
+      case COND_AND:
+        and(compiledArguments);
+        break;
+      case COND_NOT:
+        var argument = compiledArguments.get(0);
+        setResult(row -> OracleSemantics.not(asBoolean(argument.apply(row))));
+        break;
+      case COND_EQ_NONNULL:
+        compare(compiledArguments, OracleSemantics::eq);
+        break;
+      case COND_EQ_NULLABLE:
+        compare(compiledArguments, ExpressionCompiler::eqNullable);
+        break;
+      case COND_NOT_EQ_NONNULL:
+        compare(compiledArguments,
+            (value1, value2) -> OracleSemantics.not(OracleSemantics.eq(value1, value2)));
+        break;
+      case COND_NOT_EQ_NULLABLE:
+        compare(compiledArguments, ExpressionCompiler::notEqNullable);
+        break;
+      case COND_LT_NONNULL:
+        compare(compiledArguments, OracleSemantics::lt);
+        break;
+      case COND_LT_NULL_UNLIMITED:
+        compareNullUnlimited(compiledArguments, OracleSemantics::lt);
+        break;
+      case COND_LT_OR_EQ_NONNULL:
+        compare(compiledArguments, OracleSemantics::ltOrEq);
+        break;
+      case COND_LT_OR_EQ_NULL_UNLIMITED:
+        compareNullUnlimited(compiledArguments, OracleSemantics::ltOrEq);
+        break;
+      case COND_GT_NONNULL:
+        compare(compiledArguments, OracleSemantics::gt);
+        break;
+      case COND_GT_NULL_UNLIMITED:
+        compareNullUnlimited(compiledArguments, OracleSemantics::gt);
+        break;
+      case COND_GT_OR_EQ_NONNULL:
+        compare(compiledArguments, OracleSemantics::gtOrEq);
+        break;
+      case COND_GT_OR_EQ_NULL_UNLIMITED:
+        compareNullUnlimited(compiledArguments, OracleSemantics::gtOrEq);
+        break;
+      case COND_IN_NONNULL:
+        in(compiledArguments);
+        break;
+      default:
+        throw new InternalException("Operator " + operator + " not supported in evaluator");
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "ExpressionCompiler{"
+        + "columnResolver=" + columnResolver
+        + ", bindValues=" + bindValues
+        + ", result=" + result
+        + '}';
+  }
+}
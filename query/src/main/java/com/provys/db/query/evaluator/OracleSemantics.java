@@ -0,0 +1,152 @@
+package com.provys.db.query.evaluator;
+
+import com.provys.common.exception.InternalException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Static helper methods, emulating Oracle handling of values in expressions. Unknown result of
+ * condition (three-valued logic) is represented by null Boolean value. Empty string is considered
+ * to be null, as it is in Oracle.
+ */
+final class OracleSemantics {
+
+  /**
+   * Indicates if given value is null in Oracle sense (e.g. it is null or empty string).
+   *
+   * @param value is value to be evaluated
+   * @return true if value is null or empty string
+   */
+  static boolean isNull(@Nullable Object value) {
+    return (value == null) || ((value instanceof String) && ((String) value).isEmpty());
+  }
+
+  private static BigDecimal toBigDecimal(Number value) {
+    if (value instanceof BigDecimal) {
+      return (BigDecimal) value;
+    }
+    if (value instanceof BigInteger) {
+      return new BigDecimal((BigInteger) value);
+    }
+    if ((value instanceof Double) || (value instanceof Float)) {
+      return BigDecimal.valueOf(value.doubleValue());
+    }
+    return BigDecimal.valueOf(value.longValue());
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"}) // both values verified to be of the same class
+  private static int compareNonNull(Object value1, Object value2) {
+    if ((value1 instanceof Number) && (value2 instanceof Number)) {
+      return toBigDecimal((Number) value1).compareTo(toBigDecimal((Number) value2));
+    }
+    if ((value1 instanceof Comparable) && (value1.getClass() == value2.getClass())) {
+      return ((Comparable) value1).compareTo(value2);
+    }
+    throw new InternalException("Cannot compare values " + value1 + " and " + value2);
+  }
+
+  /**
+   * Compare two values.
+   *
+   * @param value1 is first value
+   * @param value2 is second value
+   * @return null if either value is null, otherwise negative, zero or positive number as value1 is
+   *     less than, equal to or greater than value2
+   */
+  static @Nullable Integer compare(@Nullable Object value1, @Nullable Object value2) {
+    if (isNull(value1) || isNull(value2)) {
+      return null;
+    }
+    assert value1 != null : "@AssumeAssertion(nullness): isNull verified value is not null";
+    assert value2 != null : "@AssumeAssertion(nullness): isNull verified value is not null";
+    return compareNonNull(value1, value2);
+  }
+
+  /**
+   * Equality of two values. Values that cannot be ordered are compared using equals.
+   *
+   * @param value1 is first value
+   * @param value2 is second value
+   * @return null if either value is null, true if values are equal, false otherwise
+   */
+  static @Nullable Boolean eq(@Nullable Object value1, @Nullable Object value2) {
+    if (isNull(value1) || isNull(value2)) {
+      return null;
+    }
+    assert value1 != null : "@AssumeAssertion(nullness): isNull verified value is not null";
+    assert value2 != null : "@AssumeAssertion(nullness): isNull verified value is not null";
+    if (((value1 instanceof Number) && (value2 instanceof Number))
+        || ((value1 instanceof Comparable) && (value1.getClass() == value2.getClass()))) {
+      return compareNonNull(value1, value2) == 0;
+    }
+    return value1.equals(value2);
+  }
+
+  static @Nullable Boolean lt(@Nullable Object value1, @Nullable Object value2) {
+    var result = compare(value1, value2);
+    return (result == null) ? null : (result < 0);
+  }
+
+  static @Nullable Boolean ltOrEq(@Nullable Object value1, @Nullable Object value2) {
+    var result = compare(value1, value2);
+    return (result == null) ? null : (result <= 0);
+  }
+
+  static @Nullable Boolean gt(@Nullable Object value1, @Nullable Object value2) {
+    var result = compare(value1, value2);
+    return (result == null) ? null : (result > 0);
+  }
+
+  static @Nullable Boolean gtOrEq(@Nullable Object value1, @Nullable Object value2) {
+    var result = compare(value1, value2);
+    return (result == null) ? null : (result >= 0);
+  }
+
+  /**
+   * Logical negation in three-valued logic.
+   *
+   * @param value is value to be negated
+   * @return negated value, null (unknown) if supplied value is unknown
+   */
+  static @Nullable Boolean not(@Nullable Boolean value) {
+    return (value == null) ? null : !value;
+  }
+
+  /**
+   * Logical conjunction in three-valued logic.
+   *
+   * @param value1 is first operand
+   * @param value2 is second operand
+   * @return false if either operand is false, unknown if either is unknown, true otherwise
+   */
+  static @Nullable Boolean and(@Nullable Boolean value1, @Nullable Boolean value2) {
+    if (Boolean.FALSE.equals(value1) || Boolean.FALSE.equals(value2)) {
+      return Boolean.FALSE;
+    }
+    if ((value1 == null) || (value2 == null)) {
+      return null;
+    }
+    return Boolean.TRUE;
+  }
+
+  /**
+   * Logical disjunction in three-valued logic.
+   *
+   * @param value1 is first operand
+   * @param value2 is second operand
+   * @return true if either operand is true, unknown if either is unknown, false otherwise
+   */
+  static @Nullable Boolean or(@Nullable Boolean value1, @Nullable Boolean value2) {
+    if (Boolean.TRUE.equals(value1) || Boolean.TRUE.equals(value2)) {
+      return Boolean.TRUE;
+    }
+    if ((value1 == null) || (value2 == null)) {
+      return null;
+    }
+    return Boolean.FALSE;
+  }
+
+  private OracleSemantics() {
+  }
+}
@@ -20,6 +20,7 @@ public interface BuiltIn extends BuiltInInt, Serializable {
   BuiltIn STRING_CONCAT = BuiltInFunction.STRING_CONCAT;
   BuiltIn DATE_SYSDATE = BuiltInFunction.DATE_SYSDATE;
   BuiltIn ANY_NVL = BuiltInFunction.ANY_NVL;
+  BuiltIn ANY_HASH = BuiltInFunction.ANY_HASH;
 
   BuiltIn COND_OR = ConditionalOperator.COND_OR;
   BuiltIn COND_AND = ConditionalOperator.COND_AND;
@@ -37,4 +38,5 @@ public interface BuiltIn extends BuiltInInt, Serializable {
   BuiltIn COND_GT_NULL_UNLIMITED = ConditionalOperator.COND_GT_NULL_UNLIMITED;
   BuiltIn COND_GT_OR_EQ_NONNULL = ConditionalOperator.COND_GT_OR_EQ_NONNULL;
   BuiltIn COND_GT_OR_EQ_NULL_UNLIMITED = ConditionalOperator.COND_GT_OR_EQ_NULL_UNLIMITED;
+  BuiltIn COND_IN_NONNULL = ConditionalOperator.COND_IN_NONNULL;
 }
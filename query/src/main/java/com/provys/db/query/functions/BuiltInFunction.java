@@ -17,7 +17,8 @@ public enum BuiltInFunction implements BuiltIn, BuiltInFunctionInt {
   STRING_CHR(new PlainFunction("STRING_CHR", String.class, Integer.class)),
   STRING_CONCAT(new RepeatingBuiltInFunction("STRING_CONCAT", String.class, String.class)),
   DATE_SYSDATE(new PlainFunction("DATE_SYSDATE", DtDateTime.class)),
-  ANY_NVL(new RepeatingBuiltInFunction("ANY_NVL", Object.class, Object.class));
+  ANY_NVL(new RepeatingBuiltInFunction("ANY_NVL", Object.class, Object.class)),
+  ANY_HASH(new PlainFunction("ANY_HASH", Integer.class, Object.class, Integer.class));
 
   private final BuiltInFunctionInt impl;
 
@@ -27,7 +27,8 @@ public enum ConditionalOperator implements BuiltIn, ConditionalOperatorInt {
   COND_GT_NONNULL(new CompareOperator("COND_GT_NONNULL")),
   COND_GT_NULL_UNLIMITED(new CompareOperator("COND_GT_NULL_UNLIMITED")),
   COND_GT_OR_EQ_NONNULL(new CompareOperator("COND_GT_OR_EQ_NONNULL")),
-  COND_GT_OR_EQ_NULL_UNLIMITED(new CompareOperator("COND_GT_OR_EQ_NULL_UNLIMITED"));
+  COND_GT_OR_EQ_NULL_UNLIMITED(new CompareOperator("COND_GT_OR_EQ_NULL_UNLIMITED")),
+  COND_IN_NONNULL(new InOperator("COND_IN_NONNULL"));
 
   private final ConditionalOperatorInt impl;
 
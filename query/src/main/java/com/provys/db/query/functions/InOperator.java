@@ -0,0 +1,35 @@
+package com.provys.db.query.functions;
+
+import com.google.errorprone.annotations.Immutable;
+import java.util.List;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Membership operator - tests if first argument is equal to any of remaining arguments.
+ */
+@Immutable
+class InOperator extends BuiltInBase implements ConditionalOperatorInt {
+
+  InOperator(String name) {
+    super(name);
+  }
+
+  @Override
+  protected @Nullable String validateArgumentsInt(List<? extends Class<?>> callArguments) {
+    if (callArguments.size() < 2) {
+      return "at least 2 arguments expected";
+    }
+    var type = callArguments.get(0);
+    for (var argument : callArguments) {
+      if (!type.equals(argument)) {
+        return "arguments must have same type";
+      }
+    }
+    return null;
+  }
+
+  @Override
+  public String toString() {
+    return "InOperator{" + super.toString() + '}';
+  }
+}
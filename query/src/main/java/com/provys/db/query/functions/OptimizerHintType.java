@@ -0,0 +1,110 @@
+package com.provys.db.query.functions;
+
+import com.google.errorprone.annotations.Immutable;
+import com.provys.common.exception.InternalException;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Optimizer hints that can be attached to select statement. Hint is defined by its type and list
+ * of arguments; arguments are either names (table aliases, index names) or positive integer
+ * numbers. Hint types are independent on database - actual hint text is produced by Sql layer,
+ * that can also ignore hints not supported by given database.
+ */
+@Immutable
+public enum OptimizerHintType {
+
+  /**
+   * Optimize for fast retrieval of given number of rows; single number argument.
+   */
+  FIRST_ROWS(ArgumentKind.NUMBER, 1, 1),
+  /**
+   * Optimize for best throughput; no arguments.
+   */
+  ALL_ROWS(ArgumentKind.NAME, 0, 0),
+  /**
+   * Use index scan on table; table alias followed by optional index names.
+   */
+  INDEX(ArgumentKind.NAME, 1, Integer.MAX_VALUE),
+  /**
+   * Do not use (given) index on table; table alias followed by optional index names.
+   */
+  NO_INDEX(ArgumentKind.NAME, 1, Integer.MAX_VALUE),
+  /**
+   * Use full table scan; table alias.
+   */
+  FULL(ArgumentKind.NAME, 1, 1),
+  /**
+   * Join tables in given order; table aliases.
+   */
+  LEADING(ArgumentKind.NAME, 1, Integer.MAX_VALUE),
+  /**
+   * Join tables using nested loops; table aliases.
+   */
+  USE_NL(ArgumentKind.NAME, 1, Integer.MAX_VALUE),
+  /**
+   * Join tables using hash join; table aliases.
+   */
+  USE_HASH(ArgumentKind.NAME, 1, Integer.MAX_VALUE),
+  /**
+   * Cache result of query in server result cache; no arguments.
+   */
+  RESULT_CACHE(ArgumentKind.NAME, 0, 0),
+  /**
+   * Do not cache result of query in server result cache; no arguments.
+   */
+  NO_RESULT_CACHE(ArgumentKind.NAME, 0, 0),
+  /**
+   * Execute statement in parallel; optional degree of parallelism.
+   */
+  PARALLEL(ArgumentKind.NUMBER, 0, 1),
+  /**
+   * Execute statement serially; no arguments.
+   */
+  NO_PARALLEL(ArgumentKind.NAME, 0, 0);
+
+  /**
+   * Kind of arguments hint accepts.
+   */
+  private enum ArgumentKind {
+    NAME(Pattern.compile("[A-Za-z][A-Za-z0-9_$#]*")),
+    NUMBER(Pattern.compile("[1-9][0-9]{0,8}"));
+
+    @SuppressWarnings("Immutable") // Pattern is immutable
+    private final Pattern pattern;
+
+    ArgumentKind(Pattern pattern) {
+      this.pattern = pattern;
+    }
+  }
+
+  private final ArgumentKind argumentKind;
+  private final int minArguments;
+  private final int maxArguments;
+
+  OptimizerHintType(ArgumentKind argumentKind, int minArguments, int maxArguments) {
+    this.argumentKind = argumentKind;
+    this.minArguments = minArguments;
+    this.maxArguments = maxArguments;
+  }
+
+  /**
+   * Verify that supplied arguments are valid for this hint type. Besides number of arguments,
+   * verifies that arguments are valid names or numbers; it ensures that arguments cannot break
+   * out of comment hints are rendered in.
+   *
+   * @param arguments are arguments of hint
+   * @throws InternalException if arguments are not valid for hint
+   */
+  public void validateArguments(List<String> arguments) {
+    if ((arguments.size() < minArguments) || (arguments.size() > maxArguments)) {
+      throw new InternalException("Invalid number of arguments of hint " + this + ": "
+          + arguments.size());
+    }
+    for (var argument : arguments) {
+      if (!argumentKind.pattern.matcher(argument).matches()) {
+        throw new InternalException("Invalid argument of hint " + this + ": " + argument);
+      }
+    }
+  }
+}
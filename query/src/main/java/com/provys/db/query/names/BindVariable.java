@@ -2,6 +2,8 @@ package com.provys.db.query.names;
 
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonRootName;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
@@ -14,6 +16,8 @@ import com.provys.common.types.TypeMapImpl;
 import java.io.InvalidObjectException;
 import java.io.ObjectInputStream;
 import java.io.Serializable;
+import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
 import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
@@ -23,6 +27,9 @@ import org.checkerframework.checker.nullness.qual.Nullable;
  * strives to be immutable, this contract might be broken if mutable object is assigned as value.
  * System does not restrict assignment of such object, but it is generally only recommended to
  * assign value objects to bind variables.
+ *
+ * <p>Collection bind variable holds list of values of its type instead of single value; it is used
+ * to pass large sets of values to IN conditions as single (array) parameter.
  */
 @JsonAutoDetect(
     fieldVisibility = Visibility.NONE,
@@ -47,6 +54,9 @@ public final class BindVariable implements Serializable {
   @SuppressWarnings("Immutable")
   @JsonProperty("VALUE")
   private final @Nullable Serializable value;
+  @JsonProperty("COLLECTION")
+  @JsonInclude(Include.NON_DEFAULT)
+  private final boolean collection;
 
   /**
    * Create new bind variable.
@@ -66,6 +76,36 @@ public final class BindVariable implements Serializable {
       throw new InternalException("Bind variable value " + value + " does not match type " + type);
     }
     this.value = value;
+    this.collection = false;
+  }
+
+  private BindVariable(BindName name, Class<?> type, List<?> values) {
+    this.name = name;
+    TypeMapImpl.getDefault().validateType(type);
+    this.type = type;
+    for (var value : values) {
+      if (!type.isInstance(value)) {
+        throw new InternalException("Collection bind variable value " + value
+            + " does not match type " + type);
+      }
+    }
+    this.value = (Serializable) values;
+    this.collection = true;
+  }
+
+  /**
+   * Create new collection bind variable. Collection bind variable holds list of values of given
+   * type; it can only be used in place of value list in IN condition.
+   *
+   * @param name   is name of new bind variable
+   * @param type   is type of elements of new bind variable
+   * @param values are values held by bind variable; null values are not permitted
+   * @param <T> is type of elements of bind variable
+   * @return new collection bind variable
+   */
+  public static <@ImmutableTypeParameter T extends Serializable> BindVariable ofCollection(
+      BindName name, Class<T> type, Collection<? extends T> values) {
+    return new BindVariable(name, type, List.copyOf(values));
   }
 
   /**
@@ -91,6 +131,7 @@ public final class BindVariable implements Serializable {
     this.name = name;
     this.type = TypeMapImpl.getDefault().getAnyType();
     this.value = null;
+    this.collection = false;
   }
 
   /**
@@ -130,6 +171,16 @@ public final class BindVariable implements Serializable {
     return value;
   }
 
+  /**
+   * Indicates if this is collection bind variable. Value of collection bind variable is list of
+   * values of bind variable's type.
+   *
+   * @return true if bind variable holds collection of values, false if it holds single value
+   */
+  public boolean isCollection() {
+    return collection;
+  }
+
   /**
    * Supports serialization via SerializationProxy.
    *
@@ -155,6 +206,7 @@ public final class BindVariable implements Serializable {
     private @MonotonicNonNull BindName name;
     private @MonotonicNonNull Class<?> type;
     private @Nullable Serializable value;
+    private boolean collection;
 
     SerializationProxy() {
     }
@@ -163,6 +215,7 @@ public final class BindVariable implements Serializable {
       this.name = bindVariable.getName();
       this.type = bindVariable.getType();
       this.value = bindVariable.getValue();
+      this.collection = bindVariable.isCollection();
     }
 
     private Object readResolve() throws InvalidObjectException {
@@ -179,6 +232,13 @@ public final class BindVariable implements Serializable {
         }
         return new BindVariable(name);
       }
+      if (collection) {
+        if (!(value instanceof List)) {
+          throw new InvalidObjectException(
+              "Value of collection bind variable must be list (" + value + ')');
+        }
+        return new BindVariable(name, type, List.copyOf((List<?>) value));
+      }
       // we have to rely on the fact that serialized object was immutable - no way to reasonably
       // check it in runtime...
       @SuppressWarnings("Immutable")
@@ -198,6 +258,7 @@ public final class BindVariable implements Serializable {
     BindVariable that = (BindVariable) o;
     return Objects.equals(name, that.name)
         && type == that.type
+        && collection == that.collection
         && Objects.equals(value, that.value);
   }
 
@@ -206,6 +267,7 @@ public final class BindVariable implements Serializable {
     int result = name.hashCode();
     result = 31 * result + type.hashCode();
     result = 31 * result + (value != null ? value.hashCode() : 0);
+    result = 31 * result + (collection ? 1 : 0);
     return result;
   }
 
@@ -215,6 +277,7 @@ public final class BindVariable implements Serializable {
         + "name=" + name
         + ", type=" + type
         + ", value=" + value
+        + ", collection=" + collection
         + '}';
   }
 }
@@ -6,6 +6,8 @@ import com.fasterxml.jackson.core.ObjectCodec;
 import com.fasterxml.jackson.core.TreeNode;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.BooleanNode;
 import com.fasterxml.jackson.databind.node.TextNode;
 import com.provys.common.exception.InternalException;
 import com.provys.common.types.TypeMap;
@@ -14,6 +16,8 @@ import java.io.IOException;
 import java.io.InvalidObjectException;
 import java.io.ObjectInputStream;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
@@ -73,11 +77,44 @@ public final class BindVariableDeserializer extends StdDeserializer<BindVariable
     return objectCodec.treeToValue(valueNode, type);
   }
 
+  private static boolean isCollection(TreeNode objectNode) {
+    var collectionNode = objectNode.get("COLLECTION");
+    if (collectionNode == null) {
+      return false;
+    }
+    if (!(collectionNode instanceof BooleanNode)) {
+      throw new InternalException(
+          "COLLECTION node must be boolean in BindVariable deserialization");
+    }
+    return ((BooleanNode) collectionNode).booleanValue();
+  }
+
+  private static <T extends Serializable> List<T> getValues(ObjectCodec objectCodec,
+      TreeNode objectNode, Class<T> type) throws JsonProcessingException {
+    var valueNode = objectNode.get("VALUE");
+    if (valueNode == null) {
+      return List.of();
+    }
+    if (!(valueNode instanceof ArrayNode)) {
+      throw new InternalException(
+          "VALUE node must be array in collection BindVariable deserialization");
+    }
+    var result = new ArrayList<T>(valueNode.size());
+    for (var element : (ArrayNode) valueNode) {
+      result.add(objectCodec.treeToValue(element, type));
+    }
+    return result;
+  }
+
   // First, Object.class is handled in deserialize and all other classes returned by TypeMap should
   // be immutable. Second, we hope that whoever serialized this knew what he does...
   @SuppressWarnings("Immutable")
   private static <T extends Serializable> BindVariable deserializeWithValue(String name,
       Class<T> type, ObjectCodec objectCodec, TreeNode objectNode) throws JsonProcessingException {
+    if (isCollection(objectNode)) {
+      return BindVariable.ofCollection(BindName.valueOf(name), type,
+          getValues(objectCodec, objectNode, type));
+    }
     return new BindVariable(name, type, getValue(objectCodec, objectNode, type));
   }
 
@@ -16,6 +16,7 @@ public final class BindWithPos {
   private final Class<?> type;
   @SuppressWarnings("Immutable") // list created by copyOf, Integer is immutable
   private final List<Integer> positions;
+  private final boolean collection;
 
   /**
    * Create bind variable with positions.
@@ -23,11 +24,26 @@ public final class BindWithPos {
    * @param name is name of bind variable
    * @param type is java type, defining expected type of value variable can be assigned
    * @param positions is list of positions of this bind variable in statement
+   * @param collection indicates that bind variable is collection bind, holding list of values of
+   *                   given type
    */
-  public BindWithPos(BindName name, Class<?> type, Collection<Integer> positions) {
+  public BindWithPos(BindName name, Class<?> type, Collection<Integer> positions,
+      boolean collection) {
     this.name = name;
     this.type = type;
     this.positions = List.copyOf(positions);
+    this.collection = collection;
+  }
+
+  /**
+   * Create (single value) bind variable with positions.
+   *
+   * @param name is name of bind variable
+   * @param type is java type, defining expected type of value variable can be assigned
+   * @param positions is list of positions of this bind variable in statement
+   */
+  public BindWithPos(BindName name, Class<?> type, Collection<Integer> positions) {
+    this(name, type, positions, false);
   }
 
   /**
@@ -57,6 +73,15 @@ public final class BindWithPos {
     return positions;
   }
 
+  /**
+   * Value of field collection.
+   *
+   * @return value of field collection
+   */
+  public boolean isCollection() {
+    return collection;
+  }
+
   @Override
   public boolean equals(@Nullable Object o) {
     if (this == o) {
@@ -68,6 +93,7 @@ public final class BindWithPos {
     BindWithPos that = (BindWithPos) o;
     return Objects.equals(name, that.name)
         && type == that.type
+        && collection == that.collection
         && Objects.equals(positions, that.positions);
   }
 
@@ -76,6 +102,7 @@ public final class BindWithPos {
     int result = name != null ? name.hashCode() : 0;
     result = 31 * result + (type != null ? type.hashCode() : 0);
     result = 31 * result + (positions != null ? positions.hashCode() : 0);
+    result = 31 * result + (collection ? 1 : 0);
     return result;
   }
 
@@ -85,6 +112,7 @@ public final class BindWithPos {
         + "name=" + name
         + ", type=" + type
         + ", positions=" + positions
+        + ", collection=" + collection
         + '}';
   }
 }
@@ -0,0 +1,107 @@
+package com.provys.db.query.elements;
+
+import static com.provys.db.query.functions.ConditionalOperator.COND_AND;
+import static com.provys.db.query.functions.ConditionalOperator.COND_EQ_NONNULL;
+import static com.provys.db.query.functions.ConditionalOperator.COND_GT_NONNULL;
+import static org.assertj.core.api.Assertions.*;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.provys.common.datatype.DtDate;
+import com.provys.common.datatype.DtUid;
+import com.provys.common.jackson.JacksonMappers;
+import com.provys.db.query.functions.BuiltInFunction;
+import com.provys.db.query.names.SegmentedName;
+import com.provys.db.query.names.SimpleName;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Supplier;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+/**
+ * Compares size of encoded select and cost of its decoding using binary codec and Json. Timing
+ * depends on machine, thus test is only run on demand, with system property
+ * provysdb.benchmark=true; results are logged on info level (e.g. with log4j2.level=info).
+ */
+@EnabledIfSystemProperty(named = "provysdb.benchmark", matches = "true")
+class ElementBinaryCodecBenchmarkTest {
+
+  private static final Logger LOG = LogManager.getLogger(ElementBinaryCodecBenchmarkTest.class);
+
+  private static final ElementFactory FACTORY = ElementFactory.getInstance();
+  private static final ElementBinaryCodec CODEC = ElementBinaryCodec.getDefault();
+  private static final int WARMUP_ITERATIONS = 20_000;
+  private static final int ITERATIONS = 100_000;
+
+  private static SelectT2<DtUid, String> getSelect() {
+    return FACTORY.select(
+        FACTORY.selectColumn(FACTORY.column(DtUid.class, SimpleName.valueOf("prog"),
+            SimpleName.valueOf("prog_id")), null),
+        FACTORY.selectColumn(FACTORY.function(String.class, BuiltInFunction.STRING_CONCAT,
+            List.of(FACTORY.column(String.class, SimpleName.valueOf("prog"),
+                SimpleName.valueOf("name")),
+                FACTORY.column(String.class, SimpleName.valueOf("series"),
+                    SimpleName.valueOf("name")))), SimpleName.valueOf("name")),
+        FACTORY.from(List.of(
+            FACTORY.fromTable(SegmentedName.valueOf("brc.brc_prog_tb"),
+                SimpleName.valueOf("prog")),
+            FACTORY.fromTable(SegmentedName.valueOf("brc.brc_series_tb"),
+                SimpleName.valueOf("series")))),
+        FACTORY.condition(COND_AND, List.of(
+            FACTORY.condition(COND_EQ_NONNULL, List.of(
+                FACTORY.column(DtUid.class, SimpleName.valueOf("prog"),
+                    SimpleName.valueOf("series_id")),
+                FACTORY.column(DtUid.class, SimpleName.valueOf("series"),
+                    SimpleName.valueOf("series_id")))),
+            FACTORY.condition(COND_GT_NONNULL, List.of(
+                FACTORY.column(DtDate.class, SimpleName.valueOf("prog"),
+                    SimpleName.valueOf("valid_from")),
+                FACTORY.bind(DtDate.class, "valid_from", DtDate.of(2020, 1, 31)))),
+            FACTORY.condition(COND_EQ_NONNULL, List.of(
+                FACTORY.column(String.class, SimpleName.valueOf("prog"),
+                    SimpleName.valueOf("status")),
+                FACTORY.literal("A"))))));
+  }
+
+  private static long measure(String name, Supplier<?> decode) {
+    for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+      decode.get();
+    }
+    Object result = null;
+    var start = System.nanoTime();
+    for (int i = 0; i < ITERATIONS; i++) {
+      result = decode.get();
+    }
+    var nanosPerDecode = (System.nanoTime() - start) / ITERATIONS;
+    LOG.info("{}: {} ns per decode", name, nanosPerDecode);
+    assertThat(result).isNotNull();
+    return nanosPerDecode;
+  }
+
+  private static Object readJson(ObjectMapper mapper, String json, Class<?> type) {
+    try {
+      return mapper.readValue(json, type);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Failed to read Json", e);
+    }
+  }
+
+  @Test
+  void binaryVersusJsonTest() throws JsonProcessingException {
+    var select = getSelect();
+    var mapper = JacksonMappers.getJsonMapper();
+    var json = mapper.writeValueAsString(select);
+    var binary = CODEC.encode(select);
+    var jsonSize = json.getBytes(StandardCharsets.UTF_8).length;
+    LOG.info("Json: {} bytes, binary: {} bytes, ratio {}", jsonSize, binary.length,
+        (double) jsonSize / binary.length);
+    var jsonNanos = measure("json", () -> readJson(mapper, json, select.getClass()));
+    var binaryNanos = measure("binary", () -> CODEC.decode(binary));
+    LOG.info("Binary decode is {} times faster than Json", (double) jsonNanos / binaryNanos);
+    assertThat(binary.length).isLessThan(jsonSize / 3);
+    assertThat(binaryNanos).isLessThan(jsonNanos);
+  }
+}
@@ -0,0 +1,335 @@
+package com.provys.db.query.elements;
+
+import static com.provys.db.query.functions.ConditionalOperator.COND_AND;
+import static com.provys.db.query.functions.ConditionalOperator.COND_EQ_NONNULL;
+import static com.provys.db.query.functions.ConditionalOperator.COND_GT_NONNULL;
+import static org.assertj.core.api.Assertions.*;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.provys.common.datatype.DtDate;
+import com.provys.common.datatype.DtDateTime;
+import com.provys.common.datatype.DtUid;
+import com.provys.common.exception.InternalException;
+import com.provys.common.jackson.JacksonMappers;
+import com.provys.db.query.functions.BuiltInFunction;
+import com.provys.db.query.functions.ConditionalOperator;
+import com.provys.db.query.functions.OptimizerHintType;
+import com.provys.db.query.names.BindName;
+import com.provys.db.query.names.BindVariable;
+import com.provys.db.query.names.SegmentedName;
+import com.provys.db.query.names.SimpleName;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.ObjectOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class ElementBinaryCodecTest {
+
+  private static final ElementFactory FACTORY = ElementFactory.getInstance();
+  private static final ElementBinaryCodec CODEC = ElementBinaryCodec.getDefault();
+
+  static Stream<Object[]> roundTripTest() {
+    return Stream.of(
+        new Object[]{new SelectT1Impl<>(
+            new ColumnExpression<>(
+                new ExpressionColumn<>(DtUid.class, null, SimpleName.valueOf("prog_id")),
+                SimpleName.valueOf("prog_id")),
+            new DefaultFromClause(List.of(
+                new FromTable(SegmentedName.valueOf("brc.brc_prog_tb"), null))),
+            null, null)}
+        , new Object[]{new SelectT2Impl<>(
+            new ColumnExpression<>(
+                new ExpressionColumn<>(DtUid.class, null, SimpleName.valueOf("prog_id")),
+                null),
+            new ColumnExpression<>(
+                new ExpressionColumnOuter<>(new ExpressionColumn<>(DtUid.class,
+                    SimpleName.valueOf("series"), SimpleName.valueOf("series_id"))), null),
+            new DefaultFromClause(List.of(
+                new FromTable(SegmentedName.valueOf("brc.brc_prog_tb"), SimpleName.valueOf("prog")),
+                new FromTable(SimpleName.valueOf("brc_series_tb"), SimpleName.valueOf("series")))),
+            FACTORY.condition(COND_AND, List.of(
+                FACTORY.condition(COND_EQ_NONNULL,
+                    List.of(new ExpressionColumn<>(DtUid.class, SimpleName.valueOf("prog"),
+                            SimpleName.valueOf("series_id")),
+                        new ExpressionColumn<>(DtUid.class, SimpleName.valueOf("series"),
+                            SimpleName.valueOf("series_id")))),
+                FACTORY.condition(COND_GT_NONNULL,
+                    List.of(FACTORY.bind(DtDate.class, "valid_from", DtDate.of(2020, 1, 31)),
+                        FACTORY.literal(DtDate.of(2011, 5, 6)))),
+                FACTORY.condition(COND_EQ_NONNULL,
+                    List.of(FACTORY.column(String.class, SimpleName.valueOf("prog"),
+                        SimpleName.valueOf("name")),
+                        FACTORY.function(String.class, BuiltInFunction.STRING_CONCAT,
+                            List.of(FACTORY.literal("ač"),
+                                FACTORY.bind(String.class, "name"))))))),
+            null)}
+        , new Object[]{new SelectImpl(
+            new SelectClauseColumns(List.of(
+                new ColumnExpression<>(FACTORY.literal(new BigDecimal("-12.345")),
+                    SimpleName.valueOf("\"Value\"")),
+                new ColumnExpression<>(FACTORY.literal(Integer.class, null), null),
+                new ColumnExpression<>(FACTORY.literal(-5L), null),
+                new ColumnExpression<>(FACTORY.literal(1.5), null),
+                new ColumnExpression<>(FACTORY.literal(DtUid.valueOf("1234")), null))),
+            new DefaultFromClause(List.of(new FromSelect(
+                new SelectT1Impl<>(
+                    new ColumnExpression<>(FACTORY.literal(true), SimpleName.valueOf("flag")),
+                    new DefaultFromClause(List.of(new FromDual(null))), null, null),
+                SimpleName.valueOf("sub")))),
+            null, null)}
+        , new Object[]{new SelectT1Impl<>(
+            new ColumnExpression<>(
+                new ExpressionColumn<>(DtUid.class, null, SimpleName.valueOf("prog_id")), null),
+            new DefaultFromClause(List.of(
+                new FromTable(SegmentedName.valueOf("brc.brc_prog_tb"), null))),
+            null,
+            List.of(FACTORY.orderBy(FACTORY.column(String.class, null, SimpleName.valueOf("name"))),
+                FACTORY.orderBy(FACTORY.column(DtUid.class, null, SimpleName.valueOf("prog_id")),
+                    true)),
+            50,
+            List.of(FACTORY.hint(OptimizerHintType.FIRST_ROWS, "50"),
+                FACTORY.hint(OptimizerHintType.INDEX, "brc_prog_tb", "brc_prog_pk")),
+            null)}
+    );
+  }
+
+  @ParameterizedTest
+  @MethodSource
+  void roundTripTest(SelectT<?> select) {
+    assertThat(CODEC.decode(CODEC.encode(select))).isEqualTo(select);
+  }
+
+  @ParameterizedTest
+  @MethodSource("roundTripTest")
+  void jsonEquivalenceTest(SelectT<?> select) throws JsonProcessingException {
+    var mapper = JacksonMappers.getJsonMapper();
+    var json = mapper.writeValueAsString(select);
+    var fromJson = mapper.readValue(json, select.getClass());
+    var binary = CODEC.encode(fromJson);
+    assertThat(mapper.writeValueAsString(CODEC.decode(binary))).isEqualTo(json);
+    assertThat(binary.length).isLessThan(json.getBytes(StandardCharsets.UTF_8).length / 3);
+  }
+
+  @Test
+  void decodeSelectT1Test() {
+    var select = new SelectT1Impl<>(
+        new ColumnExpression<>(FACTORY.literal("x"), null),
+        new DefaultFromClause(List.of(new FromDual(null))), null, null);
+    var binary = CODEC.encode(select);
+    assertThat(CODEC.decodeSelectT1(binary)).isEqualTo(select);
+    assertThatThrownBy(() -> CODEC.decodeSelectT2(binary))
+        .isInstanceOf(InternalException.class);
+  }
+
+  @Test
+  void decodeTruncatedTest() {
+    var binary = CODEC.encode(new SelectT1Impl<>(
+        new ColumnExpression<>(FACTORY.literal("x"), null),
+        new DefaultFromClause(List.of(new FromDual(null))), null, null));
+    assertThatThrownBy(() -> CODEC.decode(Arrays.copyOf(binary, binary.length - 1)))
+        .isInstanceOf(InternalException.class);
+  }
+
+  @Test
+  void bindsRoundTripTest() {
+    var binds = List.of(new BindVariable("id", DtUid.class, DtUid.valueOf("12")),
+        new BindVariable("name", String.class, null),
+        new BindVariable("valid_from", DtDate.class, DtDate.of(2020, 2, 29)),
+        BindVariable.ofCollection(BindName.valueOf("ids"), DtUid.class,
+            List.of(DtUid.valueOf("1"), DtUid.valueOf("2"))));
+    assertThat(CODEC.decodeBinds(CODEC.encodeBinds(binds))).containsExactlyElementsOf(binds);
+    assertThat(CODEC.decodeBind(CODEC.encodeBind(binds.get(0)))).isEqualTo(binds.get(0));
+  }
+
+  /**
+   * Encode two selects differing in single enum ordinal and replace differing byte of first one
+   * with invalid ordinal.
+   */
+  private static byte[] corruptOrdinal(SelectT<?> select, SelectT<?> other) {
+    var binary = CODEC.encode(select);
+    var otherBinary = CODEC.encode(other);
+    assertThat(otherBinary).hasSameSizeAs(binary);
+    var position = Arrays.mismatch(binary, otherBinary);
+    assertThat(position).isNotNegative();
+    binary[position] = 0x7F;
+    return binary;
+  }
+
+  private static SelectT<?> conditionSelect(ConditionalOperator operator) {
+    return new SelectT1Impl<>(
+        new ColumnExpression<>(FACTORY.literal("x"), null),
+        new DefaultFromClause(List.of(new FromDual(null))),
+        FACTORY.condition(operator, List.of(FACTORY.literal(1), FACTORY.literal(2))), null);
+  }
+
+  @Test
+  void decodeInvalidOperatorTest() {
+    var binary = corruptOrdinal(conditionSelect(COND_EQ_NONNULL),
+        conditionSelect(COND_GT_NONNULL));
+    assertThatThrownBy(() -> CODEC.decode(binary))
+        .isInstanceOf(InternalException.class)
+        .hasMessageContaining("operator");
+  }
+
+  private static SelectT<?> functionSelect(BuiltInFunction function) {
+    return new SelectT1Impl<>(
+        new ColumnExpression<>(FACTORY.function(String.class, function,
+            List.of(FACTORY.literal("a"), FACTORY.literal("b"))), null),
+        new DefaultFromClause(List.of(new FromDual(null))), null, null);
+  }
+
+  @Test
+  void decodeInvalidFunctionTest() {
+    var binary = corruptOrdinal(functionSelect(BuiltInFunction.STRING_CONCAT),
+        functionSelect(BuiltInFunction.ANY_NVL));
+    assertThatThrownBy(() -> CODEC.decode(binary))
+        .isInstanceOf(InternalException.class)
+        .hasMessageContaining("function");
+  }
+
+  @Test
+  void decodeInvalidSizeTest() {
+    // version followed by bind count 2^28 - 1, exceeding size of data
+    assertThatThrownBy(() -> CODEC.decodeBinds(
+        new byte[]{3, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0x7F, 0}))
+        .isInstanceOf(InternalException.class)
+        .hasMessageContaining("size");
+    // bind count exceeding range of int
+    assertThatThrownBy(() -> CODEC.decodeBinds(
+        new byte[]{3, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0x7F}))
+        .isInstanceOf(InternalException.class);
+  }
+
+  @Test
+  void decodeInvalidAliasTest() {
+    var alias = "dual_alias".getBytes(StandardCharsets.UTF_8);
+    var binary = CODEC.encode(new SelectT1Impl<>(
+        new ColumnExpression<>(FACTORY.literal("x"), null),
+        new DefaultFromClause(List.of(new FromDual(SimpleName.valueOf("dual_alias")))), null,
+        null));
+    // alias is written as name path header, dictionary index, length and text; replace it with
+    // segmented name consisting of alias twice
+    int position = -1;
+    for (int i = 0; i <= binary.length - alias.length; i++) {
+      if (Arrays.equals(binary, i, i + alias.length, alias, 0, alias.length)) {
+        position = i;
+        break;
+      }
+    }
+    assertThat(position).isGreaterThanOrEqualTo(3);
+    var corrupted = new ByteArrayOutputStream();
+    corrupted.write(binary, 0, position - 3);
+    corrupted.write(1 + ((2 << 1) | 1));
+    corrupted.write(binary, position - 2, alias.length + 2);
+    corrupted.write(binary[position - 2]);
+    corrupted.write(binary, position + alias.length, binary.length - position - alias.length);
+    assertThatThrownBy(() -> CODEC.decode(corrupted.toByteArray()))
+        .isInstanceOf(InternalException.class)
+        .hasMessageContaining("Alias expected");
+  }
+
+  /**
+   * Replace single occurrence of given text in encoded data with other text of the same length.
+   */
+  private static byte[] replaceText(byte[] binary, String text, String replacement) {
+    var textBytes = text.getBytes(StandardCharsets.UTF_8);
+    var replacementBytes = replacement.getBytes(StandardCharsets.UTF_8);
+    assertThat(replacementBytes).hasSameSizeAs(textBytes);
+    var result = binary.clone();
+    for (int i = 0; i <= result.length - textBytes.length; i++) {
+      if (Arrays.equals(result, i, i + textBytes.length, textBytes, 0, textBytes.length)) {
+        System.arraycopy(replacementBytes, 0, result, i, replacementBytes.length);
+        return result;
+      }
+    }
+    throw new AssertionError("Text " + text + " not found in encoded data");
+  }
+
+  @Test
+  void decodeInvalidValueTest() {
+    var dateBinary = CODEC.encodeBind(new BindVariable("valid_from", DtDate.class,
+        DtDate.of(2020, 2, 29)));
+    assertThatThrownBy(() -> CODEC.decodeBind(replaceText(dateBinary, "2020-02-29",
+        "2020-0x-29")))
+        .isInstanceOf(InternalException.class)
+        .hasMessageContaining("Invalid date");
+    var uidBinary = CODEC.encodeBind(new BindVariable("id", DtUid.class,
+        DtUid.valueOf("1234")));
+    assertThatThrownBy(() -> CODEC.decodeBind(replaceText(uidBinary, "1234", "12x4")))
+        .isInstanceOf(InternalException.class)
+        .hasMessageContaining("Invalid uid");
+  }
+
+  private static SelectT<?> nestedSelect(int depth) {
+    Expression<String> expression = FACTORY.literal("x");
+    for (int i = 0; i < depth; i++) {
+      expression = FACTORY.function(String.class, BuiltInFunction.ANY_NVL,
+          List.of(expression, FACTORY.literal("y")));
+    }
+    return new SelectT1Impl<>(new ColumnExpression<>(expression, null),
+        new DefaultFromClause(List.of(new FromDual(null))), null, null);
+  }
+
+  @Test
+  void decodeNestingTest() {
+    var select = nestedSelect(200);
+    assertThat(CODEC.decode(CODEC.encode(select))).isEqualTo(select);
+    // crafted data might nest arbitrarily deep, decoding refuses nesting over limit instead of
+    // overflowing stack
+    var binary = CODEC.encode(nestedSelect(300));
+    assertThatThrownBy(() -> CODEC.decode(binary))
+        .isInstanceOf(InternalException.class)
+        .hasMessageContaining("Nesting");
+  }
+
+  private static byte[] serialize(Object value) throws IOException {
+    var byteStream = new ByteArrayOutputStream();
+    try (var objectStream = new ObjectOutputStream(byteStream)) {
+      objectStream.writeObject(value);
+    }
+    return byteStream.toByteArray();
+  }
+
+  private static void writeVarInt(ByteArrayOutputStream stream, int value) {
+    var remaining = value;
+    while ((remaining & ~0x7F) != 0) {
+      stream.write((remaining & 0x7F) | 0x80);
+      remaining >>>= 7;
+    }
+    stream.write(remaining);
+  }
+
+  private static int getVarIntLength(int value) {
+    var stream = new ByteArrayOutputStream();
+    writeVarInt(stream, value);
+    return stream.size();
+  }
+
+  @Test
+  void decodeSerializedTest() throws IOException {
+    var value = DtDateTime.of(2020, 1, 31, 10, 15, 30);
+    var bind = new BindVariable("modified", DtDateTime.class, value);
+    var binary = CODEC.encodeBind(bind);
+    assertThat(CODEC.decodeBind(binary)).isEqualTo(bind);
+    // serialized value is at the end of data, replace it with class not on allow-list
+    var serialized = serialize(value);
+    var corrupted = new ByteArrayOutputStream();
+    corrupted.write(binary, 0,
+        binary.length - serialized.length - getVarIntLength(serialized.length));
+    var rejected = serialize(new ArrayList<>(List.of("x")));
+    writeVarInt(corrupted, rejected.length);
+    corrupted.write(rejected, 0, rejected.length);
+    assertThatThrownBy(() -> CODEC.decodeBind(corrupted.toByteArray()))
+        .isInstanceOf(InternalException.class)
+        .hasRootCauseInstanceOf(InvalidClassException.class);
+  }
+}
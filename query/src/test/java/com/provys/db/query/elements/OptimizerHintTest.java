@@ -0,0 +1,79 @@
+package com.provys.db.query.elements;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.provys.common.exception.InternalException;
+import com.provys.common.jackson.JacksonMappers;
+import com.provys.db.query.functions.OptimizerHintType;
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class OptimizerHintTest {
+
+  @Test
+  void invalidArgumentCountTest() {
+    assertThatThrownBy(() -> new OptimizerHint(OptimizerHintType.FULL, List.of()))
+        .isInstanceOf(InternalException.class);
+    assertThatThrownBy(() -> new OptimizerHint(OptimizerHintType.ALL_ROWS, List.of("prog")))
+        .isInstanceOf(InternalException.class);
+  }
+
+  @Test
+  void invalidArgumentTest() {
+    assertThatThrownBy(() -> new OptimizerHint(OptimizerHintType.FULL, List.of("prog*/")))
+        .isInstanceOf(InternalException.class);
+    assertThatThrownBy(() -> new OptimizerHint(OptimizerHintType.FIRST_ROWS, List.of("prog")))
+        .isInstanceOf(InternalException.class);
+  }
+
+  static Stream<Object[]> jacksonTest() {
+    return Stream.of(
+        new Object[]{new OptimizerHint(OptimizerHintType.ALL_ROWS, null),
+            "{\"TYPE\":\"ALL_ROWS\"}",
+            "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+                + "<HINT><TYPE>ALL_ROWS</TYPE></HINT>"}
+        , new Object[]{new OptimizerHint(OptimizerHintType.INDEX, List.of("prog", "prog_pk")),
+            "{\"TYPE\":\"INDEX\",\"ARGUMENTS\":[\"prog\",\"prog_pk\"]}",
+            "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+                + "<HINT><TYPE>INDEX</TYPE><ARGUMENTS><ARGUMENT>prog</ARGUMENT>"
+                + "<ARGUMENT>prog_pk</ARGUMENT></ARGUMENTS></HINT>"}
+    );
+  }
+
+  @ParameterizedTest
+  @MethodSource("jacksonTest")
+  void serializeToJsonTest(OptimizerHint value, String json, String xml)
+      throws JsonProcessingException {
+    assertThat(JacksonMappers.getJsonMapper().writeValueAsString(value))
+        .isEqualTo(json);
+  }
+
+  @ParameterizedTest
+  @MethodSource("jacksonTest")
+  void deserializeFromJsonTest(OptimizerHint value, String json, String xml)
+      throws IOException {
+    assertThat(JacksonMappers.getJsonMapper().readValue(json, OptimizerHint.class))
+        .isEqualTo(value);
+  }
+
+  @ParameterizedTest
+  @MethodSource("jacksonTest")
+  void serializeToXmlTest(OptimizerHint value, String json, String xml)
+      throws JsonProcessingException {
+    assertThat(JacksonMappers.getXmlMapper().writeValueAsString(value))
+        .isEqualTo(xml);
+  }
+
+  @ParameterizedTest
+  @MethodSource("jacksonTest")
+  void deserializeFromXmlTest(OptimizerHint value, String json, String xml)
+      throws IOException {
+    assertThat(JacksonMappers.getXmlMapper().readValue(xml, OptimizerHint.class))
+        .isEqualTo(value);
+  }
+}
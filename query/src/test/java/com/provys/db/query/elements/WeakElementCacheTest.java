@@ -0,0 +1,76 @@
+package com.provys.db.query.elements;
+
+import static com.provys.db.query.functions.BuiltInFunction.STRING_CONCAT;
+import static com.provys.db.query.functions.ConditionalOperator.COND_EQ_NONNULL;
+import static org.assertj.core.api.Assertions.*;
+
+import com.provys.common.datatype.DtUid;
+import com.provys.db.query.names.BindVariable;
+import com.provys.db.query.names.SimpleName;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class WeakElementCacheTest {
+
+  @Test
+  void internTest() {
+    var cache = new WeakElementCache();
+    var literal1 = new Literal<>("text");
+    var literal2 = new Literal<>("text");
+    var literal3 = new Literal<>("other");
+    assertThat(cache.intern(literal1)).isSameAs(literal1);
+    assertThat(cache.intern(literal2)).isSameAs(literal1);
+    assertThat(cache.intern(literal3)).isSameAs(literal3);
+    assertThat(cache.size()).isEqualTo(2);
+  }
+
+  @Test
+  void concurrentInternTest() {
+    var cache = new WeakElementCache();
+    var interned = IntStream.range(0, 10000).parallel()
+        .mapToObj(i -> cache.intern(new Literal<>("text" + (i % 10))))
+        .collect(Collectors.toList());
+    for (var literal : interned) {
+      assertThat(cache.intern(new Literal<>(literal.getValue()))).isSameAs(literal);
+    }
+    assertThat(cache.size()).isEqualTo(10);
+  }
+
+  @Test
+  void hashConsingFactoryTest() {
+    var factory = ElementFactory.getHashConsingInstance();
+    var condition1 = factory.condition(COND_EQ_NONNULL, List.of(
+        factory.column(DtUid.class, SimpleName.valueOf("prog"), SimpleName.valueOf("prog_id")),
+        factory.bind(DtUid.class, "prog_id")));
+    var condition2 = factory.condition(COND_EQ_NONNULL, List.of(
+        factory.column(DtUid.class, SimpleName.valueOf("prog"), SimpleName.valueOf("prog_id")),
+        factory.bind(DtUid.class, "prog_id")));
+    assertThat(condition2).isSameAs(condition1);
+  }
+
+  @Test
+  void hashConsingTypeTest() {
+    var factory = ElementFactory.getHashConsingInstance();
+    var bindVariable = new BindVariable("type_test", Integer.class, 5);
+    var objectBind = factory.bind(Object.class, bindVariable);
+    var integerBind = factory.bind(Integer.class, bindVariable);
+    assertThat(objectBind.getType()).isEqualTo(Object.class);
+    assertThat(integerBind.getType()).isEqualTo(Integer.class);
+    var arguments = List.of(factory.literal("first"), factory.literal("second"));
+    var stringFunction = factory.function(String.class, STRING_CONCAT, arguments);
+    var objectFunction = factory.function(Object.class, STRING_CONCAT, arguments);
+    assertThat(stringFunction.getType()).isEqualTo(String.class);
+    assertThat(objectFunction.getType()).isEqualTo(Object.class);
+  }
+
+  @Test
+  void plainFactoryTest() {
+    var factory = ElementFactory.getInstance();
+    var literal1 = factory.literal("text");
+    var literal2 = factory.literal("text");
+    assertThat(literal2).isEqualTo(literal1).isNotSameAs(literal1);
+    assertThat(factory).isNotEqualTo(ElementFactory.getHashConsingInstance());
+  }
+}
@@ -0,0 +1,148 @@
+package com.provys.db.query.evaluator;
+
+import static com.provys.db.query.functions.ConditionalOperator.COND_AND;
+import static com.provys.db.query.functions.ConditionalOperator.COND_EQ_NONNULL;
+import static com.provys.db.query.functions.ConditionalOperator.COND_EQ_NULLABLE;
+import static com.provys.db.query.functions.ConditionalOperator.COND_GT_NONNULL;
+import static com.provys.db.query.functions.ConditionalOperator.COND_IN_NONNULL;
+import static com.provys.db.query.functions.ConditionalOperator.COND_LT_NULL_UNLIMITED;
+import static com.provys.db.query.functions.ConditionalOperator.COND_NOT;
+import static com.provys.db.query.functions.ConditionalOperator.COND_NOT_EQ_NULLABLE;
+import static com.provys.db.query.functions.ConditionalOperator.COND_OR;
+import static org.assertj.core.api.Assertions.*;
+
+import com.provys.common.datatype.DtDate;
+import com.provys.db.query.elements.Condition;
+import com.provys.db.query.elements.ElementFactory;
+import com.provys.db.query.elements.Expression;
+import com.provys.db.query.functions.BuiltInFunction;
+import com.provys.db.query.names.BindName;
+import com.provys.db.query.names.SimpleName;
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class ElementEvaluatorTest {
+
+  private static final ElementFactory FACTORY = ElementFactory.getInstance();
+  private static final ElementEvaluator<Map<SimpleName, @Nullable Object>> EVALUATOR =
+      new ElementEvaluator<>((type, table, column) -> row -> row.get(column));
+
+  private static Map<SimpleName, @Nullable Object> row(@Nullable Integer id, @Nullable String name,
+      @Nullable DtDate validTo) {
+    var result = new HashMap<SimpleName, @Nullable Object>(3);
+    result.put(SimpleName.valueOf("id"), id);
+    result.put(SimpleName.valueOf("name"), name);
+    result.put(SimpleName.valueOf("valid_to"), validTo);
+    return result;
+  }
+
+  private static Expression<Integer> id() {
+    return FACTORY.column(Integer.class, null, SimpleName.valueOf("id"));
+  }
+
+  private static Expression<String> name() {
+    return FACTORY.column(String.class, null, SimpleName.valueOf("name"));
+  }
+
+  private static Expression<DtDate> validTo() {
+    return FACTORY.column(DtDate.class, null, SimpleName.valueOf("valid_to"));
+  }
+
+  static Stream<Object[]> compileConditionTest() {
+    return Stream.of(
+        new Object[]{FACTORY.condition(COND_EQ_NONNULL, List.of(id(), FACTORY.literal(5))),
+            row(5, null, null), true}
+        , new Object[]{FACTORY.condition(COND_EQ_NONNULL, List.of(id(), FACTORY.literal(5L))),
+            row(5, null, null), true}
+        , new Object[]{FACTORY.condition(COND_EQ_NONNULL,
+            List.of(id(), FACTORY.literal(new BigDecimal("5.0")))), row(5, null, null), true}
+        , new Object[]{FACTORY.condition(COND_EQ_NONNULL, List.of(id(), FACTORY.literal(5))),
+            row(null, null, null), false}
+        , new Object[]{FACTORY.condition(COND_NOT,
+            List.of(FACTORY.condition(COND_EQ_NONNULL, List.of(id(), FACTORY.literal(5))))),
+            row(null, null, null), false}
+        , new Object[]{FACTORY.condition(COND_EQ_NULLABLE,
+            List.of(name(), FACTORY.literal(String.class, null))), row(null, "", null), true}
+        , new Object[]{FACTORY.condition(COND_NOT_EQ_NULLABLE,
+            List.of(name(), FACTORY.literal("x"))), row(null, null, null), true}
+        , new Object[]{FACTORY.condition(COND_NOT_EQ_NULLABLE,
+            List.of(name(), FACTORY.literal("x"))), row(null, "x", null), false}
+        , new Object[]{FACTORY.condition(COND_GT_NONNULL, List.of(name(), FACTORY.literal("abc"))),
+            row(null, "abd", null), true}
+        , new Object[]{FACTORY.condition(COND_LT_NULL_UNLIMITED,
+            List.of(FACTORY.literal(DtDate.of(2020, 1, 1)), validTo())), row(null, null, null),
+            true}
+        , new Object[]{FACTORY.condition(COND_LT_NULL_UNLIMITED,
+            List.of(FACTORY.literal(DtDate.of(2020, 1, 1)), validTo())),
+            row(null, null, DtDate.of(2019, 12, 31)), false}
+        , new Object[]{FACTORY.condition(COND_OR, List.of(
+            FACTORY.condition(COND_EQ_NONNULL, List.of(id(), FACTORY.literal(5))),
+            FACTORY.condition(COND_EQ_NONNULL, List.of(name(), FACTORY.literal("x"))))),
+            row(null, "x", null), true}
+        , new Object[]{FACTORY.condition(COND_AND, List.of(
+            FACTORY.condition(COND_EQ_NONNULL, List.of(id(), FACTORY.literal(5))),
+            FACTORY.condition(COND_EQ_NONNULL, List.of(name(), FACTORY.literal("x"))))),
+            row(5, null, null), false}
+        , new Object[]{FACTORY.condition(COND_EQ_NONNULL,
+            List.of(id(), FACTORY.bind(Integer.class, "id", 7))), row(7, null, null), true}
+        , new Object[]{FACTORY.condition(COND_IN_NONNULL,
+            List.of(id(), FACTORY.literal(5), FACTORY.literal(7))), row(7, null, null), true}
+        , new Object[]{FACTORY.condition(COND_IN_NONNULL,
+            List.of(id(), FACTORY.literal(5), FACTORY.literal(7))), row(6, null, null), false}
+        , new Object[]{FACTORY.in(id(), "ids", List.of(3, 4)), row(4, null, null), true}
+        , new Object[]{FACTORY.in(id(), "ids", List.of()), row(4, null, null), false}
+        , new Object[]{FACTORY.in(id(), "ids", IntStream.range(0, 1000).boxed()
+            .collect(Collectors.toList())), row(999, null, null), true}
+        , new Object[]{FACTORY.in(id(), "ids", IntStream.range(0, 1000).boxed()
+            .collect(Collectors.toList())), row(1000, null, null), false}
+    );
+  }
+
+  @ParameterizedTest
+  @MethodSource
+  void compileConditionTest(Condition condition, Map<SimpleName, @Nullable Object> row,
+      boolean result) {
+    assertThat(EVALUATOR.compileCondition(condition).test(row)).isEqualTo(result);
+  }
+
+  @Test
+  void compileConditionBindValuesTest() {
+    var evaluator = new ElementEvaluator<Map<SimpleName, @Nullable Object>>(
+        (type, table, column) -> row -> row.get(column), Map.of(BindName.valueOf("id"), 8));
+    var predicate = evaluator.compileCondition(FACTORY.condition(COND_EQ_NONNULL,
+        List.of(id(), FACTORY.bind(Integer.class, "id", 7))));
+    assertThat(predicate.test(row(8, null, null))).isTrue();
+    assertThat(predicate.test(row(7, null, null))).isFalse();
+  }
+
+  static Stream<Object[]> compileExpressionTest() {
+    return Stream.of(
+        new Object[]{FACTORY.function(String.class, BuiltInFunction.STRING_CONCAT,
+            List.of(name(), FACTORY.literal("-"), name())), row(null, "a", null), "a-a"}
+        , new Object[]{FACTORY.function(String.class, BuiltInFunction.STRING_CONCAT,
+            List.of(name(), name())), row(null, null, null), null}
+        , new Object[]{FACTORY.function(String.class, BuiltInFunction.STRING_CHR,
+            List.of(FACTORY.literal(65))), row(null, null, null), "A"}
+        , new Object[]{FACTORY.function(String.class, BuiltInFunction.ANY_NVL,
+            List.of(name(), FACTORY.literal("default"))), row(null, null, null), "default"}
+        , new Object[]{FACTORY.function(String.class, BuiltInFunction.ANY_NVL,
+            List.of(name(), FACTORY.literal("default"))), row(null, "value", null), "value"}
+    );
+  }
+
+  @ParameterizedTest
+  @MethodSource
+  void compileExpressionTest(Expression<?> expression, Map<SimpleName, @Nullable Object> row,
+      @Nullable Object result) {
+    assertThat(EVALUATOR.compileExpression(expression).apply(row)).isEqualTo(result);
+  }
+}
@@ -5,8 +5,13 @@ import static org.assertj.core.api.Assertions.*;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.provys.common.datatype.DtDate;
 import com.provys.common.jackson.JacksonMappers;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.util.List;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -39,6 +44,49 @@ class BindVariableTest {
         .hasMessageContaining("does not match type");
   }
 
+  @Test
+  void ofCollectionTest() {
+    var name = BindName.valueOf("ids");
+    var bind = BindVariable.ofCollection(name, Integer.class, List.of(1, 2, 3));
+    assertThat(bind.getName()).isEqualTo(name);
+    assertThat(bind.getType()).isSameAs(Integer.class);
+    assertThat(bind.isCollection()).isTrue();
+    assertThat(bind.getValue()).isEqualTo(List.of(1, 2, 3));
+    assertThat(bind).isNotEqualTo(new BindVariable(name, Integer.class, null));
+    assertThat(new BindVariable(name, Integer.class, 1).isCollection()).isFalse();
+  }
+
+  @Test
+  @SuppressWarnings({"unchecked", "rawtypes"}) // intentionally break type of collection elements
+  void ofCollectionFailTest() {
+    assertThatThrownBy(() -> BindVariable.ofCollection(BindName.valueOf("ids"),
+        Integer.class, (List) List.of(1, "value")))
+        .hasMessageContaining("does not match type");
+  }
+
+  @Test
+  void collectionSerializationTest() throws IOException, ClassNotFoundException {
+    var bind = BindVariable.ofCollection(BindName.valueOf("ids"), DtDate.class,
+        List.of(DtDate.of(2020, 2, 15), DtDate.of(2020, 2, 16)));
+    var byteStream = new ByteArrayOutputStream();
+    try (var objectStream = new ObjectOutputStream(byteStream)) {
+      objectStream.writeObject(bind);
+    }
+    try (var objectStream = new ObjectInputStream(
+        new ByteArrayInputStream(byteStream.toByteArray()))) {
+      assertThat(objectStream.readObject()).isEqualTo(bind);
+    }
+  }
+
+  @Test
+  void collectionJsonTest() throws IOException {
+    var bind = BindVariable.ofCollection(BindName.valueOf("ids"), Integer.class, List.of(1, 2));
+    var json = "{\"NAME\":\"IDS\",\"TYPE\":\"INTEGER\",\"VALUE\":[1,2],\"COLLECTION\":true}";
+    assertThat(JacksonMappers.getJsonMapper().writeValueAsString(bind)).isEqualTo(json);
+    assertThat(JacksonMappers.getJsonMapper().readValue(json, BindVariable.class))
+        .isEqualTo(bind);
+  }
+
   static Stream<Object[]> jacksonTest() {
     return Stream.of(
         new Object[]{new BindVariable("name1", String.class, null),
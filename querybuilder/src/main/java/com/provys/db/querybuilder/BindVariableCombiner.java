@@ -124,6 +124,10 @@ public final class BindVariableCombiner {
       if (old.equals(bind)) {
         return this;
       }
+      if (old.isCollection() || bind.isCollection()) {
+        throw getCannotCombineException(old,
+            "collection bind variable can only be combined with the same bind variable");
+      }
       // merge types
       var resultType = combineType(old, bind).asSubclass(Serializable.class);
       // merge values
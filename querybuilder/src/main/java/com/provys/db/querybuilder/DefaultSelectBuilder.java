@@ -3,6 +3,8 @@ package com.provys.db.querybuilder;
 import com.provys.db.query.elements.Condition;
 import com.provys.db.query.elements.ElementFactory;
 import com.provys.db.query.elements.FromElement;
+import com.provys.db.query.elements.OptimizerHint;
+import com.provys.db.query.elements.OrderByItem;
 import com.provys.db.query.elements.Select;
 import com.provys.db.query.elements.SelectColumn;
 import java.util.ArrayList;
@@ -23,8 +25,11 @@ final class DefaultSelectBuilder extends DefaultSelectBuilderT<DefaultSelectBuil
   DefaultSelectBuilder(Collection<? extends SelectColumn<?>> columns,
       Collection<FromElement> fromElements,
       @Nullable Condition condition,
+      List<OrderByItem> orderBy,
+      @Nullable Integer fetchFirst,
+      List<OptimizerHint> hints,
       ElementFactory elementFactory) {
-    super(fromElements, condition, elementFactory);
+    super(fromElements, condition, orderBy, fetchFirst, hints, elementFactory);
     this.columns = new ArrayList<>(columns);
   }
 
@@ -47,7 +52,8 @@ final class DefaultSelectBuilder extends DefaultSelectBuilderT<DefaultSelectBuil
 
   @Override
   public Select build() {
-    return getElementFactory().select(columns, getFromClause(), getConditionBuilder().build());
+    return getElementFactory().select(columns, getFromClause(), getConditionBuilder().build(),
+        getOrderBy(), getFetchFirst(), getHints(), null);
   }
 
   @Override
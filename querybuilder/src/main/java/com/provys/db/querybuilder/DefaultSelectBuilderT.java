@@ -1,16 +1,33 @@
 package com.provys.db.querybuilder;
 
+import static com.provys.db.query.functions.ConditionalOperator.COND_AND;
+import static com.provys.db.query.functions.ConditionalOperator.COND_EQ_NONNULL;
+import static com.provys.db.query.functions.ConditionalOperator.COND_GT_NONNULL;
+import static com.provys.db.query.functions.ConditionalOperator.COND_GT_OR_EQ_NONNULL;
+import static com.provys.db.query.functions.ConditionalOperator.COND_LT_NONNULL;
+import static com.provys.db.query.functions.ConditionalOperator.COND_LT_OR_EQ_NONNULL;
+import static com.provys.db.query.functions.ConditionalOperator.COND_OR;
+
+import com.provys.common.exception.InternalException;
 import com.provys.db.query.elements.Condition;
 import com.provys.db.query.elements.ElementFactory;
+import com.provys.db.query.elements.Expression;
 import com.provys.db.query.elements.FromClause;
 import com.provys.db.query.elements.FromElement;
+import com.provys.db.query.elements.OptimizerHint;
+import com.provys.db.query.elements.OrderByItem;
 import com.provys.db.query.elements.SelectT;
+import com.provys.db.query.functions.OptimizerHintType;
+import com.provys.db.query.names.BindName;
+import com.provys.db.query.names.BindVariable;
 import com.provys.db.query.names.NamePath;
 import com.provys.db.query.names.SimpleName;
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
@@ -21,21 +38,38 @@ import org.checkerframework.checker.nullness.qual.Nullable;
  */
 abstract class DefaultSelectBuilderT<T extends DefaultSelectBuilderT<T>> {
 
+  /**
+   * Prefix of names of bind variables, holding sort key values of last fetched row in keyset
+   * pagination predicate.
+   */
+  static final String SEEK_BIND_PREFIX = "KEYSET";
+  private static final int MAX_SEEK_BIND_DIGITS = 9;
+
   private final List<FromElement> fromElements;
   private final AndConditionBuilder conditionBuilder;
+  private final List<OrderByItem> orderBy;
+  private @Nullable Integer fetchFirst;
+  private final List<OptimizerHint> hints;
   private final ElementFactory elementFactory;
 
   DefaultSelectBuilderT(ElementFactory elementFactory) {
     this.fromElements = new ArrayList<>(5);
     this.conditionBuilder = new CombiningConditionBuilderAnd(elementFactory);
+    this.orderBy = new ArrayList<>(3);
+    this.fetchFirst = null;
+    this.hints = new ArrayList<>(2);
     this.elementFactory = elementFactory;
   }
 
   DefaultSelectBuilderT(Collection<FromElement> fromElements, @Nullable Condition condition,
+      List<OrderByItem> orderBy, @Nullable Integer fetchFirst, List<OptimizerHint> hints,
       ElementFactory elementFactory) {
     this.fromElements = new ArrayList<>(fromElements);
     this.conditionBuilder = new CombiningConditionBuilderAnd(elementFactory)
         .and(condition);
+    this.orderBy = new ArrayList<>(orderBy);
+    this.fetchFirst = fetchFirst;
+    this.hints = new ArrayList<>(hints);
     this.elementFactory = elementFactory;
   }
 
@@ -66,6 +100,33 @@ abstract class DefaultSelectBuilderT<T extends DefaultSelectBuilderT<T>> {
     return conditionBuilder;
   }
 
+  /**
+   * Value of field orderBy.
+   *
+   * @return value of field orderBy
+   */
+  protected List<OrderByItem> getOrderBy() {
+    return orderBy;
+  }
+
+  /**
+   * Value of field fetchFirst.
+   *
+   * @return value of field fetchFirst
+   */
+  protected @Nullable Integer getFetchFirst() {
+    return fetchFirst;
+  }
+
+  /**
+   * Value of field hints.
+   *
+   * @return value of field hints
+   */
+  protected List<OptimizerHint> getHints() {
+    return hints;
+  }
+
   /**
    * Value of field elementFactory.
    *
@@ -83,6 +144,9 @@ abstract class DefaultSelectBuilderT<T extends DefaultSelectBuilderT<T>> {
   protected void appendBinds(BindVariableCombiner combiner) {
     combiner.addElements(fromElements);
     combiner.addBuilder(conditionBuilder);
+    for (var item : orderBy) {
+      combiner.addElement(item.getExpression());
+    }
   }
 
   /**
@@ -118,6 +182,116 @@ abstract class DefaultSelectBuilderT<T extends DefaultSelectBuilderT<T>> {
     return self();
   }
 
+  public T orderBy(Expression<?> expression) {
+    orderBy.add(elementFactory.orderBy(expression, false));
+    return self();
+  }
+
+  public T orderByDesc(Expression<?> expression) {
+    orderBy.add(elementFactory.orderBy(expression, true));
+    return self();
+  }
+
+  public T fetchFirst(int rows) {
+    if (rows <= 0) {
+      throw new InternalException("Number of fetched rows must be positive, not " + rows);
+    }
+    fetchFirst = rows;
+    return self();
+  }
+
+  public T hint(OptimizerHint hint) {
+    hints.add(hint);
+    return self();
+  }
+
+  public T hint(OptimizerHintType type, String... arguments) {
+    return hint(elementFactory.hint(type, arguments));
+  }
+
+  @SuppressWarnings({"unchecked", "Immutable"}) // type is verified by BindVariable constructor
+  private static <V extends Serializable> BindVariable seekBind(int index, Class<?> type,
+      Object value) {
+    return new BindVariable(BindName.valueOf(SEEK_BIND_PREFIX + index), (Class<V>) type,
+        (V) value);
+  }
+
+  /**
+   * Highest number of seek bind variable already used in query. Seek binds of new predicate are
+   * numbered after it, thus they do not clash with binds of previous seek predicate or with
+   * variable of the same name supplied by caller.
+   */
+  private int getLastSeekBind() {
+    var combiner = new BindVariableCombiner();
+    appendBinds(combiner);
+    int result = 0;
+    for (var bindName : combiner.getVariableByName().keySet()) {
+      var name = bindName.getName();
+      var digits = name.length() - SEEK_BIND_PREFIX.length();
+      if (name.startsWith(SEEK_BIND_PREFIX) && (digits > 0) && (digits <= MAX_SEEK_BIND_DIGITS)
+          && name.chars().skip(SEEK_BIND_PREFIX.length()).allMatch(Character::isDigit)) {
+        result = Math.max(result, Integer.parseInt(name.substring(SEEK_BIND_PREFIX.length())));
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Seek predicate for keyset pagination. For sort keys k1, k2, ... kn and values v1, v2, ... vn
+   * it is (k1 > v1) OR (k1 = v1 AND k2 > v2) OR ... OR (k1 = v1 AND ... AND kn > vn), with &lt;
+   * used instead of &gt; for keys sorted in descending order. For multiple sort keys, redundant
+   * conjunct k1 &gt;= v1 is added in front of alternatives, thus database can use it as access
+   * predicate (range scan on index on k1) instead of evaluating disjunction as filter.
+   */
+  private Condition seekCondition(List<?> keyValues) {
+    var firstBind = getLastSeekBind() + 1;
+    var keys = new ArrayList<Expression<?>>(orderBy.size());
+    var binds = new ArrayList<Expression<?>>(orderBy.size());
+    for (int i = 0; i < orderBy.size(); i++) {
+      var value = keyValues.get(i);
+      if (value == null) {
+        throw new InternalException("Null value of sort key " + (i + 1)
+            + " is not supported by keyset pagination");
+      }
+      var key = orderBy.get(i).getExpression();
+      keys.add(key);
+      binds.add(elementFactory.bind(key.getType(),
+          seekBind(firstBind + i, key.getType(), value)));
+    }
+    var alternatives = new ArrayList<Condition>(orderBy.size());
+    for (int i = 0; i < orderBy.size(); i++) {
+      var conditions = new ArrayList<Condition>(i + 1);
+      for (int j = 0; j < i; j++) {
+        conditions.add(elementFactory.condition(COND_EQ_NONNULL,
+            List.of(keys.get(j), binds.get(j))));
+      }
+      conditions.add(elementFactory.condition(
+          orderBy.get(i).isDescending() ? COND_LT_NONNULL : COND_GT_NONNULL,
+          List.of(keys.get(i), binds.get(i))));
+      alternatives.add((conditions.size() == 1) ? conditions.get(0)
+          : elementFactory.condition(COND_AND, conditions));
+    }
+    if (alternatives.size() == 1) {
+      return alternatives.get(0);
+    }
+    return elementFactory.condition(COND_AND, List.of(
+        elementFactory.condition(
+            orderBy.get(0).isDescending() ? COND_LT_OR_EQ_NONNULL : COND_GT_OR_EQ_NONNULL,
+            List.of(keys.get(0), binds.get(0))),
+        elementFactory.condition(COND_OR, alternatives)));
+  }
+
+  public T seekAfter(List<?> keyValues) {
+    if (orderBy.isEmpty()) {
+      throw new InternalException("Keyset pagination requires ordered query");
+    }
+    if (keyValues.size() != orderBy.size()) {
+      throw new InternalException("Number of key values (" + keyValues.size()
+          + ") does not match number of sort keys (" + orderBy.size() + ")");
+    }
+    return where(seekCondition(keyValues));
+  }
+
   @Override
   public boolean equals(@Nullable Object o) {
     if (this == o) {
@@ -129,6 +303,9 @@ abstract class DefaultSelectBuilderT<T extends DefaultSelectBuilderT<T>> {
     DefaultSelectBuilderT<?> that = (DefaultSelectBuilderT<?>) o;
     return fromElements.equals(that.fromElements)
         && conditionBuilder.equals(that.conditionBuilder)
+        && orderBy.equals(that.orderBy)
+        && Objects.equals(fetchFirst, that.fetchFirst)
+        && hints.equals(that.hints)
         && elementFactory.equals(that.elementFactory);
   }
 
@@ -136,6 +313,9 @@ abstract class DefaultSelectBuilderT<T extends DefaultSelectBuilderT<T>> {
   public int hashCode() {
     int result = fromElements.hashCode();
     result = 31 * result + conditionBuilder.hashCode();
+    result = 31 * result + orderBy.hashCode();
+    result = 31 * result + (fetchFirst != null ? fetchFirst.hashCode() : 0);
+    result = 31 * result + hints.hashCode();
     result = 31 * result + elementFactory.hashCode();
     return result;
   }
@@ -145,6 +325,9 @@ abstract class DefaultSelectBuilderT<T extends DefaultSelectBuilderT<T>> {
     return "DefaultSelectBuilderT{"
         + "fromElements=" + fromElements
         + ", conditionBuilder=" + conditionBuilder
+        + ", orderBy=" + orderBy
+        + ", fetchFirst=" + fetchFirst
+        + ", hints=" + hints
         + ", elementFactory=" + elementFactory
         + '}';
   }
@@ -3,8 +3,11 @@ package com.provys.db.querybuilder;
 import com.provys.db.query.elements.Condition;
 import com.provys.db.query.elements.ElementFactory;
 import com.provys.db.query.elements.FromElement;
+import com.provys.db.query.elements.OptimizerHint;
+import com.provys.db.query.elements.OrderByItem;
 import com.provys.db.query.elements.SelectColumn;
 import java.util.Collection;
+import java.util.List;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 final class DefaultSelectBuilderT0 extends DefaultSelectBuilderT<DefaultSelectBuilderT0>
@@ -16,8 +19,11 @@ final class DefaultSelectBuilderT0 extends DefaultSelectBuilderT<DefaultSelectBu
 
   DefaultSelectBuilderT0(Collection<FromElement> fromElements,
       @Nullable Condition condition,
+      List<OrderByItem> orderBy,
+      @Nullable Integer fetchFirst,
+      List<OptimizerHint> hints,
       ElementFactory elementFactory) {
-    super(fromElements, condition, elementFactory);
+    super(fromElements, condition, orderBy, fetchFirst, hints, elementFactory);
   }
 
   @Override
@@ -33,8 +39,8 @@ final class DefaultSelectBuilderT0 extends DefaultSelectBuilderT<DefaultSelectBu
 
   @Override
   public <T1> SelectBuilderT1<T1> column(SelectColumn<T1> column) {
-    return new DefaultSelectBuilderT1<>(column, getFromElements(), getCondition(),
-        getElementFactory());
+    return new DefaultSelectBuilderT1<>(column, getFromElements(), getCondition(), getOrderBy(),
+        getFetchFirst(), getHints(), getElementFactory());
   }
 
   @Override
@@ -3,9 +3,12 @@ package com.provys.db.querybuilder;
 import com.provys.db.query.elements.Condition;
 import com.provys.db.query.elements.ElementFactory;
 import com.provys.db.query.elements.FromElement;
+import com.provys.db.query.elements.OptimizerHint;
+import com.provys.db.query.elements.OrderByItem;
 import com.provys.db.query.elements.SelectColumn;
 import com.provys.db.query.elements.SelectT1;
 import java.util.Collection;
+import java.util.List;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 final class DefaultSelectBuilderT1<T1> extends
@@ -19,8 +22,9 @@ final class DefaultSelectBuilderT1<T1> extends
   }
 
   DefaultSelectBuilderT1(SelectColumn<T1> column1, Collection<FromElement> fromElements,
-      @Nullable Condition condition, ElementFactory elementFactory) {
-    super(fromElements, condition, elementFactory);
+      @Nullable Condition condition, List<OrderByItem> orderBy, @Nullable Integer fetchFirst,
+      List<OptimizerHint> hints, ElementFactory elementFactory) {
+    super(fromElements, condition, orderBy, fetchFirst, hints, elementFactory);
     this.column1 = column1;
   }
 
@@ -38,12 +42,13 @@ final class DefaultSelectBuilderT1<T1> extends
   @Override
   public <T2> SelectBuilderT2<T1, T2> column(SelectColumn<T2> column) {
     return new DefaultSelectBuilderT2<>(column1, column, getFromElements(), getCondition(),
-        getElementFactory());
+        getOrderBy(), getFetchFirst(), getHints(), getElementFactory());
   }
 
   @Override
   public SelectT1<T1> build() {
-    return getElementFactory().select(column1, getFromClause(), getCondition());
+    return getElementFactory().select(column1, getFromClause(), getCondition(), getOrderBy(),
+        getFetchFirst(), getHints(), null, null);
   }
 
   @Override
@@ -3,10 +3,13 @@ package com.provys.db.querybuilder;
 import com.provys.db.query.elements.Condition;
 import com.provys.db.query.elements.ElementFactory;
 import com.provys.db.query.elements.FromElement;
+import com.provys.db.query.elements.OptimizerHint;
+import com.provys.db.query.elements.OrderByItem;
 import com.provys.db.query.elements.SelectColumn;
 import com.provys.db.query.elements.SelectT2;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 final class DefaultSelectBuilderT2<T1, T2> extends
@@ -25,8 +28,11 @@ final class DefaultSelectBuilderT2<T1, T2> extends
   DefaultSelectBuilderT2(SelectColumn<T1> column1, SelectColumn<T2> column2,
       Collection<FromElement> fromElements,
       @Nullable Condition condition,
+      List<OrderByItem> orderBy,
+      @Nullable Integer fetchFirst,
+      List<OptimizerHint> hints,
       ElementFactory elementFactory) {
-    super(fromElements, condition, elementFactory);
+    super(fromElements, condition, orderBy, fetchFirst, hints, elementFactory);
     this.column1 = column1;
     this.column2 = column2;
   }
@@ -49,13 +55,14 @@ final class DefaultSelectBuilderT2<T1, T2> extends
     columns.add(column1);
     columns.add(column2);
     columns.add(column);
-    return new DefaultSelectBuilder(columns, getFromElements(), getCondition(),
-        getElementFactory());
+    return new DefaultSelectBuilder(columns, getFromElements(), getCondition(), getOrderBy(),
+        getFetchFirst(), getHints(), getElementFactory());
   }
 
   @Override
   public SelectT2<T1, T2> build() {
-    return getElementFactory().select(column1, column2, getFromClause(), getCondition());
+    return getElementFactory().select(column1, column2, getFromClause(), getCondition(),
+        getOrderBy(), getFetchFirst(), getHints(), null, null);
   }
 
   @Override
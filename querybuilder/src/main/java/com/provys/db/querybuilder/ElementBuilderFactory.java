@@ -7,6 +7,8 @@ import com.provys.db.query.elements.ElementFactory;
 import com.provys.db.query.elements.Expression;
 import com.provys.db.query.elements.ExpressionConsumer;
 import com.provys.db.query.elements.FromClause;
+import com.provys.db.query.elements.OptimizerHint;
+import com.provys.db.query.elements.OrderByItem;
 import com.provys.db.query.elements.SelectClause;
 import com.provys.db.query.elements.SelectClauseConsumer;
 import com.provys.db.query.elements.SelectColumn;
@@ -24,6 +26,7 @@ import com.provys.db.query.names.SimpleName;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
@@ -33,7 +36,10 @@ import org.checkerframework.checker.nullness.qual.Nullable;
  */
 public final class ElementBuilderFactory {
 
-  private static final ElementBuilderFactory INSTANCE = new ElementBuilderFactory();
+  private static final ElementBuilderFactory INSTANCE = new ElementBuilderFactory(
+      ElementFactory.getInstance());
+  private static final ElementBuilderFactory HASH_CONSING_INSTANCE = new ElementBuilderFactory(
+      ElementFactory.getHashConsingInstance());
 
   /**
    * Get singleton instance of this factory.
@@ -44,16 +50,28 @@ public final class ElementBuilderFactory {
     return INSTANCE;
   }
 
+  /**
+   * Get singleton instance of this factory, producing elements via hash-consing element factory.
+   * Structurally equal elements produced by builders share single instance.
+   *
+   * @return singleton instance of hash-consing factory
+   */
+  public static ElementBuilderFactory getHashConsingInstance() {
+    return HASH_CONSING_INSTANCE;
+  }
+
   /**
    * Query factory, used to produce query elements.
    */
-  private final ElementFactory elementFactory = ElementFactory.getInstance();
+  private final ElementFactory elementFactory;
 
   /**
-   * No point producing multiple instances - at least not until there are multiple implementations
-   * of ElementFactory and we want to inject them on creation...
+   * No point producing multiple instances - only one per implementation of ElementFactory.
+   *
+   * @param elementFactory is factory used to produce query elements
    */
-  private ElementBuilderFactory() {
+  private ElementBuilderFactory(ElementFactory elementFactory) {
+    this.elementFactory = elementFactory;
   }
 
   /**
@@ -367,6 +385,23 @@ public final class ElementBuilderFactory {
     return new DecoratingConditionBuilder(condition, elementFactory);
   }
 
+  /**
+   * Create new condition builder, decorating condition testing if expression is equal to any of
+   * supplied values. Values are passed as bind variables prefix1, prefix2... padded to fixed
+   * bucket size or, for large sets, as single collection bind variable, see
+   * {@link ElementFactory#in(Expression, String, Collection)}.
+   *
+   * @param expression is expression being tested
+   * @param bindPrefix is prefix of names of bind variables holding values
+   * @param values     are values expression is compared with
+   * @param <T>        is type of compared expression and values
+   * @return new condition builder
+   */
+  public <@ImmutableTypeParameter T extends Serializable> StartConditionBuilder in(
+      Expression<T> expression, String bindPrefix, Collection<? extends @Nullable T> values) {
+    return condition(elementFactory.in(expression, bindPrefix, values));
+  }
+
   /**
    * Create builder, allowing construction of AND connected chain of conditions. Note that it is
    * also possible to use {@code condition()} and follow with appending further conditions.
@@ -412,20 +447,23 @@ public final class ElementBuilderFactory {
 
     @Override
     public void select(SelectClause selectClause, FromClause fromClause,
-        @Nullable Condition whereClause) {
+        @Nullable Condition whereClause, List<OrderByItem> orderBy,
+        @Nullable Integer fetchFirst, List<OptimizerHint> hints) {
       var selectClauseBuilder = new SelectClauseBuilder();
       selectClause.apply(selectClauseBuilder);
       if (selectClauseBuilder.foundColumns == null) {
         throw new InternalException("Columns not found in select clause");
       }
-      select(selectClauseBuilder.foundColumns, fromClause, whereClause);
+      select(selectClauseBuilder.foundColumns, fromClause, whereClause, orderBy, fetchFirst,
+          hints);
     }
 
     @Override
     public void select(Collection<? extends SelectColumn<?>> columns, FromClause fromClause,
-        @Nullable Condition whereClause) {
-      builder = new DefaultSelectBuilder(columns, fromClause.getElements(), whereClause,
-          elementFactory);
+        @Nullable Condition whereClause, List<OrderByItem> orderBy,
+        @Nullable Integer fetchFirst, List<OptimizerHint> hints) {
+      builder = new DefaultSelectBuilder(columns, fromClause.getElements(), whereClause, orderBy,
+          fetchFirst, hints, elementFactory);
     }
   }
 
@@ -453,7 +491,8 @@ public final class ElementBuilderFactory {
    */
   public <T1> SelectBuilderT1<T1> select(SelectT1<T1> select) {
     return new DefaultSelectBuilderT1<>(select.getColumn1(), select.getFromClause().getElements(),
-        select.getWhereClause(), elementFactory);
+        select.getWhereClause(), select.getOrderBy(), select.getFetchFirst(), select.getHints(),
+        elementFactory);
   }
 
   /**
@@ -466,7 +505,21 @@ public final class ElementBuilderFactory {
    */
   public <T1, T2> SelectBuilderT2<T1, T2> select(SelectT2<T1, T2> select) {
     return new DefaultSelectBuilderT2<>(select.getColumn1(), select.getColumn2(),
-        select.getFromClause().getElements(), select.getWhereClause(), elementFactory);
+        select.getFromClause().getElements(), select.getWhereClause(), select.getOrderBy(),
+        select.getFetchFirst(), select.getHints(), elementFactory);
+  }
+
+  /**
+   * Create template based on supplied select query. Template is intended for queries executed
+   * repeatedly with different values of bind variables; query is built only once and values for
+   * each execution are supplied via bind map.
+   *
+   * @param select is select query template is based on
+   * @param <S>    is type of select query
+   * @return new template based on supplied query
+   */
+  public <S extends SelectT<?>> SelectTemplate<S> template(S select) {
+    return new SelectTemplate<>(select);
   }
 
   @Override
@@ -238,6 +238,22 @@ public final class QueryBuilderFactory {
     return getElementBuilderFactory().condition(condition);
   }
 
+  /**
+   * Create new condition builder, decorating condition testing if expression is equal to any of
+   * supplied values. Values are passed as bind variables prefix1, prefix2... padded to fixed
+   * bucket size.
+   *
+   * @param expression is expression being tested
+   * @param bindPrefix is prefix of names of bind variables holding values
+   * @param values     are values expression is compared with
+   * @param <T>        is type of compared expression and values
+   * @return new condition builder
+   */
+  public static <@ImmutableTypeParameter T extends Serializable> StartConditionBuilder in(
+      Expression<T> expression, String bindPrefix, Collection<? extends @Nullable T> values) {
+    return getElementBuilderFactory().in(expression, bindPrefix, values);
+  }
+
   /**
    * Create builder, allowing construction of AND connected chain of conditions. Note that it is
    * also possible to use {@code condition()} and follow with appending further conditions.
@@ -300,6 +316,19 @@ public final class QueryBuilderFactory {
     return getElementBuilderFactory().select(select);
   }
 
+  /**
+   * Create template based on supplied select query. Template is intended for queries executed
+   * repeatedly with different values of bind variables; query is built only once and values for
+   * each execution are supplied via bind map.
+   *
+   * @param select is select query template is based on
+   * @param <S>    is type of select query
+   * @return new template based on supplied query
+   */
+  public static <S extends SelectT<?>> SelectTemplate<S> template(S select) {
+    return getElementBuilderFactory().template(select);
+  }
+
   private QueryBuilderFactory() {
   }
 }
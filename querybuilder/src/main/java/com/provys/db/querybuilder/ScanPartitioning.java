@@ -0,0 +1,167 @@
+package com.provys.db.querybuilder;
+
+import com.google.errorprone.annotations.Immutable;
+import com.google.errorprone.annotations.ImmutableTypeParameter;
+import com.provys.common.exception.InternalException;
+import com.provys.db.query.elements.Condition;
+import com.provys.db.query.elements.ElementFactory;
+import com.provys.db.query.elements.Expression;
+import com.provys.db.query.functions.BuiltInFunction;
+import com.provys.db.query.functions.ConditionalOperator;
+import com.provys.db.query.names.NamePath;
+import com.provys.db.query.names.SimpleName;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Split of select query to disjoint partitions, used to read single large query in parallel.
+ * Partitioning is represented by list of conditions; each partition is original query with one
+ * of conditions added to its where clause. Conditions must be disjoint and together cover all
+ * rows of query; it is responsibility of caller to ensure it when supplying conditions directly.
+ */
+@Immutable
+public final class ScanPartitioning {
+
+  /**
+   * Prefix of names of bind variables, holding boundaries of range partitions.
+   */
+  static final String RANGE_BIND_PREFIX = "SCANBOUND";
+
+  private static final ElementFactory ELEMENT_FACTORY = ElementFactory.getInstance();
+
+  /**
+   * Partitioning by hash of given expression. Expression should not evaluate to null, as rows with
+   * null hash belong to no partition.
+   *
+   * @param expression is expression whose hash defines partition
+   * @param partitions is number of partitions
+   * @return partitioning by hash of given expression
+   */
+  public static ScanPartitioning hash(Expression<?> expression, int partitions) {
+    if (partitions <= 0) {
+      throw new InternalException("Number of partitions must be positive: " + partitions);
+    }
+    var hash = ELEMENT_FACTORY.function(Integer.class, BuiltInFunction.ANY_HASH,
+        List.of(expression, ELEMENT_FACTORY.literal(partitions - 1)));
+    var conditions = new ArrayList<Condition>(partitions);
+    for (int i = 0; i < partitions; i++) {
+      conditions.add(ELEMENT_FACTORY.condition(ConditionalOperator.COND_EQ_NONNULL,
+          List.of(hash, ELEMENT_FACTORY.literal(i))));
+    }
+    return new ScanPartitioning(conditions);
+  }
+
+  /**
+   * Partitioning by hash of rowid of given table. Rowid is never null and is evenly distributed,
+   * thus it is suitable for any query based on physical table.
+   *
+   * @param table      is alias of table whose rowid is used, null if query reads single table
+   * @param partitions is number of partitions
+   * @return partitioning by hash of rowid
+   */
+  public static ScanPartitioning rowidHash(@Nullable NamePath table, int partitions) {
+    return hash(ELEMENT_FACTORY.column(String.class, table, SimpleName.valueOf("rowid")),
+        partitions);
+  }
+
+  private static <@ImmutableTypeParameter T extends Serializable> Condition compare(
+      ConditionalOperator operator, Expression<T> expression, int boundary, T value) {
+    return ELEMENT_FACTORY.condition(operator, List.of(expression,
+        ELEMENT_FACTORY.bind(expression.getType(), RANGE_BIND_PREFIX + boundary, value)));
+  }
+
+  /**
+   * Partitioning by ranges of given expression (typically uid). For n boundaries, n + 1 partitions
+   * are created: values below first boundary, values between consecutive boundaries (including
+   * lower and excluding upper boundary) and values from last boundary up. Expression should not
+   * evaluate to null, as rows with null value belong to no partition.
+   *
+   * @param expression is expression whose value defines partition
+   * @param boundaries are boundaries of ranges, in ascending order
+   * @param <T>        is type of expression
+   * @return partitioning by ranges of given expression
+   */
+  public static <@ImmutableTypeParameter T extends Serializable> ScanPartitioning ranges(
+      Expression<T> expression, List<? extends T> boundaries) {
+    if (boundaries.isEmpty()) {
+      throw new InternalException("At least one range boundary is required");
+    }
+    var conditions = new ArrayList<Condition>(boundaries.size() + 1);
+    // partition i contains values from boundary i (SCANBOUNDi) to boundary i + 1
+    conditions.add(compare(ConditionalOperator.COND_LT_NONNULL, expression, 1,
+        boundaries.get(0)));
+    for (int i = 1; i < boundaries.size(); i++) {
+      conditions.add(ELEMENT_FACTORY.condition(ConditionalOperator.COND_AND, List.of(
+          compare(ConditionalOperator.COND_GT_OR_EQ_NONNULL, expression, i,
+              boundaries.get(i - 1)),
+          compare(ConditionalOperator.COND_LT_NONNULL, expression, i + 1, boundaries.get(i)))));
+    }
+    conditions.add(compare(ConditionalOperator.COND_GT_OR_EQ_NONNULL, expression,
+        boundaries.size(), boundaries.get(boundaries.size() - 1)));
+    return new ScanPartitioning(conditions);
+  }
+
+  /**
+   * Partitioning by supplied conditions. Conditions must be disjoint and cover all rows of query.
+   *
+   * @param conditions are conditions defining individual partitions
+   * @return partitioning by supplied conditions
+   */
+  public static ScanPartitioning conditions(List<Condition> conditions) {
+    if (conditions.isEmpty()) {
+      throw new InternalException("At least one partition condition is required");
+    }
+    return new ScanPartitioning(conditions);
+  }
+
+  @SuppressWarnings("Immutable") // list product of copyOf, Condition is immutable
+  private final List<Condition> conditions;
+
+  private ScanPartitioning(List<Condition> conditions) {
+    this.conditions = List.copyOf(conditions);
+  }
+
+  /**
+   * Conditions, defining individual partitions.
+   *
+   * @return conditions, defining individual partitions
+   */
+  public List<Condition> getConditions() {
+    return conditions;
+  }
+
+  /**
+   * Number of partitions.
+   *
+   * @return number of partitions
+   */
+  public int size() {
+    return conditions.size();
+  }
+
+  @Override
+  public boolean equals(@Nullable Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    ScanPartitioning that = (ScanPartitioning) o;
+    return conditions.equals(that.conditions);
+  }
+
+  @Override
+  public int hashCode() {
+    return conditions.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return "ScanPartitioning{"
+        + "conditions=" + conditions
+        + '}';
+  }
+}
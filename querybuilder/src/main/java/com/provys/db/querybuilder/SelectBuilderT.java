@@ -1,11 +1,15 @@
 package com.provys.db.querybuilder;
 
 import com.provys.db.query.elements.Condition;
+import com.provys.db.query.elements.Expression;
 import com.provys.db.query.elements.FromElement;
+import com.provys.db.query.elements.OptimizerHint;
 import com.provys.db.query.elements.SelectColumn;
 import com.provys.db.query.elements.SelectT;
+import com.provys.db.query.functions.OptimizerHintType;
 import com.provys.db.query.names.NamePath;
 import com.provys.db.query.names.SimpleName;
+import java.util.List;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
@@ -108,4 +112,82 @@ public interface SelectBuilderT<T extends SelectBuilderT<T>> extends BuilderBase
    * @return builder with given condition added
    */
   T where(Condition condition);
+
+  /**
+   * Add expression to order by clause, with ascending sort order.
+   *
+   * @param expression is expression query should be sorted by
+   * @return builder with given expression added to order by clause
+   */
+  T orderBy(Expression<?> expression);
+
+  /**
+   * Add expression to order by clause, with ascending sort order.
+   *
+   * @param expression is builder of expression query should be sorted by
+   * @return builder with given expression added to order by clause
+   */
+  default T orderBy(ExpressionBuilder<?> expression) {
+    return orderBy(expression.build());
+  }
+
+  /**
+   * Add expression to order by clause, with descending sort order.
+   *
+   * @param expression is expression query should be sorted by
+   * @return builder with given expression added to order by clause
+   */
+  T orderByDesc(Expression<?> expression);
+
+  /**
+   * Add expression to order by clause, with descending sort order.
+   *
+   * @param expression is builder of expression query should be sorted by
+   * @return builder with given expression added to order by clause
+   */
+  default T orderByDesc(ExpressionBuilder<?> expression) {
+    return orderByDesc(expression.build());
+  }
+
+  /**
+   * Limit number of rows returned by query.
+   *
+   * @param rows is maximal number of rows query should return
+   * @return builder with limit on number of rows set
+   */
+  T fetchFirst(int rows);
+
+  /**
+   * Attach optimizer hint to query. Hints do not affect result of query, they only influence
+   * execution plan; hints not supported by database are ignored when Sql text is produced.
+   *
+   * @param hint is hint to be attached to query
+   * @return builder with given hint attached
+   */
+  T hint(OptimizerHint hint);
+
+  /**
+   * Attach optimizer hint of given type with given arguments to query.
+   *
+   * @param type      is type of hint
+   * @param arguments are arguments of hint (table aliases, index names or numbers)
+   * @return builder with given hint attached
+   */
+  T hint(OptimizerHintType type, String... arguments);
+
+  /**
+   * Restrict query to rows following supplied sort key values in order given by order by clause
+   * (keyset pagination). Supplied values are sort keys of the last row of previous page; condition
+   * comparing sort keys with these values is added to where clause, thus database can start
+   * reading from position given by values instead of skipping rows of previous pages. Values are
+   * held in bind variables KEYSET1, KEYSET2... that can be re-bound to read further pages using
+   * the same statement; if query already contains such variables (e.g. from previous seek),
+   * numbering continues after the highest one. Order by clause should be unique for pages to be deterministic and sort
+   * keys cannot be null.
+   *
+   * @param keyValues are values of sort keys of the last row of previous page, in order of order
+   *                  by clause
+   * @return builder with seek condition added
+   */
+  T seekAfter(List<?> keyValues);
 }
@@ -0,0 +1,123 @@
+package com.provys.db.querybuilder;
+
+import com.provys.common.exception.InternalException;
+import com.provys.db.query.elements.SelectT;
+import com.provys.db.query.names.BindMap;
+import com.provys.db.query.names.BindName;
+import com.provys.db.query.names.BindVariable;
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Select query with named bind variables, built once and executed repeatedly with different bind
+ * values. Template keeps query tree untouched; values for individual executions are supplied as
+ * {@link BindMap} that is meant to be passed to statement factory together with template query.
+ * As query is the same object for all executions, statement factory can reuse rendered Sql text.
+ *
+ * @param <S> is type of select query template is based on
+ */
+public final class SelectTemplate<S extends SelectT<?>> {
+
+  private final S select;
+  private final Map<BindName, BindVariable> binds;
+
+  /**
+   * Create template based on supplied select query.
+   *
+   * @param select is select query template is based on
+   */
+  SelectTemplate(S select) {
+    this.select = select;
+    this.binds = select.getBinds().stream()
+        .collect(Collectors.toUnmodifiableMap(BindVariable::getName, Function.identity()));
+  }
+
+  /**
+   * Select query this template is based on.
+   *
+   * @return select query this template is based on
+   */
+  public S getSelect() {
+    return select;
+  }
+
+  /**
+   * Bind variables used in template, with their default values.
+   *
+   * @return bind variables used in template
+   */
+  public Collection<BindVariable> getBinds() {
+    return binds.values();
+  }
+
+  @SuppressWarnings({"unchecked", "Immutable"}) // type is verified by BindVariable constructor
+  private static <T extends Serializable> BindVariable withValue(BindVariable bindVariable,
+      @Nullable Object value) {
+    return new BindVariable(bindVariable.getName(), (Class<T>) bindVariable.getType(), (T) value);
+  }
+
+  /**
+   * Create bind values for single execution of template. Variables not present in supplied map
+   * keep their default values.
+   *
+   * @param values are values of bind variables
+   * @return bind map with values of all bind variables of this template
+   * @throws InternalException if value is supplied for variable not present in template or value
+   *     does not match type of bind variable
+   */
+  public BindMap bindValues(Map<BindName, ?> values) {
+    var result = new HashMap<>(binds);
+    for (var entry : values.entrySet()) {
+      var bindVariable = binds.get(entry.getKey());
+      if (bindVariable == null) {
+        throw new InternalException("Bind variable " + entry.getKey()
+            + " not found in template " + select);
+      }
+      result.put(entry.getKey(), withValue(bindVariable, entry.getValue()));
+    }
+    return new BindMap(result);
+  }
+
+  /**
+   * Create bind values for single execution of template, using bind variable names as text.
+   *
+   * @param values are values of bind variables, indexed by name of variable
+   * @return bind map with values of all bind variables of this template
+   */
+  public BindMap bindValuesByName(Map<String, ?> values) {
+    var valuesByName = new HashMap<BindName, @Nullable Object>(values.size());
+    for (var entry : values.entrySet()) {
+      valuesByName.put(BindName.valueOf(entry.getKey()), entry.getValue());
+    }
+    return bindValues(valuesByName);
+  }
+
+  @Override
+  public boolean equals(@Nullable Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    SelectTemplate<?> that = (SelectTemplate<?>) o;
+    return select.equals(that.select);
+  }
+
+  @Override
+  public int hashCode() {
+    return select.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return "SelectTemplate{"
+        + "select=" + select
+        + '}';
+  }
+}
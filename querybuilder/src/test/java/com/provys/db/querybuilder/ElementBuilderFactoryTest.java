@@ -2,8 +2,11 @@ package com.provys.db.querybuilder;
 
 import static org.assertj.core.api.Assertions.*;
 
+import com.provys.common.datatype.DtUid;
+import com.provys.common.exception.InternalException;
 import com.provys.db.query.elements.ElementFactory;
 import com.provys.db.query.functions.ConditionalOperator;
+import com.provys.db.query.names.SimpleName;
 import java.util.List;
 import org.junit.jupiter.api.Test;
 
@@ -21,4 +24,81 @@ public class ElementBuilderFactoryTest {
             ConditionalOperator.COND_EQ_NONNULL, List.of(elementFactory.literal("test"),
             elementFactory.bind(String.class, "bind"))));
   }
+
+  @Test
+  void inTest() {
+    var progId = elementFactory.column(DtUid.class, null, SimpleName.valueOf("prog_id"));
+    var values = List.of(DtUid.valueOf("1"), DtUid.valueOf("2"));
+    assertThat(factory.in(progId, "uid", values).build())
+        .isEqualTo(elementFactory.in(progId, "uid", values));
+  }
+
+  @Test
+  void seekAfterTest() {
+    var name = elementFactory.column(String.class, null, SimpleName.valueOf("name"));
+    var progId = elementFactory.column(DtUid.class, null, SimpleName.valueOf("prog_id"));
+    var select = factory.select()
+        .fromTable(SimpleName.valueOf("brc_prog_tb"))
+        .orderBy(name)
+        .orderByDesc(progId)
+        .fetchFirst(20)
+        .seekAfter(List.of("abc", DtUid.valueOf("1234")))
+        .column(elementFactory.selectColumn(progId, null))
+        .build();
+    var nameBind = elementFactory.bind(String.class, "keyset1", "abc");
+    var progIdBind = elementFactory.bind(DtUid.class, "keyset2", DtUid.valueOf("1234"));
+    assertThat(select.getWhereClause())
+        .isEqualTo(elementFactory.condition(ConditionalOperator.COND_AND, List.of(
+            elementFactory.condition(ConditionalOperator.COND_GT_OR_EQ_NONNULL,
+                List.of(name, nameBind)),
+            elementFactory.condition(ConditionalOperator.COND_OR, List.of(
+                elementFactory.condition(ConditionalOperator.COND_GT_NONNULL,
+                    List.of(name, nameBind)),
+                elementFactory.condition(ConditionalOperator.COND_AND, List.of(
+                    elementFactory.condition(ConditionalOperator.COND_EQ_NONNULL,
+                        List.of(name, nameBind)),
+                    elementFactory.condition(ConditionalOperator.COND_LT_NONNULL,
+                        List.of(progId, progIdBind)))))))));
+    assertThat(select.getOrderBy())
+        .containsExactly(elementFactory.orderBy(name), elementFactory.orderBy(progId, true));
+    assertThat(select.getFetchFirst()).isEqualTo(20);
+  }
+
+  @Test
+  void seekAfterDescendingTest() {
+    var progId = elementFactory.column(DtUid.class, null, SimpleName.valueOf("prog_id"));
+    var select = factory.select()
+        .fromTable(SimpleName.valueOf("brc_prog_tb"))
+        .orderByDesc(progId)
+        .seekAfter(List.of(DtUid.valueOf("1234")))
+        .column(elementFactory.selectColumn(progId, null))
+        .build();
+    assertThat(select.getWhereClause())
+        .isEqualTo(elementFactory.condition(ConditionalOperator.COND_LT_NONNULL,
+            List.of(progId, elementFactory.bind(DtUid.class, "keyset1", DtUid.valueOf("1234")))));
+  }
+
+  @Test
+  void seekAfterUniqueBindTest() {
+    var name = elementFactory.column(String.class, null, SimpleName.valueOf("name"));
+    var select = factory.select()
+        .fromTable(SimpleName.valueOf("brc_prog_tb"))
+        .where(elementFactory.condition(ConditionalOperator.COND_EQ_NONNULL,
+            List.of(name, elementFactory.bind(String.class, "keyset1", "x"))))
+        .orderBy(name)
+        .seekAfter(List.of("abc"))
+        .seekAfter(List.of("def"))
+        .column(elementFactory.selectColumn(name, null))
+        .build();
+    assertThat(select.getBinds()).extracting(bind -> bind.getName().getName())
+        .containsExactlyInAnyOrder("KEYSET1", "KEYSET2", "KEYSET3");
+  }
+
+  @Test
+  void seekAfterUnorderedTest() {
+    var builder = factory.select()
+        .fromTable(SimpleName.valueOf("brc_prog_tb"));
+    assertThatThrownBy(() -> builder.seekAfter(List.of("abc")))
+        .isInstanceOf(InternalException.class);
+  }
 }
@@ -0,0 +1,56 @@
+package com.provys.db.querybuilder;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.provys.common.exception.InternalException;
+import com.provys.db.query.elements.ElementFactory;
+import com.provys.db.query.functions.BuiltInFunction;
+import com.provys.db.query.functions.ConditionalOperator;
+import com.provys.db.query.names.SimpleName;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ScanPartitioningTest {
+
+  private static final ElementFactory FACTORY = ElementFactory.getInstance();
+
+  @Test
+  void rowidHashTest() {
+    var hash = FACTORY.function(Integer.class, BuiltInFunction.ANY_HASH,
+        List.of(FACTORY.column(String.class, null, SimpleName.valueOf("rowid")),
+            FACTORY.literal(2)));
+    assertThat(ScanPartitioning.rowidHash(null, 3).getConditions())
+        .containsExactly(
+            FACTORY.condition(ConditionalOperator.COND_EQ_NONNULL,
+                List.of(hash, FACTORY.literal(0))),
+            FACTORY.condition(ConditionalOperator.COND_EQ_NONNULL,
+                List.of(hash, FACTORY.literal(1))),
+            FACTORY.condition(ConditionalOperator.COND_EQ_NONNULL,
+                List.of(hash, FACTORY.literal(2))));
+  }
+
+  @Test
+  void rangesTest() {
+    var id = FACTORY.column(Integer.class, null, SimpleName.valueOf("id"));
+    var bound1 = FACTORY.bind(Integer.class, "SCANBOUND1", 100);
+    var bound2 = FACTORY.bind(Integer.class, "SCANBOUND2", 200);
+    assertThat(ScanPartitioning.ranges(id, List.of(100, 200)).getConditions())
+        .containsExactly(
+            FACTORY.condition(ConditionalOperator.COND_LT_NONNULL, List.of(id, bound1)),
+            FACTORY.condition(ConditionalOperator.COND_AND, List.of(
+                FACTORY.condition(ConditionalOperator.COND_GT_OR_EQ_NONNULL, List.of(id, bound1)),
+                FACTORY.condition(ConditionalOperator.COND_LT_NONNULL, List.of(id, bound2)))),
+            FACTORY.condition(ConditionalOperator.COND_GT_OR_EQ_NONNULL, List.of(id, bound2)));
+  }
+
+  @Test
+  void invalidTest() {
+    var id = FACTORY.column(Integer.class, null, SimpleName.valueOf("id"));
+    assertThatThrownBy(() -> ScanPartitioning.hash(id, 0))
+        .isInstanceOf(InternalException.class);
+    assertThatThrownBy(() -> ScanPartitioning.ranges(id, List.of()))
+        .isInstanceOf(InternalException.class);
+    assertThatThrownBy(() -> ScanPartitioning.conditions(List.of()))
+        .isInstanceOf(InternalException.class);
+  }
+}
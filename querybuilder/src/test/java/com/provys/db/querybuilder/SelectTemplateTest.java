@@ -0,0 +1,55 @@
+package com.provys.db.querybuilder;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.provys.common.datatype.DtUid;
+import com.provys.common.exception.InternalException;
+import com.provys.db.query.elements.ElementFactory;
+import com.provys.db.query.functions.ConditionalOperator;
+import com.provys.db.query.names.BindName;
+import com.provys.db.query.names.BindVariable;
+import com.provys.db.query.names.SegmentedName;
+import com.provys.db.query.names.SimpleName;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class SelectTemplateTest {
+
+  private static final ElementFactory ELEMENT_FACTORY = ElementFactory.getInstance();
+
+  private static SelectTemplate<?> getTemplate() {
+    var select = QueryBuilderFactory.select()
+        .column(QueryBuilderFactory.column(String.class, null, SimpleName.valueOf("name")))
+        .fromTable(SegmentedName.valueOf("brc.brc_prog_tb"), null)
+        .where(ELEMENT_FACTORY.condition(ConditionalOperator.COND_EQ_NONNULL, List.of(
+            ELEMENT_FACTORY.column(DtUid.class, null, SimpleName.valueOf("prog_id")),
+            ELEMENT_FACTORY.bind(DtUid.class, "prog_id"))))
+        .build();
+    return QueryBuilderFactory.template(select);
+  }
+
+  @Test
+  void bindValuesTest() {
+    var template = getTemplate();
+    assertThat(template.getBinds())
+        .containsExactly(new BindVariable("prog_id", DtUid.class, null));
+    assertThat(template.bindValuesByName(Map.of("prog_id", DtUid.valueOf("15"))).getBindsByName())
+        .containsExactly(Map.entry(BindName.valueOf("prog_id"),
+            new BindVariable("prog_id", DtUid.class, DtUid.valueOf("15"))));
+  }
+
+  @Test
+  void bindValuesUnknownTest() {
+    var template = getTemplate();
+    assertThatThrownBy(() -> template.bindValuesByName(Map.of("other", 5)))
+        .isInstanceOf(InternalException.class);
+  }
+
+  @Test
+  void bindValuesWrongTypeTest() {
+    var template = getTemplate();
+    assertThatThrownBy(() -> template.bindValuesByName(Map.of("prog_id", "x")))
+        .isInstanceOf(InternalException.class);
+  }
+}
@@ -22,4 +22,22 @@ public interface SqlParsedToken extends SqlToken {
    * @return position in line where token starts
    */
   int getPos();
+
+  /**
+   * Offset of token start in original source (number of characters preceding token).
+   *
+   * @return offset of token in source, -1 if token was not parsed from source
+   */
+  default int getOffset() {
+    return -1;
+  }
+
+  /**
+   * Number of characters token occupies in original source.
+   *
+   * @return length of token in source, 0 if token was not parsed from source
+   */
+  default int getLength() {
+    return 0;
+  }
 }
@@ -0,0 +1,47 @@
+package com.provys.db.sqlparser;
+
+import java.util.List;
+
+/**
+ * Represents single statement (Sql statement or PL/SQL block) of tokenized script. Tokens of
+ * statement carry lines, positions and offsets relative to whole script.
+ */
+public interface SqlScriptStatement {
+
+  /**
+   * Line statement starts on.
+   *
+   * @return line of script statement starts on
+   */
+  int getLine();
+
+  /**
+   * Offset of statement start in script.
+   *
+   * @return offset of first character of statement in script
+   */
+  int getOffset();
+
+  /**
+   * Number of characters statement occupies in script; terminator (semicolon or slash) is not
+   * part of statement.
+   *
+   * @return length of statement in script
+   */
+  int getLength();
+
+  /**
+   * Indicates if statement is PL/SQL block (anonymous block or creation of stored code). Semicolon
+   * does not terminate such statement, it is terminated by slash on separate line.
+   *
+   * @return true if statement is PL/SQL block, false if it is Sql statement
+   */
+  boolean isPlSql();
+
+  /**
+   * Tokens statement consists of.
+   *
+   * @return tokens of statement, including comments preceding it
+   */
+  List<SqlParsedToken> getTokens();
+}
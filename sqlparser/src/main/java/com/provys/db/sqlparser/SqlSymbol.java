@@ -29,7 +29,9 @@ public enum SqlSymbol {
   PERCENTAGE("%", false),
   EQUAL("=", true),
   GRATER_THAN(">", true),
-  LESS_THAN("<", true);
+  LESS_THAN("<", true),
+  CONCATENATION("||", false),
+  AT_SIGN("@", false);
 
   private static final Map<String, SqlSymbol> valueBySymbol = new HashMap<>(20);
 
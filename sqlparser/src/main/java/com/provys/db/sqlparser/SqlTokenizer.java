@@ -1,5 +1,10 @@
 package com.provys.db.sqlparser;
 
+import com.provys.common.exception.InternalException;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Scanner;
 import java.util.stream.Stream;
@@ -27,6 +32,33 @@ public interface SqlTokenizer {
    */
   List<SqlParsedToken> tokenize(Scanner scanner);
 
+  /**
+   * Transform source code, represented by character sequence, into list of tokens. Default
+   * implementation copies source to String.
+   *
+   * @param source is character sequence containing source code
+   * @return list of tokens representing supplied code
+   */
+  default List<SqlParsedToken> tokenize(CharSequence source) {
+    return tokenize(source.toString());
+  }
+
+  /**
+   * Transform source code, stored in file with given charset, into list of tokens. Default
+   * implementation reads whole file to String; implementations might map file to memory instead.
+   *
+   * @param file    is file containing source code
+   * @param charset is charset of file
+   * @return list of tokens representing supplied code
+   */
+  default List<SqlParsedToken> tokenize(Path file, Charset charset) {
+    try {
+      return tokenize(Files.readString(file, charset));
+    } catch (IOException e) {
+      throw new InternalException("Failed to read file " + file, e);
+    }
+  }
+
   /**
    * Transform source code, represented by String, into stream of tokens.
    *
@@ -42,4 +74,35 @@ public interface SqlTokenizer {
    * @return stream of tokens representing supplied code
    */
   Stream<SqlParsedToken> stream(Scanner scanner);
+
+  /**
+   * Transform source code, represented by character sequence, into stream of tokens. Default
+   * implementation copies source to String.
+   *
+   * @param source is character sequence containing source code; it must not be modified while
+   *               stream is consumed
+   * @return stream of tokens representing supplied code
+   */
+  default Stream<SqlParsedToken> stream(CharSequence source) {
+    return stream(source.toString());
+  }
+
+  /**
+   * Split script to individual statements and tokenize them. Statements are separated by
+   * semicolon, PL/SQL blocks by slash on separate line. Statements might be tokenized in
+   * parallel; tokens have lines, positions and offsets relative to whole script.
+   *
+   * @param script is character sequence containing script
+   * @return list of statements in order of their appearance in script
+   */
+  List<SqlScriptStatement> tokenizeScript(CharSequence script);
+
+  /**
+   * Split script, stored in file with given charset, to individual statements and tokenize them.
+   *
+   * @param file    is file containing script
+   * @param charset is charset of file
+   * @return list of statements in order of their appearance in script
+   */
+  List<SqlScriptStatement> tokenizeScript(Path file, Charset charset);
 }
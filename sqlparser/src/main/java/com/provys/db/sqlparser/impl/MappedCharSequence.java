@@ -0,0 +1,130 @@
+package com.provys.db.sqlparser.impl;
+
+import com.provys.common.exception.InternalException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Character sequence backed by memory-mapped file in single-byte encoding. Characters are decoded
+ * lazily, when accessed, using decode table of given charset; neither file content nor its decoded
+ * form is copied to heap. Sub-sequences are views of the same mapping.
+ */
+final class MappedCharSequence implements CharSequence {
+
+  /**
+   * Map file to character sequence. Files in single-byte charsets (and files in UTF-8 containing
+   * ASCII characters only) are decoded lazily, files containing multi-byte characters are decoded
+   * to heap buffer as random access to their characters would not be possible.
+   *
+   * @param file    is file to be mapped
+   * @param charset is charset of file
+   * @return character sequence with content of file
+   */
+  static CharSequence of(Path file, Charset charset) {
+    ByteBuffer buffer;
+    try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      var size = channel.size();
+      if (size > Integer.MAX_VALUE) {
+        throw new InternalException("File " + file + " is too big to be mapped (" + size
+            + " bytes)");
+      }
+      buffer = channel.map(MapMode.READ_ONLY, 0, size);
+    } catch (IOException e) {
+      throw new InternalException("Failed to map file " + file, e);
+    }
+    var decodeTable = getDecodeTable(charset);
+    if ((decodeTable == null) && charset.equals(StandardCharsets.UTF_8) && isAscii(buffer)) {
+      // ASCII text is decoded the same way in UTF-8 and ISO-8859-1
+      decodeTable = getDecodeTable(StandardCharsets.ISO_8859_1);
+    }
+    if (decodeTable == null) {
+      return charset.decode(buffer);
+    }
+    return new MappedCharSequence(buffer, decodeTable, 0, buffer.limit());
+  }
+
+  /**
+   * Decode table for single-byte charset.
+   *
+   * @param charset is charset table should be created for
+   * @return array of 256 characters that correspond to individual bytes, null if charset is not
+   *     single-byte one
+   */
+  private static char @Nullable [] getDecodeTable(Charset charset) {
+    if ((charset.newDecoder().maxCharsPerByte() != 1.0f) || !charset.canEncode()
+        || (charset.newEncoder().maxBytesPerChar() != 1.0f)) {
+      return null;
+    }
+    var bytes = new byte[256];
+    for (int i = 0; i < bytes.length; i++) {
+      bytes[i] = (byte) i;
+    }
+    var decoded = charset.decode(ByteBuffer.wrap(bytes));
+    if (decoded.remaining() != bytes.length) {
+      return null;
+    }
+    var result = new char[bytes.length];
+    decoded.get(result);
+    return result;
+  }
+
+  private static boolean isAscii(ByteBuffer buffer) {
+    for (int i = 0; i < buffer.limit(); i++) {
+      if (buffer.get(i) < 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private final ByteBuffer buffer;
+  private final char[] decodeTable;
+  private final int start;
+  private final int end;
+
+  private MappedCharSequence(ByteBuffer buffer, char[] decodeTable, int start, int end) {
+    this.buffer = buffer;
+    this.decodeTable = decodeTable;
+    this.start = start;
+    this.end = end;
+  }
+
+  @Override
+  public int length() {
+    return end - start;
+  }
+
+  @Override
+  public char charAt(int index) {
+    if ((index < 0) || (index >= end - start)) {
+      throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length "
+          + (end - start));
+    }
+    return decodeTable[buffer.get(start + index) & 0xFF];
+  }
+
+  @Override
+  public CharSequence subSequence(int subStart, int subEnd) {
+    if ((subStart < 0) || (subEnd > end - start) || (subStart > subEnd)) {
+      throw new IndexOutOfBoundsException("Invalid range " + subStart + ".." + subEnd
+          + " for length " + (end - start));
+    }
+    return new MappedCharSequence(buffer, decodeTable, start + subStart, start + subEnd);
+  }
+
+  @Override
+  public String toString() {
+    var result = new char[end - start];
+    for (int i = 0; i < result.length; i++) {
+      result[i] = decodeTable[buffer.get(start + i) & 0xFF];
+    }
+    return new String(result);
+  }
+}
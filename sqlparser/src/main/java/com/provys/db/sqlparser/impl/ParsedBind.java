@@ -15,11 +15,15 @@ final class ParsedBind extends ParsedTokenBase {
 
   private final BindVariable bindVariable;
 
-  ParsedBind(int line, int pos, BindVariable bindVariable) {
-    super(line, pos);
+  ParsedBind(int line, int pos, int offset, int length, BindVariable bindVariable) {
+    super(line, pos, offset, length);
     this.bindVariable = bindVariable;
   }
 
+  ParsedBind(int line, int pos, BindVariable bindVariable) {
+    this(line, pos, -1, 0, bindVariable);
+  }
+
   ParsedBind(int line, int pos, String name) {
     this(line, pos, new BindVariable(name));
   }
@@ -40,7 +44,8 @@ final class ParsedBind extends ParsedTokenBase {
 
   @Override
   public SqlToken mapBinds(BindMap bindMap) {
-    return new ParsedBind(getLine(), getPos(), bindMap.get(bindVariable.getName()));
+    return new ParsedBind(getLine(), getPos(), getOffset(), getLength(),
+        bindMap.get(bindVariable.getName()));
   }
 
   @Override
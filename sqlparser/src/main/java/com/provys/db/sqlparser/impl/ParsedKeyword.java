@@ -17,11 +17,15 @@ final class ParsedKeyword extends ParsedTokenBase {
 
   private final SqlKeyword keyword;
 
-  ParsedKeyword(int line, int pos, SqlKeyword keyword) {
-    super(line, pos);
+  ParsedKeyword(int line, int pos, int offset, int length, SqlKeyword keyword) {
+    super(line, pos, offset, length);
     this.keyword = Objects.requireNonNull(keyword);
   }
 
+  ParsedKeyword(int line, int pos, SqlKeyword keyword) {
+    this(line, pos, -1, 0, keyword);
+  }
+
 
   @Override
   public SqlTokenType getTokenType() {
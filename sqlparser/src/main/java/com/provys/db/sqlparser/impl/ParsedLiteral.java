@@ -19,11 +19,19 @@ final class ParsedLiteral<@ImmutableTypeParameter T extends Serializable> extend
 
   private final Expression<T> value;
 
-  ParsedLiteral(int line, int pos, Expression<T> value) {
-    super(line, pos);
+  ParsedLiteral(int line, int pos, int offset, int length, Expression<T> value) {
+    super(line, pos, offset, length);
     this.value = Objects.requireNonNull(value);
   }
 
+  ParsedLiteral(int line, int pos, Expression<T> value) {
+    this(line, pos, -1, 0, value);
+  }
+
+  ParsedLiteral(int line, int pos, int offset, int length, Class<T> type, T value) {
+    this(line, pos, offset, length, ElementFactory.getInstance().literal(type, value));
+  }
+
   ParsedLiteral(int line, int pos, Class<T> type, T value) {
     this(line, pos, ElementFactory.getInstance().literal(type, value));
   }
@@ -57,7 +65,7 @@ final class ParsedLiteral<@ImmutableTypeParameter T extends Serializable> extend
     if (newValue.equals(value)) {
       return this;
     }
-    return new ParsedLiteral<>(getLine(), getPos(), newValue);
+    return new ParsedLiteral<>(getLine(), getPos(), getOffset(), getLength(), newValue);
   }
 
   @Override
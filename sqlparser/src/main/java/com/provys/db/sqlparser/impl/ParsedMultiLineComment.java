@@ -19,11 +19,34 @@ final class ParsedMultiLineComment extends ParsedTokenBase {
 
   private final String comment;
 
+  /**
+   * Create comment token for comment parsed from source.
+   *
+   * @param line    is line comment starts on
+   * @param pos     is position of comment start on line
+   * @param offset  is offset of comment start in source
+   * @param length  is length of comment in source, including comment delimiters
+   * @param comment is text of comment, without delimiters
+   */
+  ParsedMultiLineComment(int line, int pos, int offset, int length, String comment) {
+    super(line, pos, offset, length);
+    this.comment = Objects.requireNonNull(comment);
+  }
+
   ParsedMultiLineComment(int line, int pos, String comment) {
     super(line, pos);
     this.comment = Objects.requireNonNull(comment);
   }
 
+  /**
+   * Text of comment.
+   *
+   * @return text of comment, without delimiters
+   */
+  String getComment() {
+    return comment;
+  }
+
   @Override
   public SqlTokenType getTokenType() {
     return SqlTokenType.COMMENT;
@@ -41,7 +64,7 @@ final class ParsedMultiLineComment extends ParsedTokenBase {
 
   @Override
   public void apply(QueryConsumer consumer) {
-    consumer.longComment(comment);
+    consumer.longComment(getComment());
   }
 
   @Override
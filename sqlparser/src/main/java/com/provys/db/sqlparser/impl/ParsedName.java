@@ -20,11 +20,15 @@ final class ParsedName extends ParsedTokenBase {
 
   private final SimpleName name;
 
-  ParsedName(int line, int pos, SimpleName name) {
-    super(line, pos);
+  ParsedName(int line, int pos, int offset, int length, SimpleName name) {
+    super(line, pos, offset, length);
     this.name = name;
   }
 
+  ParsedName(int line, int pos, SimpleName name) {
+    this(line, pos, -1, 0, name);
+  }
+
   ParsedName(int line, int pos, String name) {
     this(line, pos, SimpleName.valueOf(name));
   }
@@ -0,0 +1,90 @@
+package com.provys.db.sqlparser.impl;
+
+import com.provys.db.sqlparser.SqlParsedToken;
+import com.provys.db.sqlparser.SqlScriptStatement;
+import java.util.Collections;
+import java.util.List;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Statement of script, parsed by tokenizer.
+ */
+final class ParsedScriptStatement implements SqlScriptStatement {
+
+  private final int line;
+  private final int offset;
+  private final int length;
+  private final boolean plSql;
+  private final List<SqlParsedToken> tokens;
+
+  ParsedScriptStatement(int line, int offset, int length, boolean plSql,
+      List<SqlParsedToken> tokens) {
+    this.line = line;
+    this.offset = offset;
+    this.length = length;
+    this.plSql = plSql;
+    this.tokens = Collections.unmodifiableList(tokens);
+  }
+
+  @Override
+  public int getLine() {
+    return line;
+  }
+
+  @Override
+  public int getOffset() {
+    return offset;
+  }
+
+  @Override
+  public int getLength() {
+    return length;
+  }
+
+  @Override
+  public boolean isPlSql() {
+    return plSql;
+  }
+
+  @Override
+  public List<SqlParsedToken> getTokens() {
+    return tokens;
+  }
+
+  @Override
+  public boolean equals(@Nullable Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    ParsedScriptStatement that = (ParsedScriptStatement) o;
+    return line == that.line
+        && offset == that.offset
+        && length == that.length
+        && plSql == that.plSql
+        && tokens.equals(that.tokens);
+  }
+
+  @Override
+  public int hashCode() {
+    int result = line;
+    result = 31 * result + offset;
+    result = 31 * result + length;
+    result = 31 * result + (plSql ? 1 : 0);
+    result = 31 * result + tokens.hashCode();
+    return result;
+  }
+
+  @Override
+  public String toString() {
+    return "ParsedScriptStatement{"
+        + "line=" + line
+        + ", offset=" + offset
+        + ", length=" + length
+        + ", plSql=" + plSql
+        + ", tokens=" + tokens
+        + '}';
+  }
+}
@@ -18,11 +18,35 @@ final class ParsedSingleLineComment extends ParsedTokenBase {
 
   private final String text;
 
+  /**
+   * Create comment token for comment parsed from source. Caller is responsible for stripping
+   * trailing whitespace from text.
+   *
+   * @param line   is line comment starts on
+   * @param pos    is position of comment start on line
+   * @param offset is offset of comment start in source
+   * @param length is length of comment in source
+   * @param text   is text of comment, without leading -- and trailing whitespace
+   */
+  ParsedSingleLineComment(int line, int pos, int offset, int length, String text) {
+    super(line, pos, offset, length);
+    this.text = text;
+  }
+
   ParsedSingleLineComment(int line, int pos, String text) {
     super(line, pos);
     this.text = text.stripTrailing();
   }
 
+  /**
+   * Text of comment.
+   *
+   * @return text of comment, without leading -- and trailing whitespace
+   */
+  String getText() {
+    return text;
+  }
+
   @Override
   public SqlTokenType getTokenType() {
     return SqlTokenType.COMMENT;
@@ -40,7 +64,7 @@ final class ParsedSingleLineComment extends ParsedTokenBase {
 
   @Override
   public void apply(QueryConsumer consumer) {
-    consumer.simpleComment(text);
+    consumer.simpleComment(getText());
   }
 
   @Override
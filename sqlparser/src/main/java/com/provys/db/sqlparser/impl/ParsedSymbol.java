@@ -20,11 +20,15 @@ final class ParsedSymbol extends ParsedTokenBase implements SqlParsedTokenSymbol
 
   private final SqlSymbol symbol;
 
-  ParsedSymbol(int line, int pos, SqlSymbol symbol) {
-    super(line, pos);
+  ParsedSymbol(int line, int pos, int offset, int length, SqlSymbol symbol) {
+    super(line, pos, offset, length);
     this.symbol = Objects.requireNonNull(symbol);
   }
 
+  ParsedSymbol(int line, int pos, SqlSymbol symbol) {
+    this(line, pos, -1, 0, symbol);
+  }
+
   @Override
   public SqlSymbol getSymbol() {
     return symbol;
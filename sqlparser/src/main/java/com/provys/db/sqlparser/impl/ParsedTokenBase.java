@@ -13,10 +13,18 @@ abstract class ParsedTokenBase implements SqlParsedToken {
 
   private final int line;
   private final int pos;
+  private final int offset;
+  private final int length;
 
-  ParsedTokenBase(int line, int pos) {
+  ParsedTokenBase(int line, int pos, int offset, int length) {
     this.line = line;
     this.pos = pos;
+    this.offset = offset;
+    this.length = length;
+  }
+
+  ParsedTokenBase(int line, int pos) {
+    this(line, pos, -1, 0);
   }
 
   @Override
@@ -29,6 +37,20 @@ abstract class ParsedTokenBase implements SqlParsedToken {
     return pos;
   }
 
+  @Override
+  public int getOffset() {
+    return offset;
+  }
+
+  @Override
+  public int getLength() {
+    return length;
+  }
+
+  /**
+   * Offset and length are derived from line and position in given source, thus they are not
+   * considered in comparison.
+   */
   @Override
   public boolean equals(@Nullable Object o) {
     if (this == o) {
@@ -54,6 +76,8 @@ abstract class ParsedTokenBase implements SqlParsedToken {
     return "ParsedTokenBase{"
         + "line=" + line
         + ", pos=" + pos
+        + ", offset=" + offset
+        + ", length=" + length
         + '}';
   }
 }
@@ -0,0 +1,94 @@
+package com.provys.db.sqlparser.impl;
+
+import com.provys.common.exception.InternalException;
+import com.provys.db.sqlparser.SqlKeyword;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Perfect hash table of Sql keywords. Multiplier of hash function is chosen during class
+ * initialisation so that no two keywords share slot in table, thus lookup requires computation of
+ * single hash and single comparison of candidate keyword with looked-up text. Lookup is case
+ * insensitive and works directly on range of source text, without creating String for it.
+ */
+final class SqlKeywordLookup {
+
+  private static final int TABLE_SIZE = 2048;
+  private static final int MASK = TABLE_SIZE - 1;
+  private static final int MAX_MULTIPLIER = 1 << 20;
+
+  private static final int MULTIPLIER;
+  private static final @Nullable SqlKeyword[] TABLE = new SqlKeyword[TABLE_SIZE];
+
+  static {
+    MULTIPLIER = findMultiplier();
+    for (var keyword : SqlKeyword.values()) {
+      TABLE[slot(keyword.name(), 0, keyword.name().length(), MULTIPLIER)] = keyword;
+    }
+  }
+
+  private static boolean isPerfect(int multiplier) {
+    var used = new boolean[TABLE_SIZE];
+    for (var keyword : SqlKeyword.values()) {
+      var slot = slot(keyword.name(), 0, keyword.name().length(), multiplier);
+      if (used[slot]) {
+        return false;
+      }
+      used[slot] = true;
+    }
+    return true;
+  }
+
+  private static int findMultiplier() {
+    for (int multiplier = 31; multiplier < MAX_MULTIPLIER; multiplier += 2) {
+      if (isPerfect(multiplier)) {
+        return multiplier;
+      }
+    }
+    throw new InternalException("Failed to find perfect hash function for Sql keywords");
+  }
+
+  /**
+   * Upper-case ASCII letter; keywords only consist of ASCII letters and digits, thus other
+   * characters do not need conversion.
+   */
+  private static char toUpper(char character) {
+    return ((character >= 'a') && (character <= 'z'))
+        ? (char) (character - ('a' - 'A')) : character;
+  }
+
+  private static int slot(CharSequence text, int start, int end, int multiplier) {
+    int hash = end - start;
+    for (int i = start; i < end; i++) {
+      hash = hash * multiplier + toUpper(text.charAt(i));
+    }
+    return (hash ^ (hash >>> 11) ^ (hash >>> 22)) & MASK;
+  }
+
+  /**
+   * Find keyword matching given part of text, ignoring case.
+   *
+   * @param text  is text containing keyword candidate
+   * @param start is index of first character of candidate
+   * @param end   is index after last character of candidate
+   * @return keyword matching specified text, null if text is not keyword
+   */
+  static @Nullable SqlKeyword get(CharSequence text, int start, int end) {
+    var candidate = TABLE[slot(text, start, end, MULTIPLIER)];
+    if (candidate == null) {
+      return null;
+    }
+    var name = candidate.name();
+    if (name.length() != end - start) {
+      return null;
+    }
+    for (int i = 0; i < name.length(); i++) {
+      if (name.charAt(i) != toUpper(text.charAt(start + i))) {
+        return null;
+      }
+    }
+    return candidate;
+  }
+
+  private SqlKeywordLookup() {
+  }
+}
@@ -0,0 +1,412 @@
+package com.provys.db.sqlparser.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Splits Sql script to individual statements without tokenizing it. Splitter only recognises
+ * comments, string literals (including alternative quoting mechanism q'[...]'), delimited
+ * identifiers and words needed to recognise start of PL/SQL block. Sql statements are terminated
+ * by semicolon, PL/SQL blocks (anonymous blocks and CREATE of stored code) are terminated by line
+ * containing only slash; line containing only slash terminates Sql statement as well. Terminators
+ * are not part of statements and segments containing only whitespace and comments are skipped.
+ * Statements then can be tokenized independently, as none of them starts or ends inside of token.
+ */
+final class SqlScriptSplitter {
+
+  /**
+   * Part of script, containing single statement.
+   */
+  static final class SqlScriptSegment {
+
+    private final int start;
+    private final int end;
+    private final int line;
+    private final int lineStart;
+    private final boolean plSql;
+
+    SqlScriptSegment(int start, int end, int line, int lineStart, boolean plSql) {
+      this.start = start;
+      this.end = end;
+      this.line = line;
+      this.lineStart = lineStart;
+      this.plSql = plSql;
+    }
+
+    /**
+     * Offset of first character of statement in script.
+     *
+     * @return value of field start
+     */
+    int getStart() {
+      return start;
+    }
+
+    /**
+     * Offset after last character of statement in script.
+     *
+     * @return value of field end
+     */
+    int getEnd() {
+      return end;
+    }
+
+    /**
+     * Line statement starts on.
+     *
+     * @return value of field line
+     */
+    int getLine() {
+      return line;
+    }
+
+    /**
+     * Offset of start of line statement starts on.
+     *
+     * @return value of field lineStart
+     */
+    int getLineStart() {
+      return lineStart;
+    }
+
+    /**
+     * Indicates if statement is PL/SQL block.
+     *
+     * @return value of field plSql
+     */
+    boolean isPlSql() {
+      return plSql;
+    }
+
+    @Override
+    public String toString() {
+      return "SqlScriptSegment{"
+          + "start=" + start
+          + ", end=" + end
+          + ", line=" + line
+          + ", lineStart=" + lineStart
+          + ", plSql=" + plSql
+          + '}';
+    }
+  }
+
+  /**
+   * Kind of statement, evaluated from its first words.
+   */
+  private enum StatementKind {
+    UNKNOWN,
+    CREATE,
+    SQL,
+    PLSQL
+  }
+
+  private static final Set<String> CREATE_MODIFIERS = Set.of("OR", "REPLACE", "EDITIONABLE",
+      "NONEDITIONABLE", "EDITIONING", "NONEDITIONING", "AND", "RESOLVE", "COMPILE", "NOFORCE",
+      "FORCE");
+  private static final Set<String> CREATE_PLSQL = Set.of("FUNCTION", "PROCEDURE", "PACKAGE",
+      "TRIGGER", "TYPE", "LIBRARY", "JAVA");
+
+  /**
+   * Split script to statements.
+   *
+   * @param script is script to be split
+   * @return list of segments of script, containing individual statements, in order of their
+   *     appearance in script
+   */
+  static List<SqlScriptSegment> split(CharSequence script) {
+    return new SqlScriptSplitter(script).split();
+  }
+
+  private static boolean isLineSeparator(char character) {
+    return (character == '\n') || (character == '\r') || (character == '\u2028')
+        || (character == '\u2029') || (character == '\u0085');
+  }
+
+  private static boolean isBlank(char character) {
+    return (character == ' ') || (character == '\t');
+  }
+
+  private static boolean isWordChar(char character) {
+    return ((character >= 'A') && (character <= 'Z'))
+        || ((character >= 'a') && (character <= 'z'))
+        || ((character >= '0') && (character <= '9'))
+        || (character == '_') || (character == '$') || (character == '#');
+  }
+
+  private final CharSequence source;
+  private final int length;
+  private final List<SqlScriptSegment> segments = new ArrayList<>();
+  private int index = 0;
+  private int line = 1;
+  private int lineStart = 0;
+  /**
+   * Start of current segment, -1 if no segment has been started yet.
+   */
+  private int segmentStart = -1;
+  private int segmentLine;
+  private int segmentLineStart;
+  /**
+   * Indicates if current segment contains anything but comments.
+   */
+  private boolean segmentContent = false;
+  private StatementKind kind = StatementKind.UNKNOWN;
+
+  private SqlScriptSplitter(CharSequence source) {
+    this.source = source;
+    this.length = source.length();
+  }
+
+  /**
+   * Move to the start of next line; invoked when current position is on line separator.
+   */
+  private void nextLine() {
+    if ((source.charAt(index) == '\r') && (index + 1 < length)
+        && (source.charAt(index + 1) == '\n')) {
+      index += 2;
+    } else {
+      index++;
+    }
+    line++;
+    lineStart = index;
+  }
+
+  /**
+   * Move by one character, taking care of line separators.
+   */
+  private void nextChar() {
+    if (isLineSeparator(source.charAt(index))) {
+      nextLine();
+    } else {
+      index++;
+    }
+  }
+
+  private boolean isOnText(char first, char second) {
+    return (index + 1 < length) && (source.charAt(index) == first)
+        && (source.charAt(index + 1) == second);
+  }
+
+  /**
+   * Check if current line (current position is expected to be on its start) contains only slash.
+   */
+  private boolean isOnSlashLine() {
+    var i = index;
+    while ((i < length) && isBlank(source.charAt(i))) {
+      i++;
+    }
+    if ((i == length) || (source.charAt(i) != '/')) {
+      return false;
+    }
+    i++;
+    while ((i < length) && isBlank(source.charAt(i))) {
+      i++;
+    }
+    return (i == length) || isLineSeparator(source.charAt(i));
+  }
+
+  private void startSegment() {
+    if (segmentStart < 0) {
+      segmentStart = index;
+      segmentLine = line;
+      segmentLineStart = lineStart;
+    }
+  }
+
+  private void markContent() {
+    startSegment();
+    segmentContent = true;
+  }
+
+  /**
+   * Finish current segment; segment ends on last non-whitespace character before given offset.
+   */
+  private void endSegment(int segmentEnd) {
+    if (segmentContent) {
+      var end = segmentEnd;
+      while ((end > segmentStart) && (isBlank(source.charAt(end - 1))
+          || isLineSeparator(source.charAt(end - 1)))) {
+        end--;
+      }
+      segments.add(new SqlScriptSegment(segmentStart, end, segmentLine, segmentLineStart,
+          kind == StatementKind.PLSQL));
+    }
+    segmentStart = -1;
+    segmentContent = false;
+    kind = StatementKind.UNKNOWN;
+  }
+
+  private void skipLine() {
+    while ((index < length) && !isLineSeparator(source.charAt(index))) {
+      index++;
+    }
+  }
+
+  private void skipMultiLineComment() {
+    index += 2;
+    while (index < length) {
+      if (isOnText('*', '/')) {
+        index += 2;
+        return;
+      }
+      nextChar();
+    }
+  }
+
+  /**
+   * Skip text enclosed in given delimiter; doubled delimiter is treated as escaped one.
+   */
+  private void skipQuoted(char delimiter) {
+    index++;
+    while (index < length) {
+      if (source.charAt(index) == delimiter) {
+        index++;
+        if ((index == length) || (source.charAt(index) != delimiter)) {
+          return;
+        }
+      }
+      nextChar();
+    }
+  }
+
+  /**
+   * Skip string literal using alternative quoting mechanism; invoked on apostrophe following q
+   * prefix.
+   */
+  private void skipQuotedLiteral() {
+    index++;
+    if ((index == length) || isBlank(source.charAt(index))
+        || isLineSeparator(source.charAt(index))) {
+      // invalid literal, left for tokenizer to report
+      return;
+    }
+    var closingDelimiter = SqlSourceScanner.getClosingDelimiter(source.charAt(index));
+    index++;
+    while (index < length) {
+      if (isOnText(closingDelimiter, '\'')) {
+        index += 2;
+        return;
+      }
+      nextChar();
+    }
+  }
+
+  private boolean isQuotePrefix(int start) {
+    var wordLength = index - start;
+    if ((wordLength > 2) || (index >= length) || (source.charAt(index) != '\'')) {
+      return false;
+    }
+    if ((source.charAt(index - 1) != 'q') && (source.charAt(index - 1) != 'Q')) {
+      return false;
+    }
+    return (wordLength == 1) || (source.charAt(start) == 'n') || (source.charAt(start) == 'N');
+  }
+
+  /**
+   * Evaluate kind of statement based on its next word.
+   */
+  private void evalWord(int start) {
+    if ((kind == StatementKind.SQL) || (kind == StatementKind.PLSQL)) {
+      return;
+    }
+    var word = source.subSequence(start, index).toString().toUpperCase(Locale.ENGLISH);
+    if (kind == StatementKind.UNKNOWN) {
+      if (word.equals("DECLARE") || word.equals("BEGIN")) {
+        kind = StatementKind.PLSQL;
+      } else if (word.equals("CREATE")) {
+        kind = StatementKind.CREATE;
+      } else {
+        kind = StatementKind.SQL;
+      }
+    } else if (CREATE_PLSQL.contains(word)) {
+      kind = StatementKind.PLSQL;
+    } else if (!CREATE_MODIFIERS.contains(word)) {
+      kind = StatementKind.SQL;
+    }
+  }
+
+  private void readWord() {
+    markContent();
+    var start = index;
+    while ((index < length) && isWordChar(source.charAt(index))) {
+      index++;
+    }
+    if (isQuotePrefix(start)) {
+      skipQuotedLiteral();
+      evalSymbol();
+    } else {
+      evalWord(start);
+    }
+  }
+
+  /**
+   * Evaluate kind of statement when it contains other token than word; only label can start
+   * PL/SQL block.
+   */
+  private void evalSymbol() {
+    if ((kind == StatementKind.UNKNOWN) && isOnText('<', '<')) {
+      kind = StatementKind.PLSQL;
+    } else if ((kind == StatementKind.UNKNOWN) || (kind == StatementKind.CREATE)) {
+      kind = StatementKind.SQL;
+    }
+  }
+
+  private void readSymbol(char character) {
+    if ((character == ';') && (kind != StatementKind.PLSQL)) {
+      endSegment(index);
+      index++;
+      return;
+    }
+    markContent();
+    evalSymbol();
+    switch (character) {
+      case '\'':
+        skipQuoted('\'');
+        break;
+      case '"':
+        skipQuoted('"');
+        break;
+      default:
+        index++;
+    }
+  }
+
+  private List<SqlScriptSegment> split() {
+    while (index < length) {
+      if ((index == lineStart) && isOnSlashLine()) {
+        endSegment(index);
+        skipLine();
+        continue;
+      }
+      var character = source.charAt(index);
+      if (isLineSeparator(character)) {
+        nextLine();
+      } else if (isBlank(character)) {
+        index++;
+      } else if (isOnText('-', '-')) {
+        startSegment();
+        skipLine();
+      } else if (isOnText('/', '*')) {
+        startSegment();
+        skipMultiLineComment();
+      } else if (isWordChar(character)) {
+        readWord();
+      } else {
+        readSymbol(character);
+      }
+    }
+    endSegment(length);
+    return segments;
+  }
+
+  @Override
+  public String toString() {
+    return "SqlScriptSplitter{"
+        + "length=" + length
+        + ", index=" + index
+        + ", line=" + line
+        + ", segments=" + segments.size()
+        + '}';
+  }
+}
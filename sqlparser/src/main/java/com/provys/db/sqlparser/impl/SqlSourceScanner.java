@@ -0,0 +1,636 @@
+package com.provys.db.sqlparser.impl;
+
+import com.provys.common.datatype.DtDate;
+import com.provys.common.exception.InternalException;
+import com.provys.common.exception.RegularException;
+import com.provys.db.query.names.BindVariable;
+import com.provys.db.query.names.SimpleName;
+import com.provys.db.sqlparser.SqlParsedToken;
+import com.provys.db.sqlparser.SqlSymbol;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Iterator reading Sql tokens directly from character sequence. Source is accessed by index, no
+ * per-line copies are created and tokens only copy text needed to create their value (comment,
+ * name, literal); keywords and symbols are resolved without copying. Line separators recognised by
+ * {@link java.util.Scanner} (\n, \r\n, \r, \u2028, \u2029, \u0085) are all treated as single new
+ * line and last line is treated as finished by new line, thus produced tokens match tokens read
+ * from the same source via Scanner.
+ */
+final class SqlSourceScanner implements Iterator<SqlParsedToken> {
+
+  private static final SqlSymbol[] TWO_CHAR_SYMBOLS;
+  private static final @Nullable SqlSymbol[] ONE_CHAR_SYMBOLS = new SqlSymbol[128];
+
+  static {
+    var twoCharCount = 0;
+    for (var symbol : SqlSymbol.values()) {
+      if (symbol.getSymbol().length() == 2) {
+        twoCharCount++;
+      }
+    }
+    TWO_CHAR_SYMBOLS = new SqlSymbol[twoCharCount];
+    var i = 0;
+    for (var symbol : SqlSymbol.values()) {
+      if (symbol.getSymbol().length() == 2) {
+        TWO_CHAR_SYMBOLS[i++] = symbol;
+      } else {
+        ONE_CHAR_SYMBOLS[symbol.getSymbol().charAt(0)] = symbol;
+      }
+    }
+  }
+
+  /**
+   * Check if supplied character is whitespace.
+   */
+  private static boolean isWhiteSpace(char character) {
+    return (character == ' ') || (character == '\t') || (character == '\n');
+  }
+
+  private static boolean isLineSeparator(char character) {
+    return (character == '\n') || (character == '\r') || (character == '\u2028')
+        || (character == '\u2029') || (character == '\u0085');
+  }
+
+  private static boolean isLetter(char character) {
+    return ((character >= 'A') && (character <= 'Z'))
+        || ((character >= 'a') && (character <= 'z'));
+  }
+
+  private static boolean isDigit(char character) {
+    return (character >= '0') && (character <= '9');
+  }
+
+  private static @Nullable SqlSymbol getTwoCharSymbol(char first, char second) {
+    for (var symbol : TWO_CHAR_SYMBOLS) {
+      if ((symbol.getSymbol().charAt(0) == first) && (symbol.getSymbol().charAt(1) == second)) {
+        return symbol;
+      }
+    }
+    return null;
+  }
+
+  private final CharSequence source;
+  /**
+   * End of scanned part of source (length of source unless scanner reads its part only).
+   */
+  private final int length;
+  /**
+   * End of readable text; if source does not end with new line, virtual new line character is
+   * added at position length.
+   */
+  private final int end;
+  private int index;
+  private int line; // we want to index lines from 1 in output
+  private int lineStart;
+
+  /**
+   * Create scanner reading part of source. Tokens get offsets, lines and positions relative to
+   * whole source, thus they are the same as if whole source was tokenized.
+   *
+   * @param source    is source text
+   * @param start     is offset where scanning starts; it must not be inside of token
+   * @param limit     is offset where scanning ends; it must not be inside of token
+   * @param line      is line start offset belongs to
+   * @param lineStart is offset of start of line start offset belongs to
+   */
+  SqlSourceScanner(CharSequence source, int start, int limit, int line, int lineStart) {
+    this.source = source;
+    this.length = limit;
+    this.end = ((limit > start) && !isLineSeparator(source.charAt(limit - 1))) ? limit + 1
+        : limit;
+    this.index = start;
+    this.line = line;
+    this.lineStart = lineStart;
+  }
+
+  SqlSourceScanner(CharSequence source) {
+    this(source, 0, source.length(), 1, 0);
+  }
+
+  /**
+   * Get next character, but do not navigate to it. Line separators are returned as \n.
+   */
+  private char peekChar() {
+    if (index >= end) {
+      throw new NoSuchElementException("Cannot check next character - end of file reached");
+    }
+    if (index == length) {
+      return '\n';
+    }
+    var character = source.charAt(index);
+    return isLineSeparator(character) ? '\n' : character;
+  }
+
+  /**
+   * Read next character. Line separators are returned as \n and move position to the start of
+   * next line.
+   */
+  private char nextChar() {
+    var result = peekChar();
+    if ((index < length - 1) && (source.charAt(index) == '\r')
+        && (source.charAt(index + 1) == '\n')) {
+      index += 2;
+    } else {
+      index++;
+    }
+    if (result == '\n') {
+      line++;
+      lineStart = index;
+    }
+    return result;
+  }
+
+  /**
+   * Check if there is next character.
+   */
+  private boolean hasNextChar() {
+    return index < end;
+  }
+
+  /**
+   * Position on current line.
+   *
+   * @return position on current line; position in tokenizer is one indexed, as when displayed to
+   *     users, it makes more sense, moreover it is what SQL users are used to
+   */
+  private int getPos() {
+    return index - lineStart + 1;
+  }
+
+  /**
+   * Skip whitespace and navigate to start of next token.
+   *
+   * @return true if next token was found and false if end of file was reached
+   */
+  private boolean skipWhiteSpace() {
+    while (hasNextChar() && isWhiteSpace(peekChar())) {
+      nextChar();
+    }
+    return hasNextChar();
+  }
+
+  /**
+   * Check if current position is before specified text (that does not contain new line). Do not
+   * move current position.
+   *
+   * @return true if position is before specified text, false otherwise
+   */
+  private boolean isOnText(String text) {
+    if (index + text.length() > length) {
+      return false;
+    }
+    for (int i = 0; i < text.length(); i++) {
+      if (source.charAt(index + i) != text.charAt(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Check if current position is before specified text. Skip given text if it was.
+   *
+   * @return true if position was before specified text, false otherwise
+   */
+  @SuppressWarnings("BooleanMethodIsAlwaysInverted")
+  private boolean onText(String text) {
+    if (isOnText(text)) {
+      index += text.length();
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Find end of current line.
+   *
+   * @return index of line separator terminating current line or length of source
+   */
+  private int getLineEnd() {
+    var result = index;
+    while ((result < length) && !isLineSeparator(source.charAt(result))) {
+      result++;
+    }
+    return result;
+  }
+
+  /**
+   * Text of given part of source, with line separators replaced by \n.
+   */
+  private String getText(int start, int textEnd) {
+    for (int i = start; i < textEnd; i++) {
+      var character = source.charAt(i);
+      if ((character != '\n') && isLineSeparator(character)) {
+        return getNormalizedText(start, textEnd);
+      }
+    }
+    return source.subSequence(start, textEnd).toString();
+  }
+
+  private String getNormalizedText(int start, int textEnd) {
+    var result = new StringBuilder(textEnd - start);
+    for (int i = start; i < textEnd; i++) {
+      var character = source.charAt(i);
+      if ((character == '\r') && (i + 1 < textEnd) && (source.charAt(i + 1) == '\n')) {
+        continue;
+      }
+      result.append(isLineSeparator(character) ? '\n' : character);
+    }
+    return result.toString();
+  }
+
+  @Override
+  public boolean hasNext() {
+    return skipWhiteSpace();
+  }
+
+  /**
+   * Invoked when current position is on --.
+   *
+   * @return token representing single line comment read
+   */
+  private SqlParsedToken readSingleLineComment() {
+    var pos = getPos();
+    var start = index;
+    if (!onText("--")) {
+      throw new IllegalStateException("Read single line comment should only be called on --");
+    }
+    var textStart = index;
+    var lineEnd = getLineEnd();
+    var textEnd = lineEnd;
+    while ((textEnd > textStart) && Character.isWhitespace(source.charAt(textEnd - 1))) {
+      textEnd--;
+    }
+    index = lineEnd;
+    return new ParsedSingleLineComment(line, pos, start, lineEnd - start,
+        getText(textStart, textEnd));
+  }
+
+  /**
+   * Invoked when current position is on start of multi-line comment.
+   *
+   * @return token representing multi line comment
+   */
+  private SqlParsedToken readMultiLineComment() {
+    var pos = getPos();
+    var startLine = line;
+    var start = index;
+    if (!onText("/*")) {
+      throw new IllegalStateException("Read multiline comment should only be called on /*");
+    }
+    var textStart = index;
+    while (hasNextChar()) {
+      if (isOnText("*/")) {
+        var comment = getText(textStart, index);
+        index += 2;
+        return new ParsedMultiLineComment(startLine, pos, start, index - start, comment);
+      }
+      nextChar();
+    }
+    throw new InternalException("Unclosed multiline comment - end of file reached");
+  }
+
+  /**
+   * Invoked when next character corresponds to one of symbols.
+   *
+   * @return token representing symbol
+   */
+  private SqlParsedToken readSymbol() {
+    var pos = getPos();
+    var start = index;
+    char firstChar = nextChar();
+    if (hasNextChar()) {
+      var symbol = getTwoCharSymbol(firstChar, peekChar());
+      if (symbol != null) {
+        nextChar();
+        return new ParsedSymbol(line, pos, start, 2, symbol);
+      }
+    }
+    var symbol = (firstChar < ONE_CHAR_SYMBOLS.length) ? ONE_CHAR_SYMBOLS[firstChar] : null;
+    if (symbol == null) {
+      throw new InternalException("Invalid character '" + firstChar
+          + "' found parsing SQL on line " + line + ", position " + pos);
+    }
+    return new ParsedSymbol(line, pos, start, 1, symbol);
+  }
+
+  /**
+   * Reads value of date literal. Note that unlike most other methods, this one is invoked AFTER
+   * reading DATE from input
+   *
+   * @param pos   is position of start of date literal (text DATE)
+   * @param start is offset of start of date literal
+   * @return new date literal
+   */
+  private SqlParsedToken readDateLiteral(int pos, int start) {
+    skipWhiteSpace();
+    if (nextChar() != '\'') {
+      throw new RegularException("SQLPARSER_MISSING_APOS_IN_DATE_LITERAL",
+          "' expected in date literal");
+    }
+    var startLine = line;
+    var textStart = index;
+    while (peekChar() != '\'') {
+      nextChar();
+    }
+    var text = getText(textStart, index);
+    nextChar();
+    return new ParsedLiteral<>(startLine, pos, start, index - start, DtDate.class,
+        DtDate.parseIso(text));
+  }
+
+  private boolean isOnDate(int start) {
+    return (index - start == 4)
+        && ((source.charAt(start) == 'D') || (source.charAt(start) == 'd'))
+        && ((source.charAt(start + 1) == 'A') || (source.charAt(start + 1) == 'a'))
+        && ((source.charAt(start + 2) == 'T') || (source.charAt(start + 2) == 't'))
+        && ((source.charAt(start + 3) == 'E') || (source.charAt(start + 3) == 'e'));
+  }
+
+  /**
+   * Check if word between start and current position is prefix of alternative quoting mechanism
+   * (q or nq) and is directly followed by apostrophe.
+   */
+  private boolean isOnQuote(int start) {
+    var wordLength = index - start;
+    if ((wordLength == 0) || (wordLength > 2) || (index >= length)
+        || (source.charAt(index) != '\'')) {
+      return false;
+    }
+    if ((source.charAt(index - 1) != 'q') && (source.charAt(index - 1) != 'Q')) {
+      return false;
+    }
+    return (wordLength == 1) || (source.charAt(start) == 'n') || (source.charAt(start) == 'N');
+  }
+
+  /**
+   * Closing delimiter of quoted literal for given opening delimiter.
+   *
+   * @param delimiter is opening delimiter of quoted literal
+   * @return closing delimiter of quoted literal
+   */
+  static char getClosingDelimiter(char delimiter) {
+    switch (delimiter) {
+      case '[':
+        return ']';
+      case '{':
+        return '}';
+      case '(':
+        return ')';
+      case '<':
+        return '>';
+      default:
+        return delimiter;
+    }
+  }
+
+  /**
+   * Reads value of string literal, using alternative quoting mechanism (q'[...]'). Invoked after
+   * reading q (or nq) prefix from input.
+   *
+   * @param pos   is position of start of literal (prefix)
+   * @param start is offset of start of literal
+   * @return new string literal
+   */
+  private SqlParsedToken readQuotedLiteral(int pos, int start) {
+    nextChar();
+    if ((index >= length) || isWhiteSpace(peekChar())) {
+      throw new RegularException("SQLPARSER_INVALID_QUOTE_DELIMITER",
+          "Invalid quote delimiter in string literal at line <<LINE>>, position <<POS>>",
+          Map.of("LINE", Integer.toString(line), "POS", Integer.toString(pos)));
+    }
+    var closingDelimiter = getClosingDelimiter(nextChar());
+    var valueStart = index;
+    while (index < length) {
+      if ((source.charAt(index) == closingDelimiter) && (index + 1 < length)
+          && (source.charAt(index + 1) == '\'')) {
+        var value = getText(valueStart, index);
+        index += 2;
+        return new ParsedLiteral<>(line, pos, start, index - start, String.class, value);
+      }
+      nextChar();
+    }
+    throw new RegularException("SQLPARSER_UNFINISHED_STRING_LITERAL",
+        "End of file encountered reading string literal at line <<LINE>>, position <<POS>>",
+        Map.of("LINE", Integer.toString(line), "POS", Integer.toString(pos)));
+  }
+
+  private SqlParsedToken readLetter() {
+    var pos = getPos();
+    var start = index;
+    while (hasNextChar() && (isLetter(peekChar()) || isDigit(peekChar())
+        || (peekChar() == '_') || (peekChar() == '$') || (peekChar() == '#'))) {
+      nextChar();
+    }
+    if (isOnDate(start)) {
+      return readDateLiteral(pos, start);
+    }
+    if (isOnQuote(start)) {
+      return readQuotedLiteral(pos, start);
+    }
+    var keyword = SqlKeywordLookup.get(source, start, index);
+    if (keyword == null) {
+      return new ParsedName(line, pos, start, index - start,
+          SimpleName.valueOf(source.subSequence(start, index).toString()));
+    }
+    return new ParsedKeyword(line, pos, start, index - start, keyword);
+  }
+
+  private SqlParsedToken readDelimitedIdentifier() {
+    var pos = getPos();
+    var start = index;
+    if (nextChar() != '"') {
+      throw new IllegalStateException("Delimited identifier must start with \"");
+    }
+    while (hasNextChar()) {
+      if (peekChar() == '\n') {
+        throw new RegularException("SQLPARSER_UNFINISHED_DELIMITED_TOKEN",
+            "End of line encountered reading delimited token at line <<LINE>>, position <<POS>>",
+            Map.of("LINE", Integer.toString(line), "POS", Integer.toString(pos)));
+      }
+      if (peekChar() == '"') {
+        nextChar();
+        if (peekChar() != '"') {
+          return new ParsedName(line, pos, start, index - start,
+              SimpleName.valueOf(source.subSequence(start, index).toString()));
+        }
+        // two double quotation marks are evaluated as single one
+      }
+      nextChar();
+    }
+    throw new RegularException("SQLPARSER_UNFINISHED_DELIMITED_TOKEN",
+        "End of file encountered reading delimited token at line <<LINE>>, position <<POS>>",
+        Map.of("LINE", Integer.toString(line), "POS", Integer.toString(pos)));
+  }
+
+  private SqlParsedToken readBind() {
+    var pos = getPos();
+    var start = index;
+    if (nextChar() != ':') {
+      throw new IllegalStateException("Bind variable must start with :");
+    }
+    var nameStart = index;
+    while (hasNextChar() && (isLetter(peekChar()) || isDigit(peekChar())
+        || (peekChar() == '_'))) {
+      nextChar();
+    }
+    return new ParsedBind(line, pos, start, index - start,
+        new BindVariable(source.subSequence(nameStart, index).toString()));
+  }
+
+  private SqlParsedToken readStringLiteral() {
+    var pos = getPos();
+    var start = index;
+    if (nextChar() != '\'') {
+      throw new IllegalStateException("String literal must start with '");
+    }
+    var valueStart = index;
+    var escaped = false;
+    while (hasNextChar()) {
+      if (peekChar() == '\'') {
+        nextChar();
+        if (peekChar() != '\'') {
+          var value = getText(valueStart, index - 1);
+          if (escaped) {
+            // two quotation marks are evaluated as single one
+            value = value.replace("''", "'");
+          }
+          return new ParsedLiteral<>(line, pos, start, index - start, String.class, value);
+        }
+        escaped = true;
+      }
+      nextChar();
+    }
+    throw new RegularException("SQLPARSER_UNFINISHED_STRING_LITERAL",
+        "End of file encountered reading string literal at line <<LINE>>, position <<POS>>",
+        Map.of("LINE", Integer.toString(line), "POS", Integer.toString(pos)));
+  }
+
+  private SqlParsedToken createNumericLiteral(int pos, int start, String literal,
+      boolean dotEncountered) {
+    var tokenLength = literal.length();
+    if (dotEncountered) {
+      if (literal.length() <= 16) {
+        return new ParsedLiteral<>(line, pos, start, tokenLength, Double.class,
+            Double.parseDouble(literal));
+      }
+      return new ParsedLiteral<>(line, pos, start, tokenLength, BigDecimal.class,
+          new BigDecimal(literal));
+    }
+    if (literal.length() <= 2) {
+      return new ParsedLiteral<>(line, pos, start, tokenLength, Byte.class,
+          Byte.parseByte(literal));
+    }
+    if (literal.length() <= 4) {
+      return new ParsedLiteral<>(line, pos, start, tokenLength, Short.class,
+          Short.parseShort(literal));
+    }
+    if (literal.length() <= 9) {
+      return new ParsedLiteral<>(line, pos, start, tokenLength, Integer.class,
+          Integer.parseInt(literal));
+    }
+    return new ParsedLiteral<>(line, pos, start, tokenLength, BigInteger.class,
+        new BigInteger(literal));
+  }
+
+  private SqlParsedToken readNumericLiteral() {
+    var pos = getPos();
+    var start = index;
+    boolean dotEncountered = false;
+    while (isDigit(peekChar()) || (peekChar() == '.')) {
+      if (peekChar() == '.') {
+        if (dotEncountered) {
+          throw new RegularException("SQLPARSER_DOUBLE_DOT_IN_NUMERIC_LITERAL",
+              "Two dots encountered in numeric literal (line <<LINE>>, pos <<POS>>)",
+              Map.of("LINE", Integer.toString(line), "POS", Integer.toString(pos)));
+        }
+        dotEncountered = true;
+      }
+      nextChar();
+    }
+    return createNumericLiteral(pos, start, source.subSequence(start, index).toString(),
+        dotEncountered);
+  }
+
+  private SqlParsedToken readMinus() {
+    if (isOnText("--")) {
+      return readSingleLineComment();
+    }
+    return readSymbol();
+  }
+
+  private SqlParsedToken readSlash() {
+    if (isOnText("/*")) {
+      return readMultiLineComment();
+    }
+    return readSymbol();
+  }
+
+  private SqlParsedToken readDot() {
+    if ((index + 1 < length) && isDigit(source.charAt(index + 1))) {
+      return readNumericLiteral();
+    }
+    return readSymbol();
+  }
+
+  private SqlParsedToken readColon() {
+    if (isOnText(":=")) {
+      return readSymbol();
+    }
+    return readBind();
+  }
+
+  @Override
+  public SqlParsedToken next() {
+    if (!skipWhiteSpace()) {
+      throw new NoSuchElementException("Cannot read Sql token - end of code reached");
+    }
+    var character = peekChar();
+    if (isLetter(character)) {
+      return readLetter();
+    }
+    switch (character) {
+      case '-':
+        return readMinus();
+      case '/':
+        return readSlash();
+      case '.':
+        return readDot();
+      case ':':
+        return readColon();
+      case '"':
+        return readDelimitedIdentifier();
+      case '\'':
+        return readStringLiteral();
+      case '0':
+      case '1':
+      case '2':
+      case '3':
+      case '4':
+      case '5':
+      case '6':
+      case '7':
+      case '8':
+      case '9':
+        return readNumericLiteral();
+      default:
+        // all other characters should be tried as symbols
+        return readSymbol();
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "SqlSourceScanner{"
+        + "length=" + length
+        + ", index=" + index
+        + ", line=" + line
+        + '}';
+  }
+}
@@ -9,8 +9,17 @@ import com.provys.db.query.names.BindVariable;
 import com.provys.db.sqlparser.SqlKeyword;
 import com.provys.db.sqlparser.SqlParsedToken;
 import com.provys.db.sqlparser.SqlSymbol;
+import java.io.IOException;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Collection;
+import java.util.Scanner;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 import java.util.stream.Stream;
@@ -66,6 +75,14 @@ class DefaultSqlTokenizerTest {
             , new ParsedLiteral<>(2, 5, DtDate.class, DtDate.of(2018, 1, 12))
             , new ParsedKeyword(3, 1, SqlKeyword.FROM)
             , new ParsedName(4, 5, "dual")}}
+        , new Object[]{"SELECT q'[it's]' x, NQ'!a\nb!' FROM dual", new SqlParsedToken[]{
+            new ParsedKeyword(1, 1, SqlKeyword.SELECT)
+            , new ParsedLiteral<>(1, 8, String.class, "it's")
+            , new ParsedName(1, 18, "x")
+            , new ParsedSymbol(1, 19, SqlSymbol.COMMA)
+            , new ParsedLiteral<>(2, 21, String.class, "a\nb")
+            , new ParsedKeyword(2, 5, SqlKeyword.FROM)
+            , new ParsedName(2, 10, "dual")}}
     );
   }
 
@@ -75,6 +92,74 @@ class DefaultSqlTokenizerTest {
     assertThat(new DefaultSqlTokenizer().tokenize(source)).containsExactly(result);
   }
 
+  @ParameterizedTest
+  @MethodSource("tokenizeTest")
+  void tokenizeCharSequenceTest(String source, SqlParsedToken[] result) {
+    assertThat(new DefaultSqlTokenizer().tokenize(CharBuffer.wrap(source)))
+        .containsExactly(result);
+  }
+
+  @ParameterizedTest
+  @MethodSource("tokenizeTest")
+  void tokenizeCrLfTest(String source, SqlParsedToken[] result) {
+    assertThat(new DefaultSqlTokenizer().tokenize(source.replace("\n", "\r\n")))
+        .containsExactly(result);
+  }
+
+  @ParameterizedTest
+  @MethodSource("tokenizeTest")
+  void tokenizeScannerTest(String source, SqlParsedToken[] result) {
+    assertThat(new DefaultSqlTokenizer().tokenize(new Scanner(source))).containsExactly(result);
+  }
+
+  @ParameterizedTest
+  @MethodSource("tokenizeTest")
+  void tokenizeFileTest(String source, SqlParsedToken[] result, @TempDir Path tempDir)
+      throws IOException {
+    var file = tempDir.resolve("source.sql");
+    Files.writeString(file, source, StandardCharsets.ISO_8859_1);
+    assertThat(new DefaultSqlTokenizer().tokenize(file, StandardCharsets.ISO_8859_1))
+        .containsExactly(result);
+  }
+
+  @Test
+  void tokenizeOffsetTest() {
+    var tokens = new DefaultSqlTokenizer().tokenize("SELECT a\r\n  FROM dual -- x");
+    assertThat(tokens).extracting(SqlParsedToken::getOffset).containsExactly(0, 7, 12, 17, 22);
+    assertThat(tokens).extracting(SqlParsedToken::getLength).containsExactly(6, 1, 4, 4, 4);
+  }
+
+  @Test
+  void tokenizeScriptTest() {
+    var script = new StringBuilder();
+    for (int i = 0; i < 2000; i++) {
+      script.append("-- statement ").append(i).append("\r\nSELECT :b").append(i)
+          .append(", 'a;\nb' FROM dual WHERE x = q'[;]';\n");
+    }
+    script.append("BEGIN\n  NULL;\nEND;\n/\n");
+    var pool = new ForkJoinPool(4);
+    var statements = new DefaultSqlTokenizer(100, pool).tokenizeScript(script);
+    pool.shutdown();
+    assertThat(statements).hasSize(2001);
+    assertThat(statements.get(1).getLine()).isEqualTo(4);
+    assertThat(statements.get(2000).isPlSql()).isTrue();
+    assertThat(statements.get(2000).getLine()).isEqualTo(6001);
+    var scriptTokens = new DefaultSqlTokenizer().tokenize(script.substring(0,
+        statements.get(1999).getOffset() + statements.get(1999).getLength() + 1));
+    var tokens = scriptTokens.stream()
+        .filter(token -> !((token instanceof ParsedSymbol)
+            && (((ParsedSymbol) token).getSymbol() == SqlSymbol.SEMICOLON)))
+        .collect(Collectors.toList());
+    var statementTokens = statements.stream()
+        .limit(2000)
+        .flatMap(statement -> statement.getTokens().stream())
+        .collect(Collectors.toList());
+    assertThat(statementTokens).containsExactlyElementsOf(tokens);
+    assertThat(statementTokens).extracting(SqlParsedToken::getOffset)
+        .containsExactlyElementsOf(
+            tokens.stream().map(SqlParsedToken::getOffset).collect(Collectors.toList()));
+  }
+
   @SuppressWarnings({"squid:S1192", // we do not care about duplicate strings in test data
       "squid:S3878"}) // we also cannot expand arrays as we need nested array
   static Stream<Object[]> getBindsTest() {
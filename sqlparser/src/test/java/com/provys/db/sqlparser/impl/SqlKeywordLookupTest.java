@@ -0,0 +1,42 @@
+package com.provys.db.sqlparser.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.provys.db.sqlparser.SqlKeyword;
+import java.util.Locale;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class SqlKeywordLookupTest {
+
+  @Test
+  void getAllKeywordsTest() {
+    for (var keyword : SqlKeyword.values()) {
+      var name = keyword.name();
+      assertThat(SqlKeywordLookup.get(name, 0, name.length())).isSameAs(keyword);
+      var lowerName = name.toLowerCase(Locale.ENGLISH);
+      assertThat(SqlKeywordLookup.get(lowerName, 0, lowerName.length())).isSameAs(keyword);
+    }
+  }
+
+  static Stream<Object[]> getTest() {
+    return Stream.of(
+        new Object[]{"x SeLeCt y", 2, 8, SqlKeyword.SELECT}
+        , new Object[]{"varchar2", 0, 8, SqlKeyword.VARCHAR2}
+        , new Object[]{"varchar2", 0, 7, SqlKeyword.VARCHAR}
+        , new Object[]{"SELECTX", 0, 7, null}
+        , new Object[]{"SELECT", 0, 5, null}
+        , new Object[]{"dual", 0, 4, null}
+        , new Object[]{"A", 0, 1, null}
+        , new Object[]{"", 0, 0, null}
+    );
+  }
+
+  @ParameterizedTest
+  @MethodSource
+  void getTest(String text, int start, int end, SqlKeyword result) {
+    assertThat(SqlKeywordLookup.get(text, start, end)).isEqualTo(result);
+  }
+}
@@ -0,0 +1,66 @@
+package com.provys.db.sqlparser.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.provys.db.sqlparser.impl.SqlScriptSplitter.SqlScriptSegment;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class SqlScriptSplitterTest {
+
+  static Stream<Object[]> splitTest() {
+    return Stream.of(
+        new Object[]{"", List.of()}
+        , new Object[]{"  -- comment only\n/* another */\n;\n/\n", List.of()}
+        , new Object[]{"SELECT 1 FROM dual;\nSELECT 2 FROM dual", List.of(
+            "SQL:SELECT 1 FROM dual", "SQL:SELECT 2 FROM dual")}
+        , new Object[]{"-- first\nSELECT ';' FROM dual; /* ; */ SELECT \";\" FROM dual;",
+            List.of("SQL:-- first\nSELECT ';' FROM dual", "SQL:/* ; */ SELECT \";\" FROM dual")}
+        , new Object[]{"SELECT q'[it's; ]' FROM dual;\nSELECT nQ'{'}' x FROM dual;", List.of(
+            "SQL:SELECT q'[it's; ]' FROM dual", "SQL:SELECT nQ'{'}' x FROM dual")}
+        , new Object[]{"SELECT 'a''; b' FROM dual\n/\nSELECT 1 FROM dual", List.of(
+            "SQL:SELECT 'a''; b' FROM dual", "SQL:SELECT 1 FROM dual")}
+        , new Object[]{"BEGIN\n  x := 1 / 2;\n  y := 2;\nEND;\n/\nSELECT 1 FROM dual;",
+            List.of("PLSQL:BEGIN\n  x := 1 / 2;\n  y := 2;\nEND;", "SQL:SELECT 1 FROM dual")}
+        , new Object[]{"declare\n  x number;\nbegin\n  null;\nend;\n  /  \r\n", List.of(
+            "PLSQL:declare\n  x number;\nbegin\n  null;\nend;")}
+        , new Object[]{"CREATE OR REPLACE EDITIONABLE PACKAGE BODY p AS\nEND p;\n/\n"
+            + "CREATE TABLE t (a NUMBER);\n<<lbl>> BEGIN NULL; END;\n/", List.of(
+            "PLSQL:CREATE OR REPLACE EDITIONABLE PACKAGE BODY p AS\nEND p;",
+            "SQL:CREATE TABLE t (a NUMBER)", "PLSQL:<<lbl>> BEGIN NULL; END;")}
+        , new Object[]{"SELECT a\n/* comment\n/\n*/ FROM dual;", List.of(
+            "SQL:SELECT a\n/* comment\n/\n*/ FROM dual")}
+    );
+  }
+
+  @ParameterizedTest
+  @MethodSource
+  void splitTest(String script, List<String> result) {
+    assertThat(SqlScriptSplitter.split(script).stream()
+        .map(segment -> (segment.isPlSql() ? "PLSQL:" : "SQL:")
+            + script.substring(segment.getStart(), segment.getEnd()))
+        .collect(Collectors.toList()))
+        .containsExactlyElementsOf(result);
+  }
+
+  static Stream<Object[]> splitLineTest() {
+    return Stream.of(
+        new Object[]{"SELECT 1 FROM dual;\r\n\r\n  SELECT 2\r\nFROM dual; SELECT 3 FROM dual",
+            List.of(1, 3, 4), List.of(0, 23, 35)}
+        , new Object[]{"SELECT 'a\nb' FROM dual; SELECT 2 FROM dual", List.of(1, 2),
+            List.of(0, 10)}
+    );
+  }
+
+  @ParameterizedTest
+  @MethodSource
+  void splitLineTest(String script, List<Integer> lines, List<Integer> lineStarts) {
+    var segments = SqlScriptSplitter.split(script);
+    assertThat(segments).extracting(SqlScriptSegment::getLine).containsExactlyElementsOf(lines);
+    assertThat(segments).extracting(SqlScriptSegment::getLineStart)
+        .containsExactlyElementsOf(lineStarts);
+  }
+}
@@ -0,0 +1,77 @@
+package com.provys.db.sqlparser.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.provys.db.sqlparser.SqlParsedToken;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Scanner;
+import java.util.function.Supplier;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Measures throughput of tokenizer reading source directly from character sequence, compared with
+ * reading the same source line by line via Scanner. Timing depends on machine, thus test is only
+ * run on demand, with system property provysdb.benchmark=true; results are logged on info level
+ * (e.g. with log4j2.level=info).
+ */
+@EnabledIfSystemProperty(named = "provysdb.benchmark", matches = "true")
+class SqlTokenizerBenchmarkTest {
+
+  private static final Logger LOG = LogManager.getLogger(SqlTokenizerBenchmarkTest.class);
+
+  private static final int STATEMENTS = 20_000;
+  private static final int WARMUP_ITERATIONS = 5;
+  private static final int ITERATIONS = 20;
+
+  private static String getScript() {
+    var result = new StringBuilder(STATEMENTS * 160);
+    for (int i = 0; i < STATEMENTS; i++) {
+      result.append("/* statement ").append(i).append(" */\n")
+          .append("SELECT prog.name, prog.status -- columns\n")
+          .append("FROM brc.brc_prog_tb prog\n")
+          .append("WHERE prog.prog_id = :prog_id AND prog.status <> 'X' AND prog.cnt > ")
+          .append(i).append(";\n");
+    }
+    return result.toString();
+  }
+
+  private static List<SqlParsedToken> measure(String name, int length,
+      Supplier<List<SqlParsedToken>> tokenize) {
+    for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+      tokenize.get();
+    }
+    List<SqlParsedToken> result = List.of();
+    var start = System.nanoTime();
+    for (int i = 0; i < ITERATIONS; i++) {
+      result = tokenize.get();
+    }
+    var nanos = (System.nanoTime() - start) / ITERATIONS;
+    LOG.info("{}: {} us per script, {} MB/s", name, nanos / 1000,
+        length * 1000L / Math.max(nanos, 1));
+    return result;
+  }
+
+  @Test
+  void tokenizeThroughputTest(@TempDir Path tempDir) throws IOException {
+    var tokenizer = new DefaultSqlTokenizer(Integer.MAX_VALUE);
+    var script = getScript();
+    var file = tempDir.resolve("script.sql");
+    Files.writeString(file, script, StandardCharsets.UTF_8);
+    var fromScanner = measure("scanner", script.length(),
+        () -> tokenizer.tokenize(new Scanner(script)));
+    var fromString = measure("char sequence", script.length(),
+        () -> tokenizer.tokenize(script));
+    var fromFile = measure("mapped file", script.length(),
+        () -> tokenizer.tokenize(file, StandardCharsets.UTF_8));
+    assertThat(fromString).hasSize(fromScanner.size()).isEqualTo(fromScanner);
+    assertThat(fromFile).isEqualTo(fromString);
+  }
+}
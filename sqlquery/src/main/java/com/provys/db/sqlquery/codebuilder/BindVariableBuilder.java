@@ -11,23 +11,28 @@ final class BindVariableBuilder {
   private final BindName name;
   private Class<?> type;
   private @Nullable Object value;
+  private final boolean collection;
 
-  BindVariableBuilder(BindName name, Class<?> type, @Nullable Object value) {
+  BindVariableBuilder(BindName name, Class<?> type, @Nullable Object value,
+      boolean collection) {
     this.name = name;
     this.type = type;
-    if ((value != null) && !type.isInstance(value)) {
+    // values of collection bind have already been verified by bind variable
+    if (!collection && (value != null) && !type.isInstance(value)) {
       throw new InternalException("Failed to create bind variable builder " + name.getName()
           + "; value " + value + " not compatible with type " + type);
     }
     this.value = value;
+    this.collection = collection;
   }
 
-  BindVariableBuilder(BindName name, Class<?> type) {
-    this(name, type, null);
+  BindVariableBuilder(BindName name, Class<?> type, boolean collection) {
+    this(name, type, null, collection);
   }
 
   BindVariableBuilder(BindVariable bindVariable) {
-    this(bindVariable.getName(), bindVariable.getType(), bindVariable.getValue());
+    this(bindVariable.getName(), bindVariable.getType(), bindVariable.getValue(),
+        bindVariable.isCollection());
   }
 
   /**
@@ -57,6 +62,15 @@ final class BindVariableBuilder {
     return value;
   }
 
+  /**
+   * Value of field collection.
+   *
+   * @return value of field collection
+   */
+  boolean isCollection() {
+    return collection;
+  }
+
   void combineType(Class<?> newType) {
     // newType is super of type - no change needed
     if (newType.isAssignableFrom(type)) {
@@ -95,6 +109,19 @@ final class BindVariableBuilder {
       throw new InternalException("Cannot combine bind variables with different names "
           + bindVariable.getName() + " and " + name);
     }
+    if (bindVariable.isCollection() != collection) {
+      throw new InternalException("Cannot combine collection and single value bind variable "
+          + name.getName());
+    }
+    if (collection) {
+      if ((bindVariable.getType() != type) || ((value != null)
+          && !value.equals(bindVariable.getValue()))) {
+        throw new InternalException("Collection bind variable " + name.getName()
+            + " can only be combined with the same bind variable");
+      }
+      value = bindVariable.getValue();
+      return;
+    }
     combineType(bindVariable.getType());
     combineValue(bindVariable.getValue());
   }
@@ -110,6 +137,7 @@ final class BindVariableBuilder {
     BindVariableBuilder that = (BindVariableBuilder) o;
     return Objects.equals(name, that.name)
         && (type == that.type)
+        && (collection == that.collection)
         && Objects.equals(value, that.value);
   }
 
@@ -118,6 +146,7 @@ final class BindVariableBuilder {
     int result = name != null ? name.hashCode() : 0;
     result = 31 * result + (type != null ? type.hashCode() : 0);
     result = 31 * result + (value != null ? value.hashCode() : 0);
+    result = 31 * result + (collection ? 1 : 0);
     return result;
   }
 
@@ -127,6 +156,7 @@ final class BindVariableBuilder {
         + "name=" + name
         + ", type=" + type
         + ", value=" + value
+        + ", collection=" + collection
         + '}';
   }
 }
@@ -15,8 +15,8 @@ final class BindWithPosBuilder {
   private final BindVariableBuilder bindVariableBuilder;
   private final List<Integer> positions;
 
-  BindWithPosBuilder(BindName name, Class<?> type) {
-    this.bindVariableBuilder = new BindVariableBuilder(name, type);
+  BindWithPosBuilder(BindName name, Class<?> type, boolean collection) {
+    this.bindVariableBuilder = new BindVariableBuilder(name, type, collection);
     positions = new ArrayList<>(3);
   }
 
@@ -84,7 +84,8 @@ final class BindWithPosBuilder {
   }
 
   BindWithPos build() {
-    return new BindWithPos(bindVariableBuilder.getName(), bindVariableBuilder.getType(), positions);
+    return new BindWithPos(bindVariableBuilder.getName(), bindVariableBuilder.getType(), positions,
+        bindVariableBuilder.isCollection());
   }
 
   @Override
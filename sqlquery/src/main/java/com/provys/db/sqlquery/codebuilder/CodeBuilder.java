@@ -274,4 +274,11 @@ public interface CodeBuilder {
    * @return list of values, assigned to bind variables during build
    */
   Map<BindName, Object> getBindValues();
+
+  /**
+   * Release resources held by builder (e.g. return its buffer to pool). Builder cannot be used
+   * after release. Default implementation holds no resources, thus does nothing.
+   */
+  default void release() {
+  }
 }
@@ -5,13 +5,32 @@ package com.provys.db.sqlquery.codebuilder;
  */
 public final class CodeBuilderFactory {
 
+  /**
+   * Initial capacity of buffer, used when no size hint is supplied.
+   */
+  public static final int DEFAULT_SIZE_HINT = 1024;
+
   /**
    * Create new CodeBuilder instance.
    *
    * @return new CodeBuilder instance
    */
   public static CodeBuilder getCodeBuilder() {
-    return new CodeBuilderImpl();
+    return getCodeBuilder(DEFAULT_SIZE_HINT, false);
+  }
+
+  /**
+   * Create new CodeBuilder instance with specified size hint and rendering mode. Buffer of builder
+   * is borrowed from thread-local pool when available; caller should invoke
+   * {@link CodeBuilder#release()} after it retrieved built text to allow buffer reuse.
+   *
+   * @param sizeHint is expected length of built text; used as minimal initial capacity of buffer
+   * @param compact  if true, builder renders code on single line, without new lines and ident
+   *                 whitespace, otherwise code is formatted
+   * @return new CodeBuilder instance
+   */
+  public static CodeBuilder getCodeBuilder(int sizeHint, boolean compact) {
+    return new CodeBuilderImpl(sizeHint, compact, true);
   }
 
   /**
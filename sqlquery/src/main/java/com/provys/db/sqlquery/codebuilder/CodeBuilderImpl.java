@@ -1,5 +1,6 @@
 package com.provys.db.sqlquery.codebuilder;
 
+import com.provys.common.exception.InternalException;
 import com.provys.db.query.names.BindName;
 import com.provys.db.query.names.BindVariable;
 import com.provys.db.query.names.BindWithPos;
@@ -16,13 +17,33 @@ import java.util.stream.Collectors;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
- * Implementation of code builder - tool to build SQL text with formatting.
+ * Implementation of code builder - tool to build SQL text with formatting. Builder can work in
+ * compact mode; in this mode, new lines are rendered as single space and only non-blank part of
+ * ident is used, thus whole statement is rendered on single line.
  *
  * @author stehlik
  */
 final class CodeBuilderImpl implements CodeBuilder {
 
+  /**
+   * New line followed by ident of given length is cached up to this length.
+   */
+  private static final int CACHED_NEW_LINE_IDENTS = 64;
+  private static final String[] NEW_LINE_IDENTS = new String[CACHED_NEW_LINE_IDENTS];
+
+  static {
+    for (int i = 0; i < CACHED_NEW_LINE_IDENTS; i++) {
+      NEW_LINE_IDENTS[i] = '\n' + " ".repeat(i);
+    }
+  }
+
   private final StringBuilder builder;
+  private final boolean compact;
+  /** Indicates that buffer has been borrowed from thread-local pool and should be returned on
+   * release.
+   */
+  private final boolean pooled;
+  private boolean released = false;
   private boolean newLine = true;
   /** Marks current position as safe for insertion of identifier or number. E.g. previous item
    * was newline or ended with non alpha-numeric character. Note that characters inserted via ident
@@ -34,12 +55,29 @@ final class CodeBuilderImpl implements CodeBuilder {
   private int bindPos = 0; // position of last bind
   private final Map<BindName, BindWithPosBuilder> bindsWithPos;
 
+  /**
+   * Create code builder, using buffer of given initial capacity.
+   *
+   * @param sizeHint is expected length of built text
+   * @param compact  indicates if statement should be rendered on single line
+   * @param pooled   indicates that buffer should be borrowed from thread-local pool and returned
+   *                 to it when builder is released
+   */
+  CodeBuilderImpl(int sizeHint, boolean compact, boolean pooled) {
+    if (sizeHint < 0) {
+      throw new IllegalArgumentException("Size hint cannot be negative");
+    }
+    this.builder = pooled ? StringBuilderPool.acquire(sizeHint) : new StringBuilder(sizeHint);
+    this.compact = compact;
+    this.pooled = pooled;
+    this.bindsWithPos = new ConcurrentHashMap<>(10);
+  }
+
   /**
    * Default constructor for CodeBuilder. Sets all fields to their default values.
    */
   CodeBuilderImpl() {
-    this.builder = new StringBuilder(100);
-    this.bindsWithPos = new ConcurrentHashMap<>(10);
+    this(100, false, false);
   }
 
   @Override
@@ -47,14 +85,62 @@ final class CodeBuilderImpl implements CodeBuilder {
     return newLine;
   }
 
+  private void verifyNotReleased() {
+    if (released) {
+      throw new InternalException("Code builder cannot be used after it has been released");
+    }
+  }
+
   private void beforeAppend() {
+    verifyNotReleased();
     if (newLine) {
-      currentIdent.use(builder);
+      if (compact) {
+        useCompactIdent();
+      } else {
+        currentIdent.use(builder);
+      }
       newLine = false;
       isSafe = true;
     }
   }
 
+  /**
+   * Ident in compact mode - leading spaces of ident are skipped and if nothing remains, single
+   * space is used as separator instead of new line. Nothing is appended at the start of statement.
+   */
+  private void useCompactIdent() {
+    var start = builder.length();
+    currentIdent.use(builder);
+    var end = start;
+    while ((end < builder.length()) && (builder.charAt(end) == ' ')) {
+      end++;
+    }
+    if (end > start) {
+      builder.delete(start, end);
+    }
+    if ((start > 0) && (builder.charAt(start - 1) != ' ') && ((builder.length() == start)
+        || (isSafe(builder.charAt(start - 1)) && isSafe(builder.charAt(start))))) {
+      builder.insert(start, ' ');
+    }
+  }
+
+  /**
+   * Text appended after space in compact mode does not need its own leading spaces.
+   *
+   * @param text is text to be appended
+   * @return index of first character that should be appended
+   */
+  private int compactStart(String text) {
+    if (!compact || ((builder.length() > 0) && (builder.charAt(builder.length() - 1) != ' '))) {
+      return 0;
+    }
+    var start = 0;
+    while ((start < text.length()) && (text.charAt(start) == ' ')) {
+      start++;
+    }
+    return start;
+  }
+
   /**
    * In general, space is needed if previous text ends in alphanumeric character.
    *
@@ -68,19 +154,37 @@ final class CodeBuilderImpl implements CodeBuilder {
         || (type == Character.DECIMAL_DIGIT_NUMBER);
   }
 
-  @Override
-  public CodeBuilder append(String text) {
+  /**
+   * Append part of text, without allocating substring.
+   *
+   * @param text  is text to be appended
+   * @param start is index of first character to be appended
+   * @param end   is index after last character to be appended
+   */
+  private void append(String text, int start, int end) {
     beforeAppend();
-    builder.append(text);
-    if (!text.isEmpty()) {
-      isSafe = isSafe(text.charAt(text.length() - 1));
+    var from = (start == 0) ? compactStart(text) : start;
+    if (from < end) {
+      builder.append(text, from, end);
+      isSafe = isSafe(text.charAt(end - 1));
     }
+  }
+
+  @Override
+  public CodeBuilder append(String text) {
+    append(text, 0, text.length());
     return this;
   }
 
   @Override
   public CodeBuilder append(char character) {
-    return append(Character.toString(character));
+    beforeAppend();
+    if (!compact || (character != ' ') || (builder.length() == 0)
+        || (builder.charAt(builder.length() - 1) != ' ')) {
+      builder.append(character);
+      isSafe = isSafe(character);
+    }
+    return this;
   }
 
   @Override
@@ -93,6 +197,33 @@ final class CodeBuilderImpl implements CodeBuilder {
     return append(number.toString());
   }
 
+  /**
+   * Right-align ident prefix to given number of characters (e.g. pad it with spaces from left).
+   *
+   * @param ident is ident prefix
+   * @param chars is required length of ident
+   * @return ident prefix, padded with spaces to given length
+   */
+  private static String padIdent(String ident, int chars) {
+    if (ident.length() >= chars) {
+      return ident;
+    }
+    return CodeIdentSimple.blank(chars - ident.length()).get().concat(ident);
+  }
+
+  /**
+   * New line followed by ident of given length.
+   *
+   * @param chars is length of ident
+   * @return string containing new line character and specified number of spaces
+   */
+  private static String newLineIdent(int chars) {
+    if (chars < CACHED_NEW_LINE_IDENTS) {
+      return NEW_LINE_IDENTS[chars];
+    }
+    return '\n' + " ".repeat(chars);
+  }
+
   @Override
   public CodeBuilder append(NamePath name) {
     beforeAppend();
@@ -124,9 +255,13 @@ final class CodeBuilderImpl implements CodeBuilder {
 
   @Override
   public CodeBuilder applyString(Consumer<? super StringBuilder> appendFunction) {
-    var tempBuilder = new StringBuilder();
-    appendFunction.accept(tempBuilder);
-    append(tempBuilder.toString());
+    beforeAppend();
+    // text is appended directly to buffer; no temporary builder is needed
+    var start = builder.length();
+    appendFunction.accept(builder);
+    if (builder.length() > start) {
+      isSafe = isSafe(builder.charAt(builder.length() - 1));
+    }
     return this;
   }
 
@@ -136,23 +271,25 @@ final class CodeBuilderImpl implements CodeBuilder {
       throw new IllegalArgumentException(
           "Negative ident for block cannot be bigger than current ident level");
     }
-    boolean first = true;
-    String tempIdent = null; // temporary ident; only used on second and consecutive lines
-    for (var line : text.split("\n", -1)) {
-      if (first) {
-        first = false;
+    var identLength = currentIdent.get().length() + additionalIdent;
+    var start = 0;
+    var end = text.indexOf('\n');
+    while (end >= 0) {
+      append(text, start, end);
+      start = end + 1;
+      if (start == text.length()) {
+        // trailing new line finishes line; following text will use ident of this builder
+        return appendLine();
+      }
+      if (compact) {
+        // in compact mode, wrapped line is only separated by space
+        append(' ');
       } else {
-        if (tempIdent == null) {
-          var format = "%1$-" + (currentIdent.get().length() + additionalIdent + 1) + 's';
-          tempIdent = String.format(format, '\n');
-        }
-        append(tempIdent);
+        append(newLineIdent(identLength));
       }
-      append(line);
-    }
-    if (text.charAt(text.length() - 1) == '\n') {
-      appendLine();
+      end = text.indexOf('\n', start);
     }
+    append(text, start, text.length());
     return this;
   }
 
@@ -173,7 +310,9 @@ final class CodeBuilderImpl implements CodeBuilder {
   @Override
   public CodeBuilder appendLine() {
     beforeAppend();
-    builder.append('\n');
+    if (!compact) {
+      builder.append('\n');
+    }
     newLine = true;
     return this;
   }
@@ -211,8 +350,10 @@ final class CodeBuilderImpl implements CodeBuilder {
     if (chars == 0) {
       return setIdent(CodeIdentVoid.getInstance());
     }
-    var format = "%1$" + chars + 's';
-    return setIdent(String.format(format, ident));
+    if (ident.isEmpty()) {
+      return setIdent(CodeIdentSimple.blank(chars));
+    }
+    return setIdent(padIdent(ident, chars));
   }
 
   @Override
@@ -231,8 +372,7 @@ final class CodeBuilderImpl implements CodeBuilder {
       throw new IllegalArgumentException(
           "Ident length cannot be smaller than length of supplied ident prefix");
     }
-    var format = "%1$" + chars + 's';
-    return setIdent(String.format(format, firstIdent), String.format(format, ident));
+    return setIdent(padIdent(firstIdent, chars), padIdent(ident, chars));
   }
 
   @Override
@@ -278,7 +418,7 @@ final class CodeBuilderImpl implements CodeBuilder {
     int count = 0;
     for (var bind : binds) {
       var bindWithPos = bindsWithPos.computeIfAbsent(bind.getName(),
-          key -> new BindWithPosBuilder(bind.getName(), bind.getType()));
+          key -> new BindWithPosBuilder(bind.getName(), bind.getType(), bind.isCollection()));
       for (var position : bind.getPositions()) {
         bindWithPos.addPosition(position + bindPos);
         count++;
@@ -295,9 +435,24 @@ final class CodeBuilderImpl implements CodeBuilder {
    */
   @Override
   public String build() {
+    verifyNotReleased();
     return builder.toString();
   }
 
+  /**
+   * Release builder; if buffer has been borrowed from thread-local pool, it is returned to pool.
+   * Builder cannot be used after release.
+   */
+  @Override
+  public void release() {
+    if (!released) {
+      released = true;
+      if (pooled) {
+        StringBuilderPool.release(builder);
+      }
+    }
+  }
+
   @Override
   public Collection<BindWithPos> getBindsWithPos() {
     return bindsWithPos.values().stream()
@@ -327,7 +482,12 @@ final class CodeBuilderImpl implements CodeBuilder {
       return false;
     }
     CodeBuilderImpl that = (CodeBuilderImpl) o;
-    return newLine == that.newLine
+    // buffer of released builder might already be reused by another builder
+    if (released || that.released) {
+      return false;
+    }
+    return compact == that.compact
+        && newLine == that.newLine
         && bindPos == that.bindPos
         && builder.toString().equals(that.builder.toString())
         && currentIdent.equals(that.currentIdent)
@@ -337,7 +497,11 @@ final class CodeBuilderImpl implements CodeBuilder {
 
   @Override
   public int hashCode() {
+    if (released) {
+      return System.identityHashCode(this);
+    }
     int result = builder.hashCode();
+    result = 31 * result + (compact ? 1 : 0);
     result = 31 * result + (newLine ? 1 : 0);
     result = 31 * result + currentIdent.hashCode();
     result = 31 * result + tempIdents.hashCode();
@@ -349,7 +513,8 @@ final class CodeBuilderImpl implements CodeBuilder {
   @Override
   public String toString() {
     return "CodeBuilderImpl{"
-        + "builder=" + builder
+        + "builder=" + (released ? "<released>" : builder)
+        + ", compact=" + compact
         + ", newLine=" + newLine
         + ", currentIdent=" + currentIdent
         + ", tempIdents=" + tempIdents
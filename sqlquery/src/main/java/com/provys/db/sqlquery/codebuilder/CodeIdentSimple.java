@@ -5,10 +5,36 @@ package com.provys.db.sqlquery.codebuilder;
  */
 final class CodeIdentSimple implements CodeIdent {
 
+  /**
+   * Blank idents of lengths up to this limit are shared instances.
+   */
+  private static final int CACHED_BLANK = 64;
+  private static final CodeIdentSimple[] BLANK_IDENTS = new CodeIdentSimple[CACHED_BLANK];
+
+  static {
+    for (int i = 0; i < CACHED_BLANK; i++) {
+      BLANK_IDENTS[i] = new CodeIdentSimple(" ".repeat(i));
+    }
+  }
+
   static CodeIdentSimple of(String ident) {
     return new CodeIdentSimple(ident);
   }
 
+  /**
+   * Ident consisting of given number of spaces. Idents for common lengths are cached, thus
+   * retrieving them does not allocate.
+   *
+   * @param chars is length of ident
+   * @return ident consisting of specified number of spaces
+   */
+  static CodeIdentSimple blank(int chars) {
+    if (chars < CACHED_BLANK) {
+      return BLANK_IDENTS[chars];
+    }
+    return new CodeIdentSimple(" ".repeat(chars));
+  }
+
   private final String ident;
 
   private CodeIdentSimple(String ident) {
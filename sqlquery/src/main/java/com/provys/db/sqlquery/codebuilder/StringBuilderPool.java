@@ -0,0 +1,52 @@
+package com.provys.db.sqlquery.codebuilder;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Thread-local pool of string builders, used as buffers by {@link CodeBuilderImpl}. Each thread
+ * keeps at most one spare buffer; buffer that grew over {@link #MAX_RETAINED_CAPACITY} is not
+ * returned to pool to prevent single huge statement from holding memory indefinitely.
+ */
+final class StringBuilderPool {
+
+  /**
+   * Maximal capacity of buffer that is kept in pool after release.
+   */
+  static final int MAX_RETAINED_CAPACITY = 65536;
+
+  private static final ThreadLocal<@Nullable StringBuilder> SPARE = new ThreadLocal<>();
+
+  /**
+   * Take spare buffer of current thread or allocate new one if there is none (e.g. because it is
+   * held by other builder on the same thread). Returned buffer is empty and has capacity at least
+   * equal to size hint.
+   *
+   * @param sizeHint is expected length of text that will be built in buffer
+   * @return empty buffer
+   */
+  static StringBuilder acquire(int sizeHint) {
+    var result = SPARE.get();
+    if (result == null) {
+      return new StringBuilder(sizeHint);
+    }
+    SPARE.set(null);
+    result.ensureCapacity(sizeHint);
+    return result;
+  }
+
+  /**
+   * Return buffer to pool of current thread. Buffer must not be used by caller after release.
+   *
+   * @param buffer is buffer to be returned to pool
+   */
+  static void release(StringBuilder buffer) {
+    if (buffer.capacity() > MAX_RETAINED_CAPACITY) {
+      return;
+    }
+    buffer.setLength(0);
+    SPARE.set(buffer);
+  }
+
+  private StringBuilderPool() {
+  }
+}
@@ -0,0 +1,185 @@
+package com.provys.db.sqlquery.query;
+
+import com.provys.common.exception.InternalException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Spliterator over rows, read from (not thread-safe) source iterator. Source is only accessed by
+ * thread that currently owns this spliterator (or by single prefetch task), but split reads batch
+ * of rows and hands it out as array based spliterator, thus processing of rows in parallel stream
+ * can overlap with fetching of further rows. When prefetch executor is specified, next batch is
+ * read in background as soon as previous batch has been taken; spliterator should be closed to
+ * wait for pending prefetch before source is released.
+ *
+ * @param <T> is type of rows
+ */
+final class BatchSpliterator<T> implements Spliterator<T>, AutoCloseable {
+
+  /**
+   * Default number of rows, read to single batch.
+   */
+  static final int DEFAULT_BATCH_SIZE = 256;
+
+  private static final Object[] EMPTY = new Object[0];
+
+  private final Iterator<? extends T> source;
+  private final int batchSize;
+  private final int characteristics;
+  private final @Nullable Executor prefetchExecutor;
+  /**
+   * Pending prefetch; volatile as spliterator might be closed from other thread than the one that
+   * read it (e.g. by close handler of stream).
+   */
+  private volatile @Nullable CompletableFuture<Object[]> prefetch = null;
+  private Object[] batch = EMPTY;
+  private int batchPos = 0;
+  private volatile boolean exhausted = false;
+
+  BatchSpliterator(Iterator<? extends T> source, int batchSize, int characteristics,
+      @Nullable Executor prefetchExecutor) {
+    if (batchSize <= 0) {
+      throw new InternalException("Batch size must be positive: " + batchSize);
+    }
+    this.source = source;
+    this.batchSize = batchSize;
+    this.characteristics = characteristics;
+    this.prefetchExecutor = prefetchExecutor;
+  }
+
+  private Object[] read() {
+    var rows = new Object[batchSize];
+    int size = 0;
+    while ((size < batchSize) && source.hasNext()) {
+      rows[size++] = source.next();
+    }
+    return (size == batchSize) ? rows : Arrays.copyOf(rows, size);
+  }
+
+  private static Object[] join(CompletableFuture<Object[]> future) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      var cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * Retrieve next batch of rows, either prefetched or read from source, and start prefetch of
+   * following batch if prefetch is enabled.
+   *
+   * @return next batch, empty array if source has been read to the end
+   */
+  private Object[] nextBatch() {
+    Object[] result;
+    if (prefetch != null) {
+      var future = prefetch;
+      prefetch = null;
+      result = join(future);
+    } else if (exhausted) {
+      return EMPTY;
+    } else {
+      result = read();
+    }
+    if (result.length < batchSize) {
+      exhausted = true;
+    } else if (prefetchExecutor != null) {
+      prefetch = CompletableFuture.supplyAsync(this::read, prefetchExecutor);
+    }
+    return result;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public boolean tryAdvance(Consumer<? super T> action) {
+    if (batchPos < batch.length) {
+      action.accept((T) batch[batchPos++]);
+      return true;
+    }
+    if ((prefetchExecutor == null) && !exhausted) {
+      // without prefetch, sequential reading does not need to read ahead
+      if (source.hasNext()) {
+        action.accept(source.next());
+        return true;
+      }
+      exhausted = true;
+      return false;
+    }
+    batch = nextBatch();
+    batchPos = 0;
+    if (batch.length == 0) {
+      return false;
+    }
+    action.accept((T) batch[batchPos++]);
+    return true;
+  }
+
+  @Override
+  public @Nullable Spliterator<T> trySplit() {
+    Object[] rows;
+    int from;
+    if (batchPos < batch.length) {
+      rows = batch;
+      from = batchPos;
+      batch = EMPTY;
+      batchPos = 0;
+    } else {
+      rows = nextBatch();
+      from = 0;
+      if (rows.length == 0) {
+        return null;
+      }
+    }
+    return Spliterators.spliterator(rows, from, rows.length, characteristics);
+  }
+
+  @Override
+  public long estimateSize() {
+    if (exhausted && (prefetch == null)) {
+      return batch.length - batchPos;
+    }
+    return Long.MAX_VALUE;
+  }
+
+  @Override
+  public int characteristics() {
+    return characteristics;
+  }
+
+  /**
+   * Wait for pending prefetch (if any) and stop reading from source.
+   */
+  @Override
+  public void close() {
+    var future = prefetch;
+    prefetch = null;
+    exhausted = true;
+    if (future != null) {
+      // result and failure of prefetch are irrelevant, we only need to stop using source
+      future.handle((rows, e) -> null).join();
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "BatchSpliterator{"
+        + "batchSize=" + batchSize
+        + ", characteristics=" + characteristics
+        + ", prefetchExecutor=" + prefetchExecutor
+        + ", batchPos=" + batchPos
+        + ", batchLength=" + batch.length
+        + ", exhausted=" + exhausted
+        + '}';
+  }
+}
@@ -0,0 +1,132 @@
+package com.provys.db.sqlquery.query;
+
+import com.provys.common.exception.InternalException;
+import com.provys.db.dbcontext.DbResultSet;
+import com.provys.db.dbcontext.DbRowMapper;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Iterator over rows of result set, returning rows in chunks of fixed maximal size. Single buffer
+ * is reused for all chunks, thus memory needed is bounded by chunk size regardless of size of
+ * result; on the other hand, returned list is only valid until next call of {@link #next()} and
+ * consumer has to copy rows it wants to retain. Iterator holds underlying result set opened and
+ * should be closed explicitly; it is closed automatically when read to the end.
+ *
+ * @param <T> is type of rows
+ */
+public final class ChunkIterator<T> implements Iterator<List<T>>, AutoCloseable {
+
+  private final DbResultSet resultSet;
+  private final DbRowMapper<? extends T> rowMapper;
+  private final int chunkSize;
+  private final Runnable onClose;
+  private final List<T> buffer;
+  private final List<T> chunk;
+  private long rowNumber = 0;
+  private boolean fetched = false;
+  private boolean exhausted = false;
+  private boolean finished = false;
+  private boolean closed = false;
+
+  ChunkIterator(DbResultSet resultSet, DbRowMapper<? extends T> rowMapper, int chunkSize,
+      Runnable onClose) {
+    if (chunkSize <= 0) {
+      throw new InternalException("Chunk size must be positive: " + chunkSize);
+    }
+    this.resultSet = resultSet;
+    this.rowMapper = rowMapper;
+    this.chunkSize = chunkSize;
+    this.onClose = onClose;
+    this.buffer = new ArrayList<>(chunkSize);
+    this.chunk = Collections.unmodifiableList(buffer);
+  }
+
+  /**
+   * Value of field chunkSize.
+   *
+   * @return value of field chunkSize
+   */
+  public int getChunkSize() {
+    return chunkSize;
+  }
+
+  private void fetch() {
+    if (fetched || finished) {
+      return;
+    }
+    buffer.clear();
+    try {
+      // result set is not asked for further rows once it reported its end
+      while (!exhausted && (buffer.size() < chunkSize)) {
+        if (resultSet.next()) {
+          buffer.add(rowMapper.map(resultSet, rowNumber++));
+        } else {
+          exhausted = true;
+        }
+      }
+    } catch (SQLException e) {
+      close();
+      throw new InternalException("Error fetching data in chunk", e);
+    } catch (RuntimeException e) {
+      close();
+      throw e;
+    }
+    if (buffer.isEmpty()) {
+      finished = true;
+      close();
+    } else {
+      fetched = true;
+    }
+  }
+
+  @Override
+  public boolean hasNext() {
+    fetch();
+    return !finished;
+  }
+
+  /**
+   * Next chunk of rows. Returned list is reused and its content replaced by next call.
+   *
+   * @return unmodifiable view of next chunk of rows
+   */
+  @Override
+  public List<T> next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    fetched = false;
+    return chunk;
+  }
+
+  /**
+   * Close underlying result set (and statement, if iterator owns it).
+   */
+  @Override
+  public void close() {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    finished = true;
+    onClose.run();
+  }
+
+  @Override
+  public String toString() {
+    return "ChunkIterator{"
+        + "rowMapper=" + rowMapper
+        + ", chunkSize=" + chunkSize
+        + ", rowNumber=" + rowNumber
+        + ", fetched=" + fetched
+        + ", exhausted=" + exhausted
+        + ", finished=" + finished
+        + ", closed=" + closed
+        + '}';
+  }
+}
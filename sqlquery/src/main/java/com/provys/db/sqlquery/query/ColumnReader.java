@@ -0,0 +1,65 @@
+package com.provys.db.sqlquery.query;
+
+import com.provys.common.datatype.DtBinaryData;
+import com.provys.common.datatype.DtDate;
+import com.provys.common.datatype.DtDateTime;
+import com.provys.common.datatype.DtUid;
+import com.provys.db.dbcontext.DbResultSet;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Map;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Reader of single column of result set, resolved in advance for given type. Standard value types
+ * are read via their dedicated accessors on {@link DbResultSet}, thus avoiding lookup of type
+ * adapter for each fetched value; other types are read via
+ * {@link DbResultSet#getNullableValue(int, Class)}.
+ *
+ * @param <T> is type of value read from column
+ */
+@FunctionalInterface
+interface ColumnReader<T> {
+
+  /**
+   * Readers for types that have dedicated accessor in {@link DbResultSet}.
+   */
+  Map<Class<?>, ColumnReader<?>> STANDARD_READERS = Map.ofEntries(
+      Map.entry(Boolean.class, (ColumnReader<Boolean>) DbResultSet::getNullableBoolean),
+      Map.entry(Byte.class, (ColumnReader<Byte>) DbResultSet::getNullableByte),
+      Map.entry(Integer.class, (ColumnReader<Integer>) DbResultSet::getNullableInteger),
+      Map.entry(Double.class, (ColumnReader<Double>) DbResultSet::getNullableDouble),
+      Map.entry(String.class, (ColumnReader<String>) DbResultSet::getNullableString),
+      Map.entry(BigDecimal.class, (ColumnReader<BigDecimal>) DbResultSet::getNullableBigDecimal),
+      Map.entry(BigInteger.class, (ColumnReader<BigInteger>) DbResultSet::getNullableBigInteger),
+      Map.entry(DtUid.class, (ColumnReader<DtUid>) DbResultSet::getNullableDtUid),
+      Map.entry(DtDate.class, (ColumnReader<DtDate>) DbResultSet::getNullableDtDate),
+      Map.entry(DtDateTime.class, (ColumnReader<DtDateTime>) DbResultSet::getNullableDtDateTime),
+      Map.entry(DtBinaryData.class,
+          (ColumnReader<DtBinaryData>) DbResultSet::getNullableDtBinaryData));
+
+  /**
+   * Reader for given type.
+   *
+   * @param type is type of value read from column
+   * @param <T>  is type of value read from column
+   * @return reader, reading value of given type
+   */
+  @SuppressWarnings("unchecked") // map is keyed by type of reader
+  static <T> ColumnReader<T> of(Class<T> type) {
+    var reader = (ColumnReader<T>) STANDARD_READERS.get(type);
+    if (reader != null) {
+      return reader;
+    }
+    return (resultSet, columnIndex) -> resultSet.getNullableValue(columnIndex, type);
+  }
+
+  /**
+   * Read value from given column of current row of result set.
+   *
+   * @param resultSet   is result set value is read from
+   * @param columnIndex is index of column (starting with 1)
+   * @return value in column, null if column is null
+   */
+  @Nullable T read(DbResultSet resultSet, int columnIndex);
+}
@@ -1,9 +1,13 @@
 package com.provys.db.sqlquery.query;
 
+import com.provys.common.exception.InternalException;
 import com.provys.db.query.elements.Condition;
+import com.provys.db.query.elements.ElementFactory;
 import com.provys.db.query.elements.Expression;
 import com.provys.db.query.elements.FromClause;
 import com.provys.db.query.elements.FromElement;
+import com.provys.db.query.elements.OptimizerHint;
+import com.provys.db.query.elements.OrderByItem;
 import com.provys.db.query.elements.SelectClause;
 import com.provys.db.query.elements.SelectColumn;
 import com.provys.db.query.elements.SelectT;
@@ -18,37 +22,178 @@ import com.provys.db.query.names.SimpleName;
 import com.provys.db.sqlquery.codebuilder.CodeBuilder;
 import com.provys.db.sqlquery.codebuilder.CodeBuilderFactory;
 import com.provys.db.sqlquery.literals.SqlLiteralHandler;
+import com.provys.db.sqlquery.query.SqlFragmentCache.SqlFragment;
+import java.io.Serializable;
+import java.util.AbstractList;
 import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Deque;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.RandomAccess;
+import java.util.Set;
 import java.util.function.Consumer;
-import java.util.stream.Collectors;
+import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
  * Default implementation of Sql builder, delegating code builder functionality to internal code
  * builder instance and using supplied literal handler, function map end element builder.
+ * Optionally, builder can replace literals of selected types with synthetic bind variables; this
+ * way, Sql text of statement does not change when only values of these literals change. Builder
+ * can also render statement in compact mode, on single line without formatting whitespace; such
+ * text is shorter both when sent to database and in database's shared pool. Sub-selects are
+ * rendered to separate fragments that are cached and spliced to statement, thus sub-select
+ * embedded in statement multiple times (or in multiple statements rendered by builders sharing
+ * fragment cache) is only rendered once. Collection bind variable is rendered as sub-select from
+ * array parameter; if database does not support array parameters, its values are passed as lists
+ * of ordinary bind variables.
  */
 public class DefaultSqlBuilder implements SqlBuilder<DefaultSqlBuilder> {
 
-  private final CodeBuilder codeBuilder = CodeBuilderFactory.getCodeBuilder();
+  /**
+   * Prefix used for names of synthetic bind variables, created in place of literals and row limit.
+   * Prefix is reserved, bind variables of statement cannot use it.
+   */
+  private static final String LITERAL_BIND_PREFIX = "SYS_LIT_";
+
+  /**
+   * Size of fragment cache, created by builder that has not been supplied shared one.
+   */
+  private static final int LOCAL_FRAGMENT_CACHE_SIZE = 16;
+
+  /**
+   * Number of bind variables in single IN list, used when collection bind variable is passed as
+   * lists of ordinary bind variables; it is the largest bucket of IN lists built by element
+   * factory.
+   */
+  private static final int COLLECTION_CHUNK_SIZE = 500;
+
+  private static final ElementFactory ELEMENT_FACTORY = ElementFactory.getInstance();
+
+  private final CodeBuilder codeBuilder;
   private final Deque<SqlBuilderPosition> positionStack = new ArrayDeque<>(5);
   private final SqlLiteralHandler sqlLiteralHandler;
   private final SqlBuiltInMap sqlBuiltInMap;
+  private final Set<Class<?>> bindLiteralTypes;
+  private final boolean compact;
+  private final boolean collectionBinds;
+  private @MonotonicNonNull SqlFragmentCache fragmentCache;
+  /**
+   * Bind variables in order of their positions; only collected when builder renders fragment.
+   */
+  private @Nullable List<BindVariable> fragmentBinds = null;
+  private int literalBindCount = 0;
+  /**
+   * Optimizer hints of select being rendered; they are consumed when select clause is appended.
+   */
+  private List<OptimizerHint> pendingHints = List.of();
 
   /**
    * Constructor, creating sql builder that creates new code builder using factory and uses supplied
-   * literal handler, function map end element builder.
+   * literal handler, function map end element builder. Non-null literals of types, present in
+   * supplied set, are not rendered inline, but are exported as synthetic bind variables.
    *
    * @param sqlLiteralHandler is literal handler that will manage export of literals
    * @param sqlBuiltInMap    will support export of functions
+   * @param bindLiteralTypes are types of literals that should be exported as bind variables; type
+   *                         has to match type of literal exactly
+   * @param compact          if true, statement is rendered on single line, otherwise it is
+   *                         formatted
+   * @param collectionBinds  if true, collection bind variables are passed as array parameters,
+   *                         otherwise their values are passed as lists of ordinary bind variables
+   * @param fragmentCache    is cache of rendered sub-selects; it must only be shared between
+   *                         builders with the same settings. If null, builder creates its own cache
+   *                         when needed
    */
-  public DefaultSqlBuilder(SqlLiteralHandler sqlLiteralHandler, SqlBuiltInMap sqlBuiltInMap) {
+  DefaultSqlBuilder(SqlLiteralHandler sqlLiteralHandler, SqlBuiltInMap sqlBuiltInMap,
+      Collection<? extends Class<?>> bindLiteralTypes, boolean compact, boolean collectionBinds,
+      @Nullable SqlFragmentCache fragmentCache) {
+    this.codeBuilder = CodeBuilderFactory
+        .getCodeBuilder(CodeBuilderFactory.DEFAULT_SIZE_HINT, compact);
     this.sqlLiteralHandler = sqlLiteralHandler;
     this.sqlBuiltInMap = sqlBuiltInMap;
+    this.bindLiteralTypes = Set.copyOf(bindLiteralTypes);
+    this.compact = compact;
+    this.collectionBinds = collectionBinds;
+    if (fragmentCache != null) {
+      this.fragmentCache = fragmentCache;
+    }
+  }
+
+  /**
+   * Constructor, creating sql builder that creates new code builder using factory and uses supplied
+   * literal handler, function map end element builder. Non-null literals of types, present in
+   * supplied set, are not rendered inline, but are exported as synthetic bind variables.
+   *
+   * @param sqlLiteralHandler is literal handler that will manage export of literals
+   * @param sqlBuiltInMap    will support export of functions
+   * @param bindLiteralTypes are types of literals that should be exported as bind variables; type
+   *                         has to match type of literal exactly
+   * @param compact          if true, statement is rendered on single line, otherwise it is
+   *                         formatted
+   */
+  public DefaultSqlBuilder(SqlLiteralHandler sqlLiteralHandler, SqlBuiltInMap sqlBuiltInMap,
+      Collection<? extends Class<?>> bindLiteralTypes, boolean compact) {
+    this(sqlLiteralHandler, sqlBuiltInMap, bindLiteralTypes, compact, true, null);
+  }
+
+  /**
+   * Constructor, creating sql builder that creates new code builder using factory and uses supplied
+   * literal handler, function map end element builder. Non-null literals of types, present in
+   * supplied set, are not rendered inline, but are exported as synthetic bind variables.
+   *
+   * @param sqlLiteralHandler is literal handler that will manage export of literals
+   * @param sqlBuiltInMap    will support export of functions
+   * @param bindLiteralTypes are types of literals that should be exported as bind variables; type
+   *                         has to match type of literal exactly
+   */
+  public DefaultSqlBuilder(SqlLiteralHandler sqlLiteralHandler, SqlBuiltInMap sqlBuiltInMap,
+      Collection<? extends Class<?>> bindLiteralTypes) {
+    this(sqlLiteralHandler, sqlBuiltInMap, bindLiteralTypes, false);
+  }
+
+  /**
+   * Constructor, creating sql builder that creates new code builder using factory and uses supplied
+   * literal handler, function map end element builder. All literals are rendered inline.
+   *
+   * @param sqlLiteralHandler is literal handler that will manage export of literals
+   * @param sqlBuiltInMap    will support export of functions
+   */
+  public DefaultSqlBuilder(SqlLiteralHandler sqlLiteralHandler, SqlBuiltInMap sqlBuiltInMap) {
+    this(sqlLiteralHandler, sqlBuiltInMap, Collections.emptySet());
+  }
+
+  /**
+   * Types of literals that are exported as synthetic bind variables instead of being rendered
+   * inline.
+   *
+   * @return set of types of literals exported as bind variables
+   */
+  public Set<Class<?>> getBindLiteralTypes() {
+    return bindLiteralTypes;
+  }
+
+  /**
+   * Indicates if statement is rendered in compact mode, on single line.
+   *
+   * @return true if statement is rendered on single line, false if it is formatted
+   */
+  public boolean isCompact() {
+    return compact;
+  }
+
+  /**
+   * Indicates if collection bind variables are passed as array parameters.
+   *
+   * @return true if collection binds are passed as arrays, false if their values are passed as
+   *     lists of ordinary bind variables
+   */
+  public boolean isCollectionBinds() {
+    return collectionBinds;
   }
 
   /**
@@ -134,11 +279,46 @@ public class DefaultSqlBuilder implements SqlBuilder<DefaultSqlBuilder> {
     return this;
   }
 
+  private void addBind(BindVariable bindVariable) {
+    codeBuilder.addBind(bindVariable);
+    if (fragmentBinds != null) {
+      fragmentBinds.add(bindVariable);
+    }
+  }
+
+  /**
+   * Append collection bind variable. Collection is passed as single array parameter and its
+   * elements are retrieved via sub-select; thus collection bind can only be used as value list of
+   * IN condition.
+   *
+   * @param bindVariable is collection bind variable to be appended
+   */
+  protected void collectionBind(BindVariable bindVariable) {
+    if (getPosition() != SqlBuilderPosition.IN_BRACKET) {
+      throw new InternalException("Collection bind variable " + bindVariable.getName()
+          + " can only be used in IN condition");
+    }
+    codeBuilder.append("SELECT COLUMN_VALUE FROM TABLE(?)");
+    addBind(bindVariable);
+  }
+
   @Override
   public void bind(Class<?> type, BindVariable bindVariable) {
-    codeBuilder
-        .append('?')
-        .addBind(bindVariable);
+    var name = bindVariable.getName().getName();
+    if (name.startsWith(LITERAL_BIND_PREFIX)) {
+      throw new InternalException("Name of bind variable " + name + " uses prefix "
+          + LITERAL_BIND_PREFIX + ", reserved for synthetic bind variables");
+    }
+    appendBind(bindVariable);
+  }
+
+  private void appendBind(BindVariable bindVariable) {
+    if (bindVariable.isCollection()) {
+      collectionBind(bindVariable);
+      return;
+    }
+    codeBuilder.append('?');
+    addBind(bindVariable);
   }
 
   @Override
@@ -169,6 +349,33 @@ public class DefaultSqlBuilder implements SqlBuilder<DefaultSqlBuilder> {
     }
   }
 
+  /**
+   * Arguments of condition or function, presented as list of appenders expected by built-in map.
+   * List is view over arguments of element; no list is built for each node and appender for
+   * argument is only created when built-in template retrieves it.
+   */
+  private final class ArgumentAppenders extends AbstractList<Consumer<? super SqlBuilder<?>>>
+      implements RandomAccess {
+
+    private final List<? extends Expression<?>> arguments;
+
+    ArgumentAppenders(Collection<? extends Expression<?>> arguments) {
+      // arguments of elements are lists; other collections are copied
+      this.arguments = (arguments instanceof List) ? (List<? extends Expression<?>>) arguments
+          : List.copyOf(arguments);
+    }
+
+    @Override
+    public Consumer<? super SqlBuilder<?>> get(int index) {
+      return new ArgumentAppender(arguments.get(index));
+    }
+
+    @Override
+    public int size() {
+      return arguments.size();
+    }
+  }
+
   /**
    * Consume condition, based on supplied operator and arguments.
    *
@@ -178,27 +385,116 @@ public class DefaultSqlBuilder implements SqlBuilder<DefaultSqlBuilder> {
   @Override
   public void condition(ConditionalOperator operator,
       Collection<? extends Expression<?>> arguments) {
+    if (!collectionBinds && (operator == ConditionalOperator.COND_IN_NONNULL)
+        && (arguments.size() == 2)) {
+      var iterator = arguments.iterator();
+      var expression = iterator.next();
+      var collectionBind = getCollectionBind(iterator.next());
+      if (collectionBind != null) {
+        getChunkedIn(expression, collectionBind).apply(this);
+        return;
+      }
+    }
     if (getPosition() == SqlBuilderPosition.WHERE) {
       append("    ");
     }
-    List<Consumer<? super SqlBuilder<?>>> argumentsAppend = arguments.stream()
-        .map(ArgumentAppender::new)
-        .collect(Collectors.toList());
-    append(operator, argumentsAppend);
+    append(operator, new ArgumentAppenders(arguments));
   }
 
   @Override
   public void function(Class<?> type, BuiltInFunction function,
       Collection<? extends Expression<?>> arguments) {
-    List<Consumer<? super SqlBuilder<?>>> argumentsAppend = arguments.stream()
-        .map(ArgumentAppender::new)
-        .collect(Collectors.toList());
-    append(function, argumentsAppend);
+    append(function, new ArgumentAppenders(arguments));
+  }
+
+  /**
+   * Collection bind variable, if supplied expression is plain reference to it.
+   *
+   * @param expression is expression to be examined
+   * @return collection bind variable expression refers to, null if expression is something else
+   */
+  private static @Nullable BindVariable getCollectionBind(Expression<?> expression) {
+    var binds = expression.getBinds();
+    if (binds.size() != 1) {
+      return null;
+    }
+    var bindVariable = binds.iterator().next();
+    if (!bindVariable.isCollection()
+        || !expression.equals(ELEMENT_FACTORY.bind(expression.getType(), bindVariable))) {
+      return null;
+    }
+    return bindVariable;
+  }
+
+  /**
+   * Condition testing if expression is equal to any of values of collection bind variable, with
+   * values passed as ordinary bind variables. Values are split to IN lists of
+   * {@link #COLLECTION_CHUNK_SIZE} bind variables, connected by OR; last list is padded by
+   * repeating the last value, thus Sql text only changes when number of lists changes. Bind
+   * variables are named by collection bind variable with position of value appended.
+   *
+   * @param expression   is expression being tested
+   * @param bindVariable is collection bind variable holding values
+   * @return condition on lists of bind variables
+   */
+  private static Condition getChunkedIn(Expression<?> expression, BindVariable bindVariable) {
+    var value = bindVariable.getValue();
+    var values = (value == null) ? List.of() : (List<?>) value;
+    var type = bindVariable.getType().asSubclass(Serializable.class);
+    var name = bindVariable.getName().getName();
+    var chunks = Math.max(1, (values.size() + COLLECTION_CHUNK_SIZE - 1) / COLLECTION_CHUNK_SIZE);
+    var conditions = new ArrayList<Condition>(chunks);
+    for (int chunk = 0; chunk < chunks; chunk++) {
+      var arguments = new ArrayList<Expression<?>>(COLLECTION_CHUNK_SIZE + 1);
+      arguments.add(expression);
+      for (int i = chunk * COLLECTION_CHUNK_SIZE; i < (chunk + 1) * COLLECTION_CHUNK_SIZE; i++) {
+        @Nullable Object element = values.isEmpty() ? null
+            : values.get(Math.min(i, values.size() - 1));
+        arguments.add(ELEMENT_FACTORY.bind(type,
+            createBind(BindName.valueOf(name + (i + 1)), type, element)));
+      }
+      conditions.add(ELEMENT_FACTORY.condition(ConditionalOperator.COND_IN_NONNULL, arguments));
+    }
+    return (chunks == 1) ? conditions.get(0)
+        : ELEMENT_FACTORY.condition(ConditionalOperator.COND_OR, conditions);
+  }
+
+  // values of literals and collection binds have been validated to be of immutable type
+  @SuppressWarnings("Immutable")
+  private static <T extends Serializable> BindVariable createBind(BindName name,
+      Class<T> type, @Nullable Object value) {
+    return new BindVariable(name, type, type.cast(value));
+  }
+
+  /**
+   * Create synthetic bind variable, representing supplied literal value. Names of synthetic binds
+   * are derived from order of literal in statement, thus statements that only differ in values of
+   * literals get the same Sql text.
+   *
+   * @param type  is Java type of literal
+   * @param value is value of literal
+   * @return new bind variable with supplied value
+   */
+  protected BindVariable getLiteralBind(Class<?> type, Object value) {
+    return createBind(BindName.valueOf(LITERAL_BIND_PREFIX + (++literalBindCount)),
+        type.asSubclass(Serializable.class), value);
   }
 
+  /**
+   * Consume literal. Non-null literal of one of bind literal types is exported as synthetic bind
+   * variable, other literals are rendered inline using literal handler.
+   *
+   * @param type  is type of expression
+   * @param value is expression value
+   * @param <T>   is type of expression
+   */
   @Override
   public <T> void literal(Class<T> type, @Nullable T value) {
-    appendLiteral(value, type);
+    if ((value != null) && bindLiteralTypes.contains(type)) {
+      appendBind(getLiteralBind(type, value));
+    } else {
+      appendLiteral(value, type);
+    }
   }
 
   /**
@@ -228,27 +524,89 @@ public class DefaultSqlBuilder implements SqlBuilder<DefaultSqlBuilder> {
     }
   }
 
+  private void orderBy(List<OrderByItem> orderBy) {
+    if (!orderBy.isEmpty()) {
+      codeBuilder
+          .appendLine("ORDER BY")
+          .increasedIdent("  ", ", ", 4);
+      for (var item : orderBy) {
+        item.getExpression().apply(this);
+        if (item.isDescending()) {
+          codeBuilder.append(" DESC");
+        }
+        codeBuilder.appendLine();
+      }
+      codeBuilder.popIdent();
+    }
+  }
+
+  /**
+   * Append row limiting clause. Number of rows is passed as synthetic bind variable, thus queries
+   * that only differ in page size share the same Sql text.
+   */
+  private void fetchFirst(@Nullable Integer fetchFirst) {
+    if (fetchFirst != null) {
+      codeBuilder.append("FETCH FIRST ");
+      appendBind(getLiteralBind(Integer.class, fetchFirst));
+      appendLine(" ROWS ONLY");
+    }
+  }
+
+  /**
+   * Append SELECT keyword, followed by comment with optimizer hints if there are any pending.
+   */
+  private void selectKeyword() {
+    var hints = pendingHints;
+    pendingHints = List.of();
+    codeBuilder.append("SELECT");
+    if (!hints.isEmpty()) {
+      var hintText = new StringBuilder(32 * hints.size());
+      for (var hint : hints) {
+        var length = hintText.length();
+        if (length > 0) {
+          hintText.append(' ');
+        }
+        sqlBuiltInMap.appendHint(hint, hintText);
+        if ((length > 0) && (hintText.length() == length + 1)) {
+          // hint not supported by database, remove separator
+          hintText.setLength(length);
+        }
+      }
+      if (hintText.length() > 0) {
+        codeBuilder.append(" /*+ ").append(hintText.toString()).append(" */");
+      }
+    }
+    codeBuilder.appendLine();
+  }
+
   @Override
   public void select(SelectClause selectClause, FromClause fromClause,
-      @Nullable Condition whereClause) {
+      @Nullable Condition whereClause, List<OrderByItem> orderBy, @Nullable Integer fetchFirst,
+      List<OptimizerHint> hints) {
+    pendingHints = hints;
     selectClause.apply(this);
     fromClause.apply(this);
     where(whereClause);
+    orderBy(orderBy);
+    fetchFirst(fetchFirst);
   }
 
   @Override
   public void select(Collection<? extends SelectColumn<?>> columns, FromClause fromClause,
-      @Nullable Condition whereClause) {
+      @Nullable Condition whereClause, List<OrderByItem> orderBy, @Nullable Integer fetchFirst,
+      List<OptimizerHint> hints) {
+    pendingHints = hints;
     selectColumns(columns);
     fromClause.apply(this);
     where(whereClause);
+    orderBy(orderBy);
+    fetchFirst(fetchFirst);
   }
 
   @Override
   public void selectColumns(Collection<? extends SelectColumn<?>> columns) {
-    codeBuilder
-        .appendLine("SELECT")
-        .increasedIdent("  ", ", ", 4);
+    selectKeyword();
+    codeBuilder.increasedIdent("  ", ", ", 4);
     for (var column : columns) {
       column.apply(this);
       codeBuilder.appendLine();
@@ -280,12 +638,88 @@ public class DefaultSqlBuilder implements SqlBuilder<DefaultSqlBuilder> {
     appendAlias(alias);
   }
 
+  private SqlFragmentCache getFragmentCache() {
+    if (fragmentCache == null) {
+      fragmentCache = new SqlFragmentCache(LOCAL_FRAGMENT_CACHE_SIZE);
+    }
+    return fragmentCache;
+  }
+
+  /**
+   * Render sub-select to new fragment. Fragment is rendered by clone of this builder, thus it
+   * shares settings and fragment cache with this builder.
+   *
+   * @param select is sub-select to be rendered
+   * @return fragment with Sql text and binds of sub-select
+   */
+  private SqlFragment renderFragment(SelectT<?> select) {
+    var fragmentBuilder = getClone();
+    var binds = new ArrayList<BindVariable>(4);
+    fragmentBuilder.fragmentBinds = binds;
+    try {
+      select.apply(fragmentBuilder);
+      return new SqlFragment(fragmentBuilder.getSql(), binds, fragmentBuilder.literalBindCount,
+          fragmentBuilder.codeBuilder.isNewLine());
+    } finally {
+      fragmentBuilder.release();
+    }
+  }
+
+  /**
+   * Synthetic literal binds are numbered from start of fragment; when fragment is spliced,
+   * their names have to follow synthetic binds already present in statement.
+   *
+   * @param bind     is bind from fragment
+   * @param fragment is fragment bind comes from
+   * @return bind that should be used in this builder
+   */
+  private BindVariable rebaseLiteralBind(BindVariable bind, SqlFragment fragment) {
+    var name = bind.getName().getName();
+    if (!name.startsWith(LITERAL_BIND_PREFIX)) {
+      return bind;
+    }
+    int number;
+    try {
+      number = Integer.parseInt(name.substring(LITERAL_BIND_PREFIX.length()));
+    } catch (NumberFormatException e) {
+      return bind;
+    }
+    if ((number < 1) || (number > fragment.getLiteralBindCount()) || (bind.getValue() == null)) {
+      return bind;
+    }
+    return createBind(BindName.valueOf(LITERAL_BIND_PREFIX + (number + literalBindCount)),
+        bind.getType().asSubclass(Serializable.class), bind.getValue());
+  }
+
+  /**
+   * Splice fragment to this builder. Text is appended using current ident, binds are added in
+   * their original order, thus their positions are shifted behind binds already present in
+   * statement.
+   *
+   * @param fragment is fragment to be appended
+   */
+  private void appendFragment(SqlFragment fragment) {
+    codeBuilder.appendWrapped(fragment.getSql());
+    if (fragment.isNewLine() && !codeBuilder.isNewLine()) {
+      codeBuilder.appendLine();
+    }
+    for (var bind : fragment.getBinds()) {
+      addBind((fragment.getLiteralBindCount() == 0) ? bind : rebaseLiteralBind(bind, fragment));
+    }
+    literalBindCount += fragment.getLiteralBindCount();
+  }
+
   @Override
   public void fromSelect(SelectT<?> select, @Nullable SimpleName alias) {
     codeBuilder
         .appendLine("(")
         .increasedIdent(2);
-    select.apply(this);
+    if (getPosition() == SqlBuilderPosition.GENERAL) {
+      appendFragment(getFragmentCache().get(select, this::renderFragment));
+    } else {
+      // fragments are rendered in general position; they cannot be used in other contexts
+      select.apply(this);
+    }
     codeBuilder
         .popIdent()
         .increasedIdent(0) // we want clear line with original ident level
@@ -323,6 +757,11 @@ public class DefaultSqlBuilder implements SqlBuilder<DefaultSqlBuilder> {
 
   @Override
   public void simpleComment(String comment) {
+    if (compact) {
+      // line comment would swallow rest of single line statement
+      longComment(comment);
+      return;
+    }
     codeBuilder
         .append("--")
         .appendLine(comment);
@@ -338,7 +777,8 @@ public class DefaultSqlBuilder implements SqlBuilder<DefaultSqlBuilder> {
 
   @Override
   public DefaultSqlBuilder getClone() {
-    return new DefaultSqlBuilder(sqlLiteralHandler, sqlBuiltInMap);
+    return new DefaultSqlBuilder(sqlLiteralHandler, sqlBuiltInMap, bindLiteralTypes, compact,
+        collectionBinds, getFragmentCache());
   }
 
   @Override
@@ -356,6 +796,14 @@ public class DefaultSqlBuilder implements SqlBuilder<DefaultSqlBuilder> {
     return codeBuilder.getBindValues();
   }
 
+  /**
+   * Release underlying code builder, allowing reuse of its buffer. Sql text cannot be retrieved
+   * from builder after release, but bind variables remain accessible.
+   */
+  public void release() {
+    codeBuilder.release();
+  }
+
   @Override
   public boolean equals(@Nullable Object o) {
     if (this == o) {
@@ -367,7 +815,11 @@ public class DefaultSqlBuilder implements SqlBuilder<DefaultSqlBuilder> {
     DefaultSqlBuilder that = (DefaultSqlBuilder) o;
     return codeBuilder.equals(that.codeBuilder)
         && sqlLiteralHandler.equals(that.sqlLiteralHandler)
-        && sqlBuiltInMap.equals(that.sqlBuiltInMap);
+        && sqlBuiltInMap.equals(that.sqlBuiltInMap)
+        && bindLiteralTypes.equals(that.bindLiteralTypes)
+        && compact == that.compact
+        && collectionBinds == that.collectionBinds
+        && literalBindCount == that.literalBindCount;
   }
 
   @Override
@@ -375,6 +827,10 @@ public class DefaultSqlBuilder implements SqlBuilder<DefaultSqlBuilder> {
     int result = codeBuilder.hashCode();
     result = 31 * result + sqlLiteralHandler.hashCode();
     result = 31 * result + sqlBuiltInMap.hashCode();
+    result = 31 * result + bindLiteralTypes.hashCode();
+    result = 31 * result + (compact ? 1 : 0);
+    result = 31 * result + (collectionBinds ? 1 : 0);
+    result = 31 * result + literalBindCount;
     return result;
   }
 
@@ -384,6 +840,10 @@ public class DefaultSqlBuilder implements SqlBuilder<DefaultSqlBuilder> {
         + "codeBuilder=" + codeBuilder
         + ", sqlLiteralHandler=" + sqlLiteralHandler
         + ", sqlFunctionMap=" + sqlBuiltInMap
+        + ", bindLiteralTypes=" + bindLiteralTypes
+        + ", compact=" + compact
+        + ", collectionBinds=" + collectionBinds
+        + ", literalBindCount=" + literalBindCount
         + '}';
   }
 }
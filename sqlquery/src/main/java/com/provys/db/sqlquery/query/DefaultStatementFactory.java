@@ -1,11 +1,32 @@
 package com.provys.db.sqlquery.query;
 
+import com.provys.common.exception.InternalException;
+import com.provys.common.exception.RegularException;
 import com.provys.db.dbcontext.DbContext;
 import com.provys.db.query.elements.SelectT;
 import com.provys.db.query.elements.SelectT1;
 import com.provys.db.query.elements.SelectT2;
+import com.provys.db.query.names.BindName;
+import com.provys.db.query.names.BindVariable;
+import com.provys.db.query.names.BindWithPos;
+import com.provys.db.sqlparser.SqlParsedToken;
+import com.provys.db.sqlparser.SqlTokenType;
+import com.provys.db.sqlparser.SqlTokenizer;
+import com.provys.db.sqlparser.impl.DefaultSqlTokenizer;
 import com.provys.db.sqlquery.literals.SqlLiteralHandler;
 import com.provys.db.sqlquery.literals.SqlLiteralTypeHandlerMap;
+import com.provys.db.sqlquery.query.RawSqlCache.ParsedSql;
+import com.provys.db.sqlquery.query.SqlRenderCache.RenderedSelect;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
@@ -13,22 +34,123 @@ import org.checkerframework.checker.nullness.qual.Nullable;
  */
 public final class DefaultStatementFactory implements StatementFactory {
 
+  private static final SqlTokenizer SQL_TOKENIZER = new DefaultSqlTokenizer();
+
   private final DbContext dbContext;
   private final SqlLiteralHandler sqlLiteralHandler;
   private final SqlBuiltInMap sqlBuiltInMap;
+  private final Set<Class<?>> bindLiteralTypes;
+  private final @Nullable SqlRenderCache renderCache;
+  private final @Nullable SqlFragmentCache fragmentCache;
+  private final @Nullable RawSqlCache rawSqlCache;
+  private final boolean compactSql;
+  private final @Nullable QueryResultCache resultCache;
 
   /**
    * Create statement factory based on supplied database context, literal handler and function map.
+   * Literals of specified types will be exported as bind variables, thus statements that only
+   * differ in values of such literals share the same Sql text. Sql text rendered from queries is
+   * kept in cache of specified size. Sql text is either formatted or rendered in compact mode, on
+   * single line. Rows fetched by statements created via {@code getCachedSelect} are kept in
+   * supplied result cache.
    *
    * @param dbContext         is database context used as source for connections
    * @param sqlLiteralHandler is literal handler, used to produce Sql literal values
-   * @param sqlBuiltInMap    is function map, defining templates for sql built-in functions
+   * @param sqlBuiltInMap     is function map, defining templates for sql built-in functions
+   * @param bindLiteralTypes  are types of literals that should be exported as bind variables
+   * @param renderCacheSize   is maximal number of rendered queries kept in cache (and of rendered
+   *                          sub-select fragments, shared between queries, and of parsed raw Sql
+   *                          texts); 0 disables caching
+   * @param compactSql        if true, Sql text is rendered on single line, otherwise it is
+   *                          formatted
+   * @param resultCache       is cache of fetched rows, null disables result caching
    */
   public DefaultStatementFactory(DbContext dbContext, SqlLiteralHandler sqlLiteralHandler,
-      SqlBuiltInMap sqlBuiltInMap) {
+      SqlBuiltInMap sqlBuiltInMap, Collection<? extends Class<?>> bindLiteralTypes,
+      int renderCacheSize, boolean compactSql, @Nullable QueryResultCache resultCache) {
+    if (renderCacheSize < 0) {
+      throw new IllegalArgumentException("Render cache size cannot be negative");
+    }
     this.dbContext = dbContext;
     this.sqlLiteralHandler = sqlLiteralHandler;
     this.sqlBuiltInMap = sqlBuiltInMap;
+    this.bindLiteralTypes = Set.copyOf(bindLiteralTypes);
+    this.renderCache = (renderCacheSize == 0) ? null : new SqlRenderCache(renderCacheSize);
+    this.fragmentCache = (renderCacheSize == 0) ? null : new SqlFragmentCache(renderCacheSize);
+    this.rawSqlCache = (renderCacheSize == 0) ? null : new RawSqlCache(renderCacheSize);
+    this.compactSql = compactSql;
+    this.resultCache = resultCache;
+  }
+
+  /**
+   * Create statement factory based on supplied database context, literal handler and function map.
+   * Literals of specified types will be exported as bind variables, thus statements that only
+   * differ in values of such literals share the same Sql text. Sql text rendered from queries is
+   * kept in cache of specified size. Sql text is either formatted or rendered in compact mode, on
+   * single line; compact text is smaller when sent to database and in database's shared pool.
+   *
+   * @param dbContext         is database context used as source for connections
+   * @param sqlLiteralHandler is literal handler, used to produce Sql literal values
+   * @param sqlBuiltInMap     is function map, defining templates for sql built-in functions
+   * @param bindLiteralTypes  are types of literals that should be exported as bind variables
+   * @param renderCacheSize   is maximal number of rendered queries kept in cache (and of rendered
+   *                          sub-select fragments, shared between queries, and of parsed raw Sql
+   *                          texts); 0 disables caching
+   * @param compactSql        if true, Sql text is rendered on single line, otherwise it is
+   *                          formatted
+   */
+  public DefaultStatementFactory(DbContext dbContext, SqlLiteralHandler sqlLiteralHandler,
+      SqlBuiltInMap sqlBuiltInMap, Collection<? extends Class<?>> bindLiteralTypes,
+      int renderCacheSize, boolean compactSql) {
+    this(dbContext, sqlLiteralHandler, sqlBuiltInMap, bindLiteralTypes, renderCacheSize,
+        compactSql, null);
+  }
+
+  /**
+   * Create statement factory based on supplied database context, literal handler and function map.
+   * Literals of specified types will be exported as bind variables, thus statements that only
+   * differ in values of such literals share the same Sql text. Sql text rendered from queries is
+   * kept in cache of specified size, thus repeated execution of the same query (e.g. query
+   * template) skips Sql generation.
+   *
+   * @param dbContext         is database context used as source for connections
+   * @param sqlLiteralHandler is literal handler, used to produce Sql literal values
+   * @param sqlBuiltInMap     is function map, defining templates for sql built-in functions
+   * @param bindLiteralTypes  are types of literals that should be exported as bind variables
+   * @param renderCacheSize   is maximal number of rendered queries kept in cache (and of rendered
+   *                          sub-select fragments, shared between queries); 0 disables caching
+   */
+  public DefaultStatementFactory(DbContext dbContext, SqlLiteralHandler sqlLiteralHandler,
+      SqlBuiltInMap sqlBuiltInMap, Collection<? extends Class<?>> bindLiteralTypes,
+      int renderCacheSize) {
+    this(dbContext, sqlLiteralHandler, sqlBuiltInMap, bindLiteralTypes, renderCacheSize, false);
+  }
+
+  /**
+   * Create statement factory based on supplied database context, literal handler and function map.
+   * Literals of specified types will be exported as bind variables, thus statements that only
+   * differ in values of such literals share the same Sql text.
+   *
+   * @param dbContext         is database context used as source for connections
+   * @param sqlLiteralHandler is literal handler, used to produce Sql literal values
+   * @param sqlBuiltInMap     is function map, defining templates for sql built-in functions
+   * @param bindLiteralTypes  are types of literals that should be exported as bind variables
+   */
+  public DefaultStatementFactory(DbContext dbContext, SqlLiteralHandler sqlLiteralHandler,
+      SqlBuiltInMap sqlBuiltInMap, Collection<? extends Class<?>> bindLiteralTypes) {
+    this(dbContext, sqlLiteralHandler, sqlBuiltInMap, bindLiteralTypes, 0);
+  }
+
+  /**
+   * Create statement factory based on supplied database context, literal handler and function map.
+   *
+   * @param dbContext         is database context used as source for connections
+   * @param sqlLiteralHandler is literal handler, used to produce Sql literal values
+   * @param sqlBuiltInMap    is function map, defining templates for sql built-in functions
+   */
+  public DefaultStatementFactory(DbContext dbContext, SqlLiteralHandler sqlLiteralHandler,
+      SqlBuiltInMap sqlBuiltInMap) {
+    this(dbContext, sqlLiteralHandler, sqlBuiltInMap, Collections.emptySet());
   }
 
   /**
@@ -68,32 +190,277 @@ public final class DefaultStatementFactory implements StatementFactory {
     return sqlBuiltInMap;
   }
 
+  /**
+   * Value of field bindLiteralTypes.
+   *
+   * @return value of field bindLiteralTypes
+   */
+  public Set<Class<?>> getBindLiteralTypes() {
+    return bindLiteralTypes;
+  }
+
+  /**
+   * Maximal number of rendered queries kept in render cache.
+   *
+   * @return size of render cache, 0 if render cache is disabled
+   */
+  public int getRenderCacheSize() {
+    return (renderCache == null) ? 0 : renderCache.getMaxSize();
+  }
+
+  /**
+   * Value of field compactSql.
+   *
+   * @return value of field compactSql
+   */
+  public boolean isCompactSql() {
+    return compactSql;
+  }
+
+  /**
+   * Value of field resultCache.
+   *
+   * @return value of field resultCache, null if result caching is disabled
+   */
+  public @Nullable QueryResultCache getResultCache() {
+    return resultCache;
+  }
+
   private DefaultSqlBuilder getSqlBuilder() {
-    return new DefaultSqlBuilder(sqlLiteralHandler, sqlBuiltInMap);
+    return new DefaultSqlBuilder(sqlLiteralHandler, sqlBuiltInMap, bindLiteralTypes, compactSql,
+        dbContext.supportsCollectionBinds(), fragmentCache);
+  }
+
+  private RenderedSelect renderSelect(SelectT<?> query) {
+    var builder = getSqlBuilder();
+    try {
+      query.apply(builder);
+      return new RenderedSelect(builder.getSql(), builder.getBindsWithPos(),
+          builder.getBindValues());
+    } finally {
+      builder.release();
+    }
+  }
+
+  private RenderedSelect getRenderedSelect(SelectT<?> query) {
+    if (renderCache == null) {
+      return renderSelect(query);
+    }
+    return renderCache.get(query, this::renderSelect);
   }
 
   @Override
   public SelectStatement getSelect(SelectT<?> query) {
-    var builder = getSqlBuilder();
-    query.apply(builder);
-    return new SelectStatementImpl(builder.getSql(), builder.getBindsWithPos(),
-        builder.getBindValues(), dbContext);
+    var rendered = getRenderedSelect(query);
+    return new SelectStatementImpl(rendered.getSql(), rendered.getBindsWithPos(),
+        rendered.getBindValues(), dbContext);
   }
 
   @Override
   public <T1> SelectStatementT1<T1> getSelect(SelectT1<T1> query) {
-    var builder = getSqlBuilder();
-    query.apply(builder);
-    return new SelectStatementT1Impl<>(builder.getSql(), builder.getBindsWithPos(),
-        builder.getBindValues(), dbContext, query.getType1());
+    var rendered = getRenderedSelect(query);
+    return new SelectStatementT1Impl<>(rendered.getSql(), rendered.getBindsWithPos(),
+        rendered.getBindValues(), dbContext, query.getType1());
   }
 
   @Override
   public <T1, T2> SelectStatementT2<T1, T2> getSelect(SelectT2<? extends T1, ? extends T2> query) {
-    var builder = getSqlBuilder();
-    query.apply(builder);
-    return new SelectStatementT2Impl<>(builder.getSql(), builder.getBindsWithPos(),
-        builder.getBindValues(), dbContext, query.getType1(), query.getType2());
+    var rendered = getRenderedSelect(query);
+    return new SelectStatementT2Impl<>(rendered.getSql(), rendered.getBindsWithPos(),
+        rendered.getBindValues(), dbContext, query.getType1(), query.getType2());
+  }
+
+  @Override
+  public SelectStatement getReadOnlySelect(SelectT<?> query) {
+    var rendered = getRenderedSelect(query);
+    return new SelectStatementImpl(rendered.getSql(), rendered.getBindsWithPos(),
+        rendered.getBindValues(), dbContext, true);
+  }
+
+  @Override
+  public <T1> SelectStatementT1<T1> getReadOnlySelect(SelectT1<T1> query) {
+    var rendered = getRenderedSelect(query);
+    return new SelectStatementT1Impl<>(rendered.getSql(), rendered.getBindsWithPos(),
+        rendered.getBindValues(), dbContext, true, query.getType1());
+  }
+
+  @Override
+  public <T1, T2> SelectStatementT2<T1, T2> getReadOnlySelect(
+      SelectT2<? extends T1, ? extends T2> query) {
+    var rendered = getRenderedSelect(query);
+    return new SelectStatementT2Impl<>(rendered.getSql(), rendered.getBindsWithPos(),
+        rendered.getBindValues(), dbContext, true, query.getType1(), query.getType2());
+  }
+
+  @Override
+  public <T1> SelectStatementT1<T1> getCachedSelect(SelectT1<T1> query, Duration timeToLive) {
+    var rendered = getRenderedSelect(query);
+    var result = new SelectStatementT1Impl<>(rendered.getSql(), rendered.getBindsWithPos(),
+        rendered.getBindValues(), dbContext, query.getType1());
+    if (resultCache != null) {
+      result.setResultCache(resultCache, dbContext, timeToLive,
+          SqlTableCollector.getTables(query), dbContext.getProvysUserId(),
+          List.of(query.getType1()));
+    }
+    return result;
+  }
+
+  @Override
+  public <T1, T2> SelectStatementT2<T1, T2> getCachedSelect(
+      SelectT2<? extends T1, ? extends T2> query, Duration timeToLive) {
+    var rendered = getRenderedSelect(query);
+    var result = new SelectStatementT2Impl<T1, T2>(rendered.getSql(),
+        rendered.getBindsWithPos(), rendered.getBindValues(), dbContext, query.getType1(),
+        query.getType2());
+    if (resultCache != null) {
+      result.setResultCache(resultCache, dbContext, timeToLive,
+          SqlTableCollector.getTables(query), dbContext.getProvysUserId(),
+          List.of(query.getType1(), query.getType2()));
+    }
+    return result;
+  }
+
+  /**
+   * Parse raw Sql text. Named bind variables are replaced by positional placeholders; rest of text
+   * is kept as is. Text tokenizer cannot parse (e.g. because it contains symbols tokenizer does
+   * not know) is only scanned for bind variables and otherwise passed to database unparsed.
+   *
+   * @param sql is raw Sql text
+   * @return Sql text with positional placeholders and positions of bind variables
+   */
+  private static ParsedSql parseSql(String sql) {
+    List<SqlParsedToken> tokens;
+    try {
+      tokens = SQL_TOKENIZER.tokenize(sql);
+    } catch (InternalException | RegularException e) {
+      return scanSql(sql);
+    }
+    var jdbcSql = new StringBuilder(sql.length());
+    var bindPositions = new LinkedHashMap<BindName, List<Integer>>();
+    var copied = 0;
+    var position = 0;
+    for (var token : tokens) {
+      if (token.getTokenType() == SqlTokenType.BIND) {
+        jdbcSql.append(sql, copied, token.getOffset()).append('?');
+        copied = token.getOffset() + token.getLength();
+        position++;
+        for (var bind : token.getBinds()) {
+          bindPositions.computeIfAbsent(bind.getName(), name -> new ArrayList<>(3))
+              .add(position);
+        }
+      }
+    }
+    jdbcSql.append(sql, copied, sql.length());
+    return new ParsedSql(jdbcSql.toString(), bindPositions);
+  }
+
+  private static boolean isBindNameChar(char character) {
+    return ((character >= 'A') && (character <= 'Z')) || ((character >= 'a') && (character <= 'z'))
+        || ((character >= '0') && (character <= '9')) || (character == '_');
+  }
+
+  private static int getEnd(String sql, String terminator, int from) {
+    var end = sql.indexOf(terminator, from);
+    return (end < 0) ? sql.length() : end + terminator.length();
+  }
+
+  /**
+   * Replace named bind variables in raw Sql text by positional placeholders without tokenizing it.
+   * Only quoted strings, quoted identifiers and comments are recognised (bind variables are not
+   * looked for in them), everything else is copied as is.
+   *
+   * @param sql is raw Sql text
+   * @return Sql text with positional placeholders and positions of bind variables
+   */
+  private static ParsedSql scanSql(String sql) {
+    var jdbcSql = new StringBuilder(sql.length());
+    var bindPositions = new LinkedHashMap<BindName, List<Integer>>();
+    var position = 0;
+    var index = 0;
+    while (index < sql.length()) {
+      var character = sql.charAt(index);
+      int end;
+      if ((character == '\'') || (character == '"')) {
+        // doubled quote inside literal is read as two adjacent literals
+        end = getEnd(sql, String.valueOf(character), index + 1);
+      } else if (sql.startsWith("--", index)) {
+        end = getEnd(sql, "\n", index + 2);
+      } else if (sql.startsWith("/*", index)) {
+        end = getEnd(sql, "*/", index + 2);
+      } else if ((character == ':') && (index + 1 < sql.length())
+          && isBindNameChar(sql.charAt(index + 1))) {
+        end = index + 1;
+        while ((end < sql.length()) && isBindNameChar(sql.charAt(end))) {
+          end++;
+        }
+        position++;
+        bindPositions.computeIfAbsent(BindName.valueOf(sql.substring(index + 1, end)),
+            name -> new ArrayList<>(3)).add(position);
+        jdbcSql.append('?');
+        index = end;
+        continue;
+      } else {
+        end = index + 1;
+      }
+      jdbcSql.append(sql, index, end);
+      index = end;
+    }
+    return new ParsedSql(jdbcSql.toString(), bindPositions);
+  }
+
+  private ParsedSql getParsedSql(String sql) {
+    if (rawSqlCache == null) {
+      return parseSql(sql);
+    }
+    return rawSqlCache.get(sql, DefaultStatementFactory::parseSql);
+  }
+
+  /**
+   * Combine parsed Sql with supplied bind variables, that define types and values of binds.
+   */
+  private RenderedSelect bindSql(String sql, Collection<BindVariable> binds) {
+    var parsedSql = getParsedSql(sql);
+    var bindsByName = new HashMap<BindName, BindVariable>(binds.size());
+    for (var bind : binds) {
+      bindsByName.put(bind.getName(), bind);
+    }
+    var bindsWithPos = new ArrayList<BindWithPos>(parsedSql.getBindPositions().size());
+    var bindValues = new HashMap<BindName, @Nullable Object>(
+        parsedSql.getBindPositions().size());
+    for (var entry : parsedSql.getBindPositions().entrySet()) {
+      var bind = bindsByName.get(entry.getKey());
+      if (bind == null) {
+        throw new InternalException("Bind variable " + entry.getKey() + " used in Sql " + sql
+            + " not supplied");
+      }
+      bindsWithPos.add(new BindWithPos(entry.getKey(), bind.getType(), entry.getValue(),
+          bind.isCollection()));
+      bindValues.put(entry.getKey(), bind.getValue());
+    }
+    return new RenderedSelect(parsedSql.getSql(), bindsWithPos, bindValues);
+  }
+
+  @Override
+  public SelectStatement getSelect(String sql, Collection<BindVariable> binds) {
+    var rendered = bindSql(sql, binds);
+    return new SelectStatementImpl(rendered.getSql(), rendered.getBindsWithPos(),
+        rendered.getBindValues(), dbContext);
+  }
+
+  @Override
+  public <T1> SelectStatementT1<T1> getSelect(String sql, Collection<BindVariable> binds,
+      Class<T1> type1) {
+    var rendered = bindSql(sql, binds);
+    return new SelectStatementT1Impl<>(rendered.getSql(), rendered.getBindsWithPos(),
+        rendered.getBindValues(), dbContext, type1);
+  }
+
+  @Override
+  public <T1, T2> SelectStatementT2<T1, T2> getSelect(String sql, Collection<BindVariable> binds,
+      Class<T1> type1, Class<T2> type2) {
+    var rendered = bindSql(sql, binds);
+    return new SelectStatementT2Impl<>(rendered.getSql(), rendered.getBindsWithPos(),
+        rendered.getBindValues(), dbContext, type1, type2);
   }
 
   @Override
@@ -107,7 +474,11 @@ public final class DefaultStatementFactory implements StatementFactory {
     DefaultStatementFactory that = (DefaultStatementFactory) o;
     return dbContext.equals(that.dbContext)
         && sqlLiteralHandler.equals(that.sqlLiteralHandler)
-        && sqlBuiltInMap.equals(that.sqlBuiltInMap);
+        && sqlBuiltInMap.equals(that.sqlBuiltInMap)
+        && bindLiteralTypes.equals(that.bindLiteralTypes)
+        && getRenderCacheSize() == that.getRenderCacheSize()
+        && compactSql == that.compactSql
+        && Objects.equals(resultCache, that.resultCache);
   }
 
   @Override
@@ -115,6 +486,10 @@ public final class DefaultStatementFactory implements StatementFactory {
     int result = dbContext.hashCode();
     result = 31 * result + sqlLiteralHandler.hashCode();
     result = 31 * result + sqlBuiltInMap.hashCode();
+    result = 31 * result + bindLiteralTypes.hashCode();
+    result = 31 * result + getRenderCacheSize();
+    result = 31 * result + (compactSql ? 1 : 0);
+    result = 31 * result + (resultCache != null ? resultCache.hashCode() : 0);
     return result;
   }
 
@@ -124,6 +499,12 @@ public final class DefaultStatementFactory implements StatementFactory {
         + "dbContext=" + dbContext
         + ", sqlLiteralHandler=" + sqlLiteralHandler
         + ", sqlFunctionMap=" + sqlBuiltInMap
+        + ", bindLiteralTypes=" + bindLiteralTypes
+        + ", renderCache=" + renderCache
+        + ", fragmentCache=" + fragmentCache
+        + ", rawSqlCache=" + rawSqlCache
+        + ", compactSql=" + compactSql
+        + ", resultCache=" + resultCache
         + '}';
   }
 }
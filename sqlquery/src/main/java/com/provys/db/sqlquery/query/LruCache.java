@@ -0,0 +1,242 @@
+package com.provys.db.sqlquery.query;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Bounded thread-safe cache with least recently used eviction, shared by caches of rendered and
+ * parsed Sql and of query results. Values are loaded outside of lock, thus loader might use the
+ * same cache recursively and the same value might be occasionally loaded more than once. Cache
+ * optionally drops values that become stale, as evaluated by supplied predicate on lookup.
+ *
+ * @param <K> is type of keys
+ * @param <V> is type of cached values
+ */
+final class LruCache<K, V> {
+
+  private final int maxSize;
+  private final Predicate<? super V> stale;
+  private final Map<K, V> entries;
+  private long hits = 0;
+  private long misses = 0;
+  private long puts = 0;
+  private long evictions = 0;
+  private long expirations = 0;
+
+  /**
+   * Create cache with given maximal number of entries and predicate identifying stale values.
+   *
+   * @param maxSize is maximal number of entries
+   * @param stale   is predicate, evaluated on lookup; value for which it returns true is removed
+   *                and lookup is considered miss
+   */
+  LruCache(int maxSize, Predicate<? super V> stale) {
+    if (maxSize <= 0) {
+      throw new IllegalArgumentException("Cache size must be positive: " + maxSize);
+    }
+    this.maxSize = maxSize;
+    this.stale = stale;
+    this.entries = new LinkedHashMap<>(Math.min(maxSize, 64), 0.75f, true) {
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+        if (size() > LruCache.this.maxSize) {
+          evictions++;
+          return true;
+        }
+        return false;
+      }
+    };
+  }
+
+  /**
+   * Create cache with given maximal number of entries; values never become stale.
+   *
+   * @param maxSize is maximal number of entries
+   */
+  LruCache(int maxSize) {
+    this(maxSize, value -> false);
+  }
+
+  /**
+   * Retrieve value from cache.
+   *
+   * @param key is key of value
+   * @return cached value, null if there is no (valid) value for given key
+   */
+  @Nullable V get(K key) {
+    synchronized (entries) {
+      var result = entries.get(key);
+      if (result == null) {
+        misses++;
+        return null;
+      }
+      if (stale.test(result)) {
+        entries.remove(key);
+        expirations++;
+        misses++;
+        return null;
+      }
+      hits++;
+      return result;
+    }
+  }
+
+  /**
+   * Retrieve value from cache or load it using supplied function and store it in cache.
+   *
+   * @param key    is key of value
+   * @param loader is function used to load value if it is not present in cache
+   * @return cached or loaded value
+   */
+  V get(K key, Function<? super K, ? extends V> loader) {
+    var result = get(key);
+    if (result != null) {
+      return result;
+    }
+    V loaded = loader.apply(key);
+    put(key, loaded);
+    return loaded;
+  }
+
+  /**
+   * Store value in cache, evicting least recently used entry if cache is full.
+   *
+   * @param key   is key of value
+   * @param value is value to be stored
+   */
+  void put(K key, V value) {
+    synchronized (entries) {
+      entries.put(key, value);
+      puts++;
+    }
+  }
+
+  /**
+   * Remove all values matching given predicate.
+   *
+   * @param filter is predicate selecting values to be removed
+   * @return number of removed values
+   */
+  int removeIf(Predicate<? super V> filter) {
+    synchronized (entries) {
+      int removed = 0;
+      Iterator<V> iterator = entries.values().iterator();
+      while (iterator.hasNext()) {
+        if (filter.test(iterator.next())) {
+          iterator.remove();
+          removed++;
+        }
+      }
+      return removed;
+    }
+  }
+
+  /**
+   * Remove all values from cache.
+   *
+   * @return number of removed values
+   */
+  int clear() {
+    synchronized (entries) {
+      var removed = entries.size();
+      entries.clear();
+      return removed;
+    }
+  }
+
+  /**
+   * Value of field maxSize.
+   *
+   * @return value of field maxSize
+   */
+  int getMaxSize() {
+    return maxSize;
+  }
+
+  /**
+   * Number of entries currently held in cache (including stale entries not removed yet).
+   *
+   * @return number of entries in cache
+   */
+  int size() {
+    synchronized (entries) {
+      return entries.size();
+    }
+  }
+
+  /**
+   * Number of lookups served from cache.
+   *
+   * @return number of cache hits
+   */
+  long getHits() {
+    synchronized (entries) {
+      return hits;
+    }
+  }
+
+  /**
+   * Number of lookups that did not find valid value in cache.
+   *
+   * @return number of cache misses
+   */
+  long getMisses() {
+    synchronized (entries) {
+      return misses;
+    }
+  }
+
+  /**
+   * Number of values stored in cache.
+   *
+   * @return number of values stored in cache
+   */
+  long getPuts() {
+    synchronized (entries) {
+      return puts;
+    }
+  }
+
+  /**
+   * Number of entries evicted because cache was full.
+   *
+   * @return number of evicted entries
+   */
+  long getEvictions() {
+    synchronized (entries) {
+      return evictions;
+    }
+  }
+
+  /**
+   * Number of entries removed on lookup because they were stale.
+   *
+   * @return number of expired entries
+   */
+  long getExpirations() {
+    synchronized (entries) {
+      return expirations;
+    }
+  }
+
+  @Override
+  public String toString() {
+    synchronized (entries) {
+      return "LruCache{"
+          + "maxSize=" + maxSize
+          + ", size=" + entries.size()
+          + ", hits=" + hits
+          + ", misses=" + misses
+          + ", puts=" + puts
+          + ", evictions=" + evictions
+          + ", expirations=" + expirations
+          + '}';
+    }
+  }
+}
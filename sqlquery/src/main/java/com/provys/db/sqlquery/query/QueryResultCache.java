@@ -0,0 +1,355 @@
+package com.provys.db.sqlquery.query;
+
+import com.provys.common.datatype.DtUid;
+import com.provys.db.dbcontext.DbContext;
+import com.provys.db.query.names.BindName;
+import com.provys.db.query.names.NamePath;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.LongSupplier;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Bounded cache of rows fetched by select statements. Caching is opt-in - only statements created
+ * via {@link StatementFactory#getCachedSelect} use it. Entries are keyed by database context
+ * statement was executed in, Sql text, values of bind variables, Provys user statement was executed
+ * for and shape of fetched rows; each entry has its own time to live and is tagged by names of
+ * tables query reads from. Write paths that modify these tables should publish invalidation via
+ * {@link #invalidateTable(NamePath)}, as cache has no other way to find out that data changed.
+ * Each table has generation counter, incremented by invalidation; statement reads generation of
+ * its tables before fetch and result is only stored if generation did not change in the meantime,
+ * thus rows fetched before concurrent modification are never cached after its invalidation. Least
+ * recently used entries are evicted when cache is full. Single cache can be (and usually should
+ * be) shared by multiple statement factories.
+ */
+public final class QueryResultCache {
+
+  /**
+   * Key of cache entry.
+   */
+  static final class Key {
+
+    private final DbContext context;
+    private final String sql;
+    private final Map<BindName, @Nullable Object> bindValues;
+    private final @Nullable DtUid userId;
+    private final List<Class<?>> types;
+    private final Class<?> rowMapperClass;
+
+    Key(DbContext context, String sql, Map<BindName, ?> bindValues, @Nullable DtUid userId,
+        List<Class<?>> types, Class<?> rowMapperClass) {
+      this.context = context;
+      this.sql = sql;
+      // values might be null, thus Map.copyOf cannot be used
+      this.bindValues = Collections.unmodifiableMap(new HashMap<>(bindValues));
+      this.userId = userId;
+      this.types = List.copyOf(types);
+      this.rowMapperClass = rowMapperClass;
+    }
+
+    @Override
+    public boolean equals(@Nullable Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      Key key = (Key) o;
+      return context.equals(key.context)
+          && sql.equals(key.sql)
+          && bindValues.equals(key.bindValues)
+          && Objects.equals(userId, key.userId)
+          && types.equals(key.types)
+          && rowMapperClass.equals(key.rowMapperClass);
+    }
+
+    @Override
+    public int hashCode() {
+      int result = context.hashCode();
+      result = 31 * result + sql.hashCode();
+      result = 31 * result + bindValues.hashCode();
+      result = 31 * result + (userId != null ? userId.hashCode() : 0);
+      result = 31 * result + types.hashCode();
+      result = 31 * result + rowMapperClass.hashCode();
+      return result;
+    }
+
+    @Override
+    public String toString() {
+      return "Key{"
+          + "context=" + context
+          + ", sql='" + sql + '\''
+          + ", bindValues=" + bindValues
+          + ", userId=" + userId
+          + ", types=" + types
+          + ", rowMapperClass=" + rowMapperClass
+          + '}';
+    }
+  }
+
+  private static final class Entry {
+
+    private final List<?> rows;
+    private final long expiresAt;
+    private final Set<String> tables;
+
+    Entry(List<?> rows, long expiresAt, Set<String> tables) {
+      this.rows = rows;
+      this.expiresAt = expiresAt;
+      this.tables = tables;
+    }
+
+    @Override
+    public String toString() {
+      return "Entry{"
+          + "rows=" + rows.size()
+          + ", expiresAt=" + expiresAt
+          + ", tables=" + tables
+          + '}';
+    }
+  }
+
+  /**
+   * Tag used for table in cache entries. Schema is ignored, thus invalidation of table affects
+   * queries reading table with the same name from any schema.
+   *
+   * @param tableName is name of table
+   * @return tag, representing table in cache entries
+   */
+  static String getTableTag(NamePath tableName) {
+    var segments = tableName.getSegments();
+    return segments.get(segments.size() - 1).getDbName();
+  }
+
+  private final LongSupplier clock;
+  private final LruCache<Key, Entry> entries;
+  /**
+   * Generation counters of invalidated tables; also guards global generation, invalidation counter
+   * and consistency of generation check with store and invalidation of entries.
+   */
+  private final Map<String, Long> generations = new HashMap<>(16);
+  private long globalGeneration = 0;
+  private long invalidations = 0;
+  private long rejectedPuts = 0;
+
+  QueryResultCache(int maxSize, LongSupplier clock) {
+    if (maxSize <= 0) {
+      throw new IllegalArgumentException("Query result cache size must be positive");
+    }
+    this.clock = clock;
+    this.entries = new LruCache<>(maxSize,
+        entry -> clock.getAsLong() - entry.expiresAt >= 0);
+  }
+
+  /**
+   * Create query result cache with given maximal number of entries.
+   *
+   * @param maxSize is maximal number of cached results
+   */
+  public QueryResultCache(int maxSize) {
+    this(maxSize, System::nanoTime);
+  }
+
+  /**
+   * Retrieve cached rows for given key.
+   *
+   * @param key is key of cache entry
+   * @return cached rows, null if there is no valid entry for given key
+   */
+  @Nullable List<?> get(Key key) {
+    var entry = entries.get(key);
+    return (entry == null) ? null : entry.rows;
+  }
+
+  private long getGenerationNoLock(Set<String> tables) {
+    // counters never decrease, thus sum changes whenever any of them is incremented
+    var result = globalGeneration;
+    for (var table : tables) {
+      result += generations.getOrDefault(table, 0L);
+    }
+    return result;
+  }
+
+  /**
+   * Current generation of given tables. Should be read before rows are fetched from database and
+   * passed to {@link #put}, that refuses to store rows if any of the tables has been invalidated
+   * in the meantime.
+   *
+   * @param tables are tags of tables query reads from
+   * @return generation of given set of tables
+   */
+  long getGeneration(Set<String> tables) {
+    synchronized (generations) {
+      return getGenerationNoLock(tables);
+    }
+  }
+
+  /**
+   * Store fetched rows in cache, unless any of given tables has been invalidated since generation
+   * was read.
+   *
+   * @param key        is key of cache entry
+   * @param rows       are fetched rows
+   * @param timeToLive is period for which entry is valid
+   * @param tables     are tags of tables query reads from
+   * @param generation is generation of tables, read via {@link #getGeneration} before rows were
+   *                   fetched
+   * @param <T>        is type of rows
+   * @return unmodifiable copy of rows, as stored in cache
+   */
+  <T> List<T> put(Key key, List<T> rows, Duration timeToLive, Set<String> tables,
+      long generation) {
+    // rows might contain nulls, thus List.copyOf cannot be used
+    var result = Collections.unmodifiableList(new ArrayList<>(rows));
+    var entry = new Entry(result, clock.getAsLong() + timeToLive.toNanos(), Set.copyOf(tables));
+    synchronized (generations) {
+      if (getGenerationNoLock(entry.tables) != generation) {
+        rejectedPuts++;
+      } else {
+        entries.put(key, entry);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Remove all entries of queries reading from given table and prevent storing rows fetched
+   * before this invalidation. Should be called by write paths after data in table have been
+   * modified.
+   *
+   * @param tableName is name of modified table
+   */
+  public void invalidateTable(NamePath tableName) {
+    var tag = getTableTag(tableName);
+    synchronized (generations) {
+      generations.merge(tag, 1L, Long::sum);
+      invalidations += entries.removeIf(entry -> entry.tables.contains(tag));
+    }
+  }
+
+  /**
+   * Remove all entries of queries reading from any of given tables.
+   *
+   * @param tableNames are names of modified tables
+   */
+  public void invalidateTables(Collection<? extends NamePath> tableNames) {
+    for (var tableName : tableNames) {
+      invalidateTable(tableName);
+    }
+  }
+
+  /**
+   * Remove all entries from cache and prevent storing any rows fetched before this invalidation.
+   */
+  public void invalidateAll() {
+    synchronized (generations) {
+      globalGeneration++;
+      invalidations += entries.clear();
+    }
+  }
+
+  /**
+   * Value of field maxSize.
+   *
+   * @return value of field maxSize
+   */
+  public int getMaxSize() {
+    return entries.getMaxSize();
+  }
+
+  /**
+   * Number of entries currently held in cache (including expired entries not removed yet).
+   *
+   * @return number of entries in cache
+   */
+  public int getSize() {
+    return entries.size();
+  }
+
+  /**
+   * Number of fetches served from cache.
+   *
+   * @return number of cache hits
+   */
+  public long getHits() {
+    return entries.getHits();
+  }
+
+  /**
+   * Number of fetches that had to be executed in database.
+   *
+   * @return number of cache misses
+   */
+  public long getMisses() {
+    return entries.getMisses();
+  }
+
+  /**
+   * Number of results stored in cache.
+   *
+   * @return number of results stored in cache
+   */
+  public long getPuts() {
+    return entries.getPuts();
+  }
+
+  /**
+   * Number of results not stored in cache, because tables they were fetched from have been
+   * invalidated during fetch.
+   *
+   * @return number of rejected results
+   */
+  public long getRejectedPuts() {
+    synchronized (generations) {
+      return rejectedPuts;
+    }
+  }
+
+  /**
+   * Number of entries evicted because cache was full.
+   *
+   * @return number of evicted entries
+   */
+  public long getEvictions() {
+    return entries.getEvictions();
+  }
+
+  /**
+   * Number of entries removed because their time to live passed.
+   *
+   * @return number of expired entries
+   */
+  public long getExpirations() {
+    return entries.getExpirations();
+  }
+
+  /**
+   * Number of entries removed by invalidation.
+   *
+   * @return number of invalidated entries
+   */
+  public long getInvalidations() {
+    synchronized (generations) {
+      return invalidations;
+    }
+  }
+
+  @Override
+  public String toString() {
+    synchronized (generations) {
+      return "QueryResultCache{"
+          + "entries=" + entries
+          + ", invalidations=" + invalidations
+          + ", rejectedPuts=" + rejectedPuts
+          + '}';
+    }
+  }
+}
@@ -0,0 +1,115 @@
+package com.provys.db.sqlquery.query;
+
+import com.provys.db.query.names.BindName;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of parsed raw Sql texts. Raw Sql is written with named bind variables (:name);
+ * parsing replaces them with positional placeholders and records positions of each bind variable,
+ * thus statement can be executed the same way as statement rendered from query. Result of parsing
+ * only depends on Sql text, thus it can be reused whenever the same text is executed again. Least
+ * recently used entries are evicted when cache is full.
+ */
+final class RawSqlCache {
+
+  /**
+   * Result of parsing single raw Sql text.
+   */
+  static final class ParsedSql {
+
+    private final String sql;
+    private final Map<BindName, List<Integer>> bindPositions;
+
+    ParsedSql(String sql, Map<BindName, List<Integer>> bindPositions) {
+      this.sql = sql;
+      // order of bind variables is kept, thus Map.copyOf cannot be used
+      var positions = new LinkedHashMap<BindName, List<Integer>>(bindPositions.size());
+      for (var entry : bindPositions.entrySet()) {
+        positions.put(entry.getKey(), List.copyOf(entry.getValue()));
+      }
+      this.bindPositions = Collections.unmodifiableMap(positions);
+    }
+
+    /**
+     * Sql text with positional placeholders in place of named bind variables.
+     *
+     * @return value of field sql
+     */
+    String getSql() {
+      return sql;
+    }
+
+    /**
+     * One-based positions of bind variables in Sql text, in order of their first appearance.
+     *
+     * @return value of field bindPositions
+     */
+    Map<BindName, List<Integer>> getBindPositions() {
+      return bindPositions;
+    }
+
+    @Override
+    public String toString() {
+      return "ParsedSql{"
+          + "sql='" + sql + '\''
+          + ", bindPositions=" + bindPositions
+          + '}';
+    }
+  }
+
+  private final LruCache<String, ParsedSql> entries;
+
+  RawSqlCache(int maxSize) {
+    this.entries = new LruCache<>(maxSize);
+  }
+
+  /**
+   * Retrieve parsed Sql from cache or parse it using supplied function. Parsing is performed
+   * outside of lock, thus the same text might be occasionally parsed more than once.
+   *
+   * @param sql    is raw Sql text
+   * @param parser is function used to parse text if it is not present in cache
+   * @return parsed Sql
+   */
+  ParsedSql get(String sql, Function<String, ParsedSql> parser) {
+    return entries.get(sql, parser);
+  }
+
+  /**
+   * Value of field maxSize.
+   *
+   * @return value of field maxSize
+   */
+  int getMaxSize() {
+    return entries.getMaxSize();
+  }
+
+  /**
+   * Number of lookups served from cache.
+   *
+   * @return number of cache hits
+   */
+  long getHits() {
+    return entries.getHits();
+  }
+
+  /**
+   * Number of lookups that required parsing of Sql text.
+   *
+   * @return number of cache misses
+   */
+  long getMisses() {
+    return entries.getMisses();
+  }
+
+  @Override
+  public String toString() {
+    return "RawSqlCache{"
+        + "entries=" + entries
+        + '}';
+  }
+}
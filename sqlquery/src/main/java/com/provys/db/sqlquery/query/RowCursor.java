@@ -0,0 +1,94 @@
+package com.provys.db.sqlquery.query;
+
+import com.provys.common.exception.InternalException;
+import com.provys.db.dbcontext.DbResultSet;
+import java.sql.SQLException;
+
+/**
+ * Cursor over rows of result set. Unlike streams and fetches, cursor does not create any object
+ * per row - it represents single mutable view of current row, moved by {@link #next()}. Values are
+ * read from result set when accessed, via readers resolved when cursor is created; primitive
+ * accessors read values without boxing. Values of row are only valid until cursor is moved to next
+ * row. Cursor holds underlying result set opened and should be closed explicitly; it is closed
+ * automatically when read to the end.
+ */
+public abstract class RowCursor implements AutoCloseable {
+
+  private final DbResultSet resultSet;
+  private final Runnable onClose;
+  private long rowNumber = -1;
+  private boolean onRow = false;
+  private boolean closed = false;
+
+  RowCursor(DbResultSet resultSet, Runnable onClose) {
+    this.resultSet = resultSet;
+    this.onClose = onClose;
+  }
+
+  /**
+   * Move cursor to next row.
+   *
+   * @return true if cursor has been moved to next row, false if there are no more rows
+   */
+  public boolean next() {
+    if (closed) {
+      return false;
+    }
+    try {
+      onRow = resultSet.next();
+    } catch (SQLException e) {
+      onRow = false;
+      close();
+      throw new InternalException("Error fetching data in cursor", e);
+    }
+    if (onRow) {
+      rowNumber++;
+    } else {
+      close();
+    }
+    return onRow;
+  }
+
+  /**
+   * Number of current row, starting with 0.
+   *
+   * @return number of current row, -1 if cursor has not been moved to first row yet
+   */
+  public long getRowNumber() {
+    return rowNumber;
+  }
+
+  /**
+   * Result set, positioned on current row.
+   *
+   * @return result set, positioned on current row
+   */
+  DbResultSet getRow() {
+    if (!onRow) {
+      throw new InternalException("Cursor is not positioned on row");
+    }
+    return resultSet;
+  }
+
+  /**
+   * Close underlying result set (and statement, if cursor owns it).
+   */
+  @Override
+  public void close() {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    onRow = false;
+    onClose.run();
+  }
+
+  @Override
+  public String toString() {
+    return "RowCursor{"
+        + "rowNumber=" + rowNumber
+        + ", onRow=" + onRow
+        + ", closed=" + closed
+        + '}';
+  }
+}
@@ -0,0 +1,51 @@
+package com.provys.db.sqlquery.query;
+
+import com.provys.db.dbcontext.DbResultSet;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Cursor over rows of single column select statement.
+ *
+ * @param <T1> is type of column 1
+ */
+public final class RowCursorT1<T1> extends RowCursor {
+
+  private final ColumnReader<? extends T1> reader1;
+
+  RowCursorT1(DbResultSet resultSet, Class<? extends T1> type1, Runnable onClose) {
+    super(resultSet, onClose);
+    this.reader1 = ColumnReader.of(type1);
+  }
+
+  /**
+   * Value of the first column in current row.
+   *
+   * @return value of the first column
+   */
+  public @Nullable T1 get1() {
+    return reader1.read(getRow(), 1);
+  }
+
+  /**
+   * Value of the first column in current row as primitive int. Column must not be null.
+   *
+   * @return value of the first column
+   */
+  public int getInt1() {
+    return getRow().getNonNullInteger(1);
+  }
+
+  /**
+   * Value of the first column in current row as primitive double. Column must not be null.
+   *
+   * @return value of the first column
+   */
+  public double getDouble1() {
+    return getRow().getNonNullDouble(1);
+  }
+
+  @Override
+  public String toString() {
+    return "RowCursorT1{" + super.toString() + '}';
+  }
+}
@@ -0,0 +1,83 @@
+package com.provys.db.sqlquery.query;
+
+import com.provys.db.dbcontext.DbResultSet;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Cursor over rows of two column select statement. Used instead of stream of {@link TupleT2} when
+ * reading large number of rows (e.g. when building maps), as no tuple is created per row.
+ *
+ * @param <T1> is type of column 1
+ * @param <T2> is type of column 2
+ */
+public final class RowCursorT2<T1, T2> extends RowCursor {
+
+  private final ColumnReader<? extends T1> reader1;
+  private final ColumnReader<? extends T2> reader2;
+
+  RowCursorT2(DbResultSet resultSet, Class<? extends T1> type1, Class<? extends T2> type2,
+      Runnable onClose) {
+    super(resultSet, onClose);
+    this.reader1 = ColumnReader.of(type1);
+    this.reader2 = ColumnReader.of(type2);
+  }
+
+  /**
+   * Value of the first column in current row.
+   *
+   * @return value of the first column
+   */
+  public @Nullable T1 get1() {
+    return reader1.read(getRow(), 1);
+  }
+
+  /**
+   * Value of the second column in current row.
+   *
+   * @return value of the second column
+   */
+  public @Nullable T2 get2() {
+    return reader2.read(getRow(), 2);
+  }
+
+  /**
+   * Value of the first column in current row as primitive int. Column must not be null.
+   *
+   * @return value of the first column
+   */
+  public int getInt1() {
+    return getRow().getNonNullInteger(1);
+  }
+
+  /**
+   * Value of the second column in current row as primitive int. Column must not be null.
+   *
+   * @return value of the second column
+   */
+  public int getInt2() {
+    return getRow().getNonNullInteger(2);
+  }
+
+  /**
+   * Value of the first column in current row as primitive double. Column must not be null.
+   *
+   * @return value of the first column
+   */
+  public double getDouble1() {
+    return getRow().getNonNullDouble(1);
+  }
+
+  /**
+   * Value of the second column in current row as primitive double. Column must not be null.
+   *
+   * @return value of the second column
+   */
+  public double getDouble2() {
+    return getRow().getNonNullDouble(2);
+  }
+
+  @Override
+  public String toString() {
+    return "RowCursorT2{" + super.toString() + '}';
+  }
+}
@@ -2,9 +2,11 @@ package com.provys.db.sqlquery.query;
 
 import com.provys.db.dbcontext.DbResultSet;
 import com.provys.db.dbcontext.DbRowMapper;
+import com.provys.db.dbcontext.Deadline;
 import com.provys.db.query.names.BindName;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.Executor;
 import java.util.stream.Stream;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
@@ -40,6 +42,52 @@ public interface SelectStatement extends AutoCloseable {
    */
   SelectStatement bindValue(BindName bind, @Nullable Object value);
 
+  /**
+   * Configure how streams, created by this statement, read rows. Rows are always read by single
+   * thread at a time, but when stream is processed in parallel, rows are read and handed out to
+   * worker threads in batches of given size. If prefetch executor is supplied, next batch is read
+   * in background on this executor while previous batch is being processed, also in sequential
+   * streams.
+   *
+   * @param batchSize        is number of rows in single batch
+   * @param prefetchExecutor is executor used to read next batch in background, null to disable
+   *                         prefetch
+   * @return self to allow chaining
+   */
+  SelectStatement streamBatching(int batchSize, @Nullable Executor prefetchExecutor);
+
+  /**
+   * Limit number of rows fetch methods keep on heap. When limit is reached, further rows are
+   * spilled to memory-mapped temporary file and returned list reads them from there on access.
+   * Returned list is {@link SpillableList}; it should be closed when no longer needed to release
+   * temporary file (file is also released when list is garbage collected). Rows that are not
+   * standard value types, {@link java.util.Optional} or {@link TupleT2} have to be serializable to
+   * be spilled.
+   *
+   * @param heapRows is maximal number of rows kept on heap, 0 to keep all rows on heap
+   * @return self to allow chaining
+   */
+  SelectStatement spillAfter(int heapRows);
+
+  /**
+   * Limit execution of statement by deadline. Statement is not executed when deadline has already
+   * passed, its query timeout is set to time remaining till deadline and statement is cancelled
+   * when deadline passes during fetch; failures caused by passed deadline are reported as
+   * {@link com.provys.db.dbcontext.DeadlineExceededException}. Statement is initially bound to
+   * deadline active in thread that created it (see {@link Deadline#enter()}).
+   *
+   * @param deadline is deadline of statement, null to execute statement without time limit
+   * @return self to allow chaining
+   */
+  SelectStatement deadline(@Nullable Deadline deadline);
+
+  /**
+   * Deadline statement is bound to.
+   *
+   * @return deadline of statement, null if statement is not time limited
+   */
+  @Nullable Deadline getDeadline();
+
   /**
    * Execute associated statement (using connection fetched from underlying DataSource) and return
    * resulting ResultSet.
@@ -114,6 +162,13 @@ public interface SelectStatement extends AutoCloseable {
    */
   <T> Stream<T> streamNoClose(DbRowMapper<? extends T> rowMapper);
 
+  /**
+   * Cancel execution of statement. Intended to be called from other thread than the one executing
+   * or fetching the statement, that receives exception from interrupted database call; statement
+   * still has to be closed by its owner. Does nothing when statement is already closed.
+   */
+  void cancel();
+
   /**
    * Close statement. Will close underlying connection if it was initialized internally and not
    * supplied to constructor.
@@ -20,6 +20,11 @@ class SelectStatementImpl extends SelectStatementTImpl<SelectStatementImpl> impl
     super(sqlText, connection);
   }
 
+  SelectStatementImpl(String sqlText, Collection<BindWithPos> binds,
+      Map<BindName, ?> bindValues, DbContext dbContext, boolean readOnly) {
+    super(sqlText, binds, bindValues, dbContext, readOnly);
+  }
+
   SelectStatementImpl(String sqlText, Collection<BindWithPos> binds,
       Map<BindName, ?> bindValues, DbContext dbContext) {
     super(sqlText, binds, bindValues, dbContext);
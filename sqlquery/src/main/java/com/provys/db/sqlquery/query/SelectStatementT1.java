@@ -2,6 +2,7 @@ package com.provys.db.sqlquery.query;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
@@ -75,6 +76,61 @@ public interface SelectStatementT1<T1> extends SelectStatement {
    */
   Stream<Optional<T1>> streamOptional();
 
+  /**
+   * Execute associated statement (using connection fetched from underlying DataSource) and pass
+   * fetched values to consumer in chunks of at most given size. Only usable to fetch from non-null
+   * column. List passed to consumer is reused for subsequent chunks, thus consumer has to copy
+   * values it wants to retain. Close this statement after fetch.
+   *
+   * @param chunkSize is maximal number of values in single chunk
+   * @param consumer  is consumer, processing chunks of values
+   */
+  void fetchNonNullChunks(int chunkSize, Consumer<? super List<@NonNull T1>> consumer);
+
+  /**
+   * Execute associated statement (using connection fetched from underlying DataSource) and pass
+   * fetched values to consumer in chunks of at most given size. List passed to consumer is reused
+   * for subsequent chunks, thus consumer has to copy values it wants to retain. Close this
+   * statement after fetch.
+   *
+   * @param chunkSize is maximal number of values in single chunk
+   * @param consumer  is consumer, processing chunks of values
+   */
+  void fetchNullableChunks(int chunkSize, Consumer<? super List<@Nullable T1>> consumer);
+
+  /**
+   * Execute associated statement (using connection, fetched from underlying DataSource) and return
+   * iterator over chunks of fetched values. Only usable for non-null columns. List returned by
+   * iterator is reused for subsequent chunks. Returned iterator holds underlying statement opened
+   * and should be closed explicitly. Close both resultset and this statement when iterator is
+   * closed
+   *
+   * @param chunkSize is maximal number of values in single chunk
+   * @return iterator over chunks of fetched values
+   */
+  ChunkIterator<@NonNull T1> chunksNonNull(int chunkSize);
+
+  /**
+   * Execute associated statement (using connection, fetched from underlying DataSource) and return
+   * iterator over chunks of fetched values. List returned by iterator is reused for subsequent
+   * chunks. Returned iterator holds underlying statement opened and should be closed explicitly.
+   * Close both resultset and this statement when iterator is closed
+   *
+   * @param chunkSize is maximal number of values in single chunk
+   * @return iterator over chunks of fetched values
+   */
+  ChunkIterator<@Nullable T1> chunksNullable(int chunkSize);
+
+  /**
+   * Execute associated statement (using connection, fetched from underlying DataSource) and return
+   * cursor over fetched rows. Cursor does not allocate any wrapper object per row; it is intended
+   * for processing of large number of rows. Returned cursor holds underlying statement opened and
+   * should be closed explicitly. Close both resultset and this statement when cursor is closed
+   *
+   * @return cursor over fetched rows
+   */
+  RowCursorT1<T1> cursor();
+
   /**
    * Execute associated statement (using connection fetched from underlying DataSource) and return
    * fetched non-null value. Can only be used for query returning exactly one line
@@ -6,12 +6,14 @@ import com.provys.db.dbcontext.DbResultSet;
 import com.provys.db.dbcontext.DbRowMapper;
 import com.provys.db.query.names.BindName;
 import com.provys.db.query.names.BindWithPos;
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.RandomAccess;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
@@ -29,11 +31,16 @@ class SelectStatementT1Impl<T1> extends SelectStatementTImpl<SelectStatementT1Im
   }
 
   SelectStatementT1Impl(String sqlText, Collection<BindWithPos> binds,
-      Map<BindName, ?> bindValues, DbContext dbContext, Class<T1> type1) {
-    super(sqlText, binds, bindValues, dbContext);
+      Map<BindName, ?> bindValues, DbContext dbContext, boolean readOnly, Class<T1> type1) {
+    super(sqlText, binds, bindValues, dbContext, readOnly);
     this.type1 = type1;
   }
 
+  SelectStatementT1Impl(String sqlText, Collection<BindWithPos> binds,
+      Map<BindName, ?> bindValues, DbContext dbContext, Class<T1> type1) {
+    this(sqlText, binds, bindValues, dbContext, false, type1);
+  }
+
   @Override
   SelectStatementT1Impl<T1> self() {
     return this;
@@ -68,9 +75,64 @@ class SelectStatementT1Impl<T1> extends SelectStatementTImpl<SelectStatementT1Im
     }
   }
 
+  private static final class NullableRowMapper<T> implements DbRowMapper<@Nullable T> {
+
+    private final Class<? extends T> type;
+
+    NullableRowMapper(Class<? extends T> type) {
+      this.type = type;
+    }
+
+    @Override
+    public @Nullable T map(DbResultSet resultSet, long rowNumber) {
+      return resultSet.getNullableValue(1, type);
+    }
+  }
+
+  /**
+   * View of spilled list of optional values as list of nullable values; used to avoid loading of
+   * all spilled rows to heap.
+   */
+  private static final class NullableView<T> extends AbstractList<@Nullable T>
+      implements RandomAccess, AutoCloseable {
+
+    private final SpillableList<Optional<T>> list;
+
+    NullableView(SpillableList<Optional<T>> list) {
+      this.list = list;
+    }
+
+    @Override
+    public @Nullable T get(int index) {
+      return list.get(index).orElse(null);
+    }
+
+    @Override
+    public int size() {
+      return list.size();
+    }
+
+    @Override
+    public void close() {
+      list.close();
+    }
+  }
+
+  private static <T> List<@Nullable T> toNullable(List<Optional<T>> listOptional) {
+    if ((listOptional instanceof SpillableList)
+        && ((SpillableList<Optional<T>>) listOptional).isSpilled()) {
+      return new NullableView<>((SpillableList<Optional<T>>) listOptional);
+    }
+    List<@Nullable T> result = new ArrayList<>(listOptional.size());
+    for (var optionalItem : listOptional) {
+      result.add(optionalItem.orElse(null));
+    }
+    return result;
+  }
+
   @Override
   public @NonNull T1 fetchNonNullOne() {
-    return fetchOne(new NonnullRowMapper<>(type1));
+    return fetchOneCached(new NonnullRowMapper<>(type1));
   }
 
   @Override
@@ -80,23 +142,17 @@ class SelectStatementT1Impl<T1> extends SelectStatementTImpl<SelectStatementT1Im
 
   @Override
   public Optional<T1> fetchOptionalOne() {
-    return fetchOne(new OptionalRowMapper<>(type1));
+    return fetchOneCached(new OptionalRowMapper<>(type1));
   }
 
   @Override
   public List<@NonNull T1> fetchNonNull() {
-    return fetch(new NonnullRowMapper<>(type1));
+    return fetchCached(new NonnullRowMapper<>(type1));
   }
 
   @Override
   public List<@Nullable T1> fetchNullable() {
-    var listOptional = streamOptional()
-        .collect(Collectors.toUnmodifiableList());
-    List<@Nullable T1> result = new ArrayList<>(listOptional.size());
-    for (var optionalItem : listOptional) {
-      result.add(optionalItem.orElse(null));
-    }
-    return result;
+    return toNullable(fetchCached(new OptionalRowMapper<>(type1)));
   }
 
   @Override
@@ -109,9 +165,34 @@ class SelectStatementT1Impl<T1> extends SelectStatementTImpl<SelectStatementT1Im
     return stream(new OptionalRowMapper<>(type1));
   }
 
+  @Override
+  public void fetchNonNullChunks(int chunkSize, Consumer<? super List<@NonNull T1>> consumer) {
+    fetchChunks(new NonnullRowMapper<>(type1), chunkSize, consumer);
+  }
+
+  @Override
+  public void fetchNullableChunks(int chunkSize, Consumer<? super List<@Nullable T1>> consumer) {
+    fetchChunks(new NullableRowMapper<>(type1), chunkSize, consumer);
+  }
+
+  @Override
+  public ChunkIterator<@NonNull T1> chunksNonNull(int chunkSize) {
+    return chunks(new NonnullRowMapper<>(type1), chunkSize);
+  }
+
+  @Override
+  public ChunkIterator<@Nullable T1> chunksNullable(int chunkSize) {
+    return chunks(new NullableRowMapper<>(type1), chunkSize);
+  }
+
+  @Override
+  public RowCursorT1<T1> cursor() {
+    return cursor((resultSet, onClose) -> new RowCursorT1<>(resultSet, type1, onClose));
+  }
+
   @Override
   public @NonNull T1 fetchNonNullOneNoClose() {
-    return fetchOneNoClose(new NonnullRowMapper<>(type1));
+    return fetchOneCachedNoClose(new NonnullRowMapper<>(type1));
   }
 
   @Override
@@ -121,23 +202,17 @@ class SelectStatementT1Impl<T1> extends SelectStatementTImpl<SelectStatementT1Im
 
   @Override
   public Optional<T1> fetchOptionalOneNoClose() {
-    return fetchOneNoClose(new OptionalRowMapper<>(type1));
+    return fetchOneCachedNoClose(new OptionalRowMapper<>(type1));
   }
 
   @Override
   public List<@NonNull T1> fetchNonNullNoClose() {
-    return fetchNoClose(new NonnullRowMapper<>(type1));
+    return fetchCachedNoClose(new NonnullRowMapper<>(type1));
   }
 
   @Override
   public List<@Nullable T1> fetchNullableNoClose() {
-    var listOptional = streamOptionalNoClose()
-        .collect(Collectors.toUnmodifiableList());
-    List<@Nullable T1> result = new ArrayList<>(listOptional.size());
-    for (var optionalItem : listOptional) {
-      result.add(optionalItem.orElse(null));
-    }
-    return result;
+    return toNullable(fetchCachedNoClose(new OptionalRowMapper<>(type1)));
   }
 
   @Override
@@ -1,6 +1,7 @@
 package com.provys.db.sqlquery.query;
 
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 public interface SelectStatementT2<T1, T2> extends SelectStatement {
@@ -32,6 +33,39 @@ public interface SelectStatementT2<T1, T2> extends SelectStatement {
    */
   Stream<TupleT2<T1, T2>> stream();
 
+  /**
+   * Execute associated statement (using connection fetched from underlying DataSource) and pass
+   * fetched values to consumer in chunks of at most given size. List passed to consumer is reused
+   * for subsequent chunks, thus consumer has to copy values it wants to retain. Close this
+   * statement after fetch.
+   *
+   * @param chunkSize is maximal number of values in single chunk
+   * @param consumer  is consumer, processing chunks of values
+   */
+  void fetchChunks(int chunkSize, Consumer<? super List<TupleT2<T1, T2>>> consumer);
+
+  /**
+   * Execute associated statement (using connection, fetched from underlying DataSource) and return
+   * iterator over chunks of fetched values. List returned by iterator is reused for subsequent
+   * chunks. Returned iterator holds underlying statement opened and should be closed explicitly.
+   * Closes both ResultSet and this statement when iterator is closed
+   *
+   * @param chunkSize is maximal number of values in single chunk
+   * @return iterator over chunks of fetched values
+   */
+  ChunkIterator<TupleT2<T1, T2>> chunks(int chunkSize);
+
+  /**
+   * Execute associated statement (using connection, fetched from underlying DataSource) and return
+   * cursor over fetched rows. Unlike stream, cursor does not create tuple per row; it is intended
+   * for processing of large number of rows (e.g. building of maps). Returned cursor holds
+   * underlying statement opened and should be closed explicitly. Closes both ResultSet and this
+   * statement when cursor is closed
+   *
+   * @return cursor over fetched rows
+   */
+  RowCursorT2<T1, T2> cursor();
+
   /**
    * Execute associated statement (using connection fetched from underlying DataSource) and return
    * fetched value. Can only be used for query returning exactly one line
@@ -9,6 +9,7 @@ import com.provys.db.query.names.BindWithPos;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 class SelectStatementT2Impl<T1, T2>
@@ -28,13 +29,19 @@ class SelectStatementT2Impl<T1, T2>
   }
 
   SelectStatementT2Impl(String sqlText, Collection<BindWithPos> binds,
-      Map<BindName, ?> bindValues, DbContext dbContext, Class<? extends T1> type1,
-      Class<? extends T2> type2) {
-    super(sqlText, binds, bindValues, dbContext);
+      Map<BindName, ?> bindValues, DbContext dbContext, boolean readOnly,
+      Class<? extends T1> type1, Class<? extends T2> type2) {
+    super(sqlText, binds, bindValues, dbContext, readOnly);
     this.type1 = type1;
     this.type2 = type2;
   }
 
+  SelectStatementT2Impl(String sqlText, Collection<BindWithPos> binds,
+      Map<BindName, ?> bindValues, DbContext dbContext, Class<? extends T1> type1,
+      Class<? extends T2> type2) {
+    this(sqlText, binds, bindValues, dbContext, false, type1, type2);
+  }
+
   @Override
   SelectStatementT2Impl<T1, T2> self() {
     return this;
@@ -42,29 +49,28 @@ class SelectStatementT2Impl<T1, T2>
 
   private static final class RowMapperT2<T1, T2> implements DbRowMapper<TupleT2<T1, T2>> {
 
-    private final Class<? extends T1> type1;
-    private final Class<? extends T2> type2;
+    private final ColumnReader<? extends T1> reader1;
+    private final ColumnReader<? extends T2> reader2;
 
     RowMapperT2(Class<? extends T1> type1, Class<? extends T2> type2) {
-      this.type1 = type1;
-      this.type2 = type2;
+      this.reader1 = ColumnReader.of(type1);
+      this.reader2 = ColumnReader.of(type2);
     }
 
     @Override
     public TupleT2<T1, T2> map(DbResultSet resultSet, long rowNumber) {
-      return new TupleT2<>(resultSet.getNullableValue(1, type1),
-          resultSet.getNullableValue(2, type2));
+      return new TupleT2<>(reader1.read(resultSet, 1), reader2.read(resultSet, 2));
     }
   }
 
   @Override
   public TupleT2<T1, T2> fetchOne() {
-    return fetchOne(new RowMapperT2<>(type1, type2));
+    return fetchOneCached(new RowMapperT2<>(type1, type2));
   }
 
   @Override
   public List<TupleT2<T1, T2>> fetch() {
-    return fetch(new RowMapperT2<>(type1, type2));
+    return fetchCached(new RowMapperT2<>(type1, type2));
   }
 
   @Override
@@ -72,14 +78,29 @@ class SelectStatementT2Impl<T1, T2>
     return stream(new RowMapperT2<>(type1, type2));
   }
 
+  @Override
+  public void fetchChunks(int chunkSize, Consumer<? super List<TupleT2<T1, T2>>> consumer) {
+    fetchChunks(new RowMapperT2<>(type1, type2), chunkSize, consumer);
+  }
+
+  @Override
+  public ChunkIterator<TupleT2<T1, T2>> chunks(int chunkSize) {
+    return chunks(new RowMapperT2<>(type1, type2), chunkSize);
+  }
+
+  @Override
+  public RowCursorT2<T1, T2> cursor() {
+    return cursor((resultSet, onClose) -> new RowCursorT2<>(resultSet, type1, type2, onClose));
+  }
+
   @Override
   public TupleT2<T1, T2> fetchOneNoClose() {
-    return fetchOneNoClose(new RowMapperT2<>(type1, type2));
+    return fetchOneCachedNoClose(new RowMapperT2<>(type1, type2));
   }
 
   @Override
   public List<TupleT2<T1, T2>> fetchNoClose() {
-    return fetchNoClose(new RowMapperT2<>(type1, type2));
+    return fetchCachedNoClose(new RowMapperT2<>(type1, type2));
   }
 
   @Override
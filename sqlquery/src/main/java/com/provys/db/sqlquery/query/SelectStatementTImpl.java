@@ -1,25 +1,35 @@
 package com.provys.db.sqlquery.query;
 
+import com.provys.common.datatype.DtUid;
 import com.provys.common.exception.InternalException;
 import com.provys.db.dbcontext.DbConnection;
 import com.provys.db.dbcontext.DbContext;
 import com.provys.db.dbcontext.DbPreparedStatement;
 import com.provys.db.dbcontext.DbResultSet;
 import com.provys.db.dbcontext.DbRowMapper;
+import com.provys.db.dbcontext.Deadline;
+import com.provys.db.dbcontext.DeadlineExceededException;
+import com.provys.db.dbcontext.DeadlineMetrics;
 import com.provys.db.query.names.BindName;
 import com.provys.db.query.names.BindWithPos;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Set;
 import java.util.Spliterator;
-import java.util.Spliterators;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledFuture;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
@@ -40,12 +50,25 @@ abstract class SelectStatementTImpl<S extends SelectStatementTImpl<S>> {
    */
   private @Nullable DbConnection connection;
   private boolean closed = false;
+  private @Nullable ResultCacheBinding resultCache = null;
+  private int streamBatchSize = BatchSpliterator.DEFAULT_BATCH_SIZE;
+  private @Nullable Executor streamPrefetchExecutor = null;
+  private int spillHeapRows = 0;
+  /**
+   * Deadline of statement; initialized from deadline active when statement has been created.
+   */
+  private @Nullable Deadline deadline;
+  /**
+   * Cancellation of statement, scheduled on execution when statement has deadline.
+   */
+  private @Nullable ScheduledFuture<?> cancelTask = null;
 
   private SelectStatementTImpl(String sqlText, Collection<BindWithPos> binds,
       Map<BindName, ?> bindValues,
       @SuppressWarnings("NullableProblems") DbConnection connection,
       boolean closeConnection) {
     this.sqlText = sqlText;
+    this.deadline = Deadline.current();
     if (closeConnection) {
       this.connection = connection;
     } else {
@@ -67,9 +90,15 @@ abstract class SelectStatementTImpl<S extends SelectStatementTImpl<S>> {
     this(sqlText, Collections.emptyList(), Collections.emptyMap(), connection, false);
   }
 
+  SelectStatementTImpl(String sqlText, Collection<BindWithPos> binds,
+      Map<BindName, ?> bindValues, DbContext dbContext, boolean readOnly) {
+    this(sqlText, binds, bindValues,
+        readOnly ? dbContext.getReadOnlyConnection() : dbContext.getConnection(), true);
+  }
+
   SelectStatementTImpl(String sqlText, Collection<BindWithPos> binds,
       Map<BindName, ?> bindValues, DbContext dbContext) {
-    this(sqlText, binds, bindValues, dbContext.getConnection(), true);
+    this(sqlText, binds, bindValues, dbContext, false);
   }
 
   SelectStatementTImpl(String sqlText, DbContext dbContext) {
@@ -87,6 +116,29 @@ abstract class SelectStatementTImpl<S extends SelectStatementTImpl<S>> {
 
   abstract S self();
 
+  /**
+   * Enable caching of rows fetched by this statement in supplied query result cache. Only fetch
+   * methods of typed statements use cache; streams and fetches with custom row mapper always read
+   * data from database.
+   *
+   * @param cache      is cache fetched rows are kept in
+   * @param context    is database context statement is executed in; cache might be shared by
+   *                   statement factories using different databases or database users
+   * @param timeToLive is period for which fetched rows are valid
+   * @param tables     are tags of tables statement reads from
+   * @param userId     is Provys user statement is executed for
+   * @param types      are types of columns of statement
+   */
+  void setResultCache(QueryResultCache cache, DbContext context, Duration timeToLive,
+      Set<String> tables, @Nullable DtUid userId, List<Class<?>> types) {
+    if (timeToLive.isNegative() || timeToLive.isZero()) {
+      throw new InternalException("Time to live of cached result must be positive: "
+          + timeToLive);
+    }
+    this.resultCache = new ResultCacheBinding(cache, context, timeToLive, tables, userId,
+        types);
+  }
+
   public S bindValue(BindName name, @Nullable Object value) {
     if (closed) {
       throw new InternalException("Attempt to bind value in closed statement " + this);
@@ -104,6 +156,33 @@ abstract class SelectStatementTImpl<S extends SelectStatementTImpl<S>> {
     return bindValue(BindName.valueOf(name), value);
   }
 
+  public S streamBatching(int batchSize, @Nullable Executor prefetchExecutor) {
+    if (batchSize <= 0) {
+      throw new InternalException("Stream batch size must be positive: " + batchSize);
+    }
+    this.streamBatchSize = batchSize;
+    this.streamPrefetchExecutor = prefetchExecutor;
+    return self();
+  }
+
+  public S spillAfter(int heapRows) {
+    if (heapRows < 0) {
+      throw new InternalException("Number of rows kept on heap must not be negative: "
+          + heapRows);
+    }
+    this.spillHeapRows = heapRows;
+    return self();
+  }
+
+  public S deadline(@Nullable Deadline newDeadline) {
+    this.deadline = newDeadline;
+    return self();
+  }
+
+  public @Nullable Deadline getDeadline() {
+    return deadline;
+  }
+
   public Collection<BindName> getBinds() {
     return Collections.unmodifiableCollection(binds.keySet());
   }
@@ -120,9 +199,66 @@ abstract class SelectStatementTImpl<S extends SelectStatementTImpl<S>> {
     }
     bindValues();
     try {
+      applyDeadline();
       return statement.executeQuery();
     } catch (SQLException e) {
-      throw new InternalException("Error executing statement " + this, e);
+      throw failure("Error executing statement " + this, e);
+    }
+  }
+
+  /**
+   * Limit execution of statement by its deadline - set query timeout to time remaining till
+   * deadline and schedule cancellation of statement when deadline passes during fetch.
+   *
+   * @throws SQLException when setting of query timeout fails
+   */
+  private void applyDeadline() throws SQLException {
+    var currentDeadline = deadline;
+    if (currentDeadline == null) {
+      return;
+    }
+    if (currentDeadline.isExpired()) {
+      DeadlineMetrics.getInstance().recordExecuteTimeout();
+      throw new DeadlineExceededException("Deadline exceeded before execution of statement "
+          + this);
+    }
+    statement.setQueryTimeout(currentDeadline.getRemainingSeconds());
+    cancelScheduledCancel();
+    cancelTask = StatementWatchdog.cancelAt(statement, currentDeadline);
+  }
+
+  private void cancelScheduledCancel() {
+    var task = cancelTask;
+    if (task != null) {
+      task.cancel(false);
+      cancelTask = null;
+    }
+  }
+
+  /**
+   * Exception to be thrown when statement execution or fetch failed. Failure after deadline passed
+   * is most likely caused by cancellation of statement, thus it is reported as exceeded deadline.
+   *
+   * @param message is message describing failed action
+   * @param cause   is exception thrown by JDBC driver
+   * @return exception to be thrown
+   */
+  private RuntimeException failure(String message, SQLException cause) {
+    var currentDeadline = deadline;
+    if ((currentDeadline != null) && currentDeadline.isExpired()) {
+      return new DeadlineExceededException(message + " - deadline exceeded", cause);
+    }
+    return new InternalException(message, cause);
+  }
+
+  public void cancel() {
+    if (closed) {
+      return;
+    }
+    try {
+      statement.cancel();
+    } catch (SQLException e) {
+      throw new InternalException("Failed to cancel statement " + this, e);
     }
   }
 
@@ -133,6 +269,7 @@ abstract class SelectStatementTImpl<S extends SelectStatementTImpl<S>> {
       return;
     }
     closed = true;
+    cancelScheduledCancel();
     SQLException exception = null;
     try {
       statement.close();
@@ -159,23 +296,41 @@ abstract class SelectStatementTImpl<S extends SelectStatementTImpl<S>> {
 
     private final BindWithPos bindWithPos;
     private final Class<T> type;
-    private @Nullable T value;
+    /**
+     * value of bind; list of values of type T for collection bind, value of type T otherwise.
+     */
+    private @Nullable Object value;
     /**
      * indicates if bind value has been modified after last time it has been bound to prepared
      * statement.
      */
     private boolean modified = true;
 
-    private @Nullable T checkValue(@Nullable Object newValue) {
+    private @Nullable Object checkValue(@Nullable Object newValue) {
       if (newValue == null) {
         return null;
       }
+      if (bindWithPos.isCollection()) {
+        if (!(newValue instanceof Collection)) {
+          throw new InternalException(
+              "Collection bind " + bindWithPos.getName() + " value " + newValue
+                  + " is not collection");
+        }
+        for (var element : (Collection<?>) newValue) {
+          if (!type.isInstance(element)) {
+            throw new InternalException(
+                "Collection bind " + bindWithPos.getName() + " type " + type + " and element "
+                    + element + " mismatch");
+          }
+        }
+        return List.copyOf((Collection<?>) newValue);
+      }
       if (!type.isInstance(newValue)) {
         throw new InternalException(
             "Bind " + bindWithPos.getName() + " type " + type + " and value " + newValue
                 + "mismatch");
       }
-      return type.cast(newValue);
+      return newValue;
     }
 
     BindValue(BindWithPos bindWithPos, Class<T> type, @Nullable Object value) {
@@ -226,10 +381,15 @@ abstract class SelectStatementTImpl<S extends SelectStatementTImpl<S>> {
       return modified;
     }
 
+    @SuppressWarnings("unchecked") // values are verified by checkValue
     void bindValue(DbPreparedStatement statement) {
       if (modified) {
         for (var position : bindWithPos.getPositions()) {
-          statement.setNullableValue(position, value, type);
+          if (bindWithPos.isCollection()) {
+            statement.setNullableCollection(position, (Collection<? extends T>) value, type);
+          } else {
+            statement.setNullableValue(position, type.cast(value), type);
+          }
         }
       }
     }
@@ -255,11 +415,32 @@ abstract class SelectStatementTImpl<S extends SelectStatementTImpl<S>> {
       }
       return result;
     } catch (SQLException e) {
-      throw new InternalException("Exception thrown by com.provys.db.sql statement " + this, e);
+      throw failure("Exception thrown by com.provys.db.sql statement " + this, e);
+    }
+  }
+
+  private <T> List<@NonNull T> fetchSpillableNoClose(DbRowMapper<? extends T> rowMapper) {
+    var result = new SpillableList<@NonNull T>(spillHeapRows);
+    try (var resultSet = execute()) {
+      long row = 0;
+      while (resultSet.next()) {
+        result.append(rowMapper.map(resultSet, row++));
+      }
+      result.finish();
+      return result;
+    } catch (SQLException e) {
+      result.close();
+      throw failure("Exception thrown by com.provys.db.sql statement " + this, e);
+    } catch (RuntimeException e) {
+      result.close();
+      throw e;
     }
   }
 
   public <T> List<@NonNull T> fetchNoClose(DbRowMapper<? extends T> rowMapper) {
+    if (spillHeapRows > 0) {
+      return fetchSpillableNoClose(rowMapper);
+    }
     try (var resultSet = execute()) {
       List<@NonNull T> result = new ArrayList<>(10);
       long row = 0;
@@ -268,7 +449,7 @@ abstract class SelectStatementTImpl<S extends SelectStatementTImpl<S>> {
       }
       return result;
     } catch (SQLException e) {
-      throw new InternalException("Exception thrown by com.provys.db.sql statement " + this, e);
+      throw failure("Exception thrown by com.provys.db.sql statement " + this, e);
     }
   }
 
@@ -288,6 +469,84 @@ abstract class SelectStatementTImpl<S extends SelectStatementTImpl<S>> {
     }
   }
 
+  private QueryResultCache.Key getCacheKey(ResultCacheBinding binding, Class<?> rowMapperClass) {
+    var bindValues = new HashMap<BindName, @Nullable Object>(binds.size());
+    for (var entry : binds.entrySet()) {
+      bindValues.put(entry.getKey(), entry.getValue().getValue());
+    }
+    return new QueryResultCache.Key(binding.context, sqlText, bindValues, binding.userId,
+        binding.types, rowMapperClass);
+  }
+
+  /**
+   * Fetch all rows, using result cache if it is enabled for this statement.
+   *
+   * @param rowMapper is mapper used to translate fetched values to target type; its class is part
+   *                  of cache key, thus it should only depend on types of columns
+   * @param <T>       is type of value to be returned
+   * @return fetched rows, unmodifiable if result cache is enabled
+   */
+  @SuppressWarnings("unchecked") // rows cached for key were produced by the same row mapper
+  <T> List<T> fetchCachedNoClose(DbRowMapper<? extends T> rowMapper) {
+    var binding = resultCache;
+    if (binding == null) {
+      return fetchNoClose(rowMapper);
+    }
+    if (closed) {
+      throw new InternalException("Attempt to execute closed statement " + this);
+    }
+    var key = getCacheKey(binding, rowMapper.getClass());
+    var cached = binding.cache.get(key);
+    if (cached != null) {
+      return (List<T>) cached;
+    }
+    // generation is read before fetch - rows are not stored if tables are invalidated meanwhile
+    var generation = binding.cache.getGeneration(binding.tables);
+    List<T> rows = fetchNoClose(rowMapper);
+    if ((rows instanceof SpillableList) && ((SpillableList<T>) rows).isSpilled()) {
+      // spilled result is too large to be cached on heap
+      return rows;
+    }
+    return binding.cache.put(key, rows, binding.timeToLive, binding.tables, generation);
+  }
+
+  <T> List<T> fetchCached(DbRowMapper<? extends T> rowMapper) {
+    try {
+      return fetchCachedNoClose(rowMapper);
+    } finally {
+      close();
+    }
+  }
+
+  /**
+   * Fetch single row, using result cache if it is enabled for this statement.
+   *
+   * @param rowMapper is mapper used to translate fetched values to target type
+   * @param <T>       is type of value to be returned
+   * @return fetched value
+   */
+  <T> T fetchOneCachedNoClose(DbRowMapper<? extends T> rowMapper) {
+    if (resultCache == null) {
+      return fetchOneNoClose(rowMapper);
+    }
+    List<T> rows = fetchCachedNoClose(rowMapper);
+    if (rows.isEmpty()) {
+      throw new InternalException("Exact fetch returned no rows" + this);
+    }
+    if (rows.size() > 1) {
+      throw new InternalException("Exact fetch returned more than one row" + this);
+    }
+    return rows.get(0);
+  }
+
+  <T> T fetchOneCached(DbRowMapper<? extends T> rowMapper) {
+    try {
+      return fetchOneCachedNoClose(rowMapper);
+    } finally {
+      close();
+    }
+  }
+
   private void onCloseStream(ResultSet resultSet, boolean close) {
     // close both result and this statement
     Exception exception = null;
@@ -304,11 +563,71 @@ abstract class SelectStatementTImpl<S extends SelectStatementTImpl<S>> {
     }
   }
 
+  /**
+   * Execute statement for reading via cursor.
+   *
+   * @param cursorFactory creates cursor from result set and procedure closing it
+   * @param <C>           is type of cursor
+   * @return cursor over result of statement; closing cursor closes this statement
+   */
+  <C extends RowCursor> C cursor(BiFunction<DbResultSet, Runnable, C> cursorFactory) {
+    var resultSet = execute();
+    return cursorFactory.apply(resultSet, () -> onCloseStream(resultSet, true));
+  }
+
+  /**
+   * Execute statement and return iterator over chunks of fetched rows. Closing iterator closes
+   * both result set and this statement.
+   *
+   * @param rowMapper is mapper used to translate fetched values to target type
+   * @param chunkSize is maximal number of rows in single chunk
+   * @param <T>       is type of rows
+   * @return iterator over chunks of fetched rows
+   */
+  <T> ChunkIterator<T> chunks(DbRowMapper<? extends T> rowMapper, int chunkSize) {
+    if (chunkSize <= 0) {
+      throw new InternalException("Chunk size must be positive: " + chunkSize);
+    }
+    var resultSet = execute();
+    try {
+      // rows are consumed in chunks, thus there is no reason to retrieve them in smaller batches
+      resultSet.setFetchSize(chunkSize);
+    } catch (SQLException e) {
+      onCloseStream(resultSet, true);
+      throw new InternalException("Error setting fetch size of statement " + this, e);
+    }
+    return new ChunkIterator<>(resultSet, rowMapper, chunkSize,
+        () -> onCloseStream(resultSet, true));
+  }
+
+  /**
+   * Execute statement and pass fetched rows to consumer in chunks. Buffer passed to consumer is
+   * reused between chunks, thus consumer has to copy rows it wants to retain. Close this statement
+   * after fetch.
+   *
+   * @param rowMapper is mapper used to translate fetched values to target type
+   * @param chunkSize is maximal number of rows in single chunk
+   * @param consumer  is consumer, processing individual chunks
+   * @param <T>       is type of rows
+   */
+  <T> void fetchChunks(DbRowMapper<? extends T> rowMapper, int chunkSize,
+      Consumer<? super List<T>> consumer) {
+    try (var chunks = this.<T>chunks(rowMapper, chunkSize)) {
+      while (chunks.hasNext()) {
+        consumer.accept(chunks.next());
+      }
+    } finally {
+      close();
+    }
+  }
+
   private <T> Stream<@NonNull T> stream(DbRowMapper<? extends T> rowMapper, boolean close) {
     var resultSet = execute();
-    return StreamSupport
-        .stream(Spliterators.spliteratorUnknownSize(
-            new DbResultSetIterator<T>(rowMapper, resultSet), Spliterator.ORDERED), false)
+    var spliterator = new BatchSpliterator<T>(new DbResultSetIterator<T>(rowMapper, resultSet),
+        streamBatchSize, Spliterator.ORDERED, streamPrefetchExecutor);
+    // spliterator has to be closed first, to make sure prefetch no longer reads resultset
+    return StreamSupport.stream(spliterator, false)
+        .onClose(spliterator::close)
         .onClose(() -> onCloseStream(resultSet, close));
   }
 
@@ -320,6 +639,37 @@ abstract class SelectStatementTImpl<S extends SelectStatementTImpl<S>> {
     return stream(rowMapper, false);
   }
 
+  private static final class ResultCacheBinding {
+
+    private final QueryResultCache cache;
+    private final DbContext context;
+    private final Duration timeToLive;
+    private final Set<String> tables;
+    private final @Nullable DtUid userId;
+    private final List<Class<?>> types;
+
+    ResultCacheBinding(QueryResultCache cache, DbContext context, Duration timeToLive,
+        Set<String> tables, @Nullable DtUid userId, List<Class<?>> types) {
+      this.cache = cache;
+      this.context = context;
+      this.timeToLive = timeToLive;
+      this.tables = Set.copyOf(tables);
+      this.userId = userId;
+      this.types = List.copyOf(types);
+    }
+
+    @Override
+    public String toString() {
+      return "ResultCacheBinding{"
+          + "context=" + context
+          + ", timeToLive=" + timeToLive
+          + ", tables=" + tables
+          + ", userId=" + userId
+          + ", types=" + types
+          + '}';
+    }
+  }
+
   @Covariant(0)
   private static final class DbResultSetIterator<T> implements Iterator<T> {
 
@@ -384,6 +734,11 @@ abstract class SelectStatementTImpl<S extends SelectStatementTImpl<S>> {
         + ", binds=" + binds
         + ", connection=" + connection
         + ", closed=" + closed
+        + ", resultCache=" + resultCache
+        + ", streamBatchSize=" + streamBatchSize
+        + ", streamPrefetchExecutor=" + streamPrefetchExecutor
+        + ", spillHeapRows=" + spillHeapRows
+        + ", deadline=" + deadline
         + '}';
   }
 }
@@ -0,0 +1,193 @@
+package com.provys.db.sqlquery.query;
+
+import com.provys.common.datatype.DtDate;
+import com.provys.common.datatype.DtDateTime;
+import com.provys.common.datatype.DtUid;
+import com.provys.common.exception.InternalException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Optional;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Compact binary encoding of rows, spilled to disk by {@link SpillableList}. Each value is written
+ * as one byte tag followed by its content; standard value types, {@link Optional} and
+ * {@link TupleT2} have dedicated encoding, other serializable values are written using Java
+ * serialization. Values are written via {@link DataOutput} (big endian) and read from
+ * {@link ByteBuffer} with default (big endian) byte order.
+ */
+final class SpillCodec {
+
+  private static final byte TAG_NULL = 0;
+  private static final byte TAG_STRING = 1;
+  private static final byte TAG_INTEGER = 2;
+  private static final byte TAG_DOUBLE = 3;
+  private static final byte TAG_BIG_DECIMAL = 4;
+  private static final byte TAG_BIG_INTEGER = 5;
+  private static final byte TAG_BOOLEAN = 6;
+  private static final byte TAG_DT_UID = 7;
+  private static final byte TAG_DT_DATE = 8;
+  private static final byte TAG_DT_DATE_TIME = 9;
+  private static final byte TAG_OPTIONAL_EMPTY = 10;
+  private static final byte TAG_OPTIONAL = 11;
+  private static final byte TAG_TUPLE_T2 = 12;
+  private static final byte TAG_SERIALIZED = 13;
+
+  private SpillCodec() {
+  }
+
+  private static void writeBytes(byte[] value, DataOutput output) throws IOException {
+    output.writeInt(value.length);
+    output.write(value);
+  }
+
+  private static byte[] readBytes(ByteBuffer input) {
+    var value = new byte[input.getInt()];
+    input.get(value);
+    return value;
+  }
+
+  private static void writeBigDecimal(BigDecimal value, DataOutput output) throws IOException {
+    output.writeInt(value.scale());
+    writeBytes(value.unscaledValue().toByteArray(), output);
+  }
+
+  private static BigDecimal readBigDecimal(ByteBuffer input) {
+    var scale = input.getInt();
+    return new BigDecimal(new BigInteger(readBytes(input)), scale);
+  }
+
+  private static void writeSerialized(Object value, DataOutput output) throws IOException {
+    if (!(value instanceof Serializable)) {
+      throw new InternalException("Value of type " + value.getClass()
+          + " cannot be spilled to disk; it is not serializable");
+    }
+    var bytes = new ByteArrayOutputStream();
+    try (var objectOutput = new ObjectOutputStream(bytes)) {
+      objectOutput.writeObject(value);
+    }
+    writeBytes(bytes.toByteArray(), output);
+  }
+
+  private static Object readSerialized(ByteBuffer input) {
+    try (var objectInput = new ObjectInputStream(new ByteArrayInputStream(readBytes(input)))) {
+      return objectInput.readObject();
+    } catch (IOException | ClassNotFoundException e) {
+      throw new InternalException("Failed to read spilled value", e);
+    }
+  }
+
+  /**
+   * Write value to output.
+   *
+   * @param value  is value to be written
+   * @param output is output value is written to
+   * @throws IOException when write to output fails
+   */
+  static void write(@Nullable Object value, DataOutput output) throws IOException {
+    if (value == null) {
+      output.writeByte(TAG_NULL);
+    } else if (value instanceof String) {
+      output.writeByte(TAG_STRING);
+      writeBytes(((String) value).getBytes(StandardCharsets.UTF_8), output);
+    } else if (value instanceof Integer) {
+      output.writeByte(TAG_INTEGER);
+      output.writeInt((Integer) value);
+    } else if (value instanceof Double) {
+      output.writeByte(TAG_DOUBLE);
+      output.writeDouble((Double) value);
+    } else if (value instanceof BigDecimal) {
+      output.writeByte(TAG_BIG_DECIMAL);
+      writeBigDecimal((BigDecimal) value, output);
+    } else if (value instanceof BigInteger) {
+      output.writeByte(TAG_BIG_INTEGER);
+      writeBytes(((BigInteger) value).toByteArray(), output);
+    } else if (value instanceof Boolean) {
+      output.writeByte(TAG_BOOLEAN);
+      output.writeBoolean((Boolean) value);
+    } else if (value instanceof DtUid) {
+      output.writeByte(TAG_DT_UID);
+      writeBytes(((DtUid) value).getValue().toByteArray(), output);
+    } else if (value instanceof DtDate) {
+      output.writeByte(TAG_DT_DATE);
+      output.writeLong(((DtDate) value).getLocalDate().toEpochDay());
+    } else if (value instanceof DtDateTime) {
+      output.writeByte(TAG_DT_DATE_TIME);
+      var dateTime = ((DtDateTime) value).getLocalDateTime();
+      output.writeLong(dateTime.toLocalDate().toEpochDay());
+      output.writeLong(dateTime.toLocalTime().toNanoOfDay());
+    } else if (value instanceof Optional) {
+      var optional = (Optional<?>) value;
+      if (optional.isEmpty()) {
+        output.writeByte(TAG_OPTIONAL_EMPTY);
+      } else {
+        output.writeByte(TAG_OPTIONAL);
+        write(optional.get(), output);
+      }
+    } else if (value instanceof TupleT2) {
+      output.writeByte(TAG_TUPLE_T2);
+      write(((TupleT2<?, ?>) value).get1(), output);
+      write(((TupleT2<?, ?>) value).get2(), output);
+    } else {
+      output.writeByte(TAG_SERIALIZED);
+      writeSerialized(value, output);
+    }
+  }
+
+  /**
+   * Read value from input.
+   *
+   * @param input is buffer, positioned at start of value
+   * @return value read from buffer
+   */
+  static @Nullable Object read(ByteBuffer input) {
+    var tag = input.get();
+    switch (tag) {
+      case TAG_NULL:
+        return null;
+      case TAG_STRING:
+        return new String(readBytes(input), StandardCharsets.UTF_8);
+      case TAG_INTEGER:
+        return input.getInt();
+      case TAG_DOUBLE:
+        return input.getDouble();
+      case TAG_BIG_DECIMAL:
+        return readBigDecimal(input);
+      case TAG_BIG_INTEGER:
+        return new BigInteger(readBytes(input));
+      case TAG_BOOLEAN:
+        return input.get() != 0;
+      case TAG_DT_UID:
+        return DtUid.valueOf(new BigDecimal(new BigInteger(readBytes(input))));
+      case TAG_DT_DATE:
+        return DtDate.ofLocalDate(LocalDate.ofEpochDay(input.getLong()));
+      case TAG_DT_DATE_TIME:
+        var date = LocalDate.ofEpochDay(input.getLong());
+        return DtDateTime.ofLocalDateTime(
+            LocalDateTime.of(date, LocalTime.ofNanoOfDay(input.getLong())));
+      case TAG_OPTIONAL_EMPTY:
+        return Optional.empty();
+      case TAG_OPTIONAL:
+        return Optional.ofNullable(read(input));
+      case TAG_TUPLE_T2:
+        var value1 = read(input);
+        return new TupleT2<>(value1, read(input));
+      case TAG_SERIALIZED:
+        return readSerialized(input);
+      default:
+        throw new InternalException("Invalid tag of spilled value " + tag);
+    }
+  }
+}
@@ -0,0 +1,278 @@
+package com.provys.db.sqlquery.query;
+
+import com.provys.common.exception.InternalException;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.ref.Cleaner;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Unmodifiable list of fetched rows that keeps only limited number of rows on heap. First rows are
+ * kept on heap as they are; once their number reaches limit, further rows are encoded (see
+ * {@link SpillCodec}) and written to temporary file, that is memory-mapped when fetch is finished.
+ * Spilled rows are decoded on each access; thus very large results degrade to disk (or page
+ * cache) reads instead of exhausting heap. Temporary file is deleted when list is closed; as list
+ * is often passed on as plain {@link List}, file is also deleted when list is garbage collected.
+ *
+ * @param <T> is type of rows
+ */
+public final class SpillableList<T> extends AbstractList<T> implements RandomAccess,
+    AutoCloseable {
+
+  private static final Logger LOG = LogManager.getLogger(SpillableList.class);
+
+  /**
+   * Maximal size of single memory-mapped segment of spill file.
+   */
+  static final int SEGMENT_SIZE = 1 << 30;
+
+  private static final Cleaner CLEANER = Cleaner.create();
+
+  /**
+   * Temporary file holding spilled rows. Kept separate from list so it can be cleaned when list
+   * becomes unreachable.
+   */
+  private static final class SpillFile implements Runnable {
+
+    private final Path path;
+    private final FileChannel channel;
+    private final OutputStream output;
+    private long size = 0;
+    private long[] segmentStarts = {0};
+    private int segmentCount = 1;
+    private MappedByteBuffer @Nullable [] segments = null;
+
+    SpillFile() throws IOException {
+      // deleteOnExit is not used - it would keep path of every spill file until exit of JVM
+      this.path = Files.createTempFile("provysdb-spill", ".tmp");
+      try {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+      } catch (IOException e) {
+        Files.deleteIfExists(path);
+        throw e;
+      }
+      this.output = new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16);
+    }
+
+    /**
+     * Append encoded row to file.
+     *
+     * @param row is buffer with encoded row
+     * @return offset of row in file
+     */
+    long write(ByteArrayOutputStream row) throws IOException {
+      if (row.size() > SEGMENT_SIZE) {
+        throw new InternalException("Row too large to be spilled: " + row.size() + " bytes");
+      }
+      if (size + row.size() - segmentStarts[segmentCount - 1] > SEGMENT_SIZE) {
+        // rows never cross segment boundary
+        if (segmentCount == segmentStarts.length) {
+          segmentStarts = Arrays.copyOf(segmentStarts, segmentCount * 2);
+        }
+        segmentStarts[segmentCount++] = size;
+      }
+      var offset = size;
+      row.writeTo(output);
+      size += row.size();
+      return offset;
+    }
+
+    void finish() throws IOException {
+      output.flush();
+      var mapped = new MappedByteBuffer[segmentCount];
+      for (int i = 0; i < segmentCount; i++) {
+        var end = (i + 1 < segmentCount) ? segmentStarts[i + 1] : size;
+        mapped[i] = channel.map(FileChannel.MapMode.READ_ONLY, segmentStarts[i],
+            end - segmentStarts[i]);
+      }
+      segments = mapped;
+    }
+
+    ByteBuffer getBuffer(long offset) {
+      var mapped = segments;
+      if (mapped == null) {
+        throw new InternalException("Spilled rows cannot be read before fetch is finished");
+      }
+      var segment = Arrays.binarySearch(segmentStarts, 0, segmentCount, offset);
+      if (segment < 0) {
+        segment = -segment - 2;
+      }
+      var buffer = mapped[segment].duplicate();
+      buffer.position((int) (offset - segmentStarts[segment]));
+      return buffer;
+    }
+
+    @Override
+    public void run() {
+      segments = null;
+      try {
+        channel.close();
+        Files.deleteIfExists(path);
+      } catch (IOException e) {
+        LOG.warn("Failed to delete spill file {}", path, e);
+      }
+    }
+
+    @Override
+    public String toString() {
+      return "SpillFile{"
+          + "path=" + path
+          + ", size=" + size
+          + ", segmentCount=" + segmentCount
+          + '}';
+    }
+  }
+
+  private final int heapRows;
+  private final List<@Nullable T> heap;
+  private final ByteArrayOutputStream rowBuffer = new ByteArrayOutputStream(256);
+  private final DataOutputStream rowOutput = new DataOutputStream(rowBuffer);
+  private @Nullable SpillFile spillFile = null;
+  private Cleaner.@Nullable Cleanable cleanable = null;
+  private long[] offsets = new long[0];
+  private int spilledRows = 0;
+  private boolean finished = false;
+
+  /**
+   * Create empty list, keeping given number of rows on heap.
+   *
+   * @param heapRows is maximal number of rows kept on heap
+   */
+  SpillableList(int heapRows) {
+    if (heapRows <= 0) {
+      throw new InternalException("Number of rows kept on heap must be positive: " + heapRows);
+    }
+    this.heapRows = heapRows;
+    this.heap = new ArrayList<>(Math.min(heapRows, 1024));
+  }
+
+  /**
+   * Append row during fetch.
+   *
+   * @param row is row to be appended
+   */
+  void append(@Nullable T row) {
+    if (finished) {
+      throw new InternalException("Cannot append row to finished spillable list");
+    }
+    if (heap.size() < heapRows) {
+      heap.add(row);
+      return;
+    }
+    try {
+      var file = spillFile;
+      if (file == null) {
+        file = new SpillFile();
+        spillFile = file;
+        cleanable = CLEANER.register(this, file);
+        offsets = new long[Math.max(heapRows, 1024)];
+      }
+      rowBuffer.reset();
+      SpillCodec.write(row, rowOutput);
+      if (spilledRows == offsets.length) {
+        offsets = Arrays.copyOf(offsets, spilledRows + (spilledRows >> 1));
+      }
+      offsets[spilledRows++] = file.write(rowBuffer);
+    } catch (IOException e) {
+      close();
+      throw new InternalException("Failed to spill fetched row to disk", e);
+    }
+  }
+
+  /**
+   * Finish fetch; after this call, spilled rows can be read.
+   */
+  void finish() {
+    finished = true;
+    var file = spillFile;
+    if (file != null) {
+      try {
+        file.finish();
+      } catch (IOException e) {
+        close();
+        throw new InternalException("Failed to map spill file", e);
+      }
+    }
+  }
+
+  /**
+   * Indicates if any rows have been spilled to disk.
+   *
+   * @return true if some rows are stored in spill file, false if all rows are on heap
+   */
+  public boolean isSpilled() {
+    return spilledRows > 0;
+  }
+
+  /**
+   * Number of rows kept on heap.
+   *
+   * @return number of rows kept on heap
+   */
+  public int getHeapRows() {
+    return heapRows;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked") // rows were written from values of type T
+  public T get(int index) {
+    if (index < heap.size()) {
+      return heap.get(index);
+    }
+    var spilledIndex = index - heap.size();
+    if (index < 0 || spilledIndex >= spilledRows) {
+      throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length "
+          + size());
+    }
+    var file = spillFile;
+    if (file == null) {
+      throw new InternalException("Spill file of list has already been closed");
+    }
+    return (T) SpillCodec.read(file.getBuffer(offsets[spilledIndex]));
+  }
+
+  @Override
+  public int size() {
+    return heap.size() + spilledRows;
+  }
+
+  /**
+   * Delete spill file. Spilled rows are no longer available after list is closed.
+   */
+  @Override
+  public void close() {
+    spillFile = null;
+    var toClean = cleanable;
+    cleanable = null;
+    if (toClean != null) {
+      toClean.clean();
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "SpillableList{"
+        + "heapRows=" + heapRows
+        + ", size=" + size()
+        + ", spilledRows=" + spilledRows
+        + ", spillFile=" + spillFile
+        + '}';
+  }
+}
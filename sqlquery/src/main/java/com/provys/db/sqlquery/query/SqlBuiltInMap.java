@@ -1,13 +1,15 @@
 package com.provys.db.sqlquery.query;
 
+import com.provys.db.query.elements.OptimizerHint;
 import com.provys.db.query.functions.BuiltIn;
+import com.provys.db.query.functions.OptimizerHintType;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Consumer;
 
 /**
  * Supports translation of function expression to its com.provys.db.sql representation via
- * templates.
+ * templates. Also holds database specific representation of optimizer hints.
  */
 public interface SqlBuiltInMap {
 
@@ -39,4 +41,29 @@ public interface SqlBuiltInMap {
    */
   <B extends SqlBuilder<B>> void append(BuiltIn builtIn,
       List<? extends Consumer<? super B>> argumentAppend, B builder);
+
+  /**
+   * Map of hint appenders this map is based on. Can be used to adapt existing map via {@link
+   * SqlBuiltInMapBuilder}. Default implementation supports no hints.
+   *
+   * @return map of hint appenders this map is based on
+   */
+  default Map<OptimizerHintType, SqlHintAppender> getAppenderByHintType() {
+    return Map.of();
+  }
+
+  /**
+   * Append text of optimizer hint to builder. Hints not supported by database (hint types without
+   * appender) are ignored, as hints do not affect result of statement. Default implementation
+   * looks up appender in map returned by {@link #getAppenderByHintType()}.
+   *
+   * @param hint    is hint to be appended
+   * @param builder is builder hint text should be appended to
+   */
+  default void appendHint(OptimizerHint hint, StringBuilder builder) {
+    var appender = getAppenderByHintType().get(hint.getType());
+    if (appender != null) {
+      appender.append(hint.getArguments(), builder);
+    }
+  }
 }
@@ -1,6 +1,7 @@
 package com.provys.db.sqlquery.query;
 
 import com.provys.db.query.functions.BuiltIn;
+import com.provys.db.query.functions.OptimizerHintType;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
@@ -13,12 +14,16 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 public final class SqlBuiltInMapBuilder {
 
   private final Map<BuiltIn, SqlBuiltInAppender> appenderByBuiltIn;
+  private final Map<OptimizerHintType, SqlHintAppender> appenderByHintType;
 
   /**
-   * Create empty {@code SqlFunctionMapBuilder}.
+   * Create empty {@code SqlFunctionMapBuilder}. Optimizer hints are initialized to default
+   * mapping.
    */
   public SqlBuiltInMapBuilder() {
     this.appenderByBuiltIn = new ConcurrentHashMap<>(30);
+    this.appenderByHintType = new ConcurrentHashMap<>(
+        SqlBuiltInMapImpl.getDefault().getAppenderByHintType());
   }
 
   /**
@@ -28,6 +33,7 @@ public final class SqlBuiltInMapBuilder {
    */
   public SqlBuiltInMapBuilder(SqlBuiltInMap source) {
     this.appenderByBuiltIn = new ConcurrentHashMap<>(source.getAppenderByBuiltIn());
+    this.appenderByHintType = new ConcurrentHashMap<>(source.getAppenderByHintType());
   }
 
   /**
@@ -43,13 +49,36 @@ public final class SqlBuiltInMapBuilder {
     return this;
   }
 
+  /**
+   * Change mapping of specified optimizer hint to provided appender.
+   *
+   * @param hintType is type of hint we want to map
+   * @param appender is appender that should be used for given hint
+   * @return self to support fluent build
+   */
+  public SqlBuiltInMapBuilder putHint(OptimizerHintType hintType, SqlHintAppender appender) {
+    appenderByHintType.put(hintType, appender);
+    return this;
+  }
+
+  /**
+   * Remove mapping of specified optimizer hint; hints of given type will be ignored.
+   *
+   * @param hintType is type of hint that should be ignored
+   * @return self to support fluent build
+   */
+  public SqlBuiltInMapBuilder removeHint(OptimizerHintType hintType) {
+    appenderByHintType.remove(hintType);
+    return this;
+  }
+
   /**
    * Build function map based on mappings, kept in this builder.
    *
    * @return function map with mappings, present in this builder
    */
   public SqlBuiltInMap build() {
-    return new SqlBuiltInMapImpl(appenderByBuiltIn);
+    return new SqlBuiltInMapImpl(appenderByBuiltIn, appenderByHintType);
   }
 
   @Override
@@ -61,18 +90,22 @@ public final class SqlBuiltInMapBuilder {
       return false;
     }
     SqlBuiltInMapBuilder that = (SqlBuiltInMapBuilder) o;
-    return Objects.equals(appenderByBuiltIn, that.appenderByBuiltIn);
+    return Objects.equals(appenderByBuiltIn, that.appenderByBuiltIn)
+        && Objects.equals(appenderByHintType, that.appenderByHintType);
   }
 
   @Override
   public int hashCode() {
-    return appenderByBuiltIn != null ? appenderByBuiltIn.hashCode() : 0;
+    int result = appenderByBuiltIn != null ? appenderByBuiltIn.hashCode() : 0;
+    result = 31 * result + (appenderByHintType != null ? appenderByHintType.hashCode() : 0);
+    return result;
   }
 
   @Override
   public String toString() {
     return "SqlBuiltInMapBuilder{"
         + "appenderByBuiltIn=" + appenderByBuiltIn
+        + ", appenderByHintType=" + appenderByHintType
         + '}';
   }
 }
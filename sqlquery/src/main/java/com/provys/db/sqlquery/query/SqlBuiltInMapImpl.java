@@ -1,5 +1,6 @@
 package com.provys.db.sqlquery.query;
 
+import static com.provys.db.query.functions.BuiltIn.ANY_HASH;
 import static com.provys.db.query.functions.BuiltIn.ANY_NVL;
 import static com.provys.db.query.functions.BuiltIn.COND_AND;
 import static com.provys.db.query.functions.BuiltIn.COND_EQ_NONNULL;
@@ -8,6 +9,7 @@ import static com.provys.db.query.functions.BuiltIn.COND_GT_NONNULL;
 import static com.provys.db.query.functions.BuiltIn.COND_GT_NULL_UNLIMITED;
 import static com.provys.db.query.functions.BuiltIn.COND_GT_OR_EQ_NONNULL;
 import static com.provys.db.query.functions.BuiltIn.COND_GT_OR_EQ_NULL_UNLIMITED;
+import static com.provys.db.query.functions.BuiltIn.COND_IN_NONNULL;
 import static com.provys.db.query.functions.BuiltIn.COND_LT_NONNULL;
 import static com.provys.db.query.functions.BuiltIn.COND_LT_NULL_UNLIMITED;
 import static com.provys.db.query.functions.BuiltIn.COND_LT_OR_EQ_NONNULL;
@@ -24,7 +26,12 @@ import static com.provys.db.sqlquery.query.SqlBuilderPosition.EXPR_ADD;
 import static com.provys.db.sqlquery.query.SqlBuilderPosition.EXPR_BRACKET;
 import static com.provys.db.sqlquery.query.SqlBuilderPosition.IN_BRACKET;
 
+import com.provys.db.query.elements.OptimizerHint;
 import com.provys.db.query.functions.BuiltIn;
+import com.provys.db.query.functions.BuiltInFunction;
+import com.provys.db.query.functions.ConditionalOperator;
+import com.provys.db.query.functions.OptimizerHintType;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -35,13 +42,15 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 public final class SqlBuiltInMapImpl implements SqlBuiltInMap {
 
   private static final SqlBuiltInMapImpl DEFAULT;
+  private static final Map<OptimizerHintType, SqlHintAppender> DEFAULT_HINTS;
 
   static {
-    var map = new HashMap<BuiltIn, SqlBuiltInAppender>(19);
+    var map = new HashMap<BuiltIn, SqlBuiltInAppender>(20);
     map.put(STRING_CHR, new SqlTemplateAppender("CHR({0})", EXPR_BRACKET, IN_BRACKET));
     map.put(STRING_CONCAT, SqlRecursiveAppender.forTemplate("{0}||{1}", EXPR_ADD, EXPR_ADD));
     map.put(DATE_SYSDATE, new SqlTemplateAppender("SYSDATE", EXPR_BRACKET, IN_BRACKET));
     map.put(ANY_NVL, new SqlTemplateAppender("NVL({0}, {1})", EXPR_BRACKET, IN_BRACKET));
+    map.put(ANY_HASH, new SqlTemplateAppender("ORA_HASH({0}, {1})", EXPR_BRACKET, IN_BRACKET));
 
     map.put(COND_OR, new SqlCondOpAppender("OR", SqlBuilderPosition.COND_OR));
     map.put(COND_AND, new SqlCondOpAppender("AND", SqlBuilderPosition.COND_AND));
@@ -72,7 +81,14 @@ public final class SqlBuiltInMapImpl implements SqlBuiltInMap {
     map.put(COND_GT_OR_EQ_NULL_UNLIMITED,
         new SqlTemplateAppender("({0}>={1}) OR ({1} IS NULL)", SqlBuilderPosition.COND_OR,
             SqlBuilderPosition.COND_OR));
-    DEFAULT = new SqlBuiltInMapImpl(map);
+    // Oracle limits number of expressions in single IN list to 1000
+    map.put(COND_IN_NONNULL, new SqlInListAppender(1000));
+    var hintMap = new EnumMap<OptimizerHintType, SqlHintAppender>(OptimizerHintType.class);
+    for (var hintType : OptimizerHintType.values()) {
+      hintMap.put(hintType, new SqlNamedHintAppender(hintType.name()));
+    }
+    DEFAULT_HINTS = Map.copyOf(hintMap);
+    DEFAULT = new SqlBuiltInMapImpl(map, DEFAULT_HINTS);
   }
 
   public static SqlBuiltInMapImpl getDefault() {
@@ -80,9 +96,58 @@ public final class SqlBuiltInMapImpl implements SqlBuiltInMap {
   }
 
   private final Map<BuiltIn, SqlBuiltInAppender> appenderByBuiltIn;
-
+  /**
+   * Appenders for built-in functions, indexed by ordinal. Used to avoid hash lookup when rendering
+   * function.
+   */
+  @SuppressWarnings("Immutable") // array is never modified after construction
+  private final @Nullable SqlBuiltInAppender[] functionAppenders;
+  /**
+   * Appenders for conditional operators, indexed by ordinal.
+   */
+  @SuppressWarnings("Immutable") // array is never modified after construction
+  private final @Nullable SqlBuiltInAppender[] operatorAppenders;
+  private final Map<OptimizerHintType, SqlHintAppender> appenderByHintType;
+  /**
+   * Appenders for optimizer hints, indexed by ordinal.
+   */
+  @SuppressWarnings("Immutable") // array is never modified after construction
+  private final @Nullable SqlHintAppender[] hintAppenders;
+
+  /**
+   * Create map with given function appenders and default (Oracle) rendering of optimizer hints.
+   *
+   * @param appenderByBuiltIn are appenders for built-in functions and operators
+   */
   public SqlBuiltInMapImpl(Map<BuiltIn, SqlBuiltInAppender> appenderByBuiltIn) {
+    this(appenderByBuiltIn, DEFAULT_HINTS);
+  }
+
+  /**
+   * Create map with given function and hint appenders.
+   *
+   * @param appenderByBuiltIn  are appenders for built-in functions and operators
+   * @param appenderByHintType are appenders for optimizer hints; hints without appender are
+   *                           ignored
+   */
+  public SqlBuiltInMapImpl(Map<BuiltIn, SqlBuiltInAppender> appenderByBuiltIn,
+      Map<OptimizerHintType, SqlHintAppender> appenderByHintType) {
     this.appenderByBuiltIn = Map.copyOf(appenderByBuiltIn);
+    this.functionAppenders = new SqlBuiltInAppender[BuiltInFunction.values().length];
+    this.operatorAppenders = new SqlBuiltInAppender[ConditionalOperator.values().length];
+    for (var entry : this.appenderByBuiltIn.entrySet()) {
+      var builtIn = entry.getKey();
+      if (builtIn instanceof BuiltInFunction) {
+        functionAppenders[((BuiltInFunction) builtIn).ordinal()] = entry.getValue();
+      } else if (builtIn instanceof ConditionalOperator) {
+        operatorAppenders[((ConditionalOperator) builtIn).ordinal()] = entry.getValue();
+      }
+    }
+    this.appenderByHintType = Map.copyOf(appenderByHintType);
+    this.hintAppenders = new SqlHintAppender[OptimizerHintType.values().length];
+    for (var entry : this.appenderByHintType.entrySet()) {
+      hintAppenders[entry.getKey().ordinal()] = entry.getValue();
+    }
   }
 
   @Override
@@ -92,7 +157,14 @@ public final class SqlBuiltInMapImpl implements SqlBuiltInMap {
 
   @Override
   public SqlBuiltInAppender getAppender(BuiltIn builtIn) {
-    var result = appenderByBuiltIn.get(builtIn);
+    SqlBuiltInAppender result;
+    if (builtIn instanceof BuiltInFunction) {
+      result = functionAppenders[((BuiltInFunction) builtIn).ordinal()];
+    } else if (builtIn instanceof ConditionalOperator) {
+      result = operatorAppenders[((ConditionalOperator) builtIn).ordinal()];
+    } else {
+      result = appenderByBuiltIn.get(builtIn);
+    }
     if (result == null) {
       throw new NoSuchElementException("Appender not found for built-in function / operator "
           + builtIn);
@@ -106,6 +178,19 @@ public final class SqlBuiltInMapImpl implements SqlBuiltInMap {
     getAppender(builtIn).append(argumentAppend, builder);
   }
 
+  @Override
+  public Map<OptimizerHintType, SqlHintAppender> getAppenderByHintType() {
+    return appenderByHintType;
+  }
+
+  @Override
+  public void appendHint(OptimizerHint hint, StringBuilder builder) {
+    var appender = hintAppenders[hint.getType().ordinal()];
+    if (appender != null) {
+      appender.append(hint.getArguments(), builder);
+    }
+  }
+
   @Override
   public boolean equals(@Nullable Object o) {
     if (this == o) {
@@ -115,18 +200,22 @@ public final class SqlBuiltInMapImpl implements SqlBuiltInMap {
       return false;
     }
     SqlBuiltInMapImpl that = (SqlBuiltInMapImpl) o;
-    return appenderByBuiltIn.equals(that.appenderByBuiltIn);
+    return appenderByBuiltIn.equals(that.appenderByBuiltIn)
+        && appenderByHintType.equals(that.appenderByHintType);
   }
 
   @Override
   public int hashCode() {
-    return appenderByBuiltIn.hashCode();
+    int result = appenderByBuiltIn.hashCode();
+    result = 31 * result + appenderByHintType.hashCode();
+    return result;
   }
 
   @Override
   public String toString() {
     return "SqlBuiltInMapImpl{"
         + "appenderByBuiltIn=" + appenderByBuiltIn
+        + ", appenderByHintType=" + appenderByHintType
         + '}';
   }
 }
@@ -0,0 +1,137 @@
+package com.provys.db.sqlquery.query;
+
+import com.provys.db.query.elements.SelectT;
+import com.provys.db.query.names.BindVariable;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of Sql fragments, rendered from sub-selects. Sub-selects are immutable, thus when
+ * the same (or equal) sub-select is embedded in multiple queries or multiple times in single
+ * query, its text and binds can be spliced into statement instead of rendering it again. Fragments
+ * are only valid for builders with the same configuration (literal handler, function map, bind
+ * literal types and rendering mode), thus single cache instance must not be shared between
+ * builders with different settings.
+ */
+final class SqlFragmentCache {
+
+  /**
+   * Sql fragment, rendered from single sub-select. Fragment is rendered without ident and its bind
+   * variables are kept in order of their positions in fragment, thus splicing fragment to builder
+   * places binds on correct positions relative to binds already present in builder.
+   */
+  static final class SqlFragment {
+
+    private final String sql;
+    private final List<BindVariable> binds;
+    private final int literalBindCount;
+    private final boolean newLine;
+
+    SqlFragment(String sql, List<BindVariable> binds, int literalBindCount, boolean newLine) {
+      this.sql = sql;
+      this.binds = List.copyOf(binds);
+      this.literalBindCount = literalBindCount;
+      this.newLine = newLine;
+    }
+
+    /**
+     * Value of field sql.
+     *
+     * @return value of field sql
+     */
+    String getSql() {
+      return sql;
+    }
+
+    /**
+     * Bind variables in order of their positions in fragment; variable used on multiple positions
+     * is present in list multiple times.
+     *
+     * @return value of field binds
+     */
+    List<BindVariable> getBinds() {
+      return binds;
+    }
+
+    /**
+     * Number of synthetic bind variables, created in fragment in place of literals.
+     *
+     * @return value of field literalBindCount
+     */
+    int getLiteralBindCount() {
+      return literalBindCount;
+    }
+
+    /**
+     * Indicates if rendering of fragment finished with new line.
+     *
+     * @return value of field newLine
+     */
+    boolean isNewLine() {
+      return newLine;
+    }
+
+    @Override
+    public String toString() {
+      return "SqlFragment{"
+          + "sql='" + sql + '\''
+          + ", binds=" + binds
+          + ", literalBindCount=" + literalBindCount
+          + ", newLine=" + newLine
+          + '}';
+    }
+  }
+
+  private final LruCache<SelectT<?>, SqlFragment> entries;
+
+  SqlFragmentCache(int maxSize) {
+    this.entries = new LruCache<>(maxSize);
+  }
+
+  /**
+   * Retrieve fragment from cache or render it using supplied function. Rendering is performed
+   * outside of lock (it might recursively use the same cache for nested sub-selects), thus the
+   * same sub-select might be occasionally rendered more than once.
+   *
+   * @param select   is sub-select fragment is for
+   * @param renderer is function used to render fragment if it is not present in cache
+   * @return rendered fragment
+   */
+  SqlFragment get(SelectT<?> select, Function<SelectT<?>, SqlFragment> renderer) {
+    return entries.get(select, renderer);
+  }
+
+  /**
+   * Value of field maxSize.
+   *
+   * @return value of field maxSize
+   */
+  int getMaxSize() {
+    return entries.getMaxSize();
+  }
+
+  /**
+   * Number of lookups served from cache.
+   *
+   * @return number of cache hits
+   */
+  long getHits() {
+    return entries.getHits();
+  }
+
+  /**
+   * Number of lookups that required rendering of sub-select.
+   *
+   * @return number of cache misses
+   */
+  long getMisses() {
+    return entries.getMisses();
+  }
+
+  @Override
+  public String toString() {
+    return "SqlFragmentCache{"
+        + "entries=" + entries
+        + '}';
+  }
+}
@@ -0,0 +1,21 @@
+package com.provys.db.sqlquery.query;
+
+import com.google.errorprone.annotations.Immutable;
+import java.util.List;
+
+/**
+ * Description that can be used to build optimizer hint Sql text.
+ */
+@FunctionalInterface
+@Immutable
+public interface SqlHintAppender {
+
+  /**
+   * Append text of hint this appender belongs to builder. Hint is appended without enclosing
+   * comment; appender might append nothing if hint is not supported by database.
+   *
+   * @param arguments are (already validated) arguments of hint
+   * @param builder   is builder hint text should be appended to
+   */
+  void append(List<String> arguments, StringBuilder builder);
+}
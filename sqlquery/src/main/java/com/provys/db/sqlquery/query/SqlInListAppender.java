@@ -0,0 +1,97 @@
+package com.provys.db.sqlquery.query;
+
+import com.google.errorprone.annotations.Immutable;
+import com.provys.common.exception.InternalException;
+import java.util.List;
+import java.util.function.Consumer;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Appender used for IN condition - first argument is tested expression, remaining arguments form
+ * list of values. Lists longer than maximal list size are split to multiple IN conditions,
+ * connected by OR.
+ */
+@Immutable
+final class SqlInListAppender implements SqlBuiltInAppender {
+
+  private final int maxListSize;
+
+  SqlInListAppender(int maxListSize) {
+    if (maxListSize <= 0) {
+      throw new InternalException("Maximal size of IN list must be positive, not "
+          + maxListSize);
+    }
+    this.maxListSize = maxListSize;
+  }
+
+  private <B extends SqlBuilder<B>> void appendList(
+      List<? extends Consumer<? super B>> argumentAppend, int start, int end, B builder) {
+    builder.pushPosition(SqlBuilderPosition.OTHER_COMPARE);
+    argumentAppend.get(0).accept(builder);
+    builder.popPosition()
+        .append(" IN (")
+        .pushPosition(SqlBuilderPosition.IN_BRACKET);
+    for (int i = start; i < end; i++) {
+      if (i > start) {
+        builder.append(", ");
+      }
+      argumentAppend.get(i).accept(builder);
+    }
+    builder.popPosition()
+        .append(")");
+  }
+
+  /**
+   * Append function this appender belongs to builder.
+   *
+   * @param argumentAppend is procedure that appends given argument to builder
+   * @param builder        is builder where whole expression should be appended
+   */
+  @Override
+  public <B extends SqlBuilder<B>> void append(List<? extends Consumer<? super B>> argumentAppend,
+      B builder) {
+    if (argumentAppend.size() < 2) {
+      throw new InternalException("IN condition requires at least one value");
+    }
+    var split = argumentAppend.size() - 1 > maxListSize;
+    builder.append("(");
+    for (int start = 1; start < argumentAppend.size(); start += maxListSize) {
+      if (start > 1) {
+        builder.append(" OR ");
+      }
+      if (split) {
+        builder.append("(");
+      }
+      appendList(argumentAppend, start, Math.min(start + maxListSize, argumentAppend.size()),
+          builder);
+      if (split) {
+        builder.append(")");
+      }
+    }
+    builder.append(")");
+  }
+
+  @Override
+  public boolean equals(@Nullable Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    SqlInListAppender that = (SqlInListAppender) o;
+    return maxListSize == that.maxListSize;
+  }
+
+  @Override
+  public int hashCode() {
+    return maxListSize;
+  }
+
+  @Override
+  public String toString() {
+    return "SqlInListAppender{"
+        + "maxListSize=" + maxListSize
+        + '}';
+  }
+}
@@ -0,0 +1,64 @@
+package com.provys.db.sqlquery.query;
+
+import com.google.errorprone.annotations.Immutable;
+import java.util.List;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Appender producing hint in form NAME or NAME(argument1 argument2 ...), as used by Oracle.
+ */
+@Immutable
+public final class SqlNamedHintAppender implements SqlHintAppender {
+
+  private final String name;
+
+  /**
+   * Create appender for hint with given name.
+   *
+   * @param name is name of hint, as used in Sql text
+   */
+  public SqlNamedHintAppender(String name) {
+    this.name = name;
+  }
+
+  @Override
+  public void append(List<String> arguments, StringBuilder builder) {
+    builder.append(name);
+    if (!arguments.isEmpty()) {
+      builder.append('(');
+      var first = true;
+      for (var argument : arguments) {
+        if (!first) {
+          builder.append(' ');
+        }
+        builder.append(argument);
+        first = false;
+      }
+      builder.append(')');
+    }
+  }
+
+  @Override
+  public boolean equals(@Nullable Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    SqlNamedHintAppender that = (SqlNamedHintAppender) o;
+    return name.equals(that.name);
+  }
+
+  @Override
+  public int hashCode() {
+    return name.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return "SqlNamedHintAppender{"
+        + "name='" + name + '\''
+        + '}';
+  }
+}
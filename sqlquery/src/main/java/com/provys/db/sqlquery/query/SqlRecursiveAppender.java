@@ -45,7 +45,10 @@ final class SqlRecursiveAppender implements SqlBuiltInAppender {
   @Override
   public <B extends SqlBuilder<B>> void append(List<? extends Consumer<? super B>> argumentAppend,
       B builder) {
-    if (argumentAppend.size() > 2) {
+    if (baseAppender instanceof SqlTemplateAppender) {
+      // template appender handles recursion itself, without allocating intermediate lists
+      ((SqlTemplateAppender) baseAppender).appendRecursive(argumentAppend, builder);
+    } else if (argumentAppend.size() > 2) {
       // in case of repeatable last argument, we evaluate template repeatedly
       // we create list with all but first argument, that will be used to append second argument
       var afterFirst = argumentAppend.subList(1, argumentAppend.size());
@@ -0,0 +1,126 @@
+package com.provys.db.sqlquery.query;
+
+import com.provys.db.query.elements.SelectT;
+import com.provys.db.query.names.BindName;
+import com.provys.db.query.names.BindWithPos;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Bounded cache of Sql texts rendered from select queries. Queries are immutable, thus rendered
+ * text, bind positions and default bind values can be reused whenever the same (or equal) query is
+ * executed again. Least recently used entries are evicted when cache is full.
+ */
+final class SqlRenderCache {
+
+  /**
+   * Result of rendering single query.
+   */
+  static final class RenderedSelect {
+
+    private final String sql;
+    private final List<BindWithPos> bindsWithPos;
+    private final Map<BindName, @Nullable Object> bindValues;
+
+    RenderedSelect(String sql, Collection<BindWithPos> bindsWithPos,
+        Map<BindName, ?> bindValues) {
+      this.sql = sql;
+      this.bindsWithPos = List.copyOf(bindsWithPos);
+      // bind values might contain nulls, thus Map.copyOf cannot be used
+      this.bindValues = Collections.unmodifiableMap(new HashMap<>(bindValues));
+    }
+
+    /**
+     * Value of field sql.
+     *
+     * @return value of field sql
+     */
+    String getSql() {
+      return sql;
+    }
+
+    /**
+     * Value of field bindsWithPos.
+     *
+     * @return value of field bindsWithPos
+     */
+    List<BindWithPos> getBindsWithPos() {
+      return bindsWithPos;
+    }
+
+    /**
+     * Value of field bindValues.
+     *
+     * @return value of field bindValues
+     */
+    Map<BindName, @Nullable Object> getBindValues() {
+      return bindValues;
+    }
+
+    @Override
+    public String toString() {
+      return "RenderedSelect{"
+          + "sql='" + sql + '\''
+          + ", bindsWithPos=" + bindsWithPos
+          + ", bindValues=" + bindValues
+          + '}';
+    }
+  }
+
+  private final LruCache<SelectT<?>, RenderedSelect> entries;
+
+  SqlRenderCache(int maxSize) {
+    this.entries = new LruCache<>(maxSize);
+  }
+
+  /**
+   * Retrieve rendered query from cache or render it using supplied function. Rendering is
+   * performed outside of lock, thus the same query might be occasionally rendered more than once.
+   *
+   * @param query    is query to be rendered
+   * @param renderer is function used to render query if it is not present in cache
+   * @return rendered query
+   */
+  RenderedSelect get(SelectT<?> query, Function<SelectT<?>, RenderedSelect> renderer) {
+    return entries.get(query, renderer);
+  }
+
+  /**
+   * Value of field maxSize.
+   *
+   * @return value of field maxSize
+   */
+  int getMaxSize() {
+    return entries.getMaxSize();
+  }
+
+  /**
+   * Number of lookups served from cache.
+   *
+   * @return number of cache hits
+   */
+  long getHits() {
+    return entries.getHits();
+  }
+
+  /**
+   * Number of lookups that required rendering of query.
+   *
+   * @return number of cache misses
+   */
+  long getMisses() {
+    return entries.getMisses();
+  }
+
+  @Override
+  public String toString() {
+    return "SqlRenderCache{"
+        + "entries=" + entries
+        + '}';
+  }
+}
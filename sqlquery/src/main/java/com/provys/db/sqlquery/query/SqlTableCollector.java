@@ -0,0 +1,157 @@
+package com.provys.db.sqlquery.query;
+
+import com.provys.db.query.elements.Condition;
+import com.provys.db.query.elements.Expression;
+import com.provys.db.query.elements.FromClause;
+import com.provys.db.query.elements.FromElement;
+import com.provys.db.query.elements.OptimizerHint;
+import com.provys.db.query.elements.OrderByItem;
+import com.provys.db.query.elements.QueryConsumer;
+import com.provys.db.query.elements.SelectClause;
+import com.provys.db.query.elements.SelectColumn;
+import com.provys.db.query.elements.SelectConsumer;
+import com.provys.db.query.elements.SelectT;
+import com.provys.db.query.functions.BuiltInFunction;
+import com.provys.db.query.functions.ConditionalOperator;
+import com.provys.db.query.names.BindVariable;
+import com.provys.db.query.names.NamePath;
+import com.provys.db.query.names.SimpleName;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Query consumer collecting tags of tables query reads from, including tables read by sub-selects
+ * in from clause. Tags are used to invalidate entries in {@link QueryResultCache}.
+ */
+final class SqlTableCollector implements QueryConsumer {
+
+  /**
+   * Collect tags of tables supplied query reads from.
+   *
+   * @param query is analysed query
+   * @return tags of tables query reads from
+   */
+  static Set<String> getTables(SelectT<?> query) {
+    var collector = new SqlTableCollector();
+    query.apply((SelectConsumer) collector);
+    return Set.copyOf(collector.tables);
+  }
+
+  private final Set<String> tables = new HashSet<>(5);
+
+  private SqlTableCollector() {
+  }
+
+  @Override
+  public void select(SelectClause selectClause, FromClause fromClause,
+      @Nullable Condition whereClause, List<OrderByItem> orderBy, @Nullable Integer fetchFirst,
+      List<OptimizerHint> hints) {
+    fromClause.apply(this);
+  }
+
+  @Override
+  public void select(Collection<? extends SelectColumn<?>> columns, FromClause fromClause,
+      @Nullable Condition whereClause, List<OrderByItem> orderBy, @Nullable Integer fetchFirst,
+      List<OptimizerHint> hints) {
+    fromClause.apply(this);
+  }
+
+  @Override
+  public void from(Collection<? extends FromElement> fromElements) {
+    for (var fromElement : fromElements) {
+      fromElement.apply(this);
+    }
+  }
+
+  @Override
+  public void fromTable(NamePath tableName, @Nullable SimpleName alias) {
+    tables.add(QueryResultCache.getTableTag(tableName));
+  }
+
+  @Override
+  public void fromSelect(SelectT<?> select, @Nullable SimpleName alias) {
+    select.apply((SelectConsumer) this);
+  }
+
+  @Override
+  public void fromDual(@Nullable SimpleName alias) {
+    // dual does not change, thus it is not tracked
+  }
+
+  @Override
+  public void selectColumns(Collection<? extends SelectColumn<?>> columns) {
+    // columns do not reference tables
+  }
+
+  @Override
+  public void selectColumn(Expression<?> expression, @Nullable SimpleName alias) {
+    // expressions do not reference tables
+  }
+
+  @Override
+  public void condition(ConditionalOperator operator,
+      Collection<? extends Expression<?>> arguments) {
+    // conditions do not reference tables
+  }
+
+  @Override
+  public void bind(Class<?> type, BindVariable bindVariable) {
+    // bind variables do not reference tables
+  }
+
+  @Override
+  public void column(Class<?> type, @Nullable NamePath table, SimpleName column) {
+    // column references alias, table is collected from from clause
+  }
+
+  @Override
+  public void columnOuter(Class<?> type, @Nullable NamePath table, SimpleName column) {
+    // column references alias, table is collected from from clause
+  }
+
+  @Override
+  public void function(Class<?> type, BuiltInFunction function,
+      Collection<? extends Expression<?>> arguments) {
+    // functions do not reference tables
+  }
+
+  @Override
+  public <T> void literal(Class<T> type, @Nullable T value) {
+    // literals do not reference tables
+  }
+
+  @Override
+  public void keyword(String keyword) {
+    // keywords do not reference tables
+  }
+
+  @Override
+  public void name(NamePath namePath) {
+    // names are only used in rendered text
+  }
+
+  @Override
+  public void symbol(String symbol) {
+    // symbols do not reference tables
+  }
+
+  @Override
+  public void simpleComment(String comment) {
+    // comments do not reference tables
+  }
+
+  @Override
+  public void longComment(String comment) {
+    // comments do not reference tables
+  }
+
+  @Override
+  public String toString() {
+    return "SqlTableCollector{"
+        + "tables=" + tables
+        + '}';
+  }
+}
@@ -1,6 +1,7 @@
 package com.provys.db.sqlquery.query;
 
 import com.google.errorprone.annotations.Immutable;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Consumer;
 import java.util.regex.Pattern;
@@ -15,44 +16,94 @@ final class SqlTemplateAppender implements SqlBuiltInAppender {
   private static final Pattern ARGUMENT_PATTERN = Pattern.compile("(\\{[0-9]+})");
 
   private final String template;
+  /**
+   * Literal fragments of template; fragment i precedes argument i, last fragment follows last
+   * argument. Template is parsed once on creation, thus rendering does not need to scan it.
+   */
+  @SuppressWarnings("Immutable") // array is never modified after construction
+  private final String[] fragments;
+  /**
+   * Indices of arguments, in order in which they appear in template.
+   */
+  @SuppressWarnings("Immutable") // array is never modified after construction
+  private final int[] argumentIndices;
   private final SqlBuilderPosition outerPriority;
   private final SqlBuilderPosition argumentPosition;
 
   SqlTemplateAppender(String template, SqlBuilderPosition outerPriority,
       SqlBuilderPosition argumentPosition) {
     this.template = template;
+    var fragmentList = new ArrayList<String>(5);
+    var indexList = new ArrayList<Integer>(4);
+    var matcher = ARGUMENT_PATTERN.matcher(template);
+    int pos = 0;
+    while (matcher.find()) {
+      fragmentList.add(template.substring(pos, matcher.start()));
+      indexList.add(Integer.parseInt(template.substring(matcher.start() + 1, matcher.end() - 1)));
+      pos = matcher.end();
+    }
+    fragmentList.add(template.substring(pos));
+    this.fragments = fragmentList.toArray(new String[0]);
+    this.argumentIndices = indexList.stream().mapToInt(Integer::intValue).toArray();
     this.outerPriority = outerPriority;
     this.argumentPosition = argumentPosition;
   }
 
-  /**
-   * Append function this appender belongs to builder.
-   *
-   * @param argumentAppend is procedure that appends given argument to builder
-   * @param builder        is builder where whole expression should be appended
-   */
-  @Override
-  public <B extends SqlBuilder<B>> void append(List<? extends Consumer<? super B>> argumentAppend,
+  private void appendFragment(SqlBuilder<?> builder, int index) {
+    var fragment = fragments[index];
+    if (!fragment.isEmpty()) {
+      builder.append(fragment);
+    }
+  }
+
+  private <B extends SqlBuilder<B>> void appendTemplate(
+      List<? extends Consumer<? super B>> argumentAppend, int offset, boolean recursive,
       B builder) {
     if (outerPriority.compareTo(builder.getPosition()) > 0) {
       builder.append("(");
     }
-    var matcher = ARGUMENT_PATTERN.matcher(template);
     builder.pushPosition(argumentPosition);
-    int pos = 0;
-    while (matcher.find()) {
-      builder.append(template.substring(pos, matcher.start()));
-      var argIndex = Integer.parseInt(template.substring(matcher.start() + 1, matcher.end() - 1));
-      argumentAppend.get(argIndex).accept(builder);
-      pos = matcher.end();
+    for (int i = 0; i < argumentIndices.length; i++) {
+      appendFragment(builder, i);
+      var argIndex = argumentIndices[i];
+      if (recursive && (argIndex == 1) && (argumentAppend.size() - offset > 2)) {
+        // repeated second argument - evaluate template again on remaining arguments
+        appendTemplate(argumentAppend, offset + 1, true, builder);
+      } else {
+        argumentAppend.get(offset + argIndex).accept(builder);
+      }
     }
-    builder.append(template.substring(pos))
-        .popPosition();
+    appendFragment(builder, argumentIndices.length);
+    builder.popPosition();
     if (outerPriority.compareTo(builder.getPosition()) > 0) {
       builder.append(")");
     }
   }
 
+  /**
+   * Append function this appender belongs to builder.
+   *
+   * @param argumentAppend is procedure that appends given argument to builder
+   * @param builder        is builder where whole expression should be appended
+   */
+  @Override
+  public <B extends SqlBuilder<B>> void append(List<? extends Consumer<? super B>> argumentAppend,
+      B builder) {
+    appendTemplate(argumentAppend, 0, false, builder);
+  }
+
+  /**
+   * Append function with repeating second argument. Template is applied to the first argument and
+   * (recursively) to the rest of arguments, without need to construct intermediate argument lists.
+   *
+   * @param argumentAppend is procedure that appends given argument to builder
+   * @param builder        is builder where whole expression should be appended
+   */
+  <B extends SqlBuilder<B>> void appendRecursive(
+      List<? extends Consumer<? super B>> argumentAppend, B builder) {
+    appendTemplate(argumentAppend, 0, true, builder);
+  }
+
   @Override
   public boolean equals(@Nullable Object o) {
     if (this == o) {
@@ -3,6 +3,10 @@ package com.provys.db.sqlquery.query;
 import com.provys.db.query.elements.SelectT;
 import com.provys.db.query.elements.SelectT1;
 import com.provys.db.query.elements.SelectT2;
+import com.provys.db.query.names.BindMap;
+import com.provys.db.query.names.BindVariable;
+import java.time.Duration;
+import java.util.Collection;
 
 /**
  * Basic interface, that allows creation of SelectStatement from Select. Holds references to
@@ -36,4 +40,187 @@ public interface StatementFactory {
    * @param <T2> is type of second column
    */
   <T1, T2> SelectStatementT2<T1, T2> getSelect(SelectT2<? extends T1, ? extends T2> query);
+
+  /**
+   * Build select statement from supplied select query, with fetched rows kept in result cache for
+   * given period. Subsequent fetches with the same Sql text, bind values and user are served from
+   * cache until time to live passes or cached entry is invalidated (see {@link QueryResultCache}).
+   * Should only be used for queries reading data that are rarely modified (configuration, code
+   * lists). Factory without result cache returns regular statement.
+   *
+   * @param query      is supplied query definition
+   * @param timeToLive is period for which fetched rows are kept in cache
+   * @return select statement based on supplied query
+   * @param <T1> is type of first column
+   */
+  default <T1> SelectStatementT1<T1> getCachedSelect(SelectT1<T1> query, Duration timeToLive) {
+    return getSelect(query);
+  }
+
+  /**
+   * Build select statement from supplied select query, with fetched rows kept in result cache for
+   * given period. Factory without result cache returns regular statement.
+   *
+   * @param query      is supplied query definition
+   * @param timeToLive is period for which fetched rows are kept in cache
+   * @return select statement based on supplied query
+   * @param <T1> is type of first column
+   * @param <T2> is type of second column
+   */
+  default <T1, T2> SelectStatementT2<T1, T2> getCachedSelect(
+      SelectT2<? extends T1, ? extends T2> query, Duration timeToLive) {
+    return getSelect(query);
+  }
+
+  /**
+   * Build read-only select statement from supplied select query. Statement is executed on
+   * connection retrieved via {@link com.provys.db.dbcontext.DbContext#getReadOnlyConnection()},
+   * thus it might be routed to read-only replica of database and might not see data modified
+   * recently (including data modified in current transaction). Should only be used for queries
+   * that tolerate such lag, like reports. Factory without read-only routing returns regular
+   * statement.
+   *
+   * @param query is supplied query definition
+   * @return select statement based on supplied query
+   */
+  default SelectStatement getReadOnlySelect(SelectT<?> query) {
+    return getSelect(query);
+  }
+
+  /**
+   * Build read-only select statement from supplied select query. Factory without read-only
+   * routing returns regular statement.
+   *
+   * @param query is supplied query definition
+   * @return select statement based on supplied query
+   * @param <T1> is type of first column
+   */
+  default <T1> SelectStatementT1<T1> getReadOnlySelect(SelectT1<T1> query) {
+    return getSelect(query);
+  }
+
+  /**
+   * Build read-only select statement from supplied select query. Factory without read-only
+   * routing returns regular statement.
+   *
+   * @param query is supplied query definition
+   * @return select statement based on supplied query
+   * @param <T1> is type of first column
+   * @param <T2> is type of second column
+   */
+  default <T1, T2> SelectStatementT2<T1, T2> getReadOnlySelect(
+      SelectT2<? extends T1, ? extends T2> query) {
+    return getSelect(query);
+  }
+
+  /**
+   * Build select statement from raw Sql text. Text can contain named bind variables (:name); all
+   * bind variables used in text have to be supplied, as they define type and initial value of
+   * variable. Supplied bind variables not used in text are ignored. Default implementation does
+   * not support raw Sql and throws {@link UnsupportedOperationException}.
+   *
+   * @param sql   is Sql text of statement
+   * @param binds are bind variables used in statement
+   * @return select statement based on supplied Sql text
+   */
+  default SelectStatement getSelect(String sql, Collection<BindVariable> binds) {
+    throw new UnsupportedOperationException(
+        "Raw Sql statements are not supported by " + getClass().getName());
+  }
+
+  /**
+   * Build select statement from raw Sql text, returning single column of given type.
+   *
+   * @param sql   is Sql text of statement
+   * @param binds are bind variables used in statement
+   * @param type1 is type of first column
+   * @return select statement based on supplied Sql text
+   * @param <T1> is type of first column
+   */
+  default <T1> SelectStatementT1<T1> getSelect(String sql, Collection<BindVariable> binds,
+      Class<T1> type1) {
+    throw new UnsupportedOperationException(
+        "Raw Sql statements are not supported by " + getClass().getName());
+  }
+
+  /**
+   * Build select statement from raw Sql text, returning two columns of given types.
+   *
+   * @param sql   is Sql text of statement
+   * @param binds are bind variables used in statement
+   * @param type1 is type of first column
+   * @param type2 is type of second column
+   * @return select statement based on supplied Sql text
+   * @param <T1> is type of first column
+   * @param <T2> is type of second column
+   */
+  default <T1, T2> SelectStatementT2<T1, T2> getSelect(String sql,
+      Collection<BindVariable> binds, Class<T1> type1, Class<T2> type2) {
+    throw new UnsupportedOperationException(
+        "Raw Sql statements are not supported by " + getClass().getName());
+  }
+
+  /**
+   * Set values of bind variables present in statement from supplied bind map. Variables not used
+   * in statement are ignored.
+   *
+   * @param statement  is statement whose bind values are to be set
+   * @param bindValues are values to be assigned to bind variables
+   */
+  private static void bindValues(SelectStatement statement, BindMap bindValues) {
+    var bindsByName = bindValues.getBindsByName();
+    for (var bind : statement.getBinds()) {
+      var bindVariable = bindsByName.get(bind);
+      if (bindVariable != null) {
+        statement.bindValue(bind, bindVariable.getValue());
+      }
+    }
+  }
+
+  /**
+   * Build select statement from supplied select query and assign supplied values to its bind
+   * variables. Intended for repeated execution of the same query (template) with different bind
+   * values; query tree is reused as is and only statement bind values are changed.
+   *
+   * @param query      is supplied query definition
+   * @param bindValues are values of bind variables
+   * @return select statement based on supplied query
+   */
+  default SelectStatement getSelect(SelectT<?> query, BindMap bindValues) {
+    var result = getSelect(query);
+    bindValues(result, bindValues);
+    return result;
+  }
+
+  /**
+   * Build select statement from supplied select query and assign supplied values to its bind
+   * variables.
+   *
+   * @param query      is supplied query definition
+   * @param bindValues are values of bind variables
+   * @return select statement based on supplied query
+   * @param <T1> is type of first column
+   */
+  default <T1> SelectStatementT1<T1> getSelect(SelectT1<T1> query, BindMap bindValues) {
+    var result = getSelect(query);
+    bindValues(result, bindValues);
+    return result;
+  }
+
+  /**
+   * Build select statement from supplied select query and assign supplied values to its bind
+   * variables.
+   *
+   * @param query      is supplied query definition
+   * @param bindValues are values of bind variables
+   * @return select statement based on supplied query
+   * @param <T1> is type of first column
+   * @param <T2> is type of second column
+   */
+  default <T1, T2> SelectStatementT2<T1, T2> getSelect(
+      SelectT2<? extends T1, ? extends T2> query, BindMap bindValues) {
+    SelectStatementT2<T1, T2> result = getSelect(query);
+    bindValues(result, bindValues);
+    return result;
+  }
 }
@@ -0,0 +1,60 @@
+package com.provys.db.sqlquery.query;
+
+import com.provys.db.dbcontext.Deadline;
+import com.provys.db.dbcontext.DeadlineMetrics;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Cancels statements whose deadline passed. JDBC query timeout is applied to individual round
+ * trips to database; watchdog ensures that execution and fetch together do not hold connection
+ * longer than deadline allows. Single daemon thread is shared by all statements.
+ */
+final class StatementWatchdog {
+
+  private static final Logger LOG = LogManager.getLogger(StatementWatchdog.class);
+
+  private static final ScheduledThreadPoolExecutor EXECUTOR = createExecutor();
+
+  private static ScheduledThreadPoolExecutor createExecutor() {
+    var executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+      var thread = new Thread(runnable, "provysdb-statement-watchdog");
+      thread.setDaemon(true);
+      return thread;
+    });
+    // statements are usually closed before their deadline, do not keep their cancel tasks
+    executor.setRemoveOnCancelPolicy(true);
+    return executor;
+  }
+
+  /**
+   * Schedule cancellation of statement when deadline passes. Returned task should be cancelled
+   * when statement is closed.
+   *
+   * @param statement is statement to be cancelled
+   * @param deadline  is deadline of statement
+   * @return scheduled cancellation
+   */
+  static ScheduledFuture<?> cancelAt(Statement statement, Deadline deadline) {
+    return EXECUTOR.schedule(() -> cancel(statement), deadline.getRemaining().toNanos(),
+        TimeUnit.NANOSECONDS);
+  }
+
+  private static void cancel(Statement statement) {
+    try {
+      statement.cancel();
+      DeadlineMetrics.getInstance().recordCancelledStatement();
+      LOG.debug("Statement {} cancelled as its deadline passed", statement);
+    } catch (SQLException e) {
+      LOG.debug("Failed to cancel statement {} after its deadline passed", statement, e);
+    }
+  }
+
+  private StatementWatchdog() {
+  }
+}
@@ -2,6 +2,7 @@ package com.provys.db.sqlquery.codebuilder;
 
 import static org.assertj.core.api.Assertions.*;
 
+import com.provys.common.exception.InternalException;
 import com.provys.db.query.names.NamePath;
 import com.provys.db.query.names.SegmentedName;
 import java.util.stream.Stream;
@@ -194,4 +195,71 @@ class CodeBuilderImplTest {
         .build())
         .isEqualTo("abc\n  def\n    ghi\n  jkl\nmno\n");
   }
-}
\ No newline at end of file
+
+  @Test
+  void setIdentPaddedTest() {
+    assertThat(new CodeBuilderImpl().appendLine("abc").setIdent("", 70).appendLine("xyz")
+        .setIdent("-", 3).appendLine("uvw").build())
+        .isEqualTo("abc\n" + " ".repeat(70) + "xyz\n  -uvw\n");
+  }
+
+  @Test
+  void applyStringTest() {
+    assertThat(new CodeBuilderImpl().setIdent("  ").append("abc")
+        .applyString(builder -> builder.append("def")).appendName("ghi").build())
+        .isEqualTo("  abcdefghi");
+  }
+
+  @Test
+  void compactAppendLineTest() {
+    assertThat(new CodeBuilderImpl(10, true, false)
+        .appendLine("SELECT")
+        .increasedIdent("  ", ", ", 4)
+        .append("a").appendLine()
+        .append("b").appendLine()
+        .popIdent()
+        .appendLine("FROM")
+        .increasedIdent(4)
+        .append("dual").appendLine()
+        .popIdent()
+        .build())
+        .isEqualTo("SELECT a, b FROM dual");
+  }
+
+  @Test
+  void compactSpacesTest() {
+    assertThat(new CodeBuilderImpl(10, true, false)
+        .appendLine("WHERE")
+        .increasedIdent(2)
+        .append("    x=1").appendLine()
+        .append("AND ").append(' ').append("y=2")
+        .popIdent()
+        .build())
+        .isEqualTo("WHERE x=1 AND y=2");
+  }
+
+  @Test
+  void compactAppendWrappedTest() {
+    assertThat(new CodeBuilderImpl(10, true, false).setIdent("ab").appendWrapped("xyz\nwxd", 2)
+        .append("h").build())
+        .isEqualTo("abxyz wxdh");
+  }
+
+  @Test
+  void releaseTest() {
+    var builder = new CodeBuilderImpl(10, false, true);
+    builder.append("abc");
+    assertThat(builder.build()).isEqualTo("abc");
+    var other = new CodeBuilderImpl(10, false, false).append("abc");
+    assertThat(builder).isEqualTo(other);
+    builder.release();
+    assertThatThrownBy(builder::build).isInstanceOf(InternalException.class);
+    assertThatThrownBy(() -> builder.append("def")).isInstanceOf(InternalException.class);
+    // buffer is recycled, but new builder starts empty
+    var reused = new CodeBuilderImpl(10, false, true).append("abc");
+    assertThat(reused.build()).isEqualTo("abc");
+    // released builder does not expose content of recycled buffer
+    assertThat(builder).isNotEqualTo(other).isNotEqualTo(reused);
+    assertThat(builder.toString()).doesNotContain("abc");
+  }
+}
@@ -0,0 +1,79 @@
+package com.provys.db.sqlquery.query;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.provys.common.exception.InternalException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+import org.junit.jupiter.api.Test;
+
+class BatchSpliteratorTest {
+
+  private static Iterator<Integer> getSource(int size) {
+    return IntStream.range(0, size).iterator();
+  }
+
+  @Test
+  void trySplitTest() {
+    var spliterator = new BatchSpliterator<>(getSource(5), 2, Spliterator.ORDERED, null);
+    var first = spliterator.trySplit();
+    assertThat(first).isNotNull();
+    assertThat(first.estimateSize()).isEqualTo(2);
+    var rows = new ArrayList<Integer>();
+    first.forEachRemaining(rows::add);
+    spliterator.forEachRemaining(rows::add);
+    assertThat(rows).containsExactly(0, 1, 2, 3, 4);
+    assertThat(spliterator.trySplit()).isNull();
+  }
+
+  @Test
+  void parallelTest() {
+    var spliterator = new BatchSpliterator<>(getSource(1000), 16, Spliterator.ORDERED, null);
+    assertThat(StreamSupport.stream(spliterator, true)
+        .map(value -> value * 2)
+        .collect(Collectors.toList()))
+        .isEqualTo(IntStream.range(0, 1000).map(value -> value * 2).boxed()
+            .collect(Collectors.toList()));
+  }
+
+  @Test
+  void prefetchTest() {
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      var spliterator = new BatchSpliterator<>(getSource(100), 7, Spliterator.ORDERED, executor);
+      var rows = new ArrayList<Integer>();
+      spliterator.forEachRemaining(rows::add);
+      assertThat(rows).isEqualTo(IntStream.range(0, 100).boxed().collect(Collectors.toList()));
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  void closeTest() {
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      var spliterator = new BatchSpliterator<>(getSource(100), 10, Spliterator.ORDERED, executor);
+      assertThat(spliterator.tryAdvance(value -> assertThat(value).isZero())).isTrue();
+      spliterator.close();
+      var rows = new ArrayList<Integer>();
+      spliterator.forEachRemaining(rows::add);
+      assertThat(rows).isEqualTo(List.of(1, 2, 3, 4, 5, 6, 7, 8, 9));
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  void invalidBatchSizeTest() {
+    assertThatThrownBy(() -> new BatchSpliterator<>(getSource(1), 0, 0, null))
+        .isInstanceOf(InternalException.class);
+  }
+}
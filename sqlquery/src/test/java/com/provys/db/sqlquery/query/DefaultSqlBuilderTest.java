@@ -1,5 +1,6 @@
 package com.provys.db.sqlquery.query;
 
+import static com.provys.db.query.functions.BuiltInFunction.ANY_HASH;
 import static com.provys.db.query.functions.BuiltInFunction.STRING_CHR;
 import static com.provys.db.query.functions.BuiltInFunction.STRING_CONCAT;
 import static com.provys.db.query.functions.ConditionalOperator.COND_AND;
@@ -9,8 +10,11 @@ import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.mock;
 
 import com.provys.common.datatype.DtUid;
+import com.provys.common.exception.InternalException;
 import com.provys.db.query.elements.Element;
 import com.provys.db.query.elements.ElementFactory;
+import com.provys.db.query.elements.Expression;
+import com.provys.db.query.functions.OptimizerHintType;
 import com.provys.db.query.names.BindName;
 import com.provys.db.query.names.BindVariable;
 import com.provys.db.query.names.BindWithPos;
@@ -18,6 +22,7 @@ import com.provys.db.query.names.SegmentedName;
 import com.provys.db.query.names.SimpleName;
 import com.provys.db.sqlquery.literals.SqlLiteralHandler;
 import com.provys.db.sqlquery.literals.SqlLiteralTypeHandlerMap;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -126,6 +131,10 @@ class DefaultSqlBuilderTest {
             "'first'||'second'||?",
             new BindWithPos[]{new BindWithPos(BindName.valueOf("bind1"), String.class,
                 List.of(1))}, Collections.emptyMap()}
+        , new Object[]{FACTORY.function(Integer.class, ANY_HASH,
+            List.of(FACTORY.column(String.class, null, SimpleName.valueOf("rowid")),
+                FACTORY.literal(7))),
+            "ORA_HASH(rowid, 7)", EMPTY_BIND_WITH_POS, Collections.emptyMap()}
     );
   }
 
@@ -157,6 +166,42 @@ class DefaultSqlBuilderTest {
     assertThat(builder.getBindValues()).isEmpty();
   }
 
+  static Stream<Object[]> literalBindTest() {
+    return Stream.of(
+        new Object[]{FACTORY.literal(5), "?", new BindWithPos[]{
+            new BindWithPos(BindName.valueOf("sys_lit_1"), Integer.class, List.of(1))},
+            Map.of(BindName.valueOf("sys_lit_1"), (Object) 5)}
+        , new Object[]{FACTORY.literal(5.5), "5.5", EMPTY_BIND_WITH_POS, Collections.emptyMap()}
+        , new Object[]{FACTORY.literal(String.class, null), "NULL", EMPTY_BIND_WITH_POS,
+            Collections.emptyMap()}
+        , new Object[]{FACTORY.function(String.class, STRING_CONCAT,
+            List.of(FACTORY.literal("first"), FACTORY.literal("second"))),
+            "?||?", new BindWithPos[]{
+            new BindWithPos(BindName.valueOf("sys_lit_1"), String.class, List.of(1)),
+            new BindWithPos(BindName.valueOf("sys_lit_2"), String.class, List.of(2))},
+            Map.of(BindName.valueOf("sys_lit_1"), "first", BindName.valueOf("sys_lit_2"),
+                "second")}
+        , new Object[]{FACTORY.condition(COND_EQ_NONNULL,
+            List.of(FACTORY.column(DtUid.class, null, SimpleName.valueOf("prog_id")),
+                FACTORY.literal(DtUid.valueOf("1284752922")))),
+            "(prog_id=?)", new BindWithPos[]{
+            new BindWithPos(BindName.valueOf("sys_lit_1"), DtUid.class, List.of(1))},
+            Map.of(BindName.valueOf("sys_lit_1"), DtUid.valueOf("1284752922"))}
+    );
+  }
+
+  @ParameterizedTest
+  @MethodSource
+  void literalBindTest(Element<?> element, String sql, BindWithPos[] bindWithPos,
+      Map<BindName, Object> bindValue) {
+    var builder = new DefaultSqlBuilder(SqlLiteralTypeHandlerMap.getDefaultMap(),
+        SqlBuiltInMapImpl.getDefault(), List.of(Integer.class, String.class, DtUid.class));
+    element.apply(builder);
+    assertThat(builder.getSql()).isEqualTo(sql);
+    assertThat(builder.getBindsWithPos()).containsExactlyInAnyOrder(bindWithPos);
+    assertThat(builder.getBindValues()).containsExactlyInAnyOrderEntriesOf(bindValue);
+  }
+
   @Test
   void selectTest() {
   }
@@ -173,6 +218,154 @@ class DefaultSqlBuilderTest {
   void selectColumnTest() {
   }
 
+  @Test
+  void selectOrderByTest() {
+    var element = FACTORY.select(List.of(FACTORY.selectColumn(
+        FACTORY.column(DtUid.class, null, SimpleName.valueOf("prog_id")), null)),
+        FACTORY.from(List.of(FACTORY.fromTable(SimpleName.valueOf("brc_prog_tb"), null))), null,
+        List.of(FACTORY.orderBy(FACTORY.column(String.class, null, SimpleName.valueOf("name"))),
+            FACTORY.orderBy(FACTORY.column(DtUid.class, null, SimpleName.valueOf("prog_id")),
+                true)),
+        10, List.of(), null);
+    var builder = getBuilder();
+    element.apply(builder);
+    assertThat(builder.getSql()).isEqualTo("SELECT\n    prog_id\nFROM\n    brc_prog_tb\n"
+        + "ORDER BY\n    name\n  , prog_id DESC\nFETCH FIRST ? ROWS ONLY\n");
+    assertThat(builder.getBindsWithPos()).containsExactly(
+        new BindWithPos(BindName.valueOf("SYS_LIT_1"), Integer.class, List.of(1)));
+    assertThat(builder.getBindValues()).containsEntry(BindName.valueOf("SYS_LIT_1"), 10);
+  }
+
+  @Test
+  void reservedBindNameTest() {
+    // user bind named as synthetic bind would collide with bind of row limit
+    var element = FACTORY.select(List.of(FACTORY.selectColumn(
+        FACTORY.column(DtUid.class, null, SimpleName.valueOf("prog_id")), null)),
+        FACTORY.from(List.of(FACTORY.fromTable(SimpleName.valueOf("brc_prog_tb"), null))),
+        FACTORY.condition(COND_EQ_NONNULL, List.of(
+            FACTORY.column(Integer.class, null, SimpleName.valueOf("id")),
+            FACTORY.bind(Integer.class, "sys_lit_1", 5))),
+        List.of(), 10, List.of(), null);
+    var builder = getBuilder();
+    assertThatThrownBy(() -> element.apply(builder))
+        .isInstanceOf(InternalException.class)
+        .hasMessageContaining("SYS_LIT_");
+  }
+
+  @Test
+  void inTest() {
+    var column = FACTORY.column(Integer.class, null, SimpleName.valueOf("id"));
+    var builder = getBuilder();
+    FACTORY.in(column, List.of(FACTORY.literal(1), FACTORY.literal(2))).apply(builder);
+    assertThat(builder.getSql()).isEqualTo("(id IN (1, 2))");
+  }
+
+  @Test
+  void inBindTest() {
+    var column = FACTORY.column(Integer.class, null, SimpleName.valueOf("id"));
+    var builder = getBuilder();
+    FACTORY.in(column, "ids", List.of(1, 2, 2, 3)).apply(builder);
+    // values are deduplicated and padded to ten binds, last value is repeated
+    assertThat(builder.getSql()).isEqualTo("(id IN (?, ?, ?, ?, ?, ?, ?, ?, ?, ?))");
+    assertThat(builder.getBindsWithPos()).hasSize(10);
+    assertThat(builder.getBindValues()).containsEntry(BindName.valueOf("ids3"), 3)
+        .containsEntry(BindName.valueOf("ids10"), 3);
+    // different number of values within the same bucket produces the same Sql text
+    var builder2 = getBuilder();
+    FACTORY.in(column, "ids", List.of(4, 5, 6, 7, 8)).apply(builder2);
+    assertThat(builder2.getSql()).isEqualTo(builder.getSql());
+  }
+
+  @Test
+  void inBindSplitTest() {
+    var column = FACTORY.column(Integer.class, null, SimpleName.valueOf("id"));
+    var binds = new ArrayList<Expression<Integer>>(1200);
+    for (int i = 0; i < 1200; i++) {
+      binds.add(FACTORY.bind(Integer.class, "id" + i, i));
+    }
+    var builder = getBuilder();
+    FACTORY.in(column, binds).apply(builder);
+    // split to two lists as Oracle only allows 1000 items in IN list
+    assertThat(builder.getBindsWithPos()).hasSize(1200);
+    assertThat(builder.getSql()).startsWith("((id IN (?, ").contains("?)) OR (id IN (?, ")
+        .endsWith("?)))");
+  }
+
+  @Test
+  void inCollectionBindTest() {
+    var column = FACTORY.column(Integer.class, null, SimpleName.valueOf("id"));
+    var values = new ArrayList<Integer>(40000);
+    for (int i = 0; i < 40000; i++) {
+      values.add(i);
+    }
+    var builder = getBuilder();
+    FACTORY.in(column, "ids", values).apply(builder);
+    // sets larger than the last bucket are passed as single collection bind
+    assertThat(builder.getSql()).isEqualTo("(id IN (SELECT COLUMN_VALUE FROM TABLE(?)))");
+    assertThat(builder.getBindsWithPos()).containsExactly(
+        new BindWithPos(BindName.valueOf("ids"), Integer.class, List.of(1), true));
+    assertThat(builder.getBindValues()).containsEntry(BindName.valueOf("ids"), values);
+  }
+
+  @Test
+  void inCollectionBindChunkedTest() {
+    var column = FACTORY.column(Integer.class, null, SimpleName.valueOf("id"));
+    var values = new ArrayList<Integer>(1200);
+    for (int i = 0; i < 1200; i++) {
+      values.add(i);
+    }
+    // builder for database that does not support array parameters
+    var builder = new DefaultSqlBuilder(SqlLiteralTypeHandlerMap.getDefaultMap(),
+        SqlBuiltInMapImpl.getDefault(), List.of(), false, false, null);
+    FACTORY.in(column, "ids", values).apply(builder);
+    // values are passed in lists of 500 binds, connected by OR; last list is padded
+    assertThat(builder.getBindsWithPos()).hasSize(1500);
+    assertThat(builder.getSql()).startsWith("    (id IN (?, ").contains("?))\nOR  (id IN (?, ")
+        .endsWith("?))").doesNotContain("TABLE");
+    var bindValues = builder.getBindValues();
+    assertThat(bindValues).containsEntry(BindName.valueOf("ids1"), 0)
+        .containsEntry(BindName.valueOf("ids1200"), 1199)
+        .containsEntry(BindName.valueOf("ids1500"), 1199);
+  }
+
+  @Test
+  void collectionBindOutsideInTest() {
+    var bind = FACTORY.bind(Integer.class,
+        BindVariable.ofCollection(BindName.valueOf("ids"), Integer.class, List.of(1, 2)));
+    var builder = getBuilder();
+    assertThatThrownBy(() -> FACTORY.condition(COND_EQ_NONNULL,
+        List.of(FACTORY.column(Integer.class, null, SimpleName.valueOf("id")), bind))
+        .apply(builder))
+        .isInstanceOf(InternalException.class)
+        .hasMessageContaining("can only be used in IN condition");
+  }
+
+  @Test
+  void selectHintTest() {
+    var element = FACTORY.select(List.of(FACTORY.selectColumn(
+        FACTORY.column(DtUid.class, null, SimpleName.valueOf("prog_id")), null)),
+        FACTORY.from(List.of(FACTORY.fromTable(SimpleName.valueOf("brc_prog_tb"),
+            SimpleName.valueOf("prog")))), null, List.of(), null,
+        List.of(FACTORY.hint(OptimizerHintType.FIRST_ROWS, "10"),
+            FACTORY.hint(OptimizerHintType.RESULT_CACHE),
+            FACTORY.hint(OptimizerHintType.INDEX, "prog", "brc_prog_pk")), null);
+    var builder = getBuilder();
+    element.apply(builder);
+    assertThat(builder.getSql()).isEqualTo(
+        "SELECT /*+ FIRST_ROWS(10) RESULT_CACHE INDEX(prog brc_prog_pk) */\n    prog_id\n"
+            + "FROM\n    brc_prog_tb prog\n");
+    // hints not supported by database are skipped
+    var builtInMap = new SqlBuiltInMapBuilder(SqlBuiltInMapImpl.getDefault())
+        .removeHint(OptimizerHintType.FIRST_ROWS)
+        .removeHint(OptimizerHintType.INDEX)
+        .build();
+    var restrictedBuilder = new DefaultSqlBuilder(SqlLiteralTypeHandlerMap.getDefaultMap(),
+        builtInMap);
+    element.apply(restrictedBuilder);
+    assertThat(restrictedBuilder.getSql()).isEqualTo(
+        "SELECT /*+ RESULT_CACHE */\n    prog_id\nFROM\n    brc_prog_tb prog\n");
+  }
+
   @Test
   void fromTest() {
     // prepare from element 1 - table1, no binds
@@ -308,4 +501,69 @@ class DefaultSqlBuilderTest {
     sourceBuilder.append("text");
     assertThat(sourceBuilder.getClone().getSql()).isEmpty();
   }
-}
\ No newline at end of file
+
+  @Test
+  void getCloneBindLiteralTypesTest() {
+    var sourceBuilder = new DefaultSqlBuilder(SqlLiteralTypeHandlerMap.getDefaultMap(),
+        SqlBuiltInMapImpl.getDefault(), List.of(Integer.class));
+    assertThat(sourceBuilder.getClone().getBindLiteralTypes()).containsExactly(Integer.class);
+  }
+
+  @Test
+  void compactTest() {
+    var builder = new DefaultSqlBuilder(SqlLiteralTypeHandlerMap.getDefaultMap(),
+        SqlBuiltInMapImpl.getDefault(), Collections.emptySet(), true);
+    FACTORY.fromSelect(FACTORY
+        .select(List.of(FACTORY.selectColumn(
+            FACTORY.column(DtUid.class, null, SimpleName.valueOf("prog_id")), null),
+            FACTORY.selectColumn(
+                FACTORY.column(String.class, null, SimpleName.valueOf("name")), null)),
+            FACTORY.from(List.of(FACTORY.fromDual(null))), FACTORY.condition(COND_AND, List.of(
+                FACTORY.condition(COND_EQ_NONNULL,
+                    List.of(FACTORY.column(String.class, null, SimpleName.valueOf("record_id")),
+                        FACTORY.literal("text"))),
+                FACTORY.condition(COND_EQ_NONNULL,
+                    List.of(FACTORY.column(DtUid.class, null, SimpleName.valueOf("prog_id")),
+                        FACTORY.column(DtUid.class, null, SimpleName.valueOf("series_id"))))))),
+        SimpleName.valueOf("table2"))
+        .apply(builder);
+    assertThat(builder.getSql()).isEqualTo("( SELECT prog_id, name FROM dual WHERE"
+        + " (record_id='text') AND (prog_id=series_id) ) table2");
+  }
+
+  @Test
+  void getCloneCompactTest() {
+    var sourceBuilder = new DefaultSqlBuilder(SqlLiteralTypeHandlerMap.getDefaultMap(),
+        SqlBuiltInMapImpl.getDefault(), Collections.emptySet(), true);
+    assertThat(sourceBuilder.getClone().isCompact()).isTrue();
+  }
+
+  @Test
+  void fromSelectFragmentTest() {
+    var fragmentCache = new SqlFragmentCache(10);
+    var builder = new DefaultSqlBuilder(SqlLiteralTypeHandlerMap.getDefaultMap(),
+        SqlBuiltInMapImpl.getDefault(), List.of(String.class), false, fragmentCache);
+    var subSelect = FACTORY.select(FACTORY.selectColumn(
+        FACTORY.bind(String.class, new BindVariable("name1", String.class, null)), null),
+        FACTORY.from(List.of(FACTORY.fromDual(null))), FACTORY.condition(COND_EQ_NONNULL,
+            List.of(FACTORY.column(String.class, null, SimpleName.valueOf("name")),
+                FACTORY.literal("text"))));
+    FACTORY.select(List.of(FACTORY.selectColumn(
+        FACTORY.column(String.class, SimpleName.valueOf("a"), SimpleName.valueOf("x")), null)),
+        FACTORY.from(List.of(FACTORY.fromSelect(subSelect, SimpleName.valueOf("a")),
+            FACTORY.fromSelect(subSelect, SimpleName.valueOf("b")))), null)
+        .apply(builder);
+    var subSelectSql = "      SELECT\n          ?\n      FROM\n          dual\n      WHERE\n"
+        + "            (name=?)\n";
+    assertThat(builder.getSql()).isEqualTo("SELECT\n    a.x\nFROM\n    (\n" + subSelectSql
+        + "    ) a\n  , (\n" + subSelectSql + "    ) b\n");
+    assertThat(builder.getBindsWithPos()).containsExactlyInAnyOrder(
+        new BindWithPos(BindName.valueOf("name1"), String.class, List.of(1, 3)),
+        new BindWithPos(BindName.valueOf("SYS_LIT_1"), String.class, List.of(2)),
+        new BindWithPos(BindName.valueOf("SYS_LIT_2"), String.class, List.of(4)));
+    assertThat(builder.getBindValues()).containsExactlyInAnyOrderEntriesOf(
+        Map.of(BindName.valueOf("SYS_LIT_1"), "text", BindName.valueOf("SYS_LIT_2"), "text"));
+    assertThat(fragmentCache.getMisses()).isEqualTo(1);
+    assertThat(fragmentCache.getHits()).isEqualTo(1);
+  }
+}
@@ -0,0 +1,159 @@
+package com.provys.db.sqlquery.query;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.provys.db.dbcontext.DbConnection;
+import com.provys.db.dbcontext.DbContext;
+import com.provys.db.dbcontext.DbPreparedStatement;
+import com.provys.db.dbcontext.DbResultSet;
+import com.provys.db.query.elements.ElementFactory;
+import com.provys.db.query.elements.SelectT1;
+import com.provys.db.query.names.BindName;
+import com.provys.db.query.names.BindVariable;
+import com.provys.db.query.names.SegmentedName;
+import com.provys.db.query.names.SimpleName;
+import com.provys.db.sqlquery.literals.SqlLiteralTypeHandlerMap;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class DefaultStatementFactoryTest {
+
+  private static final String RAW_SQL = "SELECT name FROM tab -- :comment\n"
+      + "WHERE (id = :id) AND (name = ':name' || :name) AND (parent_id = :id)";
+  private static final String JDBC_SQL = "SELECT name FROM tab -- :comment\n"
+      + "WHERE (id = ?) AND (name = ':name' || ?) AND (parent_id = ?)";
+
+  @Test
+  void getSelectRawSqlTest() throws SQLException {
+    var dbContext = mock(DbContext.class);
+    var connection = mock(DbConnection.class);
+    var preparedStatement = mock(DbPreparedStatement.class);
+    var resultSet = mock(DbResultSet.class);
+    when(dbContext.getConnection()).thenReturn(connection);
+    when(connection.prepareStatement(JDBC_SQL)).thenReturn(preparedStatement);
+    when(preparedStatement.executeQuery()).thenReturn(resultSet);
+    var factory = new DefaultStatementFactory(dbContext,
+        SqlLiteralTypeHandlerMap.getDefaultMap(), SqlBuiltInMapImpl.getDefault(),
+        Collections.emptySet(), 10);
+    try (var statement = factory.getSelect(RAW_SQL, List.of(
+        new BindVariable("id", Integer.class, 5), new BindVariable("name", String.class, "x"),
+        new BindVariable("unused", String.class, null)))) {
+      assertThat(statement.getBinds())
+          .containsExactlyInAnyOrder(BindName.valueOf("id"), BindName.valueOf("name"));
+      statement.execute();
+    }
+    verify(preparedStatement).setNullableValue(1, 5, Integer.class);
+    verify(preparedStatement).setNullableValue(2, "x", String.class);
+    verify(preparedStatement).setNullableValue(3, 5, Integer.class);
+    try (var statement = factory.getSelect(RAW_SQL, List.of(
+        new BindVariable("id", Integer.class, 6), new BindVariable("name", String.class, null)),
+        String.class)) {
+      statement.execute();
+    }
+    verify(connection, times(2)).prepareStatement(JDBC_SQL);
+    verify(preparedStatement).setNullableValue(1, 6, Integer.class);
+  }
+
+  @Test
+  void getSelectRawSqlUnknownSymbolTest() throws SQLException {
+    var dbContext = mock(DbContext.class);
+    var connection = mock(DbConnection.class);
+    var preparedStatement = mock(DbPreparedStatement.class);
+    when(dbContext.getConnection()).thenReturn(connection);
+    when(connection.prepareStatement(anyString())).thenReturn(preparedStatement);
+    var factory = new DefaultStatementFactory(dbContext);
+    // ^= is not known to tokenizer, text is passed through with only binds replaced
+    try (var statement = factory.getSelect("SELECT name FROM tab /* :x */\n"
+        + "WHERE (flags ^= :flags) AND (name = ':name' || :name) AND (id = :flags)",
+        List.of(new BindVariable("flags", Integer.class, 1),
+            new BindVariable("name", String.class, "x")))) {
+      assertThat(statement.getBinds())
+          .containsExactlyInAnyOrder(BindName.valueOf("flags"), BindName.valueOf("name"));
+    }
+    verify(connection).prepareStatement("SELECT name FROM tab /* :x */\n"
+        + "WHERE (flags ^= ?) AND (name = ':name' || ?) AND (id = ?)");
+  }
+
+  @Test
+  void getSelectRawSqlMissingBindTest() {
+    var factory = new DefaultStatementFactory(mock(DbContext.class));
+    assertThatThrownBy(() -> factory.getSelect(RAW_SQL,
+        List.of(new BindVariable("id", Integer.class, 5))))
+        .hasMessageContaining("not supplied");
+  }
+
+  private static SelectT1<String> getCachedQuery() {
+    var factory = ElementFactory.getInstance();
+    return factory.select(
+        factory.selectColumn(factory.column(String.class, null, SimpleName.valueOf("name")),
+            null),
+        factory.from(List.of(factory.fromTable(SegmentedName.valueOf("brc.brc_prog_tb"), null))),
+        null);
+  }
+
+  @Test
+  void getCachedSelectTest() throws SQLException {
+    var dbContext = mock(DbContext.class);
+    var connection = mock(DbConnection.class);
+    var preparedStatement = mock(DbPreparedStatement.class);
+    var resultSet = mock(DbResultSet.class);
+    when(dbContext.getConnection()).thenReturn(connection);
+    when(connection.prepareStatement(anyString())).thenReturn(preparedStatement);
+    when(preparedStatement.executeQuery()).thenReturn(resultSet);
+    when(resultSet.next()).thenReturn(true, false, true, false);
+    when(resultSet.getNonNullValue(1, String.class)).thenReturn("x");
+    var cache = new QueryResultCache(10);
+    var factory = new DefaultStatementFactory(dbContext,
+        SqlLiteralTypeHandlerMap.getDefaultMap(), SqlBuiltInMapImpl.getDefault(),
+        Collections.emptySet(), 10, false, cache);
+    var query = getCachedQuery();
+    assertThat(factory.getCachedSelect(query, Duration.ofMinutes(1)).fetchNonNull())
+        .containsExactly("x");
+    assertThat(factory.getCachedSelect(query, Duration.ofMinutes(1)).fetchNonNull())
+        .containsExactly("x");
+    verify(preparedStatement, times(1)).executeQuery();
+    assertThat(cache.getHits()).isEqualTo(1);
+    cache.invalidateTable(SegmentedName.valueOf("brc_prog_tb"));
+    assertThat(factory.getCachedSelect(query, Duration.ofMinutes(1)).fetchNonNull())
+        .containsExactly("x");
+    verify(preparedStatement, times(2)).executeQuery();
+    assertThat(cache.getSize()).isEqualTo(1);
+  }
+
+  @Test
+  void getCachedSelectInvalidatedDuringFetchTest() throws SQLException {
+    var dbContext = mock(DbContext.class);
+    var connection = mock(DbConnection.class);
+    var preparedStatement = mock(DbPreparedStatement.class);
+    var resultSet = mock(DbResultSet.class);
+    var cache = new QueryResultCache(10);
+    when(dbContext.getConnection()).thenReturn(connection);
+    when(connection.prepareStatement(anyString())).thenReturn(preparedStatement);
+    when(preparedStatement.executeQuery()).thenReturn(resultSet);
+    when(resultSet.next())
+        .thenAnswer(invocation -> {
+          // table is modified by other thread while rows are being fetched
+          cache.invalidateTable(SegmentedName.valueOf("brc.brc_prog_tb"));
+          return true;
+        })
+        .thenReturn(false);
+    when(resultSet.getNonNullValue(1, String.class)).thenReturn("x");
+    var factory = new DefaultStatementFactory(dbContext,
+        SqlLiteralTypeHandlerMap.getDefaultMap(), SqlBuiltInMapImpl.getDefault(),
+        Collections.emptySet(), 10, false, cache);
+    var query = getCachedQuery();
+    assertThat(factory.getCachedSelect(query, Duration.ofMinutes(1)).fetchNonNull())
+        .containsExactly("x");
+    assertThat(cache.getSize()).isZero();
+    assertThat(cache.getRejectedPuts()).isEqualTo(1);
+    // rows fetched before invalidation are not served from cache
+    assertThat(factory.getCachedSelect(query, Duration.ofMinutes(1)).fetchNonNull()).isEmpty();
+    verify(preparedStatement, times(2)).executeQuery();
+    assertThat(factory.getCachedSelect(query, Duration.ofMinutes(1)).fetchNonNull()).isEmpty();
+    verify(preparedStatement, times(2)).executeQuery();
+  }
+}
@@ -0,0 +1,64 @@
+package com.provys.db.sqlquery.query;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+
+class LruCacheTest {
+
+  @Test
+  void getTest() {
+    var cache = new LruCache<String, String>(2);
+    assertThat(cache.get("a")).isNull();
+    assertThat(cache.get("a", String::toUpperCase)).isEqualTo("A");
+    assertThat(cache.get("a", key -> "X")).isEqualTo("A");
+    assertThat(cache.getHits()).isEqualTo(1);
+    assertThat(cache.getMisses()).isEqualTo(2);
+    assertThat(cache.getPuts()).isEqualTo(1);
+  }
+
+  @Test
+  void evictTest() {
+    var cache = new LruCache<String, String>(2);
+    cache.put("a", "A");
+    cache.put("b", "B");
+    cache.get("a");
+    cache.put("c", "C");
+    assertThat(cache.get("b")).isNull();
+    assertThat(cache.get("a")).isEqualTo("A");
+    assertThat(cache.get("c")).isEqualTo("C");
+    assertThat(cache.getEvictions()).isEqualTo(1);
+    assertThat(cache.size()).isEqualTo(2);
+  }
+
+  @Test
+  void staleTest() {
+    var stale = new AtomicBoolean(false);
+    var cache = new LruCache<String, String>(2, value -> stale.get());
+    cache.put("a", "A");
+    assertThat(cache.get("a")).isEqualTo("A");
+    stale.set(true);
+    assertThat(cache.get("a")).isNull();
+    assertThat(cache.getExpirations()).isEqualTo(1);
+    assertThat(cache.size()).isZero();
+  }
+
+  @Test
+  void removeIfTest() {
+    var cache = new LruCache<String, String>(5);
+    cache.put("a", "A");
+    cache.put("b", "B");
+    cache.put("c", "A");
+    assertThat(cache.removeIf("A"::equals)).isEqualTo(2);
+    assertThat(cache.get("b")).isEqualTo("B");
+    assertThat(cache.clear()).isEqualTo(1);
+    assertThat(cache.size()).isZero();
+  }
+
+  @Test
+  void invalidSizeTest() {
+    assertThatThrownBy(() -> new LruCache<String, String>(0))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
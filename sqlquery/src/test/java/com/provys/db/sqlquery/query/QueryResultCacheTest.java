@@ -0,0 +1,152 @@
+package com.provys.db.sqlquery.query;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.provys.common.datatype.DtUid;
+import com.provys.db.dbcontext.DbContext;
+import com.provys.db.query.elements.ElementFactory;
+import com.provys.db.query.names.BindName;
+import com.provys.db.query.names.SegmentedName;
+import com.provys.db.query.names.SimpleName;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class QueryResultCacheTest {
+
+  private static final ElementFactory FACTORY = ElementFactory.getInstance();
+  private static final DbContext CONTEXT = mock(DbContext.class);
+
+  private static QueryResultCache.Key getKey(String sql, int bindValue) {
+    return new QueryResultCache.Key(CONTEXT, sql, Map.of(BindName.valueOf("bind"), bindValue),
+        DtUid.valueOf("1"), List.of(String.class), Object.class);
+  }
+
+  @Test
+  void getTest() {
+    var cache = new QueryResultCache(2);
+    assertThat(cache.get(getKey("a", 1))).isNull();
+    var rows = cache.put(getKey("a", 1), List.of("x", "y"), Duration.ofMinutes(1),
+        Set.of("BRC_PROG_TB"), 0);
+    assertThat(cache.get(getKey("a", 1))).isSameAs(rows);
+    assertThat(cache.get(getKey("a", 2))).isNull();
+    assertThat(cache.getHits()).isEqualTo(1);
+    assertThat(cache.getMisses()).isEqualTo(2);
+    assertThat(cache.getPuts()).isEqualTo(1);
+  }
+
+  @Test
+  void userTest() {
+    var cache = new QueryResultCache(2);
+    var key = new QueryResultCache.Key(CONTEXT, "a", Map.of(), DtUid.valueOf("1"),
+        List.of(String.class), Object.class);
+    cache.put(key, List.of("x"), Duration.ofMinutes(1), Set.of(), 0);
+    assertThat(cache.get(new QueryResultCache.Key(CONTEXT, "a", Map.of(), DtUid.valueOf("2"),
+        List.of(String.class), Object.class))).isNull();
+  }
+
+  @Test
+  void contextTest() {
+    var cache = new QueryResultCache(2);
+    cache.put(getKey("a", 1), List.of("x"), Duration.ofMinutes(1), Set.of(), 0);
+    // the same Sql text executed in other database must not be served from cache
+    assertThat(cache.get(new QueryResultCache.Key(mock(DbContext.class), "a",
+        Map.of(BindName.valueOf("bind"), 1), DtUid.valueOf("1"), List.of(String.class),
+        Object.class))).isNull();
+    assertThat(cache.get(getKey("a", 1))).containsExactly("x");
+  }
+
+  @Test
+  void expireTest() {
+    var clock = new AtomicLong(0);
+    var cache = new QueryResultCache(2, clock::get);
+    cache.put(getKey("a", 1), List.of("x"), Duration.ofNanos(100), Set.of(), 0);
+    clock.set(99);
+    assertThat(cache.get(getKey("a", 1))).containsExactly("x");
+    clock.set(100);
+    assertThat(cache.get(getKey("a", 1))).isNull();
+    assertThat(cache.getExpirations()).isEqualTo(1);
+    assertThat(cache.getSize()).isZero();
+  }
+
+  @Test
+  void evictTest() {
+    var cache = new QueryResultCache(2);
+    cache.put(getKey("a", 1), List.of("x"), Duration.ofMinutes(1), Set.of(), 0);
+    cache.put(getKey("b", 1), List.of("x"), Duration.ofMinutes(1), Set.of(), 0);
+    cache.get(getKey("a", 1));
+    cache.put(getKey("c", 1), List.of("x"), Duration.ofMinutes(1), Set.of(), 0);
+    assertThat(cache.get(getKey("b", 1))).isNull();
+    assertThat(cache.get(getKey("a", 1))).isNotNull();
+    assertThat(cache.getEvictions()).isEqualTo(1);
+  }
+
+  @Test
+  void invalidateTableTest() {
+    var cache = new QueryResultCache(5);
+    cache.put(getKey("a", 1), List.of("x"), Duration.ofMinutes(1),
+        Set.of("BRC_PROG_TB", "BRC_PROGTYPE_TB"), 0);
+    cache.put(getKey("b", 1), List.of("x"), Duration.ofMinutes(1), Set.of("BRC_PROGTYPE_TB"), 0);
+    cache.put(getKey("c", 1), List.of("x"), Duration.ofMinutes(1), Set.of("KEC_JOB_TB"), 0);
+    cache.invalidateTable(SegmentedName.valueOf("brc.brc_progtype_tb"));
+    assertThat(cache.get(getKey("a", 1))).isNull();
+    assertThat(cache.get(getKey("b", 1))).isNull();
+    assertThat(cache.get(getKey("c", 1))).isNotNull();
+    assertThat(cache.getInvalidations()).isEqualTo(2);
+    cache.invalidateAll();
+    assertThat(cache.getSize()).isZero();
+  }
+
+  @Test
+  void stalePutTest() {
+    var cache = new QueryResultCache(5);
+    var generation = cache.getGeneration(Set.of("BRC_PROG_TB", "KEC_JOB_TB"));
+    var otherGeneration = cache.getGeneration(Set.of("BRC_PROGTYPE_TB"));
+    // table is modified while rows are being fetched
+    cache.invalidateTable(SegmentedName.valueOf("kec_job_tb"));
+    var rows = cache.put(getKey("a", 1), List.of("x"), Duration.ofMinutes(1),
+        Set.of("BRC_PROG_TB", "KEC_JOB_TB"), generation);
+    assertThat(rows).containsExactly("x");
+    assertThat(cache.get(getKey("a", 1))).isNull();
+    assertThat(cache.getRejectedPuts()).isEqualTo(1);
+    // invalidation of unrelated table does not prevent caching
+    cache.put(getKey("b", 1), List.of("y"), Duration.ofMinutes(1), Set.of("BRC_PROGTYPE_TB"),
+        otherGeneration);
+    assertThat(cache.get(getKey("b", 1))).containsExactly("y");
+    generation = cache.getGeneration(Set.of("BRC_PROG_TB", "KEC_JOB_TB"));
+    cache.invalidateAll();
+    cache.put(getKey("a", 1), List.of("x"), Duration.ofMinutes(1),
+        Set.of("BRC_PROG_TB", "KEC_JOB_TB"), generation);
+    assertThat(cache.get(getKey("a", 1))).isNull();
+    assertThat(cache.getRejectedPuts()).isEqualTo(2);
+    assertThat(cache.getPuts()).isEqualTo(1);
+  }
+
+  @Test
+  void getTablesTest() {
+    var inner = FACTORY.select(
+        FACTORY.selectColumn(FACTORY.column(DtUid.class, null, SimpleName.valueOf("prog_id")),
+            null),
+        FACTORY.from(List.of(FACTORY.fromTable(SegmentedName.valueOf("brc.brc_prog_tb"), null))),
+        null);
+    var query = FACTORY.select(
+        FACTORY.selectColumn(FACTORY.column(DtUid.class, null, SimpleName.valueOf("job_id")),
+            null),
+        FACTORY.from(List.of(FACTORY.fromTable(SimpleName.valueOf("kec_job_tb"), null),
+            FACTORY.fromSelect(inner, SimpleName.valueOf("prog")),
+            FACTORY.fromDual(null))),
+        null);
+    assertThat(SqlTableCollector.getTables(query))
+        .containsExactlyInAnyOrder("KEC_JOB_TB", "BRC_PROG_TB");
+  }
+
+  @Test
+  void invalidSizeTest() {
+    assertThatThrownBy(() -> new QueryResultCache(0))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
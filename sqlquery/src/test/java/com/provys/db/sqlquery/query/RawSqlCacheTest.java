@@ -0,0 +1,39 @@
+package com.provys.db.sqlquery.query;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.provys.db.sqlquery.query.RawSqlCache.ParsedSql;
+import java.util.Collections;
+import org.junit.jupiter.api.Test;
+
+class RawSqlCacheTest {
+
+  private static ParsedSql parse(String sql) {
+    return new ParsedSql(sql, Collections.emptyMap());
+  }
+
+  @Test
+  void getTest() {
+    var cache = new RawSqlCache(2);
+    var parsed = cache.get("SELECT 1 FROM dual", RawSqlCacheTest::parse);
+    assertThat(cache.get("SELECT 1 FROM dual", RawSqlCacheTest::parse)).isSameAs(parsed);
+    assertThat(cache.getHits()).isEqualTo(1);
+    assertThat(cache.getMisses()).isEqualTo(1);
+  }
+
+  @Test
+  void evictTest() {
+    var cache = new RawSqlCache(2);
+    var parsedA = cache.get("a", RawSqlCacheTest::parse);
+    cache.get("b", RawSqlCacheTest::parse);
+    cache.get("c", RawSqlCacheTest::parse);
+    assertThat(cache.get("a", RawSqlCacheTest::parse)).isNotSameAs(parsedA);
+    assertThat(cache.getMisses()).isEqualTo(4);
+  }
+
+  @Test
+  void invalidSizeTest() {
+    assertThatThrownBy(() -> new RawSqlCache(0))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
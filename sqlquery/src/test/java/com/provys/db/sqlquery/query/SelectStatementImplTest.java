@@ -7,10 +7,15 @@ import com.provys.db.dbcontext.DbConnection;
 import com.provys.db.dbcontext.DbContext;
 import com.provys.db.dbcontext.DbPreparedStatement;
 import com.provys.db.dbcontext.DbResultSet;
+import com.provys.db.dbcontext.Deadline;
+import com.provys.db.dbcontext.DeadlineExceededException;
 import com.provys.db.query.names.BindName;
 import com.provys.db.query.names.BindWithPos;
 import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import org.junit.jupiter.api.Test;
 
@@ -119,6 +124,26 @@ class SelectStatementImplTest {
     }
   }
 
+  @Test
+  void closeReadOnlyContextTest() throws SQLException {
+    var context = mock(DbContext.class);
+    var connection = mock(DbConnection.class);
+    when(context.getReadOnlyConnection()).thenReturn(connection);
+    var preparedStatement = mock(DbPreparedStatement.class);
+    when(connection.prepareStatement(SQL)).thenReturn(preparedStatement);
+    try (var statement = new SelectStatementImpl(SQL, Collections.emptyList(),
+        Collections.emptyMap(), context, true)) {
+      statement.close();
+      verify(context).getReadOnlyConnection();
+      verifyNoMoreInteractions(context);
+      verify(preparedStatement).close();
+      //noinspection JDBCResourceOpenedButNotSafelyClosed,resource
+      verify(connection).prepareStatement(SQL);
+      verify(connection).close();
+      verifyNoMoreInteractions(connection);
+    }
+  }
+
   @Test
   void fetchOneNoCloseTest() throws SQLException {
     var connection = mock(DbConnection.class);
@@ -137,6 +162,73 @@ class SelectStatementImplTest {
     }
   }
 
+  @Test
+  void deadlineExpiredTest() throws SQLException {
+    var connection = mock(DbConnection.class);
+    var preparedStatement = mock(DbPreparedStatement.class);
+    when(connection.prepareStatement(SQL)).thenReturn(preparedStatement);
+    try (var scope = Deadline.after(Duration.ZERO).enter();
+        var statement = new SelectStatementImpl(SQL, connection)) {
+      assertThat(statement.getDeadline()).isSameAs(Deadline.current());
+      assertThatThrownBy(() -> statement.fetchNoClose((rs, lineNr) -> rs.getNonNullString(1)))
+          .isInstanceOf(DeadlineExceededException.class);
+      verify(preparedStatement, never()).executeQuery();
+    }
+    assertThat(Deadline.current()).isNull();
+  }
+
+  @Test
+  void deadlineQueryTimeoutTest() throws SQLException {
+    var connection = mock(DbConnection.class);
+    var preparedStatement = mock(DbPreparedStatement.class);
+    when(connection.prepareStatement(SQL)).thenReturn(preparedStatement);
+    try (var statement = new SelectStatementImpl(SQL, connection)) {
+      assertThat(statement.getDeadline()).isNull();
+      statement.deadline(Deadline.after(Duration.ofSeconds(30)));
+      var resultSet = mock(DbResultSet.class);
+      when(preparedStatement.executeQuery()).thenReturn(resultSet);
+      when(resultSet.next()).thenReturn(true, false);
+      when(resultSet.getNonNullString(1)).thenReturn("result");
+      assertThat(statement.fetchNoClose((rs, lineNr) -> rs.getNonNullString(1)))
+          .containsExactly("result");
+      verify(preparedStatement).setQueryTimeout(intThat(seconds -> seconds > 0 && seconds <= 30));
+    }
+    verify(preparedStatement, never()).cancel();
+  }
+
+  @Test
+  void deadlineCancelTest() throws SQLException {
+    var connection = mock(DbConnection.class);
+    var preparedStatement = mock(DbPreparedStatement.class);
+    when(connection.prepareStatement(SQL)).thenReturn(preparedStatement);
+    try (var statement = new SelectStatementImpl(SQL, connection)) {
+      statement.deadline(Deadline.after(Duration.ofMillis(50)));
+      var resultSet = mock(DbResultSet.class);
+      when(preparedStatement.executeQuery()).thenReturn(resultSet);
+      when(resultSet.next()).thenAnswer(invocation -> {
+        Thread.sleep(100);
+        throw new SQLException("ORA-01013: user requested cancel of current operation");
+      });
+      assertThatThrownBy(() -> statement.fetchNoClose((rs, lineNr) -> rs.getNonNullString(1)))
+          .isInstanceOf(DeadlineExceededException.class)
+          .hasCauseInstanceOf(SQLException.class);
+      verify(preparedStatement, timeout(1000)).cancel();
+    }
+  }
+
+  @Test
+  void deadlineNestedScopeTest() {
+    var outer = Deadline.after(Duration.ofSeconds(10));
+    var inner = Deadline.after(Duration.ofMinutes(10));
+    try (var outerScope = outer.enter()) {
+      try (var innerScope = inner.enter()) {
+        assertThat(Deadline.current()).isSameAs(outer);
+      }
+      assertThat(Deadline.current()).isSameAs(outer);
+    }
+    assertThat(Deadline.current()).isNull();
+  }
+
   @Test
   void fetchOneNoCloseTooManyRowsTest() throws SQLException {
     var connection = mock(DbConnection.class);
@@ -325,4 +417,74 @@ class SelectStatementImplTest {
       verify(preparedStatement, never()).close();
     }
   }
-}
\ No newline at end of file
+
+  @Test
+  void fetchChunksTest() throws SQLException {
+    var connection = mock(DbConnection.class);
+    var preparedStatement = mock(DbPreparedStatement.class);
+    when(connection.prepareStatement(SQL)).thenReturn(preparedStatement);
+    try (var statement = new SelectStatementImpl(SQL, connection)) {
+      var resultSet = mock(DbResultSet.class);
+      when(preparedStatement.executeQuery()).thenReturn(resultSet);
+      when(resultSet.next()).thenReturn(true, true, true, false);
+      when(resultSet.getNonNullString(1)).thenReturn("first", "second", "third");
+      var chunks = new ArrayList<List<String>>();
+      statement.<String>fetchChunks((rs, lineNr) -> rs.getNonNullString(1), 2,
+          chunk -> chunks.add(List.copyOf(chunk)));
+      assertThat(chunks).containsExactly(List.of("first", "second"), List.of("third"));
+      verify(resultSet).setFetchSize(2);
+      verify(resultSet).close();
+      verify(preparedStatement).close();
+    }
+  }
+
+  @Test
+  void chunksTest() throws SQLException {
+    var connection = mock(DbConnection.class);
+    var preparedStatement = mock(DbPreparedStatement.class);
+    when(connection.prepareStatement(SQL)).thenReturn(preparedStatement);
+    try (var statement = new SelectStatementImpl(SQL, connection)) {
+      var resultSet = mock(DbResultSet.class);
+      when(preparedStatement.executeQuery()).thenReturn(resultSet);
+      when(resultSet.next()).thenReturn(true, true, true, false);
+      when(resultSet.getNonNullString(1)).thenReturn("first", "second", "third");
+      try (var chunks = statement.<String>chunks((rs, lineNr) -> rs.getNonNullString(1), 2)) {
+        var first = chunks.next();
+        assertThat(first).containsExactly("first", "second");
+        assertThat(chunks.next()).isSameAs(first).containsExactly("third");
+        assertThat(chunks.hasNext()).isFalse();
+        assertThat(chunks.hasNext()).isFalse();
+      }
+      // end of result set is remembered, next is not called after it returned false
+      verify(resultSet, times(4)).next();
+      verify(resultSet).close();
+    }
+  }
+
+  @Test
+  void cursorTest() throws SQLException {
+    var connection = mock(DbConnection.class);
+    var preparedStatement = mock(DbPreparedStatement.class);
+    when(connection.prepareStatement(SQL)).thenReturn(preparedStatement);
+    try (var statement = new SelectStatementT2Impl<>(SQL, Collections.emptyList(),
+        Collections.emptyMap(), connection, String.class, Integer.class)) {
+      var resultSet = mock(DbResultSet.class);
+      when(preparedStatement.executeQuery()).thenReturn(resultSet);
+      when(resultSet.next()).thenReturn(true, true, false);
+      when(resultSet.getNullableString(1)).thenReturn("first", "second");
+      when(resultSet.getNonNullInteger(2)).thenReturn(1, 2);
+      var result = new HashMap<String, Integer>(2);
+      try (var cursor = statement.cursor()) {
+        while (cursor.next()) {
+          result.put(cursor.get1(), cursor.getInt2());
+        }
+        assertThat(cursor.getRowNumber()).isEqualTo(1);
+        assertThatThrownBy(cursor::get1).hasMessageContaining("not positioned");
+      }
+      assertThat(result).containsOnly(entry("first", 1), entry("second", 2));
+      verify(resultSet, never()).getNullableValue(anyInt(), any());
+      verify(resultSet).close();
+      verify(preparedStatement).close();
+    }
+  }
+}
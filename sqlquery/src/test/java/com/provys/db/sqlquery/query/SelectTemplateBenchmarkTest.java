@@ -0,0 +1,102 @@
+package com.provys.db.sqlquery.query;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.provys.common.datatype.DtUid;
+import com.provys.db.dbcontext.DbConnection;
+import com.provys.db.dbcontext.DbContext;
+import com.provys.db.dbcontext.DbPreparedStatement;
+import com.provys.db.query.elements.ElementFactory;
+import com.provys.db.query.elements.SelectT1;
+import com.provys.db.query.functions.ConditionalOperator;
+import com.provys.db.query.names.BindMap;
+import com.provys.db.query.names.BindVariable;
+import com.provys.db.query.names.SegmentedName;
+import com.provys.db.query.names.SimpleName;
+import com.provys.db.sqlquery.literals.SqlLiteralTypeHandlerMap;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.IntConsumer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+/**
+ * Compares per-request cost of building and rendering select query with cost of reusing query
+ * template with rendered Sql cached by statement factory. Timing depends on machine, thus test is
+ * only run on demand, with system property provysdb.benchmark=true; results are logged on info
+ * level (e.g. with log4j2.level=info).
+ */
+@EnabledIfSystemProperty(named = "provysdb.benchmark", matches = "true")
+class SelectTemplateBenchmarkTest {
+
+  private static final Logger LOG = LogManager.getLogger(SelectTemplateBenchmarkTest.class);
+
+  private static final ElementFactory FACTORY = ElementFactory.getInstance();
+  private static final int WARMUP_ITERATIONS = 20_000;
+  private static final int ITERATIONS = 100_000;
+
+  private static SelectT1<String> buildSelect(int progId) {
+    return FACTORY.select(
+        FACTORY.selectColumn(FACTORY.column(String.class, SimpleName.valueOf("prog"),
+            SimpleName.valueOf("name")), null),
+        FACTORY.from(List.of(FACTORY.fromTable(SegmentedName.valueOf("brc.brc_prog_tb"),
+            SimpleName.valueOf("prog")))),
+        FACTORY.condition(ConditionalOperator.COND_AND, List.of(
+            FACTORY.condition(ConditionalOperator.COND_EQ_NONNULL, List.of(
+                FACTORY.column(DtUid.class, SimpleName.valueOf("prog"),
+                    SimpleName.valueOf("prog_id")),
+                FACTORY.bind(DtUid.class, "prog_id", DtUid.valueOf(Integer.toString(progId))))),
+            FACTORY.condition(ConditionalOperator.COND_EQ_NONNULL, List.of(
+                FACTORY.column(String.class, SimpleName.valueOf("prog"),
+                    SimpleName.valueOf("status")),
+                FACTORY.literal("A"))))));
+  }
+
+  private static DefaultStatementFactory getStatementFactory(int renderCacheSize) {
+    // stub only mocks do not record invocations, thus their overhead is constant
+    var dbContext = mock(DbContext.class, withSettings().stubOnly());
+    var connection = mock(DbConnection.class, withSettings().stubOnly());
+    when(dbContext.getConnection()).thenReturn(connection);
+    when(connection.prepareStatement(anyString()))
+        .thenReturn(mock(DbPreparedStatement.class, withSettings().stubOnly()));
+    return new DefaultStatementFactory(dbContext,
+        SqlLiteralTypeHandlerMap.getDefaultMap(), SqlBuiltInMapImpl.getDefault(),
+        Collections.emptySet(), renderCacheSize);
+  }
+
+  private static long measure(String name, IntConsumer request) {
+    for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+      request.accept(i);
+    }
+    var start = System.nanoTime();
+    for (int i = 0; i < ITERATIONS; i++) {
+      request.accept(i);
+    }
+    var nanosPerRequest = (System.nanoTime() - start) / ITERATIONS;
+    LOG.info("{}: {} ns per request", name, nanosPerRequest);
+    return nanosPerRequest;
+  }
+
+  @Test
+  void templateVersusBuilderTest() {
+    var builderFactory = getStatementFactory(0);
+    var builderNanos = measure("builder", i -> {
+      try (var statement = builderFactory.getSelect(buildSelect(i))) {
+        assertThat(statement.getBinds()).isNotEmpty();
+      }
+    });
+    var templateFactory = getStatementFactory(100);
+    var template = buildSelect(0);
+    var templateNanos = measure("template", i -> {
+      var bindValues = new BindMap(List.of(
+          new BindVariable("prog_id", DtUid.class, DtUid.valueOf(Integer.toString(i)))));
+      try (var statement = templateFactory.getSelect(template, bindValues)) {
+        assertThat(statement.getBinds()).isNotEmpty();
+      }
+    });
+    assertThat(templateNanos).isLessThan(builderNanos);
+  }
+}
@@ -0,0 +1,74 @@
+package com.provys.db.sqlquery.query;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.provys.common.datatype.DtDate;
+import com.provys.common.exception.InternalException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+
+class SpillableListTest {
+
+  @Test
+  void heapOnlyTest() {
+    try (var list = new SpillableList<String>(5)) {
+      list.append("a");
+      list.append("b");
+      list.finish();
+      assertThat(list).containsExactly("a", "b");
+      assertThat(list.isSpilled()).isFalse();
+    }
+  }
+
+  @Test
+  void spillTest() {
+    var rows = new ArrayList<Object>();
+    rows.add("first");
+    rows.add(null);
+    rows.add(5);
+    rows.add(new BigDecimal("-123.456"));
+    rows.add(Optional.empty());
+    rows.add(Optional.of("value"));
+    rows.add(new TupleT2<>("key", 2.5));
+    rows.add(DtDate.ofLocalDate(LocalDate.of(2020, 5, 17)));
+    rows.add(true);
+    rows.add(List.of("serialized"));
+    try (var list = new SpillableList<Object>(2)) {
+      for (var row : rows) {
+        list.append(row);
+      }
+      list.finish();
+      assertThat(list.isSpilled()).isTrue();
+      assertThat(list).hasSize(rows.size());
+      assertThat(list).isEqualTo(rows);
+      assertThat(list.get(6)).isEqualTo(new TupleT2<>("key", 2.5));
+      assertThatThrownBy(() -> list.get(rows.size()))
+          .isInstanceOf(IndexOutOfBoundsException.class);
+    }
+  }
+
+  @Test
+  void closeTest() {
+    var list = new SpillableList<String>(1);
+    list.append("a");
+    list.append("b");
+    list.finish();
+    assertThat(list.get(1)).isEqualTo("b");
+    list.close();
+    assertThat(list.get(0)).isEqualTo("a");
+    assertThatThrownBy(() -> list.get(1)).isInstanceOf(InternalException.class);
+  }
+
+  @Test
+  void notSerializableTest() {
+    try (var list = new SpillableList<Object>(1)) {
+      list.append("a");
+      assertThatThrownBy(() -> list.append(new Object()))
+          .isInstanceOf(InternalException.class);
+    }
+  }
+}
@@ -0,0 +1,51 @@
+package com.provys.db.sqlquery.query;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.provys.db.query.elements.ElementFactory;
+import com.provys.db.query.elements.SelectT;
+import com.provys.db.query.names.SimpleName;
+import com.provys.db.sqlquery.query.SqlFragmentCache.SqlFragment;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class SqlFragmentCacheTest {
+
+  private static final ElementFactory FACTORY = ElementFactory.getInstance();
+
+  private static SelectT<?> getSelect(String column) {
+    return FACTORY.select(
+        FACTORY.selectColumn(FACTORY.column(String.class, null, SimpleName.valueOf(column)), null),
+        FACTORY.from(List.of(FACTORY.fromDual(null))), null);
+  }
+
+  private static SqlFragment render(SelectT<?> select) {
+    return new SqlFragment(select.toString(), Collections.emptyList(), 0, true);
+  }
+
+  @Test
+  void getTest() {
+    var cache = new SqlFragmentCache(2);
+    var fragment = cache.get(getSelect("a"), SqlFragmentCacheTest::render);
+    assertThat(cache.get(getSelect("a"), SqlFragmentCacheTest::render)).isSameAs(fragment);
+    assertThat(cache.getHits()).isEqualTo(1);
+    assertThat(cache.getMisses()).isEqualTo(1);
+  }
+
+  @Test
+  void evictTest() {
+    var cache = new SqlFragmentCache(2);
+    var fragmentA = cache.get(getSelect("a"), SqlFragmentCacheTest::render);
+    cache.get(getSelect("b"), SqlFragmentCacheTest::render);
+    cache.get(getSelect("c"), SqlFragmentCacheTest::render);
+    assertThat(cache.get(getSelect("a"), SqlFragmentCacheTest::render)).isNotSameAs(fragmentA);
+    assertThat(cache.getMisses()).isEqualTo(4);
+  }
+
+  @Test
+  void invalidSizeTest() {
+    assertThatThrownBy(() -> new SqlFragmentCache(0))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
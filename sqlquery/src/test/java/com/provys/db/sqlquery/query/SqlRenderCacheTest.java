@@ -0,0 +1,46 @@
+package com.provys.db.sqlquery.query;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.provys.db.query.elements.ElementFactory;
+import com.provys.db.query.elements.SelectT;
+import com.provys.db.query.names.SimpleName;
+import com.provys.db.sqlquery.query.SqlRenderCache.RenderedSelect;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class SqlRenderCacheTest {
+
+  private static final ElementFactory FACTORY = ElementFactory.getInstance();
+
+  private static SelectT<?> getSelect(String column) {
+    return FACTORY.select(
+        FACTORY.selectColumn(FACTORY.column(String.class, null, SimpleName.valueOf(column)), null),
+        FACTORY.from(List.of(FACTORY.fromDual(null))), null);
+  }
+
+  private static RenderedSelect render(SelectT<?> select) {
+    return new RenderedSelect(select.toString(), Collections.emptyList(),
+        Collections.emptyMap());
+  }
+
+  @Test
+  void getTest() {
+    var cache = new SqlRenderCache(2);
+    var rendered = cache.get(getSelect("a"), SqlRenderCacheTest::render);
+    assertThat(cache.get(getSelect("a"), SqlRenderCacheTest::render)).isSameAs(rendered);
+    assertThat(cache.getHits()).isEqualTo(1);
+    assertThat(cache.getMisses()).isEqualTo(1);
+  }
+
+  @Test
+  void evictTest() {
+    var cache = new SqlRenderCache(2);
+    var renderedA = cache.get(getSelect("a"), SqlRenderCacheTest::render);
+    cache.get(getSelect("b"), SqlRenderCacheTest::render);
+    cache.get(getSelect("c"), SqlRenderCacheTest::render);
+    assertThat(cache.get(getSelect("a"), SqlRenderCacheTest::render)).isNotSameAs(renderedA);
+    assertThat(cache.getMisses()).isEqualTo(4);
+  }
+}
@@ -0,0 +1,47 @@
+package com.provys.db.sqlquery.query;
+
+import static com.provys.db.sqlquery.query.SqlBuilderPosition.EXPR_BRACKET;
+import static com.provys.db.sqlquery.query.SqlBuilderPosition.IN_BRACKET;
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+import com.provys.db.query.elements.QueryConsumer;
+import com.provys.db.sqlquery.literals.SqlLiteralTypeHandlerMap;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class SqlTemplateAppenderTest {
+
+  private static void appendArg0(QueryConsumer builder) {
+    builder.literal(Integer.class, 0);
+  }
+
+  private static void appendArg1(QueryConsumer builder) {
+    builder.literal(Integer.class, 1);
+  }
+
+  static Stream<Object[]> appendTest() {
+    return Stream.of(
+        new Object[]{"SYSDATE", List.of(), "SYSDATE"}
+        , new Object[]{"NVL({0}, {1})", List.of(0, 1), "NVL(0, 1)"}
+        , new Object[]{"{1}-{0}", List.of(0, 1), "1-0"}
+        , new Object[]{"({0}={1}) OR (({0} IS NULL) AND ({1} IS NULL))", List.of(0, 1),
+            "(0=1) OR ((0 IS NULL) AND (1 IS NULL))"}
+    );
+  }
+
+  @ParameterizedTest
+  @MethodSource
+  void appendTest(String template, List<Integer> arguments, String result) {
+    var builder = new DefaultSqlBuilder(SqlLiteralTypeHandlerMap.getDefaultMap(),
+        mock(SqlBuiltInMap.class));
+    var appender = new SqlTemplateAppender(template, EXPR_BRACKET, IN_BRACKET);
+    List<Consumer<DefaultSqlBuilder>> argumentAppend = List.of(
+        SqlTemplateAppenderTest::appendArg0, SqlTemplateAppenderTest::appendArg1);
+    appender.append(argumentAppend.subList(0, arguments.size()), builder);
+    assertThat(builder.getSql()).isEqualTo(result);
+  }
+}
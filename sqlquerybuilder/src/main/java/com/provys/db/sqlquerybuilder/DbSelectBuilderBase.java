@@ -1,5 +1,6 @@
 package com.provys.db.sqlquerybuilder;
 
+import com.provys.db.dbcontext.Deadline;
 import com.provys.db.query.elements.SelectT;
 import com.provys.db.sqlquery.query.SelectStatement;
 
@@ -25,4 +26,20 @@ interface DbSelectBuilderBase<S extends SelectStatement, Q extends SelectT<Q>,
    * @return select statement built from content of this builder
    */
   S build();
+
+  /**
+   * Build select statement from content of this builder, bound to given deadline (or to deadline
+   * active in current thread if it is earlier). Connection for statement is not borrowed when
+   * deadline has already passed and statement is cancelled when deadline passes during its
+   * execution. Statements built by fetch methods of builder are bound to deadline active in
+   * current thread, thus deadline can be applied to them via {@link Deadline#enter()}.
+   *
+   * @param deadline is deadline statement is bound to
+   * @return select statement built from content of this builder
+   */
+  default S build(Deadline deadline) {
+    try (var scope = deadline.enter()) {
+      return build();
+    }
+  }
 }
@@ -3,7 +3,13 @@ package com.provys.db.sqlquerybuilder;
 import com.provys.db.query.elements.SelectColumn;
 import com.provys.db.query.elements.SelectT1;
 import com.provys.db.querybuilder.ExpressionBuilder;
+import com.provys.db.sqlquery.query.ChunkIterator;
+import com.provys.db.sqlquery.query.RowCursorT1;
 import com.provys.db.sqlquery.query.SelectStatementT1;
+import java.util.List;
+import java.util.function.Consumer;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 public interface DbSelectBuilderT1<T1> extends
     DbSelectBuilderBase<SelectStatementT1<T1>, SelectT1<T1>, DbSelectBuilderT1<T1>> {
@@ -29,4 +35,58 @@ public interface DbSelectBuilderT1<T1> extends
   default <T2> DbSelectBuilderT2<T1, T2> column(ExpressionBuilder<T2> column) {
     return column(column.buildColumn());
   }
+
+  /**
+   * Build statement and pass fetched non-null values to consumer in chunks of at most given size.
+   * List passed to consumer is reused for subsequent chunks. Statement is closed after fetch.
+   *
+   * @param chunkSize is maximal number of values in single chunk
+   * @param consumer  is consumer, processing chunks of values
+   */
+  default void fetchNonNullChunks(int chunkSize, Consumer<? super List<@NonNull T1>> consumer) {
+    build().fetchNonNullChunks(chunkSize, consumer);
+  }
+
+  /**
+   * Build statement and pass fetched values to consumer in chunks of at most given size. List
+   * passed to consumer is reused for subsequent chunks. Statement is closed after fetch.
+   *
+   * @param chunkSize is maximal number of values in single chunk
+   * @param consumer  is consumer, processing chunks of values
+   */
+  default void fetchNullableChunks(int chunkSize, Consumer<? super List<@Nullable T1>> consumer) {
+    build().fetchNullableChunks(chunkSize, consumer);
+  }
+
+  /**
+   * Build statement and return iterator over chunks of fetched non-null values. Iterator should
+   * be closed explicitly; closing it closes built statement.
+   *
+   * @param chunkSize is maximal number of values in single chunk
+   * @return iterator over chunks of fetched values
+   */
+  default ChunkIterator<@NonNull T1> chunksNonNull(int chunkSize) {
+    return build().chunksNonNull(chunkSize);
+  }
+
+  /**
+   * Build statement and return iterator over chunks of fetched values. Iterator should be closed
+   * explicitly; closing it closes built statement.
+   *
+   * @param chunkSize is maximal number of values in single chunk
+   * @return iterator over chunks of fetched values
+   */
+  default ChunkIterator<@Nullable T1> chunksNullable(int chunkSize) {
+    return build().chunksNullable(chunkSize);
+  }
+
+  /**
+   * Build statement and return cursor over fetched rows. Cursor should be closed explicitly;
+   * closing it closes built statement.
+   *
+   * @return cursor over fetched rows
+   */
+  default RowCursorT1<T1> cursor() {
+    return build().cursor();
+  }
 }
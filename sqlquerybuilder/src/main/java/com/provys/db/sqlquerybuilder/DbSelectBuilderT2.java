@@ -3,7 +3,12 @@ package com.provys.db.sqlquerybuilder;
 import com.provys.db.query.elements.SelectColumn;
 import com.provys.db.query.elements.SelectT2;
 import com.provys.db.querybuilder.ExpressionBuilder;
+import com.provys.db.sqlquery.query.ChunkIterator;
+import com.provys.db.sqlquery.query.RowCursorT2;
 import com.provys.db.sqlquery.query.SelectStatementT2;
+import com.provys.db.sqlquery.query.TupleT2;
+import java.util.List;
+import java.util.function.Consumer;
 
 public interface DbSelectBuilderT2<T1, T2> extends
     DbSelectBuilderBase<SelectStatementT2<T1, T2>, SelectT2<T1, T2>, DbSelectBuilderT2<T1, T2>> {
@@ -28,4 +33,36 @@ public interface DbSelectBuilderT2<T1, T2> extends
   default <T3> DbSelectBuilder column(ExpressionBuilder<T3> column) {
     return column(column.buildColumn());
   }
+
+  /**
+   * Build statement and pass fetched rows to consumer in chunks of at most given size. List passed
+   * to consumer is reused for subsequent chunks. Statement is closed after fetch.
+   *
+   * @param chunkSize is maximal number of rows in single chunk
+   * @param consumer  is consumer, processing chunks of rows
+   */
+  default void fetchChunks(int chunkSize, Consumer<? super List<TupleT2<T1, T2>>> consumer) {
+    build().fetchChunks(chunkSize, consumer);
+  }
+
+  /**
+   * Build statement and return iterator over chunks of fetched rows. Iterator should be closed
+   * explicitly; closing it closes built statement.
+   *
+   * @param chunkSize is maximal number of rows in single chunk
+   * @return iterator over chunks of fetched rows
+   */
+  default ChunkIterator<TupleT2<T1, T2>> chunks(int chunkSize) {
+    return build().chunks(chunkSize);
+  }
+
+  /**
+   * Build statement and return cursor over fetched rows. Cursor should be closed explicitly;
+   * closing it closes built statement.
+   *
+   * @return cursor over fetched rows
+   */
+  default RowCursorT2<T1, T2> cursor() {
+    return build().cursor();
+  }
 }
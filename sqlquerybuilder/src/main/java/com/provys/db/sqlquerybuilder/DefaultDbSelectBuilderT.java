@@ -1,12 +1,16 @@
 package com.provys.db.sqlquerybuilder;
 
 import com.provys.db.query.elements.Condition;
+import com.provys.db.query.elements.Expression;
 import com.provys.db.query.elements.FromElement;
+import com.provys.db.query.elements.OptimizerHint;
 import com.provys.db.query.elements.SelectT;
+import com.provys.db.query.functions.OptimizerHintType;
 import com.provys.db.query.names.NamePath;
 import com.provys.db.query.names.SimpleName;
 import com.provys.db.querybuilder.SelectBuilderT;
 import com.provys.db.sqlquery.query.StatementFactory;
+import java.util.List;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 abstract class DefaultDbSelectBuilderT<S extends SelectBuilderT<S>,
@@ -92,6 +96,30 @@ abstract class DefaultDbSelectBuilderT<S extends SelectBuilderT<S>,
     return withSelectBuilder(selectBuilder.where(condition));
   }
 
+  public T orderBy(Expression<?> expression) {
+    return withSelectBuilder(selectBuilder.orderBy(expression));
+  }
+
+  public T orderByDesc(Expression<?> expression) {
+    return withSelectBuilder(selectBuilder.orderByDesc(expression));
+  }
+
+  public T fetchFirst(int rows) {
+    return withSelectBuilder(selectBuilder.fetchFirst(rows));
+  }
+
+  public T hint(OptimizerHint hint) {
+    return withSelectBuilder(selectBuilder.hint(hint));
+  }
+
+  public T hint(OptimizerHintType type, String... arguments) {
+    return withSelectBuilder(selectBuilder.hint(type, arguments));
+  }
+
+  public T seekAfter(List<?> keyValues) {
+    return withSelectBuilder(selectBuilder.seekAfter(keyValues));
+  }
+
   @Override
   public boolean equals(@Nullable Object o) {
     if (this == o) {
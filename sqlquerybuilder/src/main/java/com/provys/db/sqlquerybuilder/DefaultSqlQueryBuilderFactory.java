@@ -126,6 +126,12 @@ public final class DefaultSqlQueryBuilderFactory implements AdminQueryBuilderFac
     return elementBuilderFactory.condition(condition);
   }
 
+  @Override
+  public <@ImmutableTypeParameter T extends Serializable> StartConditionBuilder in(
+      Expression<T> expression, String bindPrefix, Collection<? extends @Nullable T> values) {
+    return elementBuilderFactory.in(expression, bindPrefix, values);
+  }
+
   @Override
   public AndConditionBuilder andCondition() {
     return elementBuilderFactory.andCondition();
@@ -0,0 +1,289 @@
+package com.provys.db.sqlquerybuilder;
+
+import com.provys.common.datatype.DtUid;
+import com.provys.common.exception.InternalException;
+import com.provys.db.query.elements.Expression;
+import com.provys.db.query.elements.SelectT2;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Loader that collects lookups of values by {@link DtUid} and executes them in batches. Instead of
+ * executing one query per looked-up uid, uids requested via {@link #load(DtUid)} are queued and
+ * on {@link #dispatch()}, they are split to chunks and each chunk is retrieved by single query,
+ * created from template by adding IN condition on key expression. Loaded values are memoized,
+ * thus repeated lookup of the same uid does not hit database again. Loader is meant to be used
+ * within single unit of work (request) and discarded afterwards; it does not track changes of
+ * underlying data.
+ *
+ * <p>Template query has to return key as first column and looked-up value as second column. Key
+ * column should identify at most one row; uid for which no row was found is resolved as null.
+ *
+ * @param <T> is type of looked-up value
+ */
+public final class DtUidBatchLoader<T> {
+
+  private static final Logger LOG = LogManager.getLogger(DtUidBatchLoader.class);
+
+  /**
+   * Prefix of names of bind variables, holding uids in IN condition of batch query.
+   */
+  static final String BIND_PREFIX = "LOADUID";
+
+  /**
+   * Default number of uids retrieved by single query; matches one of IN list buckets, thus no
+   * padding is needed for full chunks.
+   */
+  static final int DEFAULT_CHUNK_SIZE = 500;
+
+  private final SqlQueryBuilderFactory factory;
+  private final SelectT2<DtUid, T> select;
+  private final Expression<DtUid> key;
+  private final int chunkSize;
+  private final Map<DtUid, CompletableFuture<@Nullable T>> futures;
+  private Map<DtUid, CompletableFuture<@Nullable T>> pending;
+  private long loadCount;
+  private long hitCount;
+  private long queryCount;
+
+  DtUidBatchLoader(SqlQueryBuilderFactory factory, SelectT2<DtUid, T> select,
+      Expression<DtUid> key, int chunkSize) {
+    if (chunkSize <= 0) {
+      throw new InternalException("Chunk size of batch loader must be positive: " + chunkSize);
+    }
+    this.factory = factory;
+    this.select = select;
+    this.key = key;
+    this.chunkSize = chunkSize;
+    this.futures = new HashMap<>(chunkSize);
+    this.pending = new LinkedHashMap<>(chunkSize);
+  }
+
+  /**
+   * Value of field select.
+   *
+   * @return value of field select
+   */
+  public SelectT2<DtUid, T> getSelect() {
+    return select;
+  }
+
+  /**
+   * Value of field key.
+   *
+   * @return value of field key
+   */
+  public Expression<DtUid> getKey() {
+    return key;
+  }
+
+  /**
+   * Value of field chunkSize.
+   *
+   * @return value of field chunkSize
+   */
+  public int getChunkSize() {
+    return chunkSize;
+  }
+
+  /**
+   * Request value with given uid. Uid is queued and retrieved during next {@link #dispatch()};
+   * if value was already requested before, memoized future is returned.
+   *
+   * @param uid is uid of requested value
+   * @return future, completed with requested value (or null if no row was found) on dispatch
+   */
+  public synchronized CompletableFuture<@Nullable T> load(DtUid uid) {
+    loadCount++;
+    var result = futures.get(uid);
+    if (result != null) {
+      hitCount++;
+      return result;
+    }
+    result = new CompletableFuture<>();
+    futures.put(uid, result);
+    pending.put(uid, result);
+    return result;
+  }
+
+  /**
+   * Request values with given uids.
+   *
+   * @param uids are uids of requested values
+   * @return futures of requested values, indexed by uid
+   */
+  public synchronized Map<DtUid, CompletableFuture<@Nullable T>> loadMany(
+      Collection<DtUid> uids) {
+    var result = new LinkedHashMap<DtUid, CompletableFuture<@Nullable T>>(uids.size());
+    for (var uid : uids) {
+      result.put(uid, load(uid));
+    }
+    return result;
+  }
+
+  /**
+   * Retrieve value with given uid; dispatches all pending lookups (including given uid) if value
+   * is not available yet.
+   *
+   * @param uid is uid of requested value
+   * @return value with given uid, null if no row was found
+   */
+  public @Nullable T get(DtUid uid) {
+    var future = load(uid);
+    if (!future.isDone()) {
+      dispatch();
+    }
+    return future.join();
+  }
+
+  /**
+   * Retrieve all pending lookups from database. Pending uids are split to chunks and each chunk
+   * is retrieved using single query. Failure of chunk query completes futures of given chunk
+   * exceptionally and removes them from memo, so that they can be requested again; other chunks
+   * are not affected. Queries are executed (and futures completed) outside of loader's lock, thus
+   * lookups requested in the meantime are not blocked and are retrieved by next dispatch.
+   */
+  public void dispatch() {
+    Map<DtUid, CompletableFuture<@Nullable T>> batch;
+    synchronized (this) {
+      if (pending.isEmpty()) {
+        return;
+      }
+      batch = pending;
+      pending = new LinkedHashMap<>(chunkSize);
+    }
+    var uids = new ArrayList<>(batch.keySet());
+    try {
+      for (int start = 0; start < uids.size(); start += chunkSize) {
+        dispatchChunk(uids.subList(start, Math.min(start + chunkSize, uids.size())), batch);
+      }
+    } finally {
+      // chunks not reached because of error would otherwise leave their callers blocked
+      for (var entry : batch.entrySet()) {
+        if (!entry.getValue().isDone()) {
+          forget(entry.getKey(), entry.getValue());
+          entry.getValue().completeExceptionally(
+              new InternalException("Batch load aborted before uid " + entry.getKey()
+                  + " has been retrieved"));
+        }
+      }
+    }
+  }
+
+  private Map<DtUid, @Nullable T> fetchChunk(List<DtUid> chunk) {
+    synchronized (this) {
+      queryCount++;
+    }
+    var rows = factory.select(select)
+        .where(factory.in(key, BIND_PREFIX, chunk).buildOpt().orElseThrow())
+        .build()
+        .fetch();
+    var result = new HashMap<DtUid, @Nullable T>(rows.size());
+    for (var row : rows) {
+      var uid = row.get1();
+      if (uid == null) {
+        throw new InternalException("Batch loader query returned null key: " + select);
+      }
+      if (result.containsKey(uid)) {
+        throw new InternalException("Batch loader query returned multiple rows for uid " + uid
+            + ": " + select);
+      }
+      result.put(uid, row.get2());
+    }
+    return result;
+  }
+
+  /**
+   * Remove future from memo, unless it has already been replaced by another one.
+   */
+  private synchronized void forget(DtUid uid, CompletableFuture<@Nullable T> future) {
+    futures.remove(uid, future);
+  }
+
+  private void dispatchChunk(List<DtUid> chunk,
+      Map<DtUid, CompletableFuture<@Nullable T>> batch) {
+    Map<DtUid, @Nullable T> values;
+    try {
+      values = fetchChunk(chunk);
+    } catch (RuntimeException e) {
+      LOG.warn("Batch load of {} uids failed", chunk.size(), e);
+      for (var uid : chunk) {
+        var future = batch.get(uid);
+        if (future != null) {
+          forget(uid, future);
+          future.completeExceptionally(e);
+        }
+      }
+      return;
+    }
+    for (var uid : chunk) {
+      var future = batch.get(uid);
+      if (future != null) {
+        future.complete(values.get(uid));
+      }
+    }
+  }
+
+  /**
+   * Remove memoized value for given uid, so that it is retrieved again on next lookup. Pending
+   * lookup (not dispatched yet) is not affected.
+   *
+   * @param uid is uid whose value should be forgotten
+   */
+  public synchronized void clear(DtUid uid) {
+    if (!pending.containsKey(uid)) {
+      futures.remove(uid);
+    }
+  }
+
+  /**
+   * Remove all memoized values; pending lookups are not affected.
+   */
+  public synchronized void clearAll() {
+    futures.keySet().retainAll(pending.keySet());
+  }
+
+  /**
+   * Number of lookups requested via this loader.
+   *
+   * @return number of lookups requested via this loader
+   */
+  public synchronized long getLoadCount() {
+    return loadCount;
+  }
+
+  /**
+   * Number of lookups served from memo (or joined to already pending lookup).
+   *
+   * @return number of lookups served from memo
+   */
+  public synchronized long getHitCount() {
+    return hitCount;
+  }
+
+  /**
+   * Number of queries executed by this loader.
+   *
+   * @return number of queries executed by this loader
+   */
+  public synchronized long getQueryCount() {
+    return queryCount;
+  }
+
+  @Override
+  public String toString() {
+    return "DtUidBatchLoader{"
+        + "select=" + select
+        + ", key=" + key
+        + ", chunkSize=" + chunkSize
+        + '}';
+  }
+}
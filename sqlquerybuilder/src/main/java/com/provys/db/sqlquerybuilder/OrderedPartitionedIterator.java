@@ -0,0 +1,183 @@
+package com.provys.db.sqlquerybuilder;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Partitioned iterator, merging rows of partitions using supplied order. Each partition must
+ * return its rows sorted in the same order (e.g. by order by clause of partitioned query); result
+ * of k-way merge is then sorted as if single query was executed. Rows with the same sort key are
+ * returned in order of partitions.
+ *
+ * <p>Merge needs first row of every partition before it can return any row. Until then, batches
+ * are queued without limit, thus partitions that got thread (and connection) can be read even to
+ * the end and release them for partitions that have not been started yet; only after all
+ * partitions delivered their first batch, their queues are bounded.
+ *
+ * @param <R> is type of rows
+ */
+final class OrderedPartitionedIterator<R> extends PartitionedIterator<R> {
+
+  /**
+   * Number of batches, queued for single partition once merge started.
+   */
+  private static final int QUEUE_CAPACITY = 2;
+
+  /**
+   * Position in single partition.
+   */
+  private final class Cursor {
+
+    private final int partition;
+    /**
+     * Batches of partition, not yet taken by consumer; guarded by cursor.
+     */
+    private final Deque<Batch<R>> batches = new ArrayDeque<>(QUEUE_CAPACITY);
+    /**
+     * Indicates that merge started and queue is bounded; guarded by cursor.
+     */
+    private boolean bounded = false;
+    private Iterator<R> rows = Collections.emptyIterator();
+    private boolean last = false;
+    private @Nullable R head = null;
+
+    Cursor(int partition) {
+      this.partition = partition;
+    }
+
+    synchronized boolean offer(Batch<R> batch, long timeout, TimeUnit unit)
+        throws InterruptedException {
+      var remaining = unit.toNanos(timeout);
+      var deadline = System.nanoTime() + remaining;
+      while (bounded && (batches.size() >= QUEUE_CAPACITY)) {
+        if (remaining <= 0) {
+          return false;
+        }
+        TimeUnit.NANOSECONDS.timedWait(this, remaining);
+        remaining = deadline - System.nanoTime();
+      }
+      batches.add(batch);
+      notifyAll();
+      return true;
+    }
+
+    private synchronized Batch<R> take() {
+      try {
+        while (batches.isEmpty()) {
+          wait();
+        }
+      } catch (InterruptedException e) {
+        throw interrupted(e);
+      }
+      var batch = batches.remove();
+      notifyAll();
+      return batch;
+    }
+
+    synchronized void bound() {
+      bounded = true;
+    }
+
+    /**
+     * Move to next row of partition.
+     *
+     * @return true if row is available, false if partition has been read to the end
+     */
+    boolean advance() {
+      while (!rows.hasNext()) {
+        if (last) {
+          return false;
+        }
+        var batch = take();
+        rows = batch.getRows().iterator();
+        last = batch.isLast();
+      }
+      head = rows.next();
+      return true;
+    }
+
+    @SuppressWarnings("nullness") // head is set by successful advance
+    R getHead() {
+      return head;
+    }
+
+    @Override
+    public String toString() {
+      return "Cursor{"
+          + "partition=" + partition
+          + ", last=" + last
+          + '}';
+    }
+  }
+
+  private final List<Cursor> cursors;
+  private final PriorityQueue<Cursor> heads;
+  private @MonotonicNonNull Cursor current = null;
+  private boolean initialized = false;
+
+  OrderedPartitionedIterator(List<? extends Partition<?, R>> partitions,
+      Comparator<? super R> order) {
+    super(partitions);
+    this.cursors = new ArrayList<>(partitions.size());
+    for (int i = 0; i < partitions.size(); i++) {
+      cursors.add(new Cursor(i));
+    }
+    Comparator<Cursor> headOrder = (first, second) -> order.compare(first.getHead(),
+        second.getHead());
+    this.heads = new PriorityQueue<>(partitions.size(),
+        headOrder.thenComparingInt(cursor -> cursor.partition));
+  }
+
+  @Override
+  boolean offer(Batch<R> batch, long timeout, TimeUnit unit) throws InterruptedException {
+    return cursors.get(batch.getPartition()).offer(batch, timeout, unit);
+  }
+
+  @Override
+  boolean advance() {
+    if (!initialized) {
+      // wait for first row of all partitions; all partitions are running from now on, thus
+      // queues can be bounded without risk that partition blocks thread needed by another one
+      for (var cursor : cursors) {
+        if (cursor.advance()) {
+          heads.add(cursor);
+        }
+      }
+      for (var cursor : cursors) {
+        cursor.bound();
+      }
+      initialized = true;
+    } else if ((current != null) && current.advance()) {
+      heads.add(current);
+    }
+    var next = heads.poll();
+    if (next == null) {
+      return false;
+    }
+    current = next;
+    return true;
+  }
+
+  @Override
+  @SuppressWarnings("nullness") // current is set by successful advance
+  R current() {
+    return current.getHead();
+  }
+
+  @Override
+  public String toString() {
+    return "OrderedPartitionedIterator{"
+        + "partitions=" + getPartitionCount()
+        + ", cursors=" + cursors
+        + '}';
+  }
+}
@@ -0,0 +1,171 @@
+package com.provys.db.sqlquerybuilder;
+
+import com.provys.db.dbcontext.Deadline;
+import com.provys.db.query.elements.SelectT1;
+import com.provys.db.query.elements.SelectT2;
+import com.provys.db.querybuilder.ScanPartitioning;
+import com.provys.db.sqlquery.query.SelectStatement;
+import com.provys.db.sqlquery.query.SelectStatementT1;
+import com.provys.db.sqlquery.query.SelectStatementT2;
+import com.provys.db.sqlquery.query.TupleT2;
+import com.provys.db.sqlquerybuilder.PartitionedIterator.Partition;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Parallel scan of single large query. Query is split to disjoint partitions (see
+ * {@link ScanPartitioning}), each partition is executed by its own task on supplied executor and
+ * thus on its own connection from pool, and rows of partitions are merged to single stream. Rows
+ * are either returned in order they arrive, or merged using supplied comparator; in that case
+ * template query should be sorted (via order by) in the same order, as each partition is sorted
+ * by database and only k-way merge of partitions is performed here.
+ *
+ * <p>Partitions that do not get thread of executor or connection from pool are read once other
+ * partitions finish and release them. When rows are merged in order, rows read before every
+ * partition delivered its first rows are buffered in memory, thus number of partitions should
+ * not exceed number of threads of executor and connections available in pool; partition waiting
+ * for connection longer than pool allows fails. Returned streams must be closed, otherwise
+ * partitions not read to the end block their connections; closing the stream cancels statements
+ * of partitions still being read and waits for their reading to finish.
+ * Deadline active in thread that starts scan applies to reading of all partitions.
+ */
+public final class ParallelScan {
+
+  private final SqlQueryBuilderFactory factory;
+  private final Executor executor;
+
+  ParallelScan(SqlQueryBuilderFactory factory, Executor executor) {
+    this.factory = factory;
+    this.executor = executor;
+  }
+
+  /**
+   * Value of field executor.
+   *
+   * @return value of field executor
+   */
+  public Executor getExecutor() {
+    return executor;
+  }
+
+  /**
+   * Build statement of partition. Partition is read by executor thread, thus deadline active when
+   * scan has been started has to be passed to it explicitly.
+   */
+  private static <S extends SelectStatement> S build(DbSelectBuilderBase<S, ?, ?> builder,
+      @Nullable Deadline deadline) {
+    return (deadline == null) ? builder.build() : builder.build(deadline);
+  }
+
+  private <R> Stream<R> merge(List<Partition<?, R>> partitions,
+      @Nullable Comparator<? super R> order) {
+    PartitionedIterator<R> iterator = (order == null)
+        ? new UnorderedPartitionedIterator<>(partitions)
+        : new OrderedPartitionedIterator<>(partitions, order);
+    iterator.start(executor);
+    int characteristics = (order == null) ? Spliterator.NONNULL
+        : (Spliterator.NONNULL | Spliterator.ORDERED);
+    return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, characteristics),
+        false)
+        .onClose(iterator::close);
+  }
+
+  private <T1> Stream<@NonNull T1> scanNonNull(SelectT1<T1> select, ScanPartitioning partitioning,
+      @Nullable Comparator<? super T1> order) {
+    var partitions = new ArrayList<Partition<?, T1>>(partitioning.size());
+    var deadline = Deadline.current();
+    for (var condition : partitioning.getConditions()) {
+      partitions.add(new Partition<SelectStatementT1<T1>, T1>(
+          () -> build(factory.select(select).where(condition), deadline),
+          SelectStatementT1::streamNonNull));
+    }
+    return merge(partitions, order);
+  }
+
+  /**
+   * Read single column query in parallel. Rows are returned in order they are read from
+   * partitions. Only usable for non-null columns.
+   *
+   * @param select       is query to be read
+   * @param partitioning defines partitions query is split to
+   * @param <T1>         is type of column
+   * @return stream of fetched values; must be closed
+   */
+  public <T1> Stream<@NonNull T1> streamNonNull(SelectT1<T1> select,
+      ScanPartitioning partitioning) {
+    return scanNonNull(select, partitioning, null);
+  }
+
+  /**
+   * Read single column query in parallel, merging partitions in given order. Query should be
+   * sorted in the same order. Only usable for non-null columns.
+   *
+   * @param select       is query to be read, sorted consistently with order
+   * @param partitioning defines partitions query is split to
+   * @param order        is order of values, used for merge of partitions
+   * @param <T1>         is type of column
+   * @return stream of fetched values, sorted by order; must be closed
+   */
+  public <T1> Stream<@NonNull T1> streamNonNull(SelectT1<T1> select,
+      ScanPartitioning partitioning, Comparator<? super T1> order) {
+    return scanNonNull(select, partitioning, order);
+  }
+
+  private <T1, T2> Stream<TupleT2<T1, T2>> scan(SelectT2<T1, T2> select,
+      ScanPartitioning partitioning, @Nullable Comparator<? super TupleT2<T1, T2>> order) {
+    var partitions = new ArrayList<Partition<?, TupleT2<T1, T2>>>(partitioning.size());
+    var deadline = Deadline.current();
+    for (var condition : partitioning.getConditions()) {
+      partitions.add(new Partition<SelectStatementT2<T1, T2>, TupleT2<T1, T2>>(
+          () -> build(factory.select(select).where(condition), deadline),
+          SelectStatementT2::stream));
+    }
+    return merge(partitions, order);
+  }
+
+  /**
+   * Read two column query in parallel. Rows are returned in order they are read from partitions.
+   *
+   * @param select       is query to be read
+   * @param partitioning defines partitions query is split to
+   * @param <T1>         is type of the first column
+   * @param <T2>         is type of the second column
+   * @return stream of fetched rows; must be closed
+   */
+  public <T1, T2> Stream<TupleT2<T1, T2>> stream(SelectT2<T1, T2> select,
+      ScanPartitioning partitioning) {
+    return scan(select, partitioning, null);
+  }
+
+  /**
+   * Read two column query in parallel, merging partitions in given order. Query should be sorted
+   * in the same order.
+   *
+   * @param select       is query to be read, sorted consistently with order
+   * @param partitioning defines partitions query is split to
+   * @param order        is order of rows, used for merge of partitions
+   * @param <T1>         is type of the first column
+   * @param <T2>         is type of the second column
+   * @return stream of fetched rows, sorted by order; must be closed
+   */
+  public <T1, T2> Stream<TupleT2<T1, T2>> stream(SelectT2<T1, T2> select,
+      ScanPartitioning partitioning, Comparator<? super TupleT2<T1, T2>> order) {
+    return scan(select, partitioning, order);
+  }
+
+  @Override
+  public String toString() {
+    return "ParallelScan{"
+        + "factory=" + factory
+        + ", executor=" + executor
+        + '}';
+  }
+}
@@ -0,0 +1,352 @@
+package com.provys.db.sqlquerybuilder;
+
+import com.provys.common.exception.InternalException;
+import com.provys.db.sqlquery.query.SelectStatement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Iterator over rows of several partitions, read in parallel. Each partition is read by its own
+ * task on supplied executor; rows are passed to consuming thread in batches via queues, bounded
+ * once consumer is able to take batches from given partition, thus reading of partition blocks
+ * when consumer does not keep up. Iterator must be closed when
+ * not read to the end, otherwise reading tasks (and their connections) are not released; close
+ * cancels statements of partitions still being read and waits for their tasks to finish.
+ *
+ * @param <R> is type of rows
+ */
+abstract class PartitionedIterator<R> implements Iterator<R>, AutoCloseable {
+
+  private static final Logger LOG = LogManager.getLogger(PartitionedIterator.class);
+
+  /**
+   * Number of rows passed from reading task to consumer at once.
+   */
+  static final int BATCH_SIZE = 256;
+
+  /**
+   * Interval in which blocked reading task checks if scan has not been cancelled.
+   */
+  private static final long OFFER_TIMEOUT_MS = 100;
+
+  /**
+   * Single partition of scan - builds statement reading partition and streams its rows. Statement
+   * is built by reading task and is cancelled when iterator is closed while partition is read.
+   *
+   * @param <S> is type of statement
+   * @param <R> is type of rows
+   */
+  static final class Partition<S extends SelectStatement, R> {
+
+    private final Supplier<? extends S> statementSupplier;
+    private final Function<? super S, ? extends Stream<R>> rowsFunction;
+
+    Partition(Supplier<? extends S> statementSupplier,
+        Function<? super S, ? extends Stream<R>> rowsFunction) {
+      this.statementSupplier = statementSupplier;
+      this.rowsFunction = rowsFunction;
+    }
+
+    S getStatement() {
+      return statementSupplier.get();
+    }
+
+    Stream<R> getRows(S statement) {
+      return rowsFunction.apply(statement);
+    }
+
+    @Override
+    public String toString() {
+      return "Partition{}";
+    }
+  }
+
+  /**
+   * Batch of rows, read from single partition.
+   */
+  static final class Batch<R> {
+
+    private final int partition;
+    private final List<R> rows;
+    private final boolean last;
+    private final @Nullable Throwable error;
+
+    Batch(int partition, List<R> rows, boolean last, @Nullable Throwable error) {
+      this.partition = partition;
+      this.rows = rows;
+      this.last = last;
+      this.error = error;
+    }
+
+    int getPartition() {
+      return partition;
+    }
+
+    /**
+     * Rows in batch; throws exception if reading of partition failed.
+     *
+     * @return rows in this batch
+     */
+    List<R> getRows() {
+      if (error != null) {
+        throw new InternalException("Reading of partition " + partition
+            + " of parallel scan failed", error);
+      }
+      return rows;
+    }
+
+    boolean isLast() {
+      return last;
+    }
+
+    @Override
+    public String toString() {
+      return "Batch{"
+          + "partition=" + partition
+          + ", rows=" + rows.size()
+          + ", last=" + last
+          + ", error=" + error
+          + '}';
+    }
+  }
+
+  private final List<Partition<?, R>> partitions;
+  /**
+   * Statements of partitions that are being read; also guards registration of statements against
+   * concurrent close.
+   */
+  private final @Nullable SelectStatement[] statements;
+  private final CountDownLatch runningTasks;
+  private volatile boolean cancelled = false;
+  private boolean fetched = false;
+  private boolean finished = false;
+
+  PartitionedIterator(List<? extends Partition<?, R>> partitions) {
+    this.partitions = List.copyOf(partitions);
+    this.statements = new SelectStatement[partitions.size()];
+    this.runningTasks = new CountDownLatch(partitions.size());
+  }
+
+  /**
+   * Number of partitions read by this iterator.
+   *
+   * @return number of partitions
+   */
+  int getPartitionCount() {
+    return partitions.size();
+  }
+
+  /**
+   * Pass batch to consumer, waiting up to given time if there is no space available for it.
+   *
+   * @param batch   is batch to be passed to consumer
+   * @param timeout is maximal time to wait for space
+   * @param unit    is unit of timeout
+   * @return true if batch has been accepted, false if timeout elapsed
+   * @throws InterruptedException if interrupted while waiting
+   */
+  abstract boolean offer(Batch<R> batch, long timeout, TimeUnit unit) throws InterruptedException;
+
+  /**
+   * Start reading of all partitions.
+   *
+   * @param executor is executor, used to run reading tasks
+   */
+  void start(Executor executor) {
+    for (int i = 0; i < partitions.size(); i++) {
+      var partition = i;
+      try {
+        executor.execute(() -> read(partition, partitions.get(partition)));
+      } catch (RejectedExecutionException e) {
+        // partitions that have not been submitted will never run
+        for (int j = i; j < partitions.size(); j++) {
+          runningTasks.countDown();
+        }
+        close();
+        throw new InternalException("Executor rejected reading of partition " + partition
+            + " of parallel scan", e);
+      }
+    }
+  }
+
+  private <S extends SelectStatement> void read(int index, Partition<S, R> partition) {
+    try {
+      var statement = partition.getStatement();
+      try (statement) {
+        if (register(index, statement)) {
+          try (var stream = partition.getRows(statement)) {
+            var iterator = stream.iterator();
+            var rows = new ArrayList<R>(BATCH_SIZE);
+            while (!cancelled && iterator.hasNext()) {
+              rows.add(iterator.next());
+              if (rows.size() == BATCH_SIZE) {
+                publish(new Batch<>(index, rows, false, null));
+                rows = new ArrayList<>(BATCH_SIZE);
+              }
+            }
+            publish(new Batch<>(index, rows, true, null));
+          } finally {
+            unregister(index);
+          }
+        }
+      }
+    } catch (Throwable e) {
+      // consumer has to be woken up whatever failure occurred, otherwise it waits forever
+      publish(new Batch<>(index, Collections.emptyList(), true, e));
+      if (e instanceof Error) {
+        throw (Error) e;
+      }
+    } finally {
+      runningTasks.countDown();
+    }
+  }
+
+  /**
+   * Register statement of partition being read, so that it can be cancelled on close.
+   *
+   * @return false if iterator has already been closed and partition should not be read
+   */
+  private boolean register(int index, SelectStatement statement) {
+    synchronized (statements) {
+      if (cancelled) {
+        return false;
+      }
+      statements[index] = statement;
+      return true;
+    }
+  }
+
+  private void unregister(int index) {
+    synchronized (statements) {
+      statements[index] = null;
+    }
+  }
+
+  private void publish(Batch<R> batch) {
+    var interrupted = false;
+    try {
+      while (!cancelled) {
+        try {
+          if (offer(batch, OFFER_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+            return;
+          }
+        } catch (InterruptedException e) {
+          // batch has to be delivered anyway, otherwise consumer would wait for it forever
+          interrupted = true;
+        }
+      }
+    } finally {
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  /**
+   * Retrieve next batch from queue, waiting for it if necessary.
+   *
+   * @param queue is queue batch is retrieved from
+   * @return next batch in queue
+   */
+  Batch<R> take(BlockingQueue<Batch<R>> queue) {
+    try {
+      return queue.take();
+    } catch (InterruptedException e) {
+      throw interrupted(e);
+    }
+  }
+
+  /**
+   * Close iterator when consumer has been interrupted while waiting for batch.
+   *
+   * @param e is exception signalling interruption
+   * @return exception to be thrown to consumer
+   */
+  InternalException interrupted(InterruptedException e) {
+    close();
+    Thread.currentThread().interrupt();
+    return new InternalException("Parallel scan interrupted", e);
+  }
+
+  /**
+   * Advance to next row.
+   *
+   * @return true if next row is available, false if all partitions have been read
+   */
+  abstract boolean advance();
+
+  /**
+   * Current row; only valid after successful {@link #advance()}.
+   *
+   * @return current row
+   */
+  abstract R current();
+
+  @Override
+  public boolean hasNext() {
+    if (!fetched && !finished) {
+      try {
+        if (advance()) {
+          fetched = true;
+        } else {
+          finished = true;
+        }
+      } catch (RuntimeException e) {
+        close();
+        throw e;
+      }
+    }
+    return fetched;
+  }
+
+  @Override
+  public R next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    fetched = false;
+    return current();
+  }
+
+  /**
+   * Cancel reading of partitions and wait until all reading tasks finish. Statements of partitions
+   * that are still being read are cancelled, other reading tasks stop after their current batch.
+   */
+  @Override
+  public void close() {
+    synchronized (statements) {
+      if (cancelled) {
+        return;
+      }
+      cancelled = true;
+      for (var statement : statements) {
+        if (statement != null) {
+          try {
+            statement.cancel();
+          } catch (RuntimeException e) {
+            LOG.debug("Failed to cancel statement {} of parallel scan", statement, e);
+          }
+        }
+      }
+    }
+    try {
+      runningTasks.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -1,6 +1,7 @@
 package com.provys.db.sqlquerybuilder;
 
 import com.google.errorprone.annotations.ImmutableTypeParameter;
+import com.provys.common.datatype.DtUid;
 import com.provys.db.query.elements.Condition;
 import com.provys.db.query.elements.Expression;
 import com.provys.db.query.elements.SelectColumn;
@@ -20,6 +21,7 @@ import com.provys.db.querybuilder.StartConditionBuilder;
 import com.provys.db.sqlquery.query.StatementFactory;
 import java.io.Serializable;
 import java.util.Collection;
+import java.util.concurrent.Executor;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
@@ -198,6 +200,20 @@ public interface SqlQueryBuilderFactory {
    */
   StartConditionBuilder condition(Condition condition);
 
+  /**
+   * Create new condition builder, decorating condition testing if expression is equal to any of
+   * supplied values. Values are passed as bind variables prefix1, prefix2... padded to fixed
+   * bucket size.
+   *
+   * @param expression is expression being tested
+   * @param bindPrefix is prefix of names of bind variables holding values
+   * @param values     are values expression is compared with
+   * @param <T>        is type of compared expression and values
+   * @return new condition builder
+   */
+  <@ImmutableTypeParameter T extends Serializable> StartConditionBuilder in(
+      Expression<T> expression, String bindPrefix, Collection<? extends @Nullable T> values);
+
   /**
    * Create builder, allowing construction of AND connected chain of conditions. Note that it is
    * also possible to use {@code condition()} and follow with appending further conditions.
@@ -247,4 +263,41 @@ public interface SqlQueryBuilderFactory {
    * @return new select builder, initialized based on supplied statement
    */
   <T1, T2> DbSelectBuilderT2<T1, T2> select(SelectT2<T1, T2> select);
+
+  /**
+   * Create loader, retrieving values identified by uid in batches. Loader should be used within
+   * single unit of work, as it memoizes loaded values.
+   *
+   * @param select    is template query; first column is key, second column is looked-up value
+   * @param key       is key expression, restricted by IN condition in batch queries
+   * @param chunkSize is maximal number of uids retrieved by single query
+   * @param <T>       is type of looked-up value
+   * @return new batch loader based on supplied query
+   */
+  default <T> DtUidBatchLoader<T> batchLoader(SelectT2<DtUid, T> select, Expression<DtUid> key,
+      int chunkSize) {
+    return new DtUidBatchLoader<>(this, select, key, chunkSize);
+  }
+
+  /**
+   * Create loader, retrieving values identified by uid in batches of default size.
+   *
+   * @param select is template query; first column is key, second column is looked-up value
+   * @param key    is key expression, restricted by IN condition in batch queries
+   * @param <T>    is type of looked-up value
+   * @return new batch loader based on supplied query
+   */
+  default <T> DtUidBatchLoader<T> batchLoader(SelectT2<DtUid, T> select, Expression<DtUid> key) {
+    return batchLoader(select, key, DtUidBatchLoader.DEFAULT_CHUNK_SIZE);
+  }
+
+  /**
+   * Create parallel scan, reading partitions of queries via statements created by this factory.
+   *
+   * @param executor is executor used to run reading of individual partitions
+   * @return new parallel scan
+   */
+  default ParallelScan parallelScan(Executor executor) {
+    return new ParallelScan(this, executor);
+  }
 }
@@ -0,0 +1,63 @@
+package com.provys.db.sqlquerybuilder;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Partitioned iterator, returning rows in order they were read from partitions. All partitions
+ * share single queue, thus rows are returned as soon as any partition delivers them.
+ *
+ * @param <R> is type of rows
+ */
+final class UnorderedPartitionedIterator<R> extends PartitionedIterator<R> {
+
+  private final BlockingQueue<Batch<R>> queue;
+  private Iterator<R> rows = Collections.emptyIterator();
+  private int finishedPartitions = 0;
+  private @Nullable R current = null;
+
+  UnorderedPartitionedIterator(List<? extends Partition<?, R>> partitions) {
+    super(partitions);
+    this.queue = new ArrayBlockingQueue<>(2 * partitions.size());
+  }
+
+  @Override
+  boolean offer(Batch<R> batch, long timeout, TimeUnit unit) throws InterruptedException {
+    return queue.offer(batch, timeout, unit);
+  }
+
+  @Override
+  boolean advance() {
+    while (!rows.hasNext()) {
+      if (finishedPartitions == getPartitionCount()) {
+        return false;
+      }
+      var batch = take(queue);
+      rows = batch.getRows().iterator();
+      if (batch.isLast()) {
+        finishedPartitions++;
+      }
+    }
+    current = rows.next();
+    return true;
+  }
+
+  @Override
+  @SuppressWarnings("nullness") // current is set by successful advance
+  R current() {
+    return current;
+  }
+
+  @Override
+  public String toString() {
+    return "UnorderedPartitionedIterator{"
+        + "partitions=" + getPartitionCount()
+        + ", finishedPartitions=" + finishedPartitions
+        + '}';
+  }
+}
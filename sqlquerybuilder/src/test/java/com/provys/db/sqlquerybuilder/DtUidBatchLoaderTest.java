@@ -0,0 +1,173 @@
+package com.provys.db.sqlquerybuilder;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import com.provys.common.datatype.DtUid;
+import com.provys.db.query.elements.Condition;
+import com.provys.db.query.elements.Expression;
+import com.provys.db.query.elements.SelectT2;
+import com.provys.db.querybuilder.StartConditionBuilder;
+import com.provys.db.sqlquery.query.SelectStatementT2;
+import com.provys.db.sqlquery.query.TupleT2;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.Test;
+
+class DtUidBatchLoaderTest {
+
+  private static final DtUid UID1 = DtUid.valueOf("1");
+  private static final DtUid UID2 = DtUid.valueOf("2");
+  private static final DtUid UID3 = DtUid.valueOf("3");
+  private static final DtUid UID4 = DtUid.valueOf("4");
+  private static final DtUid UID5 = DtUid.valueOf("5");
+
+  /**
+   * Mock of query builder factory; each query returns row with value "name" + uid for each
+   * requested uid, except for missing uids. Query containing failing uid throws exception.
+   */
+  private static final class QueryMock {
+
+    private final SqlQueryBuilderFactory factory = mock(SqlQueryBuilderFactory.class);
+    @SuppressWarnings("unchecked")
+    private final SelectT2<DtUid, String> select = mock(SelectT2.class);
+    @SuppressWarnings("unchecked")
+    private final Expression<DtUid> key = mock(Expression.class);
+    private final List<List<DtUid>> chunks = new ArrayList<>(3);
+    private Set<DtUid> missing = Set.of();
+    private Set<DtUid> failing = Set.of();
+    private Consumer<List<DtUid>> onFetch = chunk -> {
+    };
+
+    @SuppressWarnings("unchecked")
+    QueryMock() {
+      var builder = (DbSelectBuilderT2<DtUid, String>) mock(DbSelectBuilderT2.class);
+      var statement = (SelectStatementT2<DtUid, String>) mock(SelectStatementT2.class);
+      var conditionBuilder = mock(StartConditionBuilder.class);
+      var condition = mock(Condition.class);
+      when(factory.in(eq(key), eq(DtUidBatchLoader.BIND_PREFIX), anyCollection()))
+          .thenAnswer(invocation -> {
+            chunks.add(List.copyOf((Collection<DtUid>) invocation.getArgument(2)));
+            return conditionBuilder;
+          });
+      when(conditionBuilder.buildOpt()).thenReturn(Optional.of(condition));
+      when(factory.select(select)).thenReturn(builder);
+      when(builder.where(condition)).thenReturn(builder);
+      when(builder.build()).thenReturn(statement);
+      when(statement.fetch()).thenAnswer(invocation -> {
+        var chunk = chunks.get(chunks.size() - 1);
+        onFetch.accept(chunk);
+        var rows = new ArrayList<TupleT2<DtUid, String>>(chunk.size());
+        for (var uid : chunk) {
+          if (failing.contains(uid)) {
+            throw new IllegalStateException("Query failed");
+          }
+          if (!missing.contains(uid)) {
+            rows.add(new TupleT2<>(uid, "name" + uid.getValue()));
+          }
+        }
+        return rows;
+      });
+    }
+
+    DtUidBatchLoader<String> loader(int chunkSize) {
+      return new DtUidBatchLoader<>(factory, select, key, chunkSize);
+    }
+  }
+
+  @Test
+  void batchingTest() {
+    var query = new QueryMock();
+    var loader = query.loader(2);
+    var futures = loader.loadMany(List.of(UID1, UID2, UID3, UID1, UID4, UID5));
+    assertThat(futures).hasSize(5);
+    assertThat(futures.values()).noneMatch(CompletableFuture::isDone);
+    loader.dispatch();
+    assertThat(query.chunks).containsExactly(List.of(UID1, UID2), List.of(UID3, UID4),
+        List.of(UID5));
+    assertThat(futures.get(UID3).join()).isEqualTo("name3");
+    assertThat(futures.get(UID5).join()).isEqualTo("name5");
+    // memoized values are not retrieved again
+    assertThat(loader.get(UID1)).isEqualTo("name1");
+    loader.dispatch();
+    assertThat(loader.getQueryCount()).isEqualTo(3);
+    assertThat(loader.getLoadCount()).isEqualTo(7);
+    assertThat(loader.getHitCount()).isEqualTo(2);
+  }
+
+  @Test
+  void missingUidTest() {
+    var query = new QueryMock();
+    query.missing = Set.of(UID2);
+    var loader = query.loader(10);
+    var future1 = loader.load(UID1);
+    var future2 = loader.load(UID2);
+    loader.dispatch();
+    assertThat(future1.join()).isEqualTo("name1");
+    assertThat(future2).isCompleted();
+    assertThat(future2.join()).isNull();
+    // missing value is memoized as well
+    assertThat(loader.get(UID2)).isNull();
+    assertThat(loader.getQueryCount()).isEqualTo(1);
+  }
+
+  @Test
+  void chunkFailureTest() {
+    var query = new QueryMock();
+    query.failing = Set.of(UID3);
+    var loader = query.loader(2);
+    var futures = loader.loadMany(List.of(UID1, UID2, UID3, UID4, UID5));
+    loader.dispatch();
+    assertThat(futures.get(UID1).join()).isEqualTo("name1");
+    assertThat(futures.get(UID5).join()).isEqualTo("name5");
+    assertThatThrownBy(() -> futures.get(UID3).join())
+        .isInstanceOf(CompletionException.class)
+        .hasCauseInstanceOf(IllegalStateException.class);
+    assertThat(futures.get(UID4)).isCompletedExceptionally();
+    // failed uids are not memoized and can be requested again
+    query.failing = Set.of();
+    assertThat(loader.get(UID4)).isEqualTo("name4");
+    assertThat(query.chunks.get(query.chunks.size() - 1)).containsExactly(UID4);
+  }
+
+  @Test
+  void dispatchOutsideLockTest() {
+    var query = new QueryMock();
+    var loader = query.loader(10);
+    var future1 = loader.load(UID1);
+    var lateFutures = new ArrayList<CompletableFuture<String>>(1);
+    query.onFetch = chunk -> {
+      if (lateFutures.isEmpty()) {
+        // lookup requested from other thread during query must not block on loader's lock
+        lateFutures.add(CompletableFuture.supplyAsync(() -> loader.load(UID2))
+            .orTimeout(5, TimeUnit.SECONDS)
+            .join());
+      }
+    };
+    loader.dispatch();
+    assertThat(future1.join()).isEqualTo("name1");
+    assertThat(lateFutures).hasSize(1);
+    assertThat(lateFutures.get(0)).isNotDone();
+    // lookup requested during dispatch is retrieved by next dispatch
+    assertThat(loader.get(UID2)).isEqualTo("name2");
+    assertThat(query.chunks).containsExactly(List.of(UID1), List.of(UID2));
+  }
+
+  @Test
+  void invalidChunkSizeTest() {
+    var query = new QueryMock();
+    assertThatThrownBy(() -> query.loader(0))
+        .hasMessageContaining("Chunk size");
+    verify(query.factory, never()).select(any(SelectT2.class));
+  }
+}
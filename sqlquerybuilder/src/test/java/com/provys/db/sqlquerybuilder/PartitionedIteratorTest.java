@@ -0,0 +1,207 @@
+package com.provys.db.sqlquerybuilder;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.Mockito.*;
+
+import com.provys.common.exception.InternalException;
+import com.provys.db.sqlquery.query.SelectStatement;
+import com.provys.db.sqlquerybuilder.PartitionedIterator.Partition;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PartitionedIteratorTest {
+
+  private ExecutorService executor;
+
+  @BeforeEach
+  void setUp() {
+    executor = Executors.newFixedThreadPool(4);
+  }
+
+  @AfterEach
+  void tearDown() throws InterruptedException {
+    executor.shutdownNow();
+    assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+  }
+
+  /**
+   * Partitions reading rows produced by given function, with statement mock per partition.
+   */
+  private static List<Partition<?, Integer>> getPartitions(List<SelectStatement> statements,
+      int count, Function<Integer, Stream<Integer>> rows) {
+    var result = new ArrayList<Partition<?, Integer>>(count);
+    for (int i = 0; i < count; i++) {
+      var partition = i;
+      var statement = mock(SelectStatement.class);
+      statements.add(statement);
+      result.add(new Partition<SelectStatement, Integer>(() -> statement,
+          selectStatement -> rows.apply(partition)));
+    }
+    return result;
+  }
+
+  private static List<Integer> readAll(PartitionedIterator<Integer> iterator) {
+    var result = new ArrayList<Integer>(1000);
+    iterator.forEachRemaining(result::add);
+    return result;
+  }
+
+  @Test
+  void unorderedTest() {
+    var statements = new ArrayList<SelectStatement>(3);
+    // rows of partition i are values with remainder i modulo 3
+    var iterator = new UnorderedPartitionedIterator<>(getPartitions(statements, 3,
+        partition -> IntStream.range(0, 1000).filter(i -> i % 3 == partition).boxed()));
+    iterator.start(executor);
+    var rows = readAll(iterator);
+    iterator.close();
+    assertThat(rows).hasSize(1000)
+        .containsExactlyInAnyOrderElementsOf(IntStream.range(0, 1000).boxed()
+            .collect(Collectors.toList()));
+    for (var statement : statements) {
+      verify(statement).close();
+      verify(statement, never()).cancel();
+    }
+  }
+
+  @Test
+  void orderedTest() {
+    var statements = new ArrayList<SelectStatement>(3);
+    var iterator = new OrderedPartitionedIterator<>(getPartitions(statements, 3,
+        partition -> IntStream.range(0, 1000).filter(i -> i % 3 == partition).boxed()),
+        Comparator.<Integer>naturalOrder());
+    iterator.start(executor);
+    var rows = readAll(iterator);
+    assertThat(rows).containsExactlyElementsOf(IntStream.range(0, 1000).boxed()
+        .collect(Collectors.toList()));
+    iterator.close();
+    for (var statement : statements) {
+      verify(statement).close();
+    }
+  }
+
+  @Test
+  void orderedSingleThreadTest() throws InterruptedException {
+    var singleThread = Executors.newSingleThreadExecutor();
+    try {
+      var statements = new ArrayList<SelectStatement>(4);
+      // each partition has many more batches than fit to queue, thus first partition has to be
+      // read to the end before other partitions get thread
+      var iterator = new OrderedPartitionedIterator<>(getPartitions(statements, 4,
+          partition -> IntStream.range(0, 20000).filter(i -> i % 4 == partition).boxed()),
+          Comparator.<Integer>naturalOrder());
+      iterator.start(singleThread);
+      var rows = assertTimeoutPreemptively(Duration.ofSeconds(30), () -> readAll(iterator));
+      iterator.close();
+      assertThat(rows).containsExactlyElementsOf(IntStream.range(0, 20000).boxed()
+          .collect(Collectors.toList()));
+      for (var statement : statements) {
+        verify(statement).close();
+      }
+    } finally {
+      singleThread.shutdownNow();
+      assertThat(singleThread.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+    }
+  }
+
+  @Test
+  void orderedEmptyPartitionTest() {
+    var statements = new ArrayList<SelectStatement>(3);
+    var iterator = new OrderedPartitionedIterator<>(getPartitions(statements, 3,
+        partition -> (partition == 1) ? Stream.empty() : Stream.of(partition, partition + 3)),
+        Comparator.<Integer>naturalOrder());
+    iterator.start(executor);
+    assertThat(readAll(iterator)).containsExactly(0, 2, 3, 5);
+    iterator.close();
+  }
+
+  @Test
+  void failureTest() {
+    var statements = new ArrayList<SelectStatement>(2);
+    var iterator = new UnorderedPartitionedIterator<>(getPartitions(statements, 2,
+        partition -> (partition == 0) ? IntStream.range(0, 10).boxed()
+            : Stream.<Integer>generate(() -> {
+              throw new IllegalStateException("Fetch failed");
+            })));
+    iterator.start(executor);
+    assertThatThrownBy(() -> readAll(iterator))
+        .isInstanceOf(InternalException.class)
+        .hasCauseInstanceOf(IllegalStateException.class);
+    // iterator is closed on failure, all statements are released
+    for (var statement : statements) {
+      verify(statement).close();
+    }
+  }
+
+  @Test
+  void errorTest() {
+    var statements = new ArrayList<SelectStatement>(2);
+    var iterator = new OrderedPartitionedIterator<>(getPartitions(statements, 2,
+        partition -> (partition == 0) ? IntStream.range(0, 10).boxed()
+            : Stream.<Integer>generate(() -> {
+              throw new AssertionError("Fetch failed");
+            })), Comparator.<Integer>naturalOrder());
+    iterator.start(executor);
+    // consumer must not be left waiting when reading task fails with error
+    assertThatThrownBy(() -> readAll(iterator))
+        .isInstanceOf(InternalException.class)
+        .hasCauseInstanceOf(AssertionError.class);
+  }
+
+  @Test
+  void closeTest() {
+    var statements = new ArrayList<SelectStatement>(3);
+    var iterator = new OrderedPartitionedIterator<>(getPartitions(statements, 3,
+        partition -> Stream.iterate(partition, i -> i + 3)),
+        Comparator.<Integer>naturalOrder());
+    iterator.start(executor);
+    for (int i = 0; i < 10; i++) {
+      assertThat(iterator.next()).isEqualTo(i);
+    }
+    iterator.close();
+    // first row of each partition has been read, thus all statements are being read and close
+    // cancels them and waits for their reading tasks to release them
+    for (var statement : statements) {
+      verify(statement).cancel();
+      verify(statement).close();
+    }
+    iterator.close();
+    for (var statement : statements) {
+      verify(statement).cancel();
+    }
+  }
+
+  @Test
+  void rejectedTest() {
+    var statements = new ArrayList<SelectStatement>(3);
+    var iterator = new UnorderedPartitionedIterator<>(getPartitions(statements, 3,
+        partition -> IntStream.range(0, 10).boxed()));
+    var submitted = new ArrayList<Runnable>(1);
+    assertThatThrownBy(() -> iterator.start(task -> {
+      if (!submitted.isEmpty()) {
+        throw new RejectedExecutionException("Queue full");
+      }
+      submitted.add(task);
+      executor.execute(task);
+    }))
+        .isInstanceOf(InternalException.class)
+        .hasCauseInstanceOf(RejectedExecutionException.class);
+    // task that has been started is finished and its statement released before start fails
+    verify(statements.get(0)).close();
+    verifyNoInteractions(statements.get(1), statements.get(2));
+  }
+}